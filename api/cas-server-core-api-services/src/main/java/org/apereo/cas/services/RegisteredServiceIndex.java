@@ -0,0 +1,63 @@
+package org.apereo.cas.services;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * This is {@link RegisteredServiceIndex}. It defines a secondary index over registered services,
+ * such as the OAuth client id or the SAML entity id, by which a {@link ServicesManager}
+ * is able to locate services without evaluating every service in the registry.
+ * Indexes are identified by their name; services managers build and maintain
+ * the index for a given name the first time it is queried.
+ *
+ * @param <T> the registered service type
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public interface RegisteredServiceIndex<T extends RegisteredService> extends Serializable {
+
+    /**
+     * Gets the name that uniquely identifies this index.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Gets the type of services covered by this index.
+     *
+     * @return the service type
+     */
+    Class<T> getServiceType();
+
+    /**
+     * Gets the keys by which the given service may be located.
+     * Services for which no keys can be determined, for instance because their
+     * definition is a pattern, are evaluated via {@link #matches(RegisteredService, String)} instead.
+     *
+     * @param service the service
+     * @return the keys, or an empty collection if the service cannot be indexed
+     */
+    Collection<String> getKeys(T service);
+
+    /**
+     * Whether the service should be located by the given key.
+     *
+     * @param service the service
+     * @param key     the key
+     * @return true if the service matches
+     */
+    boolean matches(T service, String key);
+
+    /**
+     * Normalize a key before it is looked up in the index, consistent
+     * with the keys produced by {@link #getKeys(RegisteredService)}.
+     * Keys are passed to {@link #matches(RegisteredService, String)} as given.
+     *
+     * @param key the key
+     * @return the normalized key
+     */
+    default String normalize(final String key) {
+        return key;
+    }
+}
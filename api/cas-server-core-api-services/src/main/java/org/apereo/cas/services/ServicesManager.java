@@ -84,6 +84,30 @@ public interface ServicesManager {
      */
     <T extends RegisteredService> T findServiceBy(String serviceId, Class<T> clazz);
 
+    /**
+     * Find the first service, in evaluation order, that is located by the given key
+     * in a secondary index, such as an OAuth client id or a SAML entity id.
+     * Implementations are expected to maintain the index as services are loaded,
+     * saved and deleted; by default, every service of the indexed type is evaluated.
+     *
+     * @param <T>   the type parameter
+     * @param index the index
+     * @param key   the key
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndex<T> index, final String key) {
+        if (key == null) {
+            return null;
+        }
+        return findServiceBy(index.getServiceType()::isInstance)
+                .stream()
+                .map(index.getServiceType()::cast)
+                .filter(s -> index.matches(s, key))
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Find a RegisteredService by matching with the supplied id.
      *
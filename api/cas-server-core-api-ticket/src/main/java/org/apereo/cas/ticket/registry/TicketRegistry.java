@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.stream.Stream;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketDefinition;
 
 /**
  * Interface for a registry that stores tickets. The underlying registry can be
@@ -17,6 +18,12 @@ import org.apereo.cas.ticket.Ticket;
  */
 public interface TicketRegistry {
 
+    /**
+     * Default number of tickets fetched from the underlying store per batch
+     * when streaming tickets via {@link #getTicketsStream(TicketDefinition, int)}.
+     */
+    int DEFAULT_BATCH_SIZE = 500;
+
     /**
      * Add a ticket to the registry. Ticket storage is based on the ticket id.
      *
@@ -91,4 +98,21 @@ public interface TicketRegistry {
     default Stream<Ticket> getTicketsStream() {
         return getTickets().stream();
     }
+
+    /**
+     * Stream tickets of the given type, fetching them from the underlying store in batches.
+     * Registries that are able to page through their storage with a cursor should override
+     * this operation so that only a single batch of tickets is held in memory at any given time.
+     * Tickets might or might not be valid i.e. expired.
+     *
+     * @param definition the ticket definition whose prefix tickets must carry, or null for all tickets
+     * @param batchSize  the number of tickets to fetch from the underlying store per batch
+     * @return stream of tickets
+     */
+    default Stream<Ticket> getTicketsStream(final TicketDefinition definition, final int batchSize) {
+        if (definition == null) {
+            return getTicketsStream();
+        }
+        return getTicketsStream().filter(t -> definition.getPrefix().equals(t.getPrefix()));
+    }
 }
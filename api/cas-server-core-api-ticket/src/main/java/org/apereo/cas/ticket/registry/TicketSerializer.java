@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * Strategy to turn tickets into bytes and back, used by ticket registries
+ * to produce the payload that is encrypted and stored when ticket encryption is enabled.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public interface TicketSerializer {
+
+    /**
+     * Serialize the ticket.
+     *
+     * @param ticket the ticket
+     * @return the serialized bytes
+     */
+    byte[] serialize(Ticket ticket);
+
+    /**
+     * Deserialize the ticket.
+     *
+     * @param bytes the serialized bytes
+     * @return the ticket
+     */
+    Ticket deserialize(byte[] bytes);
+}
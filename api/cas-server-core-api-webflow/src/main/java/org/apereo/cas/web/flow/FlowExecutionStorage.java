@@ -0,0 +1,35 @@
+package org.apereo.cas.web.flow;
+
+/**
+ * This is {@link FlowExecutionStorage} that keeps the serialized state of flow executions
+ * on the server side, keyed by the identifier handed to the client. Implementations
+ * are expected to evict the state of abandoned executions after some time.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public interface FlowExecutionStorage {
+
+    /**
+     * Store the state of a flow execution.
+     *
+     * @param id    the flow execution identifier
+     * @param state the serialized flow execution state
+     */
+    void put(String id, byte[] state);
+
+    /**
+     * Gets the state of a flow execution.
+     *
+     * @param id the flow execution identifier
+     * @return the serialized flow execution state, or null if none is found
+     */
+    byte[] get(String id);
+
+    /**
+     * Remove the state of a flow execution.
+     *
+     * @param id the flow execution identifier
+     */
+    void remove(String id);
+}
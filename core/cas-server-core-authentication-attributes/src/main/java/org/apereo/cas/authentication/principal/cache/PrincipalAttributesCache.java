@@ -0,0 +1,164 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link PrincipalAttributesCache}, a single application-wide cache of the attributes
+ * that attribute repository sources produce for principals, keyed by the principal id and the source.
+ * <p>The cache is bounded by the estimated size of the attributes it holds rather than by a number of entries.
+ * Entries are refreshed in the background once they reach the refresh interval, and concurrent requests for
+ * an entry that is not yet cached wait on a single load from the source. Entries are kept no longer than
+ * the expiration period of the cache; callers may ask for entries that are more recent than that.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class PrincipalAttributesCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrincipalAttributesCache.class);
+
+    private final LoadingCache<Key, Entry> cache;
+    private final long maximumWeight;
+
+    /**
+     * Instantiates a new cache.
+     *
+     * @param maximumWeight    the maximum estimated size of the cached attributes, in characters
+     * @param expireInMinutes  the time after which entries are removed
+     * @param refreshInMinutes the time after which entries are refreshed, if accessed
+     */
+    public PrincipalAttributesCache(final long maximumWeight, final long expireInMinutes, final long refreshInMinutes) {
+        this.maximumWeight = maximumWeight;
+        final Caffeine<Key, Entry> builder = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((final Key key, final Entry entry) -> entry.getWeight())
+                .expireAfterWrite(expireInMinutes, TimeUnit.MINUTES)
+                .recordStats();
+        if (refreshInMinutes > 0 && refreshInMinutes < expireInMinutes) {
+            builder.refreshAfterWrite(refreshInMinutes, TimeUnit.MINUTES);
+        }
+        this.cache = builder.build(PrincipalAttributesCache::load);
+    }
+
+    /**
+     * Gets the attributes of the principal from the given source.
+     * Cached attributes that were loaded before the given time-to-live are loaded again.
+     *
+     * @param principalId      the principal id
+     * @param source           the attribute repository source
+     * @param timeToLiveMillis the age beyond which cached attributes are not accepted
+     * @return a copy of the attributes
+     */
+    public Map<String, List<Object>> getAttributes(final String principalId, final IPersonAttributeDao source,
+                                                   final long timeToLiveMillis) {
+        final Key key = new Key(principalId, source);
+        Entry entry = this.cache.get(key);
+        if (entry != null && entry.isOlderThan(timeToLiveMillis)) {
+            LOGGER.debug("Cached attributes for [{}] are older than [{}] ms and will be loaded again", principalId, timeToLiveMillis);
+            this.cache.asMap().remove(key, entry);
+            entry = this.cache.get(key);
+        }
+        return entry == null ? new LinkedHashMap<>(0) : entry.copyOfAttributes();
+    }
+
+    /**
+     * Gets the statistics of this cache.
+     *
+     * @return the statistics
+     */
+    public PrincipalAttributesCacheStatistics getStatistics() {
+        final long weightedSize = this.cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(this.cache.estimatedSize());
+        return new PrincipalAttributesCacheStatistics(getClass().getSimpleName(),
+                weightedSize, this.maximumWeight, this.cache.stats());
+    }
+
+    private static Entry load(final Key key) {
+        LOGGER.debug("Loading attributes for [{}] from attribute repository source [{}]", key.principalId, key.source);
+        final IPersonAttributes person = key.source.getPerson(key.principalId);
+        if (person == null || person.getAttributes() == null) {
+            LOGGER.debug("Attribute repository source [{}] produced no attributes for [{}]", key.source, key.principalId);
+            return new Entry(new LinkedHashMap<>(0));
+        }
+        return new Entry(person.getAttributes());
+    }
+
+    /**
+     * Cache key made up of the principal id and the identity of the attribute repository source.
+     */
+    private static final class Key {
+        private final String principalId;
+        private final IPersonAttributeDao source;
+
+        Key(final String principalId, final IPersonAttributeDao source) {
+            this.principalId = principalId;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.source == other.source && this.principalId.equals(other.principalId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.principalId, System.identityHashCode(this.source));
+        }
+    }
+
+    /**
+     * Cached attributes, along with the time they were loaded and their estimated size.
+     */
+    private static final class Entry {
+        private final Map<String, List<Object>> attributes;
+        private final long loadedAt = System.currentTimeMillis();
+        private final int weight;
+
+        Entry(final Map<String, List<Object>> attributes) {
+            this.attributes = copy(attributes);
+            long size = 1;
+            for (final Map.Entry<String, List<Object>> attribute : this.attributes.entrySet()) {
+                size += attribute.getKey().length();
+                size += attribute.getValue().stream().mapToLong(value -> String.valueOf(value).length()).sum();
+            }
+            this.weight = (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        int getWeight() {
+            return this.weight;
+        }
+
+        boolean isOlderThan(final long timeToLiveMillis) {
+            return System.currentTimeMillis() - this.loadedAt > timeToLiveMillis;
+        }
+
+        Map<String, List<Object>> copyOfAttributes() {
+            return copy(this.attributes);
+        }
+
+        private static Map<String, List<Object>> copy(final Map<String, List<Object>> attributes) {
+            final Map<String, List<Object>> copy = new LinkedHashMap<>(attributes.size());
+            attributes.forEach((name, values) -> copy.put(name, values == null ? new ArrayList<>(0) : new ArrayList<>(values)));
+            return copy;
+        }
+    }
+}
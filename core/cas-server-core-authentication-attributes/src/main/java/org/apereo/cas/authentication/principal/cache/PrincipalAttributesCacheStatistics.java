@@ -0,0 +1,76 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apereo.cas.monitor.CacheStatistics;
+
+/**
+ * This is {@link PrincipalAttributesCacheStatistics} that describes the {@link PrincipalAttributesCache}.
+ * Size and capacity are expressed as the estimated size of the cached attributes, in characters.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class PrincipalAttributesCacheStatistics implements CacheStatistics {
+    private static final int PERCENTAGE_VALUE = 100;
+
+    private final String name;
+    private final long size;
+    private final long capacity;
+    private final CacheStats stats;
+
+    public PrincipalAttributesCacheStatistics(final String name, final long size, final long capacity, final CacheStats stats) {
+        this.name = name;
+        this.size = size;
+        this.capacity = capacity;
+        this.stats = stats;
+    }
+
+    @Override
+    public long getSize() {
+        return this.size;
+    }
+
+    @Override
+    public long getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public long getEvictions() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public int getPercentFree() {
+        if (this.capacity == 0) {
+            return 0;
+        }
+        return (int) ((this.capacity - this.size) * PERCENTAGE_VALUE / this.capacity);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    public long getHits() {
+        return this.stats.hitCount();
+    }
+
+    public long getMisses() {
+        return this.stats.missCount();
+    }
+
+    public double getHitRate() {
+        return this.stats.hitRate();
+    }
+
+    @Override
+    public void toString(final StringBuilder builder) {
+        builder.append(this.name).append(':')
+                .append(getPercentFree()).append("% free, ")
+                .append(getEvictions()).append(" evictions, ")
+                .append(getHits()).append(" hits, ")
+                .append(getMisses()).append(" misses");
+    }
+}
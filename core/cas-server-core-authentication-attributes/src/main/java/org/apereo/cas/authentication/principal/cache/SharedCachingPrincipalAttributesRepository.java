@@ -0,0 +1,104 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.annotation.Transient;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal attributes repository that keeps no cache of its own, and instead consults the
+ * application-wide {@link PrincipalAttributesCache}, so that the attributes of a principal are fetched
+ * and kept once no matter how many services release them. Each service accepts cached attributes
+ * for no longer than its own expiration period.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SharedCachingPrincipalAttributesRepository extends AbstractPrincipalAttributesRepository {
+    private static final long serialVersionUID = -4171286386207932813L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedCachingPrincipalAttributesRepository.class);
+
+    @JsonIgnore
+    @Transient
+    private transient PrincipalAttributesCache principalAttributesCache;
+
+    /**
+     * Used for serialization only.
+     */
+    private SharedCachingPrincipalAttributesRepository() {
+        super();
+    }
+
+    /**
+     * Instantiates a new repository.
+     *
+     * @param timeUnit       the time unit
+     * @param expiryDuration the expiry duration
+     */
+    public SharedCachingPrincipalAttributesRepository(final String timeUnit, final long expiryDuration) {
+        super(expiryDuration, timeUnit);
+    }
+
+    public void setPrincipalAttributesCache(final PrincipalAttributesCache principalAttributesCache) {
+        this.principalAttributesCache = principalAttributesCache;
+    }
+
+    @Override
+    protected Map<String, List<Object>> retrievePersonAttributesToPrincipalAttributes(final String id) {
+        final PrincipalAttributesCache cache = getPrincipalAttributesCache();
+        if (cache == null) {
+            return super.retrievePersonAttributesToPrincipalAttributes(id);
+        }
+        try {
+            return cache.getAttributes(id, getAttributeRepository(), TimeUnit.valueOf(getTimeUnit()).toMillis(getExpiration()));
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return new HashMap<>(0);
+    }
+
+    @Override
+    protected void addPrincipalAttributes(final String id, final Map<String, Object> attributes) {
+        LOGGER.trace("Attributes for [{}] are kept by the shared principal attributes cache", id);
+    }
+
+    @Override
+    protected Map<String, Object> getPrincipalAttributes(final Principal p) {
+        return new HashMap<>(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        LOGGER.trace("The shared principal attributes cache is not closed by [{}]", getClass().getSimpleName());
+    }
+
+    /**
+     * Gets the shared cache, resolving it from the application context the first time it is found.
+     * While no cache bean is available, resolution is attempted again on every call
+     * and attributes are fetched from the source directly.
+     *
+     * @return the shared cache, or null if none is available yet
+     */
+    private PrincipalAttributesCache getPrincipalAttributesCache() {
+        if (this.principalAttributesCache == null) {
+            final ApplicationContext context = ApplicationContextProvider.getApplicationContext();
+            if (context != null && context.containsBean("principalAttributesCache")) {
+                this.principalAttributesCache = context.getBean("principalAttributesCache", PrincipalAttributesCache.class);
+            } else {
+                LOGGER.warn("No shared principal attributes cache could be found; attributes will be fetched from the source");
+            }
+        }
+        return this.principalAttributesCache;
+    }
+}
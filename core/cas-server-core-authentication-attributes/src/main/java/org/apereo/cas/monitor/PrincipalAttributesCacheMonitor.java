@@ -0,0 +1,25 @@
+package org.apereo.cas.monitor;
+
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCache;
+
+/**
+ * This is {@link PrincipalAttributesCacheMonitor} that reports on the application-wide
+ * {@link PrincipalAttributesCache}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class PrincipalAttributesCacheMonitor extends AbstractCacheMonitor {
+
+    private final PrincipalAttributesCache cache;
+
+    public PrincipalAttributesCacheMonitor(final PrincipalAttributesCache cache) {
+        super(PrincipalAttributesCacheMonitor.class.getSimpleName());
+        this.cache = cache;
+    }
+
+    @Override
+    protected CacheStatistics[] getStatistics() {
+        return new CacheStatistics[]{this.cache.getStatistics()};
+    }
+}
@@ -5,10 +5,14 @@ import org.apereo.cas.authentication.PrincipalElectionStrategy;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesCache;
 import org.apereo.cas.authentication.principal.resolvers.ChainingPrincipalResolver;
 import org.apereo.cas.authentication.principal.resolvers.EchoingPrincipalResolver;
 import org.apereo.cas.authentication.principal.resolvers.PersonDirectoryPrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesCacheProperties;
+import org.apereo.cas.monitor.Monitor;
+import org.apereo.cas.monitor.PrincipalAttributesCacheMonitor;
 import org.apereo.services.persondir.IPersonAttributeDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,4 +88,17 @@ public class CasCoreAuthenticationPrincipalConfiguration {
 
         return resolver;
     }
+
+    @ConditionalOnMissingBean(name = "principalAttributesCache")
+    @Bean
+    public PrincipalAttributesCache principalAttributesCache() {
+        final PrincipalAttributesCacheProperties cache = casProperties.getAuthn().getAttributeRepository().getSharedCache();
+        return new PrincipalAttributesCache(cache.getMaximumWeight(), cache.getExpireInMinutes(), cache.getRefreshInMinutes());
+    }
+
+    @ConditionalOnMissingBean(name = "principalAttributesCacheMonitor")
+    @Bean
+    public Monitor principalAttributesCacheMonitor() {
+        return new PrincipalAttributesCacheMonitor(principalAttributesCache());
+    }
 }
@@ -0,0 +1,67 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+import org.junit.Test;
+import org.springframework.context.ApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Handles tests for {@link SharedCachingPrincipalAttributesRepository}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SharedCachingPrincipalAttributesRepositoryTests extends AbstractCachingPrincipalAttributesRepositoryTests {
+
+    private final PrincipalAttributesCache cache = new PrincipalAttributesCache(100000, 60, 30);
+
+    @Override
+    protected AbstractPrincipalAttributesRepository getPrincipalAttributesRepository(final String unit, final long duration) {
+        final SharedCachingPrincipalAttributesRepository repo = new SharedCachingPrincipalAttributesRepository(unit, duration);
+        repo.setAttributeRepository(this.dao);
+        repo.setPrincipalAttributesCache(this.cache);
+        return repo;
+    }
+
+    @Test
+    public void verifyAttributesAreSharedAcrossRepositories() throws Exception {
+        final Principal principal = new DefaultPrincipalFactory().createPrincipal("uid");
+        try (AbstractPrincipalAttributesRepository first = getPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+             AbstractPrincipalAttributesRepository second = getPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 10)) {
+            assertFalse(first.getAttributes(principal).isEmpty());
+            assertFalse(second.getAttributes(principal).isEmpty());
+        }
+        verify(this.dao, times(1)).getPerson("uid");
+
+        final PrincipalAttributesCacheStatistics statistics = this.cache.getStatistics();
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getHits());
+        assertTrue(statistics.getSize() > 0);
+    }
+
+    @Test
+    public void verifySharedCacheIsLocatedOnce() throws Exception {
+        final ApplicationContext context = mock(ApplicationContext.class);
+        when(context.containsBean("principalAttributesCache")).thenReturn(true);
+        when(context.getBean("principalAttributesCache", PrincipalAttributesCache.class)).thenReturn(this.cache);
+        final ApplicationContext previous = ApplicationContextProvider.getApplicationContext();
+        new ApplicationContextProvider().setApplicationContext(context);
+        try (SharedCachingPrincipalAttributesRepository repo =
+                     new SharedCachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5)) {
+            repo.setAttributeRepository(this.dao);
+            final Principal principal = new DefaultPrincipalFactory().createPrincipal("uid");
+            assertFalse(repo.getAttributes(principal).isEmpty());
+            assertFalse(repo.getAttributes(principal).isEmpty());
+        } finally {
+            new ApplicationContextProvider().setApplicationContext(previous);
+        }
+        verify(context, times(1)).getBean("principalAttributesCache", PrincipalAttributesCache.class);
+        verify(this.dao, times(1)).getPerson("uid");
+    }
+}
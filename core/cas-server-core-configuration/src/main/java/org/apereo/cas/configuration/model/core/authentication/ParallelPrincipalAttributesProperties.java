@@ -0,0 +1,84 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link ParallelPrincipalAttributesProperties}.
+ * Describes how attribute repository sources may be queried concurrently,
+ * rather than one after another, when attributes are resolved for a principal.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ParallelPrincipalAttributesProperties implements Serializable {
+
+    private static final long serialVersionUID = 2739861475340911543L;
+
+    /**
+     * Query attribute repository sources concurrently. Results are still merged
+     * in the order of the sources, regardless of the order in which they arrive.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of threads available to query attribute repository sources.
+     */
+    private int threads = 10;
+
+    /**
+     * Time allowed for each source to produce attributes, in milliseconds.
+     * Sources that take longer are skipped and contribute no attributes.
+     */
+    private long timeoutInMillis = 5000;
+
+    /**
+     * Number of consecutive failures or timeouts after which a source
+     * is no longer queried, until the circuit is reset.
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * Time after which a source that is no longer queried is tried again, in milliseconds.
+     */
+    private long resetTimeoutInMillis = 30000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    public long getTimeoutInMillis() {
+        return timeoutInMillis;
+    }
+
+    public void setTimeoutInMillis(final long timeoutInMillis) {
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(final int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public long getResetTimeoutInMillis() {
+        return resetTimeoutInMillis;
+    }
+
+    public void setResetTimeoutInMillis(final long resetTimeoutInMillis) {
+        this.resetTimeoutInMillis = resetTimeoutInMillis;
+    }
+}
@@ -0,0 +1,58 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link PrincipalAttributesCacheProperties}.
+ * Describes the application-wide cache of principal attributes that is shared
+ * by the attribute release policies of all services.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class PrincipalAttributesCacheProperties implements Serializable {
+
+    private static final long serialVersionUID = -2309458171829643017L;
+
+    /**
+     * The maximum estimated size of the cached attributes,
+     * counted as the number of characters in attribute names and values.
+     */
+    private long maximumWeight = 10000000;
+
+    /**
+     * Time after which cached attributes are removed, regardless of the
+     * expiration period of the services that use them.
+     */
+    private long expireInMinutes = 480;
+
+    /**
+     * Time after which cached attributes are refreshed in the background the next time they are requested.
+     * A value of zero disables refreshing.
+     */
+    private long refreshInMinutes = 30;
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(final long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    public long getExpireInMinutes() {
+        return expireInMinutes;
+    }
+
+    public void setExpireInMinutes(final long expireInMinutes) {
+        this.expireInMinutes = expireInMinutes;
+    }
+
+    public long getRefreshInMinutes() {
+        return refreshInMinutes;
+    }
+
+    public void setRefreshInMinutes(final long refreshInMinutes) {
+        this.refreshInMinutes = refreshInMinutes;
+    }
+}
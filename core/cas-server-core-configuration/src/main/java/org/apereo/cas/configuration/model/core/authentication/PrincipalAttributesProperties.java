@@ -52,6 +52,18 @@ public class PrincipalAttributesProperties implements Serializable {
      */
     private String merger = "REPLACE";
 
+    /**
+     * Query attribute repository sources concurrently,
+     * each within its own time limit.
+     */
+    private ParallelPrincipalAttributesProperties parallel = new ParallelPrincipalAttributesProperties();
+
+    /**
+     * The application-wide cache of principal attributes, used by services
+     * whose attribute release policy shares cached attributes with other services.
+     */
+    private PrincipalAttributesCacheProperties sharedCache = new PrincipalAttributesCacheProperties();
+
     /**
      * CAS provides the ability to release a bundle of principal attributes to all services by default.
      * This bundle is not defined on a per-service basis and is always combined with attributes
@@ -167,6 +179,22 @@ public class PrincipalAttributesProperties implements Serializable {
         this.ldap = ldap;
     }
 
+    public PrincipalAttributesCacheProperties getSharedCache() {
+        return sharedCache;
+    }
+
+    public void setSharedCache(final PrincipalAttributesCacheProperties sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    public ParallelPrincipalAttributesProperties getParallel() {
+        return parallel;
+    }
+
+    public void setParallel(final ParallelPrincipalAttributesProperties parallel) {
+        this.parallel = parallel;
+    }
+
     public String getMerger() {
         return merger;
     }
@@ -23,6 +23,21 @@ public class ServiceRegistryProperties implements Serializable {
 
     private static final long serialVersionUID = -368826011744304210L;
 
+    /**
+     * Types of services managers that are available to look up service definitions.
+     */
+    public enum ServiceManagementTypes {
+        /**
+         * Organize services by domain into a hash for quicker lookup.
+         */
+        DOMAIN,
+        /**
+         * Index services by the literal prefix of their service id patterns,
+         * and only evaluate candidate services whose prefix matches the request.
+         */
+        INDEXED
+    }
+
     /**
      * Properties pertaining to JSON service registry.
      */
@@ -89,6 +104,12 @@ public class ServiceRegistryProperties implements Serializable {
      */
     private boolean watcherEnabled = true;
 
+    /**
+     * Determine how services are internally managed, queried, cached and reloaded by CAS.
+     * Accepted values are {@code DOMAIN} and {@code INDEXED}.
+     */
+    private ServiceManagementTypes managementType = ServiceManagementTypes.DOMAIN;
+
     public boolean isInitFromJson() {
         return initFromJson;
     }
@@ -105,6 +126,14 @@ public class ServiceRegistryProperties implements Serializable {
         this.watcherEnabled = watcherEnabled;
     }
 
+    public ServiceManagementTypes getManagementType() {
+        return managementType;
+    }
+
+    public void setManagementType(final ServiceManagementTypes managementType) {
+        this.managementType = managementType;
+    }
+
     public JpaServiceRegistryProperties getJpa() {
         return jpa;
     }
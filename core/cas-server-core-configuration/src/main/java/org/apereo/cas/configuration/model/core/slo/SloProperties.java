@@ -23,6 +23,11 @@ public class SloProperties implements Serializable {
      */
     private boolean disabled;
 
+    /**
+     * Settings that control the background delivery of back-channel logout messages.
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
     public boolean isAsynchronous() {
         return asynchronous;
     }
@@ -38,4 +43,99 @@ public class SloProperties implements Serializable {
     public void setDisabled(final boolean disabled) {
         this.disabled = disabled;
     }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public void setDispatcher(final Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public static class Dispatcher implements Serializable {
+        private static final long serialVersionUID = -2187309120863592717L;
+        private static final int DEFAULT_CAPACITY = 10_000;
+        private static final int DEFAULT_THREADS = 10;
+        private static final int DEFAULT_MAXIMUM_CONCURRENT_REQUESTS_PER_HOST = 5;
+        private static final int DEFAULT_MAXIMUM_ATTEMPTS = 3;
+
+        /**
+         * Whether back-channel logout messages should be handed over to a dispatcher that delivers them
+         * in the background, with bounded capacity, per-host concurrency limits and retries.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of logout messages pending delivery. Messages beyond this capacity are rejected.
+         */
+        private int capacity = DEFAULT_CAPACITY;
+
+        /**
+         * Number of threads that deliver logout messages.
+         */
+        private int threads = DEFAULT_THREADS;
+
+        /**
+         * Maximum number of logout messages delivered concurrently to the same host.
+         */
+        private int maximumConcurrentRequestsPerHost = DEFAULT_MAXIMUM_CONCURRENT_REQUESTS_PER_HOST;
+
+        /**
+         * Maximum number of delivery attempts per logout message.
+         */
+        private int maximumAttempts = DEFAULT_MAXIMUM_ATTEMPTS;
+
+        /**
+         * Delay before the first retry of a failed delivery, doubled on every subsequent retry.
+         */
+        private String retryBackoff = "PT1S";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(final int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaximumConcurrentRequestsPerHost() {
+            return maximumConcurrentRequestsPerHost;
+        }
+
+        public void setMaximumConcurrentRequestsPerHost(final int maximumConcurrentRequestsPerHost) {
+            this.maximumConcurrentRequestsPerHost = maximumConcurrentRequestsPerHost;
+        }
+
+        public int getMaximumAttempts() {
+            return maximumAttempts;
+        }
+
+        public void setMaximumAttempts(final int maximumAttempts) {
+            this.maximumAttempts = maximumAttempts;
+        }
+
+        public String getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(final String retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+    }
 }
@@ -97,6 +97,13 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
 
+    /**
+     * Serialization format of tickets that are encrypted before they are stored in the registry.
+     * Accepted values are {@code JAVA} and {@code KRYO}. Switching from {@code JAVA} to {@code KRYO}
+     * keeps tickets that were stored earlier readable; switching back does not.
+     */
+    private TicketSerializerTypes serializer = TicketSerializerTypes.JAVA;
+
     public MongoTicketRegistryProperties getMongo() {
         return mongo;
     }
@@ -185,6 +192,14 @@ public class TicketRegistryProperties implements Serializable {
         this.redis = redis;
     }
 
+    public TicketSerializerTypes getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(final TicketSerializerTypes serializer) {
+        this.serializer = serializer;
+    }
+
     public DynamoDbTicketRegistryProperties getDynamoDb() {
         return dynamoDb;
     }
@@ -193,6 +208,20 @@ public class TicketRegistryProperties implements Serializable {
         this.dynamoDb = dynamoDb;
     }
     
+    /**
+     * Serialization formats for tickets.
+     */
+    public enum TicketSerializerTypes {
+        /**
+         * Standard Java serialization.
+         */
+        JAVA,
+        /**
+         * Kryo serialization with CAS types registered ahead of time.
+         */
+        KRYO
+    }
+
     public static class InMemory implements Serializable {
 
         private static final long serialVersionUID = -2600525447128979994L;
@@ -214,6 +243,18 @@ public class TicketRegistryProperties implements Serializable {
          */
         private int concurrency = 20;
 
+        /**
+         * Keep an index of tickets ordered by their next possible expiration instant,
+         * so the registry cleaner only visits tickets that are due rather than examining every ticket.
+         */
+        private boolean expirationIndexEnabled;
+
+        /**
+         * Keep a separate store and counter for each ticket type, so session and
+         * service ticket counts and iterations over a single ticket type do not walk the entire registry.
+         */
+        private boolean sharded;
+
         /**
          * Crypto settings for the registry.
          */
@@ -255,5 +296,21 @@ public class TicketRegistryProperties implements Serializable {
         public void setConcurrency(final int concurrency) {
             this.concurrency = concurrency;
         }
+
+        public boolean isExpirationIndexEnabled() {
+            return expirationIndexEnabled;
+        }
+
+        public void setExpirationIndexEnabled(final boolean expirationIndexEnabled) {
+            this.expirationIndexEnabled = expirationIndexEnabled;
+        }
+
+        public boolean isSharded() {
+            return sharded;
+        }
+
+        public void setSharded(final boolean sharded) {
+            this.sharded = sharded;
+        }
     }
 }
@@ -36,6 +36,13 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
      */
     private String alg = "AES";
 
+    /**
+     * Whether values should be encrypted using AES/GCM authenticated encryption,
+     * which protects their integrity without a separate signing pass.
+     * Values produced with this setting turned off remain readable.
+     */
+    private boolean authenticatedEncryption;
+
     public EncryptionRandomizedCryptoProperties getEncryption() {
         return encryption;
     }
@@ -60,6 +67,14 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
         this.alg = alg;
     }
 
+    public boolean isAuthenticatedEncryption() {
+        return authenticatedEncryption;
+    }
+
+    public void setAuthenticatedEncryption(final boolean authenticatedEncryption) {
+        this.authenticatedEncryption = authenticatedEncryption;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
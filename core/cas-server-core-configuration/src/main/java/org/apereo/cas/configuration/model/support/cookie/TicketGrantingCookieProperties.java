@@ -19,6 +19,24 @@ public class TicketGrantingCookieProperties extends CookieProperties {
      */
     private String rememberMeMaxAge = "P14D";
 
+    /**
+     * Pack the cookie value into a compact binary form that is protected by an HMAC
+     * using the signing key, instead of signing and encrypting it. The cookie becomes much smaller
+     * and cheaper to verify, yet its content is no longer encrypted.
+     */
+    private boolean compact;
+
+    /**
+     * Maximum number of decoded cookie values to keep in memory, so that repeated requests
+     * carrying the same cookie are not verified and decrypted again. Zero turns the cache off.
+     */
+    private long decodedValueCacheSize = 10_000;
+
+    /**
+     * How long a decoded cookie value is kept in memory.
+     */
+    private String decodedValueCacheTimeToLive = "PT5M";
+
     /**
      * Crypto settings that determine how the cookie should be signed and encrypted.
      */
@@ -45,4 +63,28 @@ public class TicketGrantingCookieProperties extends CookieProperties {
         this.rememberMeMaxAge = rememberMeMaxAge;
     }
 
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void setCompact(final boolean compact) {
+        this.compact = compact;
+    }
+
+    public long getDecodedValueCacheSize() {
+        return decodedValueCacheSize;
+    }
+
+    public void setDecodedValueCacheSize(final long decodedValueCacheSize) {
+        this.decodedValueCacheSize = decodedValueCacheSize;
+    }
+
+    public long getDecodedValueCacheTimeToLive() {
+        return Beans.newDuration(decodedValueCacheTimeToLive).getSeconds();
+    }
+
+    public void setDecodedValueCacheTimeToLive(final String decodedValueCacheTimeToLive) {
+        this.decodedValueCacheTimeToLive = decodedValueCacheTimeToLive;
+    }
+
 }
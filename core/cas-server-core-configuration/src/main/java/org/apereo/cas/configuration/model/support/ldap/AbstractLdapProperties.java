@@ -154,6 +154,13 @@ public abstract class AbstractLdapProperties implements Serializable {
      */
     private boolean failFast = true;
 
+    /**
+     * Whether the connection pool should be shared with other components that connect to the same
+     * LDAP url with the same connection settings, such as the bind dn and credential, SSL, SASL and timeouts.
+     * The settings of the component that first creates a shared pool define the pool.
+     */
+    private boolean sharedPool;
+
     /**
      * Removes connections from the pool based on how long they have been idle in the available queue.
      * Prunes connections that have been idle for more than the indicated amount.
@@ -429,6 +436,14 @@ public abstract class AbstractLdapProperties implements Serializable {
         this.failFast = failFast;
     }
 
+    public boolean isSharedPool() {
+        return sharedPool;
+    }
+
+    public void setSharedPool(final boolean sharedPool) {
+        this.sharedPool = sharedPool;
+    }
+
     public String getIdleTime() {
         return idleTime;
     }
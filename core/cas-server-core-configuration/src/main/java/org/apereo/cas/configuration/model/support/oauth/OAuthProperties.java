@@ -1,6 +1,8 @@
 package org.apereo.cas.configuration.model.support.oauth;
 
+import org.apereo.cas.configuration.model.core.util.EncryptionJwtSigningJwtCryptographyProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 
@@ -28,6 +30,11 @@ public class OAuthProperties implements Serializable {
      * Settings related to oauth refresh tokens.
      */
     private RefreshToken refreshToken = new RefreshToken();
+    /**
+     * Whether codes, access tokens and refresh tokens derived from a single sign-on session
+     * should be revoked once the session's ticket-granting ticket is destroyed.
+     */
+    private boolean revokeTokensWithTicketGrantingTicket = true;
 
     public Grants getGrants() {
         return grants;
@@ -53,6 +60,14 @@ public class OAuthProperties implements Serializable {
         this.refreshToken = refreshToken;
     }
 
+    public boolean isRevokeTokensWithTicketGrantingTicket() {
+        return revokeTokensWithTicketGrantingTicket;
+    }
+
+    public void setRevokeTokensWithTicketGrantingTicket(final boolean revokeTokensWithTicketGrantingTicket) {
+        this.revokeTokensWithTicketGrantingTicket = revokeTokensWithTicketGrantingTicket;
+    }
+
     public Code getCode() {
         return code;
     }
@@ -105,6 +120,20 @@ public class OAuthProperties implements Serializable {
          * should be released as part of this access token's validation.
          */
         private boolean releaseProtocolAttributes = true;
+        /**
+         * Crypto settings used to sign and encrypt access tokens
+         * that are issued as JWTs, for services that request them.
+         */
+        @NestedConfigurationProperty
+        private EncryptionJwtSigningJwtCryptographyProperties crypto = new EncryptionJwtSigningJwtCryptographyProperties();
+
+        public EncryptionJwtSigningJwtCryptographyProperties getCrypto() {
+            return crypto;
+        }
+
+        public void setCrypto(final EncryptionJwtSigningJwtCryptographyProperties crypto) {
+            this.crypto = crypto;
+        }
 
         public boolean isReleaseProtocolAttributes() {
             return releaseProtocolAttributes;
@@ -22,6 +22,11 @@ public class OidcProperties implements Serializable {
      * Timeout that indicates how long should the JWKS file be kept in cache.
      */
     private int jwksCacheInMinutes = 60;
+    /**
+     * How long, in seconds, relying parties may cache the response of the JWKS endpoint,
+     * as advertised via the {@code Cache-Control} header.
+     */
+    private long jwksCacheControlMaxAgeInSeconds = 300;
     /**
      * OIDC issuer.
      */
@@ -34,6 +39,16 @@ public class OidcProperties implements Serializable {
      * Path to the JWKS file resource used to handle signing/encryption of authentication tokens.
      */
     private Resource jwksFile = new FileSystemResource("/etc/cas/keystore.jwks");
+    /**
+     * The type of key generated for the JWKS file when none exists, {@code RSA} or {@code EC}.
+     */
+    private String jwksType = "RSA";
+    /**
+     * The size of the key generated for the JWKS file.
+     * For {@code EC} keys, this is the curve size and may be {@code 256}, {@code 384} or {@code 521};
+     * any other size, including the RSA default, generates a key on {@code P-256} and logs a warning.
+     */
+    private int jwksKeySize = 2048;
     /**
      * Whether dynamic registration operates in {@code OPEN} or {@code PROTECTED} mode.
      */
@@ -92,6 +107,14 @@ public class OidcProperties implements Serializable {
         this.jwksCacheInMinutes = jwksCacheInMinutes;
     }
 
+    public long getJwksCacheControlMaxAgeInSeconds() {
+        return jwksCacheControlMaxAgeInSeconds;
+    }
+
+    public void setJwksCacheControlMaxAgeInSeconds(final long jwksCacheControlMaxAgeInSeconds) {
+        this.jwksCacheControlMaxAgeInSeconds = jwksCacheControlMaxAgeInSeconds;
+    }
+
     public List<String> getSubjectTypes() {
         return subjectTypes;
     }
@@ -147,4 +170,20 @@ public class OidcProperties implements Serializable {
     public void setJwksFile(final Resource jwksFile) {
         this.jwksFile = jwksFile;
     }
+
+    public String getJwksType() {
+        return jwksType;
+    }
+
+    public void setJwksType(final String jwksType) {
+        this.jwksType = jwksType;
+    }
+
+    public int getJwksKeySize() {
+        return jwksKeySize;
+    }
+
+    public void setJwksKeySize(final int jwksKeySize) {
+        this.jwksKeySize = jwksKeySize;
+    }
 }
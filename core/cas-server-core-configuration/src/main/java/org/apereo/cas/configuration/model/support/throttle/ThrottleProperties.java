@@ -16,6 +16,23 @@ public class ThrottleProperties implements Serializable {
     private static final String DEFAULT_APPLICATION_CODE = "CAS";
     private static final String DEFAULT_AUTHN_FAILED_ACTION = "AUTHENTICATION_FAILED";
     private static final long serialVersionUID = 6813165633105563813L;
+    private static final int DEFAULT_MAXIMUM_TRACKED_KEYS = 100_000;
+
+    /**
+     * Strategies that track failures in memory.
+     */
+    public enum InMemoryStrategyTypes {
+        /**
+         * Keep the time of the last failure per key, and compare the rate between two failures
+         * against the threshold rate. Entries are cleaned up by a scheduled sweep.
+         */
+        LAST_FAILURE,
+        /**
+         * Keep a token bucket per key that allows up to the threshold number of failures
+         * within the range, refilled lazily. The number of tracked keys is bounded.
+         */
+        TOKEN_BUCKET
+    }
 
     /**
      * Throttling failure events.
@@ -36,6 +53,18 @@ public class ThrottleProperties implements Serializable {
      */
     private String appcode = DEFAULT_APPLICATION_CODE;
 
+    /**
+     * Strategy used to track failures in memory.
+     * Accepted values are {@code LAST_FAILURE} and {@code TOKEN_BUCKET}.
+     */
+    private InMemoryStrategyTypes inMemoryStrategy = InMemoryStrategyTypes.LAST_FAILURE;
+
+    /**
+     * Maximum number of keys tracked by the token bucket strategy,
+     * beyond which the least recently used keys are evicted.
+     */
+    private int maximumTrackedKeys = DEFAULT_MAXIMUM_TRACKED_KEYS;
+
     /**
      * Scheduler settings to clean up throttled attempts.
      */
@@ -80,6 +109,22 @@ public class ThrottleProperties implements Serializable {
         this.usernameParameter = usernameParameter;
     }
 
+    public InMemoryStrategyTypes getInMemoryStrategy() {
+        return inMemoryStrategy;
+    }
+
+    public void setInMemoryStrategy(final InMemoryStrategyTypes inMemoryStrategy) {
+        this.inMemoryStrategy = inMemoryStrategy;
+    }
+
+    public int getMaximumTrackedKeys() {
+        return maximumTrackedKeys;
+    }
+
+    public void setMaximumTrackedKeys(final int maximumTrackedKeys) {
+        this.maximumTrackedKeys = maximumTrackedKeys;
+    }
+
     public String getAppcode() {
         return appcode;
     }
@@ -139,6 +184,8 @@ public class ThrottleProperties implements Serializable {
         private static final String SQL_AUDIT_QUERY = "SELECT AUD_DATE FROM COM_AUDIT_TRAIL WHERE AUD_CLIENT_IP = ? AND AUD_USER = ? "
                 + "AND AUD_ACTION = ? AND APPLIC_CD = ? AND AUD_DATE >= ? ORDER BY AUD_DATE DESC";
         private static final long serialVersionUID = -9199878384425691919L;
+        private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+        private static final int DEFAULT_FLUSH_BATCH_SIZE = 500;
 
         /**
          * Audit query to execute against the database
@@ -147,6 +194,74 @@ public class ThrottleProperties implements Serializable {
          */
         private String auditQuery = SQL_AUDIT_QUERY;
 
+        /**
+         * Keep recent failures in a local cache, only querying the database on a cache miss,
+         * and write audit records to the database in batches in the background.
+         */
+        private boolean cachingEnabled;
+
+        /**
+         * Maximum number of audit records that may wait to be written to the database
+         * when caching is enabled. Records beyond this capacity are dropped.
+         */
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        /**
+         * Interval between writes of queued audit records when caching is enabled.
+         */
+        private String flushInterval = "PT2S";
+
+        /**
+         * Maximum number of audit records written per batch when caching is enabled.
+         */
+        private int flushBatchSize = DEFAULT_FLUSH_BATCH_SIZE;
+
+        /**
+         * Interval after which the failures of a given IP address and username are loaded again
+         * from the database when caching is enabled, to account for failures recorded by other nodes.
+         */
+        private String refreshInterval = "PT10S";
+
+        public boolean isCachingEnabled() {
+            return cachingEnabled;
+        }
+
+        public void setCachingEnabled(final boolean cachingEnabled) {
+            this.cachingEnabled = cachingEnabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public String getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final String flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getFlushBatchSize() {
+            return flushBatchSize;
+        }
+
+        public void setFlushBatchSize(final int flushBatchSize) {
+            this.flushBatchSize = flushBatchSize;
+        }
+
+        public String getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(final String refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
         public String getAuditQuery() {
             return auditQuery;
         }
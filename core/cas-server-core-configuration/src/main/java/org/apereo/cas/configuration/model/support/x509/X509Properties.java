@@ -86,9 +86,20 @@ public class X509Properties implements Serializable {
     private boolean checkAll;
     /**
      * The refresh interval of the internal scheduler in cases where CRL revocation checking
-     * is done via resources.
+     * is done via resources. When CRL revocation checking is done via distribution points
+     * and the CRL index is enabled, the maximum time between refreshes of an indexed CRL.
      */
     private int refreshIntervalSeconds = 3_600;
+    /**
+     * When CRL revocation checking is done via distribution points, index the serial numbers
+     * revoked by each fetched CRL and keep the index refreshed in the background, so that
+     * revocation checks do not fetch or parse CRLs.
+     */
+    private boolean crlIndexEnabled = true;
+    /**
+     * How long before the next update of an indexed CRL the CRL should be refreshed.
+     */
+    private long crlIndexRefreshBeforeNextUpdateSeconds = TimeUnit.MINUTES.toSeconds(5);
     /**
      * The principal descriptor used for principal resolution
      * when type is set to {@link PrincipalTypes#SUBJECT}.
@@ -119,6 +130,8 @@ public class X509Properties implements Serializable {
      * <li>{@code CRL}: The CRL URI(s) mentioned in the certificate cRLDistributionPoints extension field.
      * Caches are available to prevent excessive IO against CRL endpoints; CRL data is fetched if does not exist in the cache or if it is expired.</li>
      * <li>{@code RESOURCE}: A CRL hosted at a fixed location. The CRL is fetched at periodic intervals and cached.</li>
+     * <li>{@code OCSP}: The OCSP responder mentioned in the certificate authorityInfoAccess extension field.
+     * Responses are cached until their next update.</li>
      * </ul>
      */
     private String revocationChecker = "NONE";
@@ -223,6 +236,11 @@ public class X509Properties implements Serializable {
      */
     private Ldap ldap = new Ldap();
 
+    /**
+     * OCSP settings when revocation checking is done via OCSP responders.
+     */
+    private Ocsp ocsp = new Ocsp();
+
     /**
      * The compiled pattern supplied by the deployer.
      */
@@ -286,6 +304,14 @@ public class X509Properties implements Serializable {
         this.ldap = ldap;
     }
 
+    public Ocsp getOcsp() {
+        return ocsp;
+    }
+
+    public void setOcsp(final Ocsp ocsp) {
+        this.ocsp = ocsp;
+    }
+
     public boolean isCacheDiskOverflow() {
         return cacheDiskOverflow;
     }
@@ -414,6 +440,22 @@ public class X509Properties implements Serializable {
         this.refreshIntervalSeconds = refreshIntervalSeconds;
     }
 
+    public boolean isCrlIndexEnabled() {
+        return crlIndexEnabled;
+    }
+
+    public void setCrlIndexEnabled(final boolean crlIndexEnabled) {
+        this.crlIndexEnabled = crlIndexEnabled;
+    }
+
+    public long getCrlIndexRefreshBeforeNextUpdateSeconds() {
+        return crlIndexRefreshBeforeNextUpdateSeconds;
+    }
+
+    public void setCrlIndexRefreshBeforeNextUpdateSeconds(final long crlIndexRefreshBeforeNextUpdateSeconds) {
+        this.crlIndexRefreshBeforeNextUpdateSeconds = crlIndexRefreshBeforeNextUpdateSeconds;
+    }
+
     public boolean isCheckAll() {
         return checkAll;
     }
@@ -550,4 +592,109 @@ public class X509Properties implements Serializable {
             this.searchFilter = searchFilter;
         }
     }
+
+    public static class Ocsp implements Serializable {
+        private static final long serialVersionUID = 4622196328766471218L;
+        /**
+         * Certificates of the CAs that issue the certificates to check.
+         * They identify certificates to OCSP responders and establish trust in OCSP responses.
+         */
+        private List<String> issuerCertificates = new ArrayList<>();
+        /**
+         * The OCSP responder to use for certificates that do not mention one
+         * in their authorityInfoAccess extension field.
+         */
+        private String responderUrl;
+        /**
+         * Name of the request header in which the TLS terminator staples a base64-encoded OCSP response
+         * for the client certificate. Stapled responses are verified like any other response.
+         */
+        private String stapledResponseHeader;
+        /**
+         * If the revocation status of a certificate is not available, activate the this policy.
+         * Accepted values are {@code ALLOW} and {@code DENY}.
+         */
+        private String unavailablePolicy = DENY;
+        /**
+         * Connection timeout when contacting OCSP responders.
+         */
+        private int connectTimeoutMillis = 5_000;
+        /**
+         * Read timeout when contacting OCSP responders.
+         */
+        private int readTimeoutMillis = 5_000;
+        /**
+         * Maximum number of OCSP responses to cache.
+         */
+        private int maximumCacheSize = 10_000;
+        /**
+         * The age, in seconds, beyond which OCSP responses that do not specify a next update are rejected,
+         * whether fetched from a responder or stapled. Such responses are cached no longer than this.
+         */
+        private long maximumResponseAgeSeconds = 3_600;
+
+        public List<String> getIssuerCertificates() {
+            return issuerCertificates;
+        }
+
+        public void setIssuerCertificates(final List<String> issuerCertificates) {
+            this.issuerCertificates = issuerCertificates;
+        }
+
+        public String getResponderUrl() {
+            return responderUrl;
+        }
+
+        public void setResponderUrl(final String responderUrl) {
+            this.responderUrl = responderUrl;
+        }
+
+        public String getStapledResponseHeader() {
+            return stapledResponseHeader;
+        }
+
+        public void setStapledResponseHeader(final String stapledResponseHeader) {
+            this.stapledResponseHeader = stapledResponseHeader;
+        }
+
+        public String getUnavailablePolicy() {
+            return unavailablePolicy;
+        }
+
+        public void setUnavailablePolicy(final String unavailablePolicy) {
+            this.unavailablePolicy = unavailablePolicy;
+        }
+
+        public int getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public void setConnectTimeoutMillis(final int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+
+        public int getReadTimeoutMillis() {
+            return readTimeoutMillis;
+        }
+
+        public void setReadTimeoutMillis(final int readTimeoutMillis) {
+            this.readTimeoutMillis = readTimeoutMillis;
+        }
+
+        public int getMaximumCacheSize() {
+            return maximumCacheSize;
+        }
+
+        public void setMaximumCacheSize(final int maximumCacheSize) {
+            this.maximumCacheSize = maximumCacheSize;
+        }
+
+        public long getMaximumResponseAgeSeconds() {
+            return maximumResponseAgeSeconds;
+        }
+
+        public void setMaximumResponseAgeSeconds(final long maximumResponseAgeSeconds) {
+            this.maximumResponseAgeSeconds = maximumResponseAgeSeconds;
+        }
+    }
 }
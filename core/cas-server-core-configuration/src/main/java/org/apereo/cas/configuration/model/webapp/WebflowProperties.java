@@ -133,6 +133,27 @@ public class WebflowProperties implements Serializable {
          */
         private boolean storage;
 
+        /**
+         * Controls whether spring webflow executions are to be stored server-side in a flow execution storage,
+         * keyed by a short random identifier, instead of in the HTTP session or on the client.
+         * State is kept in memory unless a shared storage, such as Hazelcast, is available, in which case
+         * nodes of a cluster may resume each other's executions without sticky sessions. Takes precedence over storage.
+         */
+        private boolean distributed;
+
+        /**
+         * How long the state of a flow execution is kept in the flow execution storage.
+         * Only relevant if executions are stored in the flow execution storage.
+         */
+        private String executionTimeToLive = "PT30M";
+
+        /**
+         * Maximum total size, in bytes, of the compressed flow execution states kept in memory
+         * by the local flow execution storage. Least recently used states are evicted once the limit is reached.
+         * Only relevant if executions are stored in the flow execution storage.
+         */
+        private long maxExecutionStorageSize = 268_435_456;
+
         /**
          * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
          * file that defines how state should be replicated.
@@ -172,6 +193,30 @@ public class WebflowProperties implements Serializable {
             this.storage = storage;
         }
 
+        public boolean isDistributed() {
+            return distributed;
+        }
+
+        public void setDistributed(final boolean distributed) {
+            this.distributed = distributed;
+        }
+
+        public long getExecutionTimeToLive() {
+            return Beans.newDuration(executionTimeToLive).getSeconds();
+        }
+
+        public void setExecutionTimeToLive(final String executionTimeToLive) {
+            this.executionTimeToLive = executionTimeToLive;
+        }
+
+        public long getMaxExecutionStorageSize() {
+            return maxExecutionStorageSize;
+        }
+
+        public void setMaxExecutionStorageSize(final long maxExecutionStorageSize) {
+            this.maxExecutionStorageSize = maxExecutionStorageSize;
+        }
+
         public Resource getHzLocation() {
             return hzLocation;
         }
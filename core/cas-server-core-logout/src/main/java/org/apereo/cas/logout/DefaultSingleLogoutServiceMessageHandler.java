@@ -28,6 +28,7 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private final LogoutMessageCreator logoutMessageBuilder;
     private final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
+    private SingleLogoutMessageDispatcher dispatcher;
 
     /**
      * Instantiates a new Single logout service message handler.
@@ -124,6 +125,11 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
             logoutService.setLoggedOutAlready(true);
 
             LOGGER.debug("Preparing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
+            if (this.dispatcher != null) {
+                final LogoutHttpMessage msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, false);
+                LOGGER.debug("Prepared logout message to send is [{}]. Handing over to dispatcher...", msg);
+                return this.dispatcher.dispatch(msg, request.getTicketId());
+            }
             final LogoutHttpMessage msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, this.asynchronous);
             LOGGER.debug("Prepared logout message to send is [{}]. Sending...", msg);
             return this.httpClient.sendMessageToEndPoint(msg);
@@ -146,6 +152,10 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
                 && registeredService.getLogoutType() != LogoutType.NONE;
     }
 
+    public void setDispatcher(final SingleLogoutMessageDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     public ServicesManager getServicesManager() {
         return this.servicesManager;
     }
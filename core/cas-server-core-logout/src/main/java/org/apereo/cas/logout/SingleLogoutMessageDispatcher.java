@@ -0,0 +1,217 @@
+package org.apereo.cas.logout;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher} that delivers back-channel logout messages
+ * in the background, so that the caller is never blocked by slow or unresponsive endpoints.
+ * <p>
+ * Messages are accepted until the number of pending deliveries reaches the configured capacity;
+ * messages beyond that are rejected rather than queued without bounds. The number of concurrent deliveries
+ * per host is capped, failed deliveries are retried with an exponential backoff, and a message for a session
+ * that is still pending delivery to the same url is coalesced into it. Hosts that have not been contacted
+ * for a while are forgotten.
+ * Queue depth, delivery latency and outcomes are exposed as metrics.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SingleLogoutMessageDispatcher implements PublicMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SingleLogoutMessageDispatcher.class);
+
+    private static final String METRIC_PREFIX = "cas.slo.dispatcher.";
+    private static final long HOST_BUSY_DELAY_MILLIS = 50;
+    private static final int MAXIMUM_BACKOFF_EXPONENT = 10;
+    private static final Duration HOST_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final HttpClient httpClient;
+    private final int capacity;
+    private final int maximumConcurrentRequestsPerHost;
+    private final int maximumAttempts;
+    private final Duration retryBackoff;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, Delivery> pending = new ConcurrentHashMap<>();
+    private final LoadingCache<String, Semaphore> hosts;
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * Instantiates a new single logout message dispatcher.
+     *
+     * @param httpClient                       the http client
+     * @param capacity                         the maximum number of pending deliveries
+     * @param threads                          the number of delivery threads
+     * @param maximumConcurrentRequestsPerHost the maximum number of concurrent deliveries per host
+     * @param maximumAttempts                  the maximum number of attempts per message
+     * @param retryBackoff                     the delay before the first retry, doubled on every subsequent one
+     */
+    public SingleLogoutMessageDispatcher(final HttpClient httpClient, final int capacity, final int threads,
+                                         final int maximumConcurrentRequestsPerHost, final int maximumAttempts,
+                                         final Duration retryBackoff) {
+        this.httpClient = httpClient;
+        this.capacity = capacity;
+        this.maximumConcurrentRequestsPerHost = maximumConcurrentRequestsPerHost;
+        this.maximumAttempts = Math.max(1, maximumAttempts);
+        this.retryBackoff = retryBackoff;
+        this.scheduler = Executors.newScheduledThreadPool(threads);
+        this.hosts = Caffeine.newBuilder()
+                .expireAfterAccess(HOST_IDLE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .build(host -> new Semaphore(this.maximumConcurrentRequestsPerHost));
+    }
+
+    /**
+     * Accept the message for delivery. The message is always delivered synchronously
+     * by the dispatcher threads, regardless of its own asynchronous flag.
+     * Messages are considered duplicates when they are sent to the same url for the same session,
+     * since every logout message carries its own identifier and issue instant.
+     *
+     * @param message      the message
+     * @param sessionIndex the session index of the message, which is the id of the ticket being logged out
+     * @return true if the message is accepted or coalesced with a pending one, false if the dispatcher is full.
+     */
+    public boolean dispatch(final HttpMessage message, final String sessionIndex) {
+        final String key = message.getUrl().toExternalForm() + '\n' + sessionIndex;
+        if (this.pending.containsKey(key)) {
+            LOGGER.debug("Logout message to [{}] is already pending delivery", message.getUrl());
+            this.coalesced.increment();
+            return true;
+        }
+        if (this.depth.incrementAndGet() > this.capacity) {
+            this.depth.decrementAndGet();
+            this.rejected.increment();
+            LOGGER.warn("Logout message to [{}] is rejected; [{}] messages are already pending delivery", message.getUrl(), this.capacity);
+            return false;
+        }
+        final Delivery delivery = new Delivery(key, message);
+        if (this.pending.putIfAbsent(key, delivery) != null) {
+            this.depth.decrementAndGet();
+            this.coalesced.increment();
+            return true;
+        }
+        return schedule(delivery, 0);
+    }
+
+    /**
+     * Number of messages pending delivery.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.depth.get();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final Collection<Metric<?>> metrics = new ArrayList<>();
+        final long delivered = this.sent.sum();
+        metrics.add(new Metric<>(METRIC_PREFIX + "queue", this.depth.get()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "sent", delivered));
+        metrics.add(new Metric<>(METRIC_PREFIX + "failed", this.failed.sum()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "retried", this.retried.sum()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "coalesced", this.coalesced.sum()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "rejected", this.rejected.sum()));
+        metrics.add(new Metric<>(METRIC_PREFIX + "latency.avg", delivered == 0 ? 0 : this.totalLatency.sum() / delivered));
+        return metrics;
+    }
+
+    /**
+     * Shutdown the dispatcher; messages still pending are discarded.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    private boolean schedule(final Delivery delivery, final long delayInMillis) {
+        try {
+            this.scheduler.schedule(() -> deliver(delivery), delayInMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Logout message to [{}] could not be scheduled for delivery", delivery.message.getUrl());
+            complete(delivery);
+            return false;
+        }
+    }
+
+    private void deliver(final Delivery delivery) {
+        final Semaphore permits = this.hosts.get(delivery.message.getUrl().getHost());
+        if (!permits.tryAcquire()) {
+            schedule(delivery, HOST_BUSY_DELAY_MILLIS);
+            return;
+        }
+        final int attempt = ++delivery.attempts;
+        boolean result = false;
+        try {
+            result = this.httpClient.sendMessageToEndPoint(delivery.message);
+        } catch (final Exception e) {
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            permits.release();
+        }
+        if (result) {
+            final long latency = System.currentTimeMillis() - delivery.createdTime;
+            this.totalLatency.add(latency);
+            this.sent.increment();
+            LOGGER.debug("Delivered logout message to [{}] in [{}] ms", delivery.message.getUrl(), latency);
+            complete(delivery);
+        } else if (attempt < this.maximumAttempts) {
+            this.retried.increment();
+            final long backoff = this.retryBackoff.toMillis() << Math.min(attempt - 1, MAXIMUM_BACKOFF_EXPONENT);
+            LOGGER.debug("Delivery of logout message to [{}] failed; retrying in [{}] ms", delivery.message.getUrl(), backoff);
+            schedule(delivery, backoff);
+        } else {
+            this.failed.increment();
+            LOGGER.warn("Logout message is not delivered to [{}] after [{}] attempt(s)", delivery.message.getUrl(), attempt);
+            complete(delivery);
+        }
+    }
+
+    private void complete(final Delivery delivery) {
+        if (this.pending.remove(delivery.key, delivery)) {
+            this.depth.decrementAndGet();
+        }
+    }
+
+    /**
+     * A message pending delivery.
+     */
+    private static final class Delivery {
+        private final String key;
+        private final HttpMessage message;
+        private final long createdTime = System.currentTimeMillis();
+        private int attempts;
+
+        Delivery(final String key, final HttpMessage message) {
+            this.key = key;
+            this.message = message;
+        }
+    }
+}
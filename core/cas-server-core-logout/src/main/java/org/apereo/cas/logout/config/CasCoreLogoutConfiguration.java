@@ -3,6 +3,8 @@ package org.apereo.cas.logout.config;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
@@ -12,6 +14,7 @@ import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.LogoutMessageCreator;
 import org.apereo.cas.logout.SamlCompliantLogoutMessageCreator;
+import org.apereo.cas.logout.SingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
@@ -23,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -72,12 +76,26 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient,
+        final DefaultSingleLogoutServiceMessageHandler handler = new DefaultSingleLogoutServiceMessageHandler(httpClient,
                 logoutBuilder(),
                 servicesManager,
                 singleLogoutServiceLogoutUrlBuilder(),
                 casProperties.getSlo().isAsynchronous(),
                 authenticationRequestServiceSelectionStrategies);
+        if (casProperties.getSlo().getDispatcher().isEnabled()) {
+            handler.setDispatcher(singleLogoutMessageDispatcher());
+        }
+        return handler;
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @ConditionalOnProperty(prefix = "cas.slo.dispatcher", name = "enabled", havingValue = "true")
+    @Bean
+    public SingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        final SloProperties.Dispatcher dispatcher = casProperties.getSlo().getDispatcher();
+        return new SingleLogoutMessageDispatcher(httpClient, dispatcher.getCapacity(), dispatcher.getThreads(),
+                dispatcher.getMaximumConcurrentRequestsPerHost(), dispatcher.getMaximumAttempts(),
+                Beans.newDuration(dispatcher.getRetryBackoff()));
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
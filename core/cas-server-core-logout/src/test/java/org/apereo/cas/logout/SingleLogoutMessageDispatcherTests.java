@@ -0,0 +1,87 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SingleLogoutMessageDispatcherTests {
+    private static final String URL = "https://www.example.org/logout";
+
+    private static final LogoutMessageCreator MESSAGE_CREATOR = new SamlCompliantLogoutMessageCreator();
+
+    private final HttpClient client = mock(HttpClient.class);
+    private SingleLogoutMessageDispatcher dispatcher;
+
+    @After
+    public void tearDown() {
+        this.dispatcher.shutdown();
+    }
+
+    @Test
+    public void verifyMessageIsDelivered() throws Exception {
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        this.dispatcher = new SingleLogoutMessageDispatcher(client, 10, 1, 1, 1, Duration.ofMillis(10));
+        assertTrue(this.dispatcher.dispatch(newMessage("ST-1"), "ST-1"));
+        verify(client, timeout(5000)).sendMessageToEndPoint(any(HttpMessage.class));
+        waitForEmptyQueue();
+    }
+
+    @Test
+    public void verifyFailedDeliveryIsRetried() throws Exception {
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false, false, true);
+        this.dispatcher = new SingleLogoutMessageDispatcher(client, 10, 1, 1, 3, Duration.ofMillis(10));
+        assertTrue(this.dispatcher.dispatch(newMessage("ST-1"), "ST-1"));
+        verify(client, timeout(5000).times(3)).sendMessageToEndPoint(any(HttpMessage.class));
+        waitForEmptyQueue();
+    }
+
+    @Test
+    public void verifyDuplicatesAreCoalescedAndCapacityIsBounded() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(invocation -> latch.await(5, TimeUnit.SECONDS));
+        this.dispatcher = new SingleLogoutMessageDispatcher(client, 2, 1, 1, 1, Duration.ofMillis(10));
+
+        final HttpMessage first = newMessage("ST-1");
+        final HttpMessage duplicate = newMessage("ST-1");
+        assertNotEquals(first.getMessage(), duplicate.getMessage());
+
+        assertTrue(this.dispatcher.dispatch(first, "ST-1"));
+        assertTrue(this.dispatcher.dispatch(duplicate, "ST-1"));
+        assertTrue(this.dispatcher.dispatch(newMessage("ST-2"), "ST-2"));
+        assertFalse(this.dispatcher.dispatch(newMessage("ST-3"), "ST-3"));
+        assertEquals(2, this.dispatcher.getQueueDepth());
+
+        latch.countDown();
+        verify(client, timeout(5000).times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+        waitForEmptyQueue();
+    }
+
+    private void waitForEmptyQueue() throws Exception {
+        for (int i = 0; i < 50 && this.dispatcher.getQueueDepth() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, this.dispatcher.getQueueDepth());
+    }
+
+    private static HttpMessage newMessage(final String ticketId) throws Exception {
+        final URL logoutUrl = new URL(URL);
+        final LogoutRequest request = new DefaultLogoutRequest(ticketId, RegisteredServiceTestUtils.getService(URL), logoutUrl);
+        return new LogoutHttpMessage(logoutUrl, MESSAGE_CREATOR.create(request), false);
+    }
+}
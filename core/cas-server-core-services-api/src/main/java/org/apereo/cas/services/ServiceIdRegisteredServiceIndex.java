@@ -0,0 +1,71 @@
+package org.apereo.cas.services;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * This is {@link ServiceIdRegisteredServiceIndex}. It indexes services of a given type
+ * by their service id, such as a SAML entity id or a WS-Federation relying party address,
+ * when the service id is a literal value rather than a pattern.
+ * <p>Leading and trailing anchors are ignored, and escaped dots are treated as literal characters.
+ * Service ids that carry any other regular expression construct, including an unescaped dot,
+ * are not indexed and are evaluated on every lookup instead.</p>
+ *
+ * @param <T> the registered service type
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ServiceIdRegisteredServiceIndex<T extends RegisteredService> implements RegisteredServiceIndex<T> {
+    private static final long serialVersionUID = -1838307471542186045L;
+
+    private static final String METACHARACTERS = "[](){}*+?|^$.\\";
+    private static final String ESCAPED_DOT = "\\.";
+
+    private final Class<T> serviceType;
+
+    public ServiceIdRegisteredServiceIndex(final Class<T> serviceType) {
+        this.serviceType = serviceType;
+    }
+
+    @Override
+    public String getName() {
+        return "serviceId:" + this.serviceType.getName();
+    }
+
+    @Override
+    public Class<T> getServiceType() {
+        return this.serviceType;
+    }
+
+    @Override
+    public Collection<String> getKeys(final T service) {
+        final Collection<String> keys = new ArrayList<>(1);
+        if (!(service instanceof RegexRegisteredService) || StringUtils.isBlank(service.getServiceId())) {
+            return keys;
+        }
+        final String serviceId = StringUtils.removeEnd(StringUtils.removeStart(service.getServiceId(), "^"), "$");
+        if (StringUtils.containsNone(StringUtils.remove(serviceId, ESCAPED_DOT), METACHARACTERS)) {
+            keys.add(normalize(StringUtils.replace(serviceId, ESCAPED_DOT, ".")));
+        }
+        return keys;
+    }
+
+    @Override
+    public boolean matches(final T service, final String key) {
+        return service.matches(key);
+    }
+
+    /**
+     * Keys are compared without regard to case, as are service id patterns.
+     *
+     * @param key the key
+     * @return the key in lower case
+     */
+    @Override
+    public String normalize(final String key) {
+        return key.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -45,6 +45,7 @@ public class DefaultServicesManager implements ServicesManager, Serializable {
     private transient ApplicationEventPublisher eventPublisher;
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+    private final RegisteredServiceSecondaryIndexes secondaryIndexes = new RegisteredServiceSecondaryIndexes();
     private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
 
     /**
@@ -67,6 +68,7 @@ public class DefaultServicesManager implements ServicesManager, Serializable {
             this.serviceRegistryDao.delete(service);
             this.services.remove(id);
             this.orderedServices.remove(service);
+            this.secondaryIndexes.clear();
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
         return service;
@@ -84,6 +86,11 @@ public class DefaultServicesManager implements ServicesManager, Serializable {
                 .collect(Collectors.toSet());
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndex<T> index, final String key) {
+        return this.secondaryIndexes.find(index, key, this::getAllServices);
+    }
+
     @Override
     public <T extends RegisteredService> T findServiceBy(final Service serviceId, final Class<T> clazz) {
         return findServiceBy(serviceId.getId(), clazz);
@@ -146,6 +153,7 @@ public class DefaultServicesManager implements ServicesManager, Serializable {
         final RegisteredService r = this.serviceRegistryDao.save(registeredService);
         this.services.put(r.getId(), r);
         this.orderedServices = new ConcurrentSkipListSet<>(this.services.values());
+        this.secondaryIndexes.clear();
         
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
@@ -169,6 +177,7 @@ public class DefaultServicesManager implements ServicesManager, Serializable {
                     return r.getId();
                 }, Function.identity(), (r, s) -> s == null ? r : s));
         this.orderedServices = new ConcurrentSkipListSet<>(this.services.values());
+        this.secondaryIndexes.clear();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, this.orderedServices));
         LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistryDao);
     }
@@ -46,6 +46,7 @@ public class DomainServicesManager implements ServicesManager, Serializable {
     private transient ApplicationEventPublisher eventPublisher;
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+    private final RegisteredServiceSecondaryIndexes secondaryIndexes = new RegisteredServiceSecondaryIndexes();
     private Map<String, TreeSet<RegisteredService>> domains = new ConcurrentHashMap<>();
 
     /**
@@ -73,6 +74,7 @@ public class DomainServicesManager implements ServicesManager, Serializable {
             this.serviceRegistryDao.delete(service);
             this.services.remove(id);
             this.domains.get(getDomain(service.getServiceId())).remove(service);
+            this.secondaryIndexes.clear();
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
         return service;
@@ -92,6 +94,11 @@ public class DomainServicesManager implements ServicesManager, Serializable {
                 .collect(Collectors.toSet());
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndex<T> index, final String key) {
+        return this.secondaryIndexes.find(index, key, this::getAllServices);
+    }
+
     @Override
     public <T extends RegisteredService> T findServiceBy(final Service serviceId, final Class<T> clazz) {
         return findServiceBy(serviceId.getId(), clazz);
@@ -171,6 +178,7 @@ public class DomainServicesManager implements ServicesManager, Serializable {
         final RegisteredService r = this.serviceRegistryDao.save(registeredService);
         this.services.put(r.getId(), r);
         addToDomain(r, this.domains);
+        this.secondaryIndexes.clear();
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
         }
@@ -194,6 +202,7 @@ public class DomainServicesManager implements ServicesManager, Serializable {
         final Map<String, TreeSet<RegisteredService>> localDomains = new ConcurrentHashMap<>();
         this.services.values().stream().forEach(r -> addToDomain(r, localDomains));
         this.domains = localDomains;
+        this.secondaryIndexes.clear();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, services.values()));
         LOGGER.info("Loaded [{}] services from [{}].", this.services.size(), this.serviceRegistryDao);
     }
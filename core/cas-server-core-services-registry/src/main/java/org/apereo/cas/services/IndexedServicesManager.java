@@ -0,0 +1,200 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicePreSaveEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.inspektr.audit.annotation.Audit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PostConstruct;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link ServicesManager} interface that indexes services
+ * by the literal prefix of their service id patterns in a {@link RegisteredServicePrefixTrie}.
+ * Lookups only evaluate the candidates whose prefix matches the requested service,
+ * rather than scanning every registered service in order.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class IndexedServicesManager implements ServicesManager, Serializable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexedServicesManager.class);
+    private static final long serialVersionUID = -4231790512309486212L;
+
+    private final ServiceRegistryDao serviceRegistryDao;
+
+    @Autowired
+    private transient ApplicationEventPublisher eventPublisher;
+
+    private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+    private final RegisteredServiceSecondaryIndexes secondaryIndexes = new RegisteredServiceSecondaryIndexes();
+    private volatile RegisteredServicePrefixTrie index = new RegisteredServicePrefixTrie(new ArrayList<>());
+
+    /**
+     * Instantiates a new indexed services manager.
+     *
+     * @param serviceRegistryDao the service registry dao
+     */
+    public IndexedServicesManager(final ServiceRegistryDao serviceRegistryDao) {
+        this.serviceRegistryDao = serviceRegistryDao;
+    }
+
+    @Audit(action = "DELETE_SERVICE",
+            actionResolverName = "DELETE_SERVICE_ACTION_RESOLVER",
+            resourceResolverName = "DELETE_SERVICE_RESOURCE_RESOLVER")
+    @Override
+    public synchronized RegisteredService delete(final long id) {
+        final RegisteredService service = findServiceBy(id);
+        if (service != null) {
+            publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
+            this.serviceRegistryDao.delete(service);
+            this.services.remove(id);
+            rebuildIndex();
+            this.secondaryIndexes.clear();
+            publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
+        }
+        return service;
+    }
+
+    @Override
+    public RegisteredService findServiceBy(final Service service) {
+        return service != null ? findServiceBy(service.getId()) : null;
+    }
+
+    @Override
+    public Collection<RegisteredService> findServiceBy(final Predicate<RegisteredService> predicate) {
+        return services.values().stream()
+                .filter(predicate)
+                .sorted()
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndex<T> index, final String key) {
+        return this.secondaryIndexes.find(index, key, this::getAllServices);
+    }
+
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final Service serviceId, final Class<T> clazz) {
+        return findServiceBy(serviceId.getId(), clazz);
+    }
+
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final String serviceId, final Class<T> clazz) {
+        return this.index.findServiceBy(serviceId, clazz);
+    }
+
+    @Override
+    public RegisteredService findServiceBy(final String serviceId) {
+        final RegisteredService service = this.index.findServiceBy(serviceId);
+        LOGGER.debug("Located registered service [{}] for service identifier [{}]", service, serviceId);
+        return service;
+    }
+
+    @Override
+    public RegisteredService findServiceBy(final long id) {
+        final RegisteredService r = this.services.get(id);
+
+        try {
+            return r == null ? null : r.clone();
+        } catch (final CloneNotSupportedException e) {
+            return r;
+        }
+    }
+
+    @Override
+    public Collection<RegisteredService> getAllServices() {
+        return services.values()
+                .stream()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean matchesExistingService(final Service service) {
+        return findServiceBy(service) != null;
+    }
+
+    @Override
+    public boolean matchesExistingService(final String service) {
+        return findServiceBy(service) != null;
+    }
+
+    @Audit(action = "SAVE_SERVICE",
+            actionResolverName = "SAVE_SERVICE_ACTION_RESOLVER",
+            resourceResolverName = "SAVE_SERVICE_RESOURCE_RESOLVER")
+    @Override
+    public RegisteredService save(final RegisteredService registeredService) {
+        return save(registeredService, true);
+    }
+
+    @Audit(action = "SAVE_SERVICE",
+            actionResolverName = "SAVE_SERVICE_ACTION_RESOLVER",
+            resourceResolverName = "SAVE_SERVICE_RESOURCE_RESOLVER")
+    @Override
+    public synchronized RegisteredService save(final RegisteredService registeredService, final boolean publishEvent) {
+        publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
+        final RegisteredService r = this.serviceRegistryDao.save(registeredService);
+        this.services.put(r.getId(), r);
+        rebuildIndex();
+        this.secondaryIndexes.clear();
+
+        if (publishEvent) {
+            publishEvent(new CasRegisteredServiceSavedEvent(this, r));
+        }
+        return r;
+    }
+
+    /**
+     * Load services that are provided by the DAO.
+     */
+    @Scheduled(initialDelayString = "${cas.serviceRegistry.schedule.startDelay:20000}",
+            fixedDelayString = "${cas.serviceRegistry.schedule.repeatInterval:60000}")
+    @Override
+    @PostConstruct
+    public synchronized void load() {
+        LOGGER.debug("Loading services from [{}]", this.serviceRegistryDao);
+        this.services = this.serviceRegistryDao.load()
+                .stream()
+                .collect(Collectors.toConcurrentMap(r -> {
+                    LOGGER.debug("Adding registered service [{}]", r.getServiceId());
+                    return r.getId();
+                }, Function.identity(), (r, s) -> s == null ? r : s));
+        rebuildIndex();
+        this.secondaryIndexes.clear();
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        LOGGER.info("Loaded and indexed [{}] service(s) from [{}].", this.services.size(), this.serviceRegistryDao);
+    }
+
+    @Override
+    public int count() {
+        return services.size();
+    }
+
+    private void rebuildIndex() {
+        this.index = new RegisteredServicePrefixTrie(this.services.values());
+    }
+
+    private void publishEvent(final ApplicationEvent event) {
+        if (this.eventPublisher != null) {
+            this.eventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.apereo.cas.services;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable index of registered services, keyed by the literal prefix
+ * (i.e. scheme, host and path) that can be extracted from each service definition's
+ * {@link RegisteredService#getServiceId()} pattern.
+ * <p>
+ * Given a service identifier, the trie walks down the characters of the identifier
+ * and collects the services registered at each node along the path. Only those
+ * candidates need to be evaluated against their compiled patterns, and they are
+ * always handed back in the evaluation order of the registry.
+ * Matching of regular expressions is case insensitive for US-ASCII characters,
+ * so prefixes are stored and looked up in their lower-case form.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RegisteredServicePrefixTrie implements Serializable {
+
+    private static final long serialVersionUID = 4307640231718325117L;
+
+    private static final String METACHARACTERS = ".[]()*+?{}|$^";
+    private static final String QUANTIFIERS = "?*+{";
+    private static final int MAX_ASCII = 127;
+
+    private final RegisteredService[] services;
+    private final Node root;
+
+    /**
+     * Instantiates a new prefix trie.
+     *
+     * @param registeredServices the registered services
+     */
+    public RegisteredServicePrefixTrie(final Collection<RegisteredService> registeredServices) {
+        this.services = registeredServices.stream().sorted().toArray(RegisteredService[]::new);
+
+        final MutableNode mutableRoot = new MutableNode();
+        for (int i = 0; i < this.services.length; i++) {
+            final String prefix = getLiteralPrefix(this.services[i]);
+            MutableNode node = mutableRoot;
+            for (int j = 0; j < prefix.length(); j++) {
+                node = node.children.computeIfAbsent(prefix.charAt(j), c -> new MutableNode());
+            }
+            node.ranks.add(i);
+        }
+        this.root = mutableRoot.freeze();
+    }
+
+    /**
+     * Find the first registered service, in evaluation order, whose pattern matches the given service id.
+     *
+     * @param serviceId the service id
+     * @return the registered service, or null
+     */
+    public RegisteredService findServiceBy(final String serviceId) {
+        return findServiceBy(serviceId, RegisteredService.class);
+    }
+
+    /**
+     * Find the first registered service of the given type, in evaluation order,
+     * whose pattern matches the given service id.
+     *
+     * @param <T>       the type parameter
+     * @param serviceId the service id
+     * @param clazz     the clazz
+     * @return the registered service, or null
+     */
+    public <T extends RegisteredService> T findServiceBy(final String serviceId, final Class<T> clazz) {
+        if (serviceId == null) {
+            return null;
+        }
+        for (final int rank : getCandidateRanks(serviceId)) {
+            final RegisteredService candidate = this.services[rank];
+            if (clazz.isInstance(candidate) && candidate.matches(serviceId)) {
+                return clazz.cast(candidate);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the candidate services, in evaluation order, that may match the given service id.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    public List<RegisteredService> getCandidates(final String serviceId) {
+        final List<RegisteredService> candidates = new ArrayList<>();
+        if (serviceId != null) {
+            for (final int rank : getCandidateRanks(serviceId)) {
+                candidates.add(this.services[rank]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Total number of indexed services.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.services.length;
+    }
+
+    private int[] getCandidateRanks(final String serviceId) {
+        int[] ranks = this.root.ranks;
+        int count = ranks.length;
+        boolean merged = false;
+
+        Node node = this.root;
+        for (int i = 0; i < serviceId.length(); i++) {
+            node = node.child(toLowerCase(serviceId.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            if (node.ranks.length > 0) {
+                final int[] expanded = new int[count + node.ranks.length];
+                System.arraycopy(ranks, 0, expanded, 0, count);
+                System.arraycopy(node.ranks, 0, expanded, count, node.ranks.length);
+                ranks = expanded;
+                count = expanded.length;
+                merged = true;
+            }
+        }
+        if (merged) {
+            Arrays.sort(ranks);
+        }
+        return ranks;
+    }
+
+    /**
+     * Gets the literal prefix of the registered service pattern.
+     * Services that are not regex-based are given an empty prefix, and are thus evaluated for every request.
+     *
+     * @param registeredService the registered service
+     * @return the literal prefix, in lower case.
+     */
+    static String getLiteralPrefix(final RegisteredService registeredService) {
+        if (registeredService instanceof RegexRegisteredService) {
+            return getLiteralPrefix(registeredService.getServiceId());
+        }
+        return StringUtils.EMPTY;
+    }
+
+    /**
+     * Extract the literal prefix of a regular expression, that is the longest run of characters
+     * every matching string must begin with. The extraction is conservative: anything that is not
+     * a plain or escaped literal character ends the prefix, and patterns with top-level
+     * alternations produce no prefix at all.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, in lower case.
+     */
+    static String getLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || hasTopLevelAlternation(pattern)) {
+            return StringUtils.EMPTY;
+        }
+        final StringBuilder prefix = new StringBuilder();
+        int i = pattern.charAt(0) == '^' ? 1 : 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            final int next;
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    break;
+                }
+                c = pattern.charAt(i + 1);
+                next = i + 2;
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                next = i + 1;
+            }
+            if (c > MAX_ASCII) {
+                break;
+            }
+            if (next < pattern.length() && QUANTIFIERS.indexOf(pattern.charAt(next)) >= 0) {
+                if (pattern.charAt(next) == '+') {
+                    prefix.append(toLowerCase(c));
+                }
+                break;
+            }
+            prefix.append(toLowerCase(c));
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        int groups = 0;
+        int classes = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i++);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                classes++;
+            } else if (c == ']' && classes > 0) {
+                classes--;
+            } else if (classes == 0) {
+                if (c == '(') {
+                    groups++;
+                } else if (c == ')' && groups > 0) {
+                    groups--;
+                } else if (c == '|' && groups == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static char toLowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static class MutableNode {
+        private final Map<Character, MutableNode> children = new TreeMap<>();
+        private final List<Integer> ranks = new ArrayList<>();
+
+        Node freeze() {
+            final char[] keys = new char[children.size()];
+            final Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (final Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(keys, nodes, ranks.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static class Node implements Serializable {
+        private static final long serialVersionUID = -2127493823563154823L;
+
+        private final char[] keys;
+        private final Node[] children;
+        private final int[] ranks;
+
+        Node(final char[] keys, final Node[] children, final int[] ranks) {
+            this.keys = keys;
+            this.children = children;
+            this.ranks = ranks;
+        }
+
+        Node child(final char c) {
+            final int idx = Arrays.binarySearch(keys, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.apereo.cas.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link RegisteredServiceSecondaryIndexes}. It holds the secondary indexes
+ * of a {@link ServicesManager}, each built from the registered services the first time
+ * it is queried and discarded whenever services are loaded, saved or deleted.
+ * <p>Services that cannot be indexed by a given index are kept aside and evaluated
+ * on every lookup, so that results remain identical to a scan of all services in evaluation order.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RegisteredServiceSecondaryIndexes implements Serializable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegisteredServiceSecondaryIndexes.class);
+    private static final long serialVersionUID = 3316712046483929871L;
+
+    private volatile ConcurrentHashMap<String, IndexedServices> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Find the first service, in evaluation order, located by the key in the given index.
+     *
+     * @param <T>      the type parameter
+     * @param index    the index
+     * @param key      the key
+     * @param services the registered services, used to build the index when necessary
+     * @return the registered service, or null
+     */
+    public <T extends RegisteredService> T find(final RegisteredServiceIndex<T> index, final String key,
+                                                final Supplier<Collection<RegisteredService>> services) {
+        if (key == null) {
+            return null;
+        }
+        final IndexedServices indexed = this.indexes.computeIfAbsent(index.getName(), name -> new IndexedServices(index, services.get()));
+
+        RegisteredService result = indexed.keyed.getOrDefault(index.normalize(key), new ArrayList<>(0))
+                .stream()
+                .filter(s -> index.matches(index.getServiceType().cast(s), key))
+                .findFirst()
+                .orElse(null);
+
+        for (final RegisteredService candidate : indexed.unkeyed) {
+            if (result != null && candidate.compareTo(result) >= 0) {
+                break;
+            }
+            if (index.matches(index.getServiceType().cast(candidate), key)) {
+                result = candidate;
+                break;
+            }
+        }
+        return index.getServiceType().cast(result);
+    }
+
+    /**
+     * Discard all indexes, so they are rebuilt from the current services when next queried.
+     */
+    public void clear() {
+        this.indexes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Services of the indexed type, grouped by key and ordered by evaluation order.
+     */
+    private static class IndexedServices implements Serializable {
+        private static final long serialVersionUID = -5493263712383364092L;
+
+        private final Map<String, List<RegisteredService>> keyed = new HashMap<>();
+        private final List<RegisteredService> unkeyed = new ArrayList<>();
+
+        <T extends RegisteredService> IndexedServices(final RegisteredServiceIndex<T> index, final Collection<RegisteredService> services) {
+            services.stream()
+                    .filter(index.getServiceType()::isInstance)
+                    .sorted()
+                    .forEach(s -> {
+                        final Collection<String> keys = index.getKeys(index.getServiceType().cast(s));
+                        if (keys == null || keys.isEmpty()) {
+                            this.unkeyed.add(s);
+                        } else {
+                            keys.forEach(k -> this.keyed.computeIfAbsent(k, key -> new ArrayList<>()).add(s));
+                        }
+                    });
+            LOGGER.debug("Built registered service index [{}] with [{}] key(s) and [{}] unindexed service(s)",
+                    index.getName(), this.keyed.size(), this.unkeyed.size());
+        }
+    }
+}
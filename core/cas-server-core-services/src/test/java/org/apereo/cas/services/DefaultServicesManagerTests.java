@@ -233,6 +233,23 @@ public class DefaultServicesManagerTests {
         assertEquals(description, serviceRetrieved.toArray(new RegisteredService[]{})[0].getDescription());
     }
 
+    @Test
+    public void verifyDeletedServiceIsNotFoundByIndex() {
+        final RegisteredServiceIndex<RegexRegisteredService> index = new ServiceIdRegisteredServiceIndex<>(RegexRegisteredService.class);
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId("^https://sp\\.example\\.org/shibboleth$");
+        r.setEvaluationOrder(10);
+        this.defaultServicesManager.save(r);
+        assertEquals(r, this.defaultServicesManager.findServiceBy(index, "https://sp.example.org/shibboleth"));
+
+        this.defaultServicesManager.delete(r.getId());
+        assertNull(this.defaultServicesManager.findServiceBy(index, "https://sp.example.org/shibboleth"));
+        assertEquals(0, this.defaultServicesManager.findServiceBy(RegexRegisteredService.class::isInstance).stream()
+                .filter(s -> s.getId() == 1000).count());
+    }
+
     private static class SimpleService implements Service {
 
         /**
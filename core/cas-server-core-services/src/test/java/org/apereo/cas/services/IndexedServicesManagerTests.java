@@ -0,0 +1,345 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class IndexedServicesManagerTests {
+
+    private static final String TEST = "test";
+    private ServicesManager servicesManager;
+    private ServiceRegistryDao dao;
+
+    @Before
+    public void setUp() throws Exception {
+        final List<RegisteredService> list = new ArrayList<>();
+
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(2500);
+        r.setServiceId("serviceId");
+        r.setName("serviceName");
+        r.setEvaluationOrder(1000);
+
+        list.add(r);
+        dao = new InMemoryServiceRegistry(list);
+        this.servicesManager = new IndexedServicesManager(dao);
+        this.servicesManager.load();
+    }
+
+    @Test
+    public void verifySaveAndGet() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+
+        this.servicesManager.save(r);
+        assertNotNull(this.servicesManager.findServiceBy(1000));
+    }
+
+    @Test
+    public void verifyMultiServicesBySameNameAndServiceId() {
+        RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(666);
+        r.setName("testServiceName");
+        r.setServiceId("testServiceA");
+
+        this.servicesManager.save(r);
+
+        r = new RegexRegisteredService();
+        r.setId(999);
+        r.setName("testServiceName");
+        r.setServiceId("testServiceA");
+
+        this.servicesManager.save(r);
+
+        /* Added 2 above, plus another that is added during @Setup */
+        assertEquals(3, this.servicesManager.getAllServices().size());
+    }
+
+    @Test
+    public void verifySaveWithReturnedPersistedInstance() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000L);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+
+        final RegisteredService persistedRs = this.servicesManager.save(r);
+        assertNotNull(persistedRs);
+        assertEquals(1000L, persistedRs.getId());
+    }
+
+    @Test
+    public void verifyDeleteAndGet() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+
+        this.servicesManager.save(r);
+        assertEquals(r, this.servicesManager.findServiceBy(r.getId()));
+
+        this.servicesManager.delete(r.getId());
+        assertNull(this.servicesManager.findServiceBy(r.getId()));
+    }
+
+    @Test
+    public void verifyDeleteNotExistentService() {
+        assertNull(this.servicesManager.delete(1500));
+    }
+
+    @Test
+    public void verifyMatchesExistingService() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+
+        final Service service = RegisteredServiceTestUtils.getService(TEST);
+        final Service service2 = RegisteredServiceTestUtils.getService("fdfa");
+
+        this.servicesManager.save(r);
+
+        assertTrue(this.servicesManager.matchesExistingService(service));
+        assertEquals(r, this.servicesManager.findServiceBy(service));
+        assertNull(this.servicesManager.findServiceBy(service2));
+    }
+
+    @Test
+    public void verifyAllService() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+        r.setEvaluationOrder(2);
+
+        this.servicesManager.save(r);
+
+        assertEquals(2, this.servicesManager.getAllServices().size());
+        assertTrue(this.servicesManager.getAllServices().contains(r));
+    }
+
+    @Test
+    public void verifyRegexService() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(10000);
+        r.setName("regex test");
+        r.setServiceId("^http://www.test.edu.+");
+        r.setEvaluationOrder(10000);
+
+        this.servicesManager.save(r);
+
+        final Service service = RegisteredServiceTestUtils.getService("HTTP://www.TEST.edu/param=hello");
+        assertEquals(r, this.servicesManager.findServiceBy(service));
+    }
+
+    @Test
+    public void verifyEmptyServicesRegistry() {
+        final Service s = RegisteredServiceTestUtils.getService("http://www.google.com");
+
+        servicesManager.getAllServices().forEach(svc -> servicesManager.delete(svc.getId()));
+
+        assertSame(0, this.servicesManager.getAllServices().size());
+        assertNull(this.servicesManager.findServiceBy(s));
+        assertNull(this.servicesManager.findServiceBy(1000));
+    }
+
+    @Test
+    public void verifyEvaluationOrderOfServices() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(100);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+        r.setEvaluationOrder(200);
+
+        final RegexRegisteredService r2 = new RegexRegisteredService();
+        r2.setId(101);
+        r2.setName(TEST);
+        r2.setServiceId(TEST);
+        r2.setEvaluationOrder(80);
+
+        final RegexRegisteredService r3 = new RegexRegisteredService();
+        r3.setId(102);
+        r3.setName("Sample test service");
+        r3.setServiceId(TEST);
+        r3.setEvaluationOrder(80);
+
+        this.servicesManager.save(r);
+        this.servicesManager.save(r3);
+        this.servicesManager.save(r2);
+
+        final List<RegisteredService> allServices = new ArrayList<>(this.servicesManager.getAllServices());
+
+        //We expect the 3 newly added services, plus the one added in setUp()
+        assertEquals(4, allServices.size());
+
+        assertEquals(allServices.get(0).getId(), r3.getId());
+        assertEquals(allServices.get(1).getId(), r2.getId());
+        assertEquals(allServices.get(2).getId(), r.getId());
+    }
+
+    @Test
+    public void verifyServiceCanBeUpdated() throws Exception {
+        final int serviceId = 2500;
+        final String description = "desc";
+
+        final RegexRegisteredService service = new RegexRegisteredService();
+        service.setId(serviceId);
+        service.setName("serviceName");
+        service.setServiceId("serviceId");
+        service.setEvaluationOrder(1000);
+
+        servicesManager.save(service);
+
+        service.setDescription(description);
+
+        servicesManager.save(service);
+
+        final Collection<RegisteredService> serviceRetrieved = servicesManager.findServiceBy(RegexRegisteredService.class::isInstance);
+
+        assertEquals(description, serviceRetrieved.toArray(new RegisteredService[]{})[0].getDescription());
+    }
+
+    @Test
+    public void verifyServiceIsUpdatedAfterALoad() throws Exception {
+        final int serviceId = 2500;
+        final String description = "desc";
+
+        final RegexRegisteredService service = new RegexRegisteredService();
+        service.setId(serviceId);
+        service.setName("serviceName");
+        service.setServiceId("serviceId");
+        service.setEvaluationOrder(1000);
+        dao.save(service);
+        service.setDescription(description);
+
+        dao.save(service);
+        servicesManager.load();
+
+        final Collection<RegisteredService> serviceRetrieved = servicesManager.findServiceBy(RegexRegisteredService.class::isInstance);
+
+        assertEquals(description, serviceRetrieved.toArray(new RegisteredService[]{})[0].getDescription());
+    }
+
+    @Test
+    public void verifyLiteralPrefixes() {
+        assertEquals("https://www.example.org/", RegisteredServicePrefixTrie.getLiteralPrefix("^https://www\\.example\\.org/.*"));
+        assertEquals("http", RegisteredServicePrefixTrie.getLiteralPrefix("^https?://.+"));
+        assertEquals("https://app", RegisteredServicePrefixTrie.getLiteralPrefix("HTTPS://App\\d+\\.example\\.org"));
+        assertEquals("https://", RegisteredServicePrefixTrie.getLiteralPrefix("https://(a|b)\\.example\\.org/.*"));
+        assertEquals("", RegisteredServicePrefixTrie.getLiteralPrefix("^https://a\\.org/.*|^https://b\\.org/.*"));
+        assertEquals("", RegisteredServicePrefixTrie.getLiteralPrefix("^(https|imaps)://.*"));
+    }
+
+    @Test
+    public void verifyEvaluationOrderAcrossPrefixes() {
+        final RegexRegisteredService specific = new RegexRegisteredService();
+        specific.setId(3000);
+        specific.setName("specific");
+        specific.setServiceId("^https://www\\.example\\.org/app/.*");
+        specific.setEvaluationOrder(50);
+
+        final RegexRegisteredService catchAll = new RegexRegisteredService();
+        catchAll.setId(3001);
+        catchAll.setName("catchAll");
+        catchAll.setServiceId("^(https|imaps)://.*");
+        catchAll.setEvaluationOrder(10);
+
+        final RegexRegisteredService host = new RegexRegisteredService();
+        host.setId(3002);
+        host.setName("host");
+        host.setServiceId("^https://www\\.example\\.org/.*");
+        host.setEvaluationOrder(1);
+
+        this.servicesManager.save(specific);
+        this.servicesManager.save(catchAll);
+        assertEquals(catchAll, this.servicesManager.findServiceBy("https://www.example.org/app/page"));
+
+        this.servicesManager.save(host);
+        assertEquals(host, this.servicesManager.findServiceBy("HTTPS://WWW.EXAMPLE.ORG/app/page"));
+        assertEquals(catchAll, this.servicesManager.findServiceBy("https://other.example.org/app"));
+
+        this.servicesManager.delete(host.getId());
+        this.servicesManager.delete(catchAll.getId());
+        assertEquals(specific, this.servicesManager.findServiceBy("https://www.example.org/app/page"));
+        assertNull(this.servicesManager.findServiceBy("https://www.example.org/other"));
+    }
+
+    @Test
+    public void verifyServiceIdIndexLocatesLiteralServices() {
+        final RegisteredServiceIndex<RegexRegisteredService> index = new ServiceIdRegisteredServiceIndex<>(RegexRegisteredService.class);
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId("https://sp.example.org/shibboleth");
+        r.setEvaluationOrder(10);
+        this.servicesManager.save(r);
+
+        assertEquals(r, this.servicesManager.findServiceBy(index, "https://SP.example.org/shibboleth"));
+        assertNull(this.servicesManager.findServiceBy(index, "https://sp.example.org"));
+        assertNull(this.servicesManager.findServiceBy(index, null));
+    }
+
+    @Test
+    public void verifyServiceIdIndexHonorsEvaluationOrder() {
+        final RegisteredServiceIndex<RegexRegisteredService> index = new ServiceIdRegisteredServiceIndex<>(RegexRegisteredService.class);
+        final RegexRegisteredService literal = new RegexRegisteredService();
+        literal.setId(1000);
+        literal.setName(TEST);
+        literal.setServiceId("https://app.example.org");
+        literal.setEvaluationOrder(100);
+        this.servicesManager.save(literal);
+
+        final RegexRegisteredService pattern = new RegexRegisteredService();
+        pattern.setId(1001);
+        pattern.setName(TEST);
+        pattern.setServiceId("https://app.example.org.*");
+        pattern.setEvaluationOrder(10);
+        this.servicesManager.save(pattern);
+
+        assertEquals(pattern, this.servicesManager.findServiceBy(index, "https://app.example.org"));
+
+        this.servicesManager.delete(pattern.getId());
+        assertEquals(literal, this.servicesManager.findServiceBy(index, "https://app.example.org"));
+    }
+
+    @Test
+    public void verifyServiceIdIndexKeysOnlyLiteralServiceIds() {
+        final ServiceIdRegisteredServiceIndex<RegexRegisteredService> index = new ServiceIdRegisteredServiceIndex<>(RegexRegisteredService.class);
+        final RegexRegisteredService r = new RegexRegisteredService();
+
+        r.setServiceId("^https://SP\\.example\\.org/shibboleth$");
+        final Collection<String> keys = index.getKeys(r);
+        assertEquals(1, keys.size());
+        assertEquals("https://sp.example.org/shibboleth", keys.iterator().next());
+
+        r.setServiceId("https://sp.example.org/shibboleth");
+        assertTrue(index.getKeys(r).isEmpty());
+
+        r.setServiceId("https://sp\\.example\\.org/.*");
+        assertTrue(index.getKeys(r).isEmpty());
+    }
+
+    @Test
+    public void verifyServiceIdIndexDoesNotMatchDotsLiterally() {
+        final RegisteredServiceIndex<RegexRegisteredService> index = new ServiceIdRegisteredServiceIndex<>(RegexRegisteredService.class);
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(1000);
+        r.setName(TEST);
+        r.setServiceId("https://sp.example.org/shibboleth");
+        r.setEvaluationOrder(10);
+        this.servicesManager.save(r);
+
+        assertEquals(r, this.servicesManager.findServiceBy(index, "https://spXexample.org/shibboleth"));
+    }
+}
@@ -26,12 +26,18 @@ import org.apereo.cas.ticket.proxy.ProxyHandler;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandler;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandler;
+import org.apereo.cas.ticket.registry.AbstractTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.DefaultTicketSerializer;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
 import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketExpirationIndex;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
+import org.apereo.cas.ticket.registry.TicketSerializer;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.ticket.registry.support.kryo.KryoTicketSerializer;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
@@ -96,6 +102,11 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @Qualifier("uniqueIdGeneratorsMap")
     private Map<String, UniqueTicketIdGenerator> uniqueIdGeneratorsMap;
 
+    @Lazy
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     @Autowired
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
@@ -217,11 +228,29 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         LOGGER.warn("Runtime memory is used as the persistence storage for retrieving and managing tickets. "
                 + "Tickets that are issued during runtime will be LOST upon container restarts. This MAY impact SSO functionality.");
         final TicketRegistryProperties.InMemory mem = casProperties.getTicket().getRegistry().getInMemory();
-        return new DefaultTicketRegistry(
-                mem.getInitialCapacity(),
-                mem.getLoadFactor(),
-                mem.getConcurrency(),
-                Beans.newTicketRegistryCipherExecutor(mem.getCrypto(), "inMemory"));
+        final CipherExecutor cipher = Beans.newTicketRegistryCipherExecutor(mem.getCrypto(), "inMemory");
+        final AbstractTicketRegistry registry;
+        if (mem.isSharded()) {
+            registry = new ShardedTicketRegistry(ticketCatalog, mem.getInitialCapacity(),
+                    mem.getLoadFactor(), mem.getConcurrency(), cipher);
+        } else {
+            registry = new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(),
+                    mem.getConcurrency(), cipher);
+        }
+        if (mem.isExpirationIndexEnabled()) {
+            registry.setTicketExpirationIndex(new TicketExpirationIndex());
+        }
+        registry.setTicketSerializer(ticketSerializer());
+        return registry;
+    }
+
+    @ConditionalOnMissingBean(name = "ticketSerializer")
+    @Bean
+    public TicketSerializer ticketSerializer() {
+        if (casProperties.getTicket().getRegistry().getSerializer() == TicketRegistryProperties.TicketSerializerTypes.KRYO) {
+            return new KryoTicketSerializer();
+        }
+        return new DefaultTicketSerializer();
     }
 
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
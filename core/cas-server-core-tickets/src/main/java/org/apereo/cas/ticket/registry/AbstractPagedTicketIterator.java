@@ -0,0 +1,72 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator that walks a ticket store one page at a time. Implementations
+ * keep track of their own cursor and fetch the next page only once the current one
+ * has been consumed, so that at most a single page of tickets is held in memory.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public abstract class AbstractPagedTicketIterator implements Iterator<Ticket> {
+
+    /**
+     * Number of tickets to fetch per page.
+     */
+    protected final int pageSize;
+
+    private Iterator<Ticket> currentPage;
+    private boolean exhausted;
+
+    public AbstractPagedTicketIterator(final int pageSize) {
+        this.pageSize = pageSize > 0 ? pageSize : TicketRegistry.DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.exhausted && (this.currentPage == null || !this.currentPage.hasNext())) {
+            final List<Ticket> page = fetchNextPage();
+            if (page == null || page.isEmpty()) {
+                this.exhausted = true;
+            } else {
+                this.currentPage = page.iterator();
+            }
+        }
+        return !this.exhausted;
+    }
+
+    @Override
+    public Ticket next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.currentPage.next();
+    }
+
+    /**
+     * Wrap this iterator into a sequential stream.
+     *
+     * @return the stream
+     */
+    public Stream<Ticket> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Fetch the next page of tickets from the underlying store.
+     * Implementations must advance their cursor past the returned tickets.
+     *
+     * @return the next page, or an empty list once the store is exhausted
+     */
+    protected abstract List<Ticket> fetchNextPage();
+}
@@ -9,13 +9,13 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -37,6 +37,21 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * Optional index of tickets ordered by their next possible expiration instant.
+     */
+    protected TicketExpirationIndex ticketExpirationIndex;
+
+    /**
+     * Indexes of related tickets, maintained by registries that keep their tickets local to the node.
+     */
+    protected final Collection<TicketRelationIndex> ticketRelationIndexes = new CopyOnWriteArrayList<>();
+
+    /**
+     * The serializer that produces the ticket payload to encrypt.
+     */
+    protected TicketSerializer ticketSerializer = new DefaultTicketSerializer();
+
     /**
      * Default constructor.
      */
@@ -125,6 +140,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         if (deleteSingleTicket(ticketId)) {
             count.incrementAndGet();
         }
+        removeFromExpirationIndex(ticketId);
 
         return count.intValue();
     }
@@ -143,6 +159,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         final Map<String, Service> services = ticket.getServices();
         if (services != null && !services.isEmpty()) {
             services.keySet().stream().forEach(ticketId -> {
+                removeFromExpirationIndex(ticketId);
                 if (deleteSingleTicket(ticketId)) {
                     LOGGER.debug("Removed ticket [{}]", ticketId);
                     count.incrementAndGet();
@@ -167,6 +184,86 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         this.cipherExecutor = cipherExecutor;
     }
 
+    public void setTicketSerializer(final TicketSerializer ticketSerializer) {
+        this.ticketSerializer = ticketSerializer;
+    }
+
+    public TicketExpirationIndex getTicketExpirationIndex() {
+        return ticketExpirationIndex;
+    }
+
+    public void setTicketExpirationIndex(final TicketExpirationIndex ticketExpirationIndex) {
+        this.ticketExpirationIndex = ticketExpirationIndex;
+    }
+
+    /**
+     * Index the ticket by its next possible expiration instant, if an expiration index is in use.
+     * Registries that maintain the index should invoke this when tickets are added or updated.
+     *
+     * @param ticket the ticket, before it is encoded
+     */
+    protected void indexTicketExpiration(final Ticket ticket) {
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.index(ticket);
+        }
+    }
+
+    /**
+     * Remove the ticket from the expiration index, if one is in use.
+     *
+     * @param ticketId the ticket id
+     */
+    protected void removeFromExpirationIndex(final String ticketId) {
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.remove(ticketId);
+        }
+    }
+
+    /**
+     * Register an index of related tickets with this registry.
+     * The index is only registered if the registry is able to maintain it.
+     *
+     * @param index the index
+     * @return true if the index is registered and maintained by this registry
+     */
+    public boolean registerTicketRelationIndex(final TicketRelationIndex index) {
+        if (!isTicketRelationIndexSupported()) {
+            LOGGER.debug("Ticket registry [{}] does not maintain ticket relation indexes", getClass().getSimpleName());
+            return false;
+        }
+        this.ticketRelationIndexes.add(index);
+        return true;
+    }
+
+    /**
+     * Whether this registry maintains ticket relation indexes, by invoking
+     * {@link #indexTicketRelations(Ticket)} when tickets are added or updated
+     * and {@link #removeFromRelationIndexes(String)} when a single ticket is deleted.
+     *
+     * @return true/false
+     */
+    protected boolean isTicketRelationIndexSupported() {
+        return false;
+    }
+
+    /**
+     * Index the ticket in every registered relation index.
+     *
+     * @param ticket the ticket, before it is encoded
+     */
+    protected void indexTicketRelations(final Ticket ticket) {
+        this.ticketRelationIndexes.forEach(index -> index.index(ticket));
+    }
+
+    /**
+     * Remove the ticket from every registered relation index.
+     *
+     * @param ticketId the ticket id
+     */
+    protected void removeFromRelationIndexes(final String ticketId) {
+        this.ticketRelationIndexes.forEach(index -> index.remove(ticketId));
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -204,7 +301,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
 
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        final byte[] encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        final byte[] encodedTicketObject = (byte[]) this.cipherExecutor.encode(this.ticketSerializer.serialize(ticket));
         final String encodedTicketId = encodeTicketId(ticket.getId());
         final Ticket encodedTicket = new EncodedTicket(ByteSource.wrap(encodedTicketObject), encodedTicketId);
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
@@ -237,8 +334,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             LOGGER.debug("Attempting to decode [{}]", result);
             final EncodedTicket encodedTicket = (EncodedTicket) result;
 
-            final Ticket ticket = SerializationUtils.decodeAndDeserializeObject(
-                    encodedTicket.getEncoded(), this.cipherExecutor, Ticket.class);
+            final byte[] decoded = (byte[]) this.cipherExecutor.decode(encodedTicket.getEncoded());
+            final Ticket ticket = this.ticketSerializer.deserialize(decoded);
             LOGGER.debug("Decoded ticket to [{}]", ticket);
             return ticket;
         } catch (final Exception e) {
@@ -58,6 +58,8 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
         final Ticket encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
         this.cache.put(encTicket.getId(), encTicket);
+        indexTicketExpiration(ticket);
+        indexTicketRelations(ticket);
     }
 
     @Override
@@ -75,6 +77,7 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
         if (encTicketId == null) {
             return false;
         }
+        removeFromRelationIndexes(ticketId);
         return this.cache.remove(encTicketId) != null;
     }
 
@@ -82,6 +85,10 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
     public long deleteAll() {
         final int size = this.cache.size();
         this.cache.clear();
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.clear();
+        }
+        this.ticketRelationIndexes.forEach(TicketRelationIndex::clear);
         return size;
     }
 
@@ -95,4 +102,9 @@ public class DefaultTicketRegistry extends AbstractTicketRegistry {
         addTicket(ticket);
         return ticket;
     }
+
+    @Override
+    protected boolean isTicketRelationIndexSupported() {
+        return true;
+    }
 }
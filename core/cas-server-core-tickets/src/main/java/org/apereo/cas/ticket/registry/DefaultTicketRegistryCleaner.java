@@ -10,6 +10,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
@@ -60,29 +63,79 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     }
 
     /**
-     * Clean tickets.
+     * Clean tickets. If the ticket registry keeps a {@link TicketExpirationIndex},
+     * only tickets that are due for expiration are visited; otherwise all tickets are examined.
      */
     protected void cleanInternal() {
-        final int ticketsDeleted = ticketRegistry.getTicketsStream()
+        final TicketExpirationIndex index = getTicketExpirationIndex();
+        if (index != null) {
+            cleanInternal(index);
+            return;
+        }
+        final int ticketsDeleted = ticketRegistry.getTicketsStream(null, TicketRegistry.DEFAULT_BATCH_SIZE)
                 .filter(Ticket::isExpired)
-                .mapToInt(ticket -> {
-                    if (ticket instanceof TicketGrantingTicket) {
-                        LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
-                        logoutManager.performLogout((TicketGrantingTicket) ticket);
-                        return ticketRegistry.deleteTicket(ticket.getId());
-                    } else if (ticket instanceof ServiceTicket) {
-                        LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
-                        return ticketRegistry.deleteTicket(ticket.getId());
-                    } else {
-                        LOGGER.warn("Unknown ticket type [{}] found to clean", ticket.getClass().getSimpleName());
+                .mapToInt(this::cleanTicket)
+                .sum();
+
+        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+    }
+
+    /**
+     * Clean tickets that are reported as due by the expiration index.
+     * Tickets that are found to be still valid are rescheduled in the index.
+     *
+     * @param index the expiration index
+     */
+    protected void cleanInternal(final TicketExpirationIndex index) {
+        final List<String> dueTicketIds = index.getDueTicketIds(ZonedDateTime.now(ZoneOffset.UTC));
+        LOGGER.debug("[{}] of [{}] indexed ticket(s) are due for expiration", dueTicketIds.size(), index.size());
+
+        final int ticketsDeleted = dueTicketIds.stream()
+                .mapToInt(ticketId -> {
+                    final Ticket ticket = ticketRegistry.getTicket(ticketId);
+                    if (ticket == null) {
+                        LOGGER.debug("Ticket [{}] can no longer be found in the registry", ticketId);
+                        index.remove(ticketId);
+                        return 0;
+                    }
+                    if (!ticket.isExpired()) {
+                        index.index(ticket);
                         return 0;
                     }
+                    return cleanTicket(ticket);
                 })
                 .sum();
 
         LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
     }
 
+    /**
+     * Clean a single expired ticket.
+     *
+     * @param ticket the ticket
+     * @return the number of tickets removed
+     */
+    protected int cleanTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
+            logoutManager.performLogout((TicketGrantingTicket) ticket);
+            return ticketRegistry.deleteTicket(ticket.getId());
+        }
+        if (ticket instanceof ServiceTicket) {
+            LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
+            return ticketRegistry.deleteTicket(ticket.getId());
+        }
+        LOGGER.warn("Unknown ticket type [{}] found to clean", ticket.getClass().getSimpleName());
+        return 0;
+    }
+
+    private TicketExpirationIndex getTicketExpirationIndex() {
+        if (ticketRegistry instanceof AbstractTicketRegistry) {
+            return ((AbstractTicketRegistry) ticketRegistry).getTicketExpirationIndex();
+        }
+        return null;
+    }
+
     /**
      * Indicates whether the registry supports automatic ticket cleanup.
      * Generally, a registry that is able to return a collection of available
@@ -0,0 +1,23 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+/**
+ * This is {@link DefaultTicketSerializer} that relies on standard Java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class DefaultTicketSerializer implements TicketSerializer {
+
+    @Override
+    public byte[] serialize(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] bytes) {
+        return SerializationUtils.deserializeAndCheckObject(bytes, Ticket.class);
+    }
+}
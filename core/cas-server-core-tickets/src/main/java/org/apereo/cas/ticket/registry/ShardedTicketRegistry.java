@@ -0,0 +1,274 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory ticket registry that keeps a separate map for each ticket type,
+ * keyed by the ticket definition prefix. Each shard maintains its own counter so
+ * {@link #sessionCount()} and {@link #serviceTicketCount()} no longer need to walk
+ * every ticket in the registry, and tickets of a single type may be iterated
+ * without touching the others.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ShardedTicketRegistry extends AbstractTicketRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedTicketRegistry.class);
+
+    private static final String PREFIX_SEPARATOR = "-";
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75F;
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+
+    private final TicketCatalog ticketCatalog;
+    private final int initialCapacity;
+    private final float loadFactor;
+    private final int concurrencyLevel;
+
+    /**
+     * Instantiates a new sharded ticket registry.
+     *
+     * @param ticketCatalog the ticket catalog
+     */
+    public ShardedTicketRegistry(final TicketCatalog ticketCatalog) {
+        this(ticketCatalog, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, 1, null);
+    }
+
+    /**
+     * Creates a new, empty registry. Sizing parameters apply to each individual shard.
+     *
+     * @param ticketCatalog    the ticket catalog used to resolve ticket types
+     * @param initialCapacity  the initial capacity of each shard
+     * @param loadFactor       the load factor threshold of each shard
+     * @param concurrencyLevel the estimated number of concurrently updating threads
+     * @param cipherExecutor   the cipher executor
+     */
+    public ShardedTicketRegistry(final TicketCatalog ticketCatalog,
+                                 final int initialCapacity,
+                                 final float loadFactor,
+                                 final int concurrencyLevel,
+                                 final CipherExecutor cipherExecutor) {
+        this.ticketCatalog = ticketCatalog;
+        this.initialCapacity = initialCapacity;
+        this.loadFactor = loadFactor;
+        this.concurrencyLevel = concurrencyLevel;
+        setCipherExecutor(cipherExecutor);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        Assert.notNull(ticket, "ticket cannot be null");
+        final Ticket encTicket = encodeTicket(ticket);
+        final Shard shard = this.shards.computeIfAbsent(getPrefix(ticket.getId()), this::createShard);
+        shard.put(encTicket.getId(), encTicket);
+        LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
+        indexTicketExpiration(ticket);
+        indexTicketRelations(ticket);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (ticketId == null) {
+            return null;
+        }
+        final Shard shard = this.shards.get(getPrefix(ticketId));
+        if (shard == null) {
+            return null;
+        }
+        return decodeTicket(shard.get(encodeTicketId(ticketId)));
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        if (ticketId == null) {
+            return false;
+        }
+        removeFromRelationIndexes(ticketId);
+        final Shard shard = this.shards.get(getPrefix(ticketId));
+        return shard != null && shard.remove(encodeTicketId(ticketId));
+    }
+
+    @Override
+    public long deleteAll() {
+        final long count = this.shards.values().stream().mapToLong(Shard::clear).sum();
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.clear();
+        }
+        this.ticketRelationIndexes.forEach(TicketRelationIndex::clear);
+        return count;
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        final List<Ticket> tickets = new ArrayList<>();
+        this.shards.values().forEach(shard -> tickets.addAll(shard.tickets.values()));
+        return decodeTickets(tickets);
+    }
+
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        return this.shards.values().stream().flatMap(this::streamTickets);
+    }
+
+    /**
+     * Streams the shard of the given ticket definition only, or every shard in turn when no definition is given.
+     * Tickets are decoded as they are consumed, so the batch size does not apply.
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream(final TicketDefinition definition, final int batchSize) {
+        if (definition == null) {
+            return getTicketsStream();
+        }
+        final Shard shard = this.shards.get(definition.getPrefix());
+        return shard == null ? Stream.empty() : streamTickets(shard);
+    }
+
+    /**
+     * Gets the tickets whose ids carry the given prefix, without touching other ticket types.
+     *
+     * @param prefix the ticket definition prefix
+     * @return the tickets
+     */
+    public Collection<Ticket> getTickets(final String prefix) {
+        final Shard shard = this.shards.get(prefix);
+        if (shard == null) {
+            return new ArrayList<>(0);
+        }
+        return decodeTickets(new ArrayList<>(shard.tickets.values()));
+    }
+
+    /**
+     * Gets the tickets that belong to the given ticket definition.
+     *
+     * @param definition the ticket definition
+     * @return the tickets
+     */
+    public Collection<Ticket> getTickets(final TicketDefinition definition) {
+        return getTickets(definition.getPrefix());
+    }
+
+    /**
+     * Gets the tickets whose ticket definitions, as registered in the catalog,
+     * are implemented by the given type. Only the matching shards are visited.
+     *
+     * @param ticketClass the ticket type
+     * @return the tickets
+     */
+    public Collection<Ticket> getTickets(final Class<? extends Ticket> ticketClass) {
+        if (this.ticketCatalog == null) {
+            return getTickets().stream().filter(ticketClass::isInstance).collect(Collectors.toList());
+        }
+        final List<Ticket> tickets = new ArrayList<>();
+        this.ticketCatalog.findAll()
+                .stream()
+                .filter(defn -> ticketClass.isAssignableFrom(defn.getImplementationClass()))
+                .forEach(defn -> tickets.addAll(getTickets(defn.getPrefix())));
+        return tickets;
+    }
+
+    /**
+     * Count the tickets whose ids carry the given prefix.
+     *
+     * @param prefix the ticket definition prefix
+     * @return the count
+     */
+    public long countTickets(final String prefix) {
+        final Shard shard = this.shards.get(prefix);
+        return shard == null ? 0 : shard.count.sum();
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.PREFIX) + countTickets(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.PREFIX) + countTickets(ProxyTicket.PROXY_TICKET_PREFIX);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        addTicket(ticket);
+        return ticket;
+    }
+
+    @Override
+    protected boolean isTicketRelationIndexSupported() {
+        return true;
+    }
+
+    /**
+     * Routing always uses the raw ticket id, since encoded ids are digests
+     * that no longer carry the ticket prefix.
+     */
+    private static String getPrefix(final String ticketId) {
+        return StringUtils.substringBefore(ticketId, PREFIX_SEPARATOR);
+    }
+
+    private Stream<Ticket> streamTickets(final Shard shard) {
+        return shard.tickets.values().stream().map(this::decodeTicket).filter(Objects::nonNull);
+    }
+
+    private Shard createShard(final String prefix) {
+        LOGGER.debug("Creating ticket registry shard for ticket prefix [{}]", prefix);
+        return new Shard(new ConcurrentHashMap<>(this.initialCapacity, this.loadFactor, this.concurrencyLevel));
+    }
+
+    /**
+     * Tickets of a single type along with their running count.
+     */
+    private static class Shard {
+        private final ConcurrentMap<String, Ticket> tickets;
+        private final LongAdder count = new LongAdder();
+
+        Shard(final ConcurrentMap<String, Ticket> tickets) {
+            this.tickets = tickets;
+        }
+
+        Ticket get(final String id) {
+            return this.tickets.get(id);
+        }
+
+        void put(final String id, final Ticket ticket) {
+            if (this.tickets.put(id, ticket) == null) {
+                this.count.increment();
+            }
+        }
+
+        boolean remove(final String id) {
+            if (this.tickets.remove(id) != null) {
+                this.count.decrement();
+                return true;
+            }
+            return false;
+        }
+
+        long clear() {
+            return this.tickets.keySet().stream().filter(this::remove).count();
+        }
+    }
+}
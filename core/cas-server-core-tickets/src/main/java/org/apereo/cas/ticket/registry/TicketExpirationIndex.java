@@ -0,0 +1,218 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This is {@link TicketExpirationIndex} that keeps track of ticket ids ordered by the
+ * earliest instant at which each ticket could possibly expire, based on the
+ * time-to-live and time-to-idle settings of its expiration policy.
+ * <p>
+ * The index allows the cleaner to only visit tickets that are due,
+ * rather than decoding every ticket in the registry. Entries are only hints:
+ * a ticket that is found to be still valid when visited is simply rescheduled.
+ * Only tickets that expire purely on time, through one of the time-based policies and without
+ * a granting ticket, are scheduled ahead. The expiration of all other tickets may depend on their
+ * number of uses, on the policy a delegating policy picks, or on their granting ticket,
+ * none of which the index tracks; such tickets are always considered due, so that their
+ * expiration is checked on every run, which matches the behavior of a full scan for those tickets.
+ * The index is kept by the registry instance that owns it and is therefore only
+ * meaningful for registries that are local to the node, such as the in-memory registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketExpirationIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketExpirationIndex.class);
+
+    private static final Set<Class<? extends ExpirationPolicy>> TIME_BASED_POLICIES = new HashSet<>();
+
+    static {
+        TIME_BASED_POLICIES.add(AlwaysExpiresExpirationPolicy.class);
+        TIME_BASED_POLICIES.add(HardTimeoutExpirationPolicy.class);
+        TIME_BASED_POLICIES.add(NeverExpiresExpirationPolicy.class);
+        TIME_BASED_POLICIES.add(TicketGrantingTicketExpirationPolicy.class);
+        TIME_BASED_POLICIES.add(TimeoutExpirationPolicy.class);
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> schedule = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Entry::getExpirationTime).thenComparing(Entry::getTicketId));
+
+    /**
+     * Index (or reschedule) the ticket based on the next instant it may expire.
+     *
+     * @param ticket the ticket
+     */
+    public void index(final Ticket ticket) {
+        if (ticket == null) {
+            return;
+        }
+        final Entry entry = new Entry(ticket.getId(), getNextPossibleExpirationTime(ticket, Instant.now()));
+        final Entry previous = this.entries.put(entry.getTicketId(), entry);
+        if (previous != null) {
+            this.schedule.remove(previous);
+        }
+        this.schedule.add(entry);
+        LOGGER.trace("Indexed ticket [{}] for expiration at [{}]", entry.getTicketId(), entry.getExpirationTime());
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        if (ticketId == null) {
+            return;
+        }
+        final Entry previous = this.entries.remove(ticketId);
+        if (previous != null) {
+            this.schedule.remove(previous);
+        }
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    public void clear() {
+        this.entries.clear();
+        this.schedule.clear();
+    }
+
+    /**
+     * Gets the ids of tickets that may have expired by the given instant.
+     * Entries are not removed; tickets should be either removed or re-indexed once inspected.
+     *
+     * @param now the current time
+     * @return the ticket ids that are due
+     */
+    public List<String> getDueTicketIds(final ZonedDateTime now) {
+        final long cutoff = now.toInstant().toEpochMilli();
+        final List<String> due = new ArrayList<>();
+        for (final Entry entry : this.schedule) {
+            if (entry.getExpirationTime() > cutoff) {
+                break;
+            }
+            final Entry current = this.entries.get(entry.getTicketId());
+            if (current != null && current.getExpirationTime() == entry.getExpirationTime()) {
+                due.add(entry.getTicketId());
+            } else {
+                this.schedule.remove(entry);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Number of indexed tickets.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Calculate the earliest instant at which the ticket could possibly expire.
+     * Candidates are computed from the creation and last-used times, combined with the
+     * time-to-live and time-to-idle windows of the policy; the earliest one that is still in the
+     * future is used. Expired tickets, those whose expiration cannot be modeled by time alone,
+     * and those whose policy offers no window, are due immediately.
+     *
+     * @param ticket the ticket
+     * @param now    the current instant
+     * @return the expiration time as epoch milliseconds
+     */
+    protected long getNextPossibleExpirationTime(final Ticket ticket, final Instant now) {
+        final long current = now.toEpochMilli();
+        final ExpirationPolicy policy = ticket.getExpirationPolicy();
+        if (!isExpirationModeled(ticket) || ticket.isExpired()) {
+            return current;
+        }
+        final long creationTime = ticket.getCreationTime().toInstant().toEpochMilli();
+        final long lastTimeUsed = ticket instanceof TicketState && ((TicketState) ticket).getLastTimeUsed() != null
+                ? ((TicketState) ticket).getLastTimeUsed().toInstant().toEpochMilli()
+                : creationTime;
+
+        final long[] candidates = {
+                plusSeconds(creationTime, policy.getTimeToLive()),
+                plusSeconds(lastTimeUsed, policy.getTimeToLive()),
+                plusSeconds(lastTimeUsed, policy.getTimeToIdle())
+        };
+        long next = Long.MAX_VALUE;
+        boolean found = false;
+        for (final long candidate : candidates) {
+            if (candidate > current && candidate <= next) {
+                next = candidate;
+                found = true;
+            }
+        }
+        return found ? next : current;
+    }
+
+    /**
+     * Whether the expiration of the ticket depends on time alone, so that it may be scheduled ahead.
+     * The policy must be one of the time-based policies, matched by exact type since subclasses may
+     * override how expiration is decided, and the ticket must not depend on a granting ticket.
+     *
+     * @param ticket the ticket
+     * @return true if the index can schedule the ticket
+     */
+    protected boolean isExpirationModeled(final Ticket ticket) {
+        final ExpirationPolicy policy = ticket.getExpirationPolicy();
+        return policy != null && TIME_BASED_POLICIES.contains(policy.getClass()) && ticket.getGrantingTicket() == null;
+    }
+
+    private static long plusSeconds(final long epochMillis, final Long seconds) {
+        if (seconds == null || seconds <= 0) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Math.addExact(epochMillis, Math.multiplyExact(seconds, 1000L));
+        } catch (final ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Schedule entry for a single ticket.
+     */
+    private static final class Entry {
+        private final String ticketId;
+        private final long expirationTime;
+
+        Entry(final String ticketId, final long expirationTime) {
+            this.ticketId = ticketId;
+            this.expirationTime = expirationTime;
+        }
+
+        String getTicketId() {
+            return ticketId;
+        }
+
+        long getExpirationTime() {
+            return expirationTime;
+        }
+    }
+}
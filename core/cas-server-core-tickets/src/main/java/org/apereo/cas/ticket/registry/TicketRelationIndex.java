@@ -0,0 +1,118 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * This is {@link TicketRelationIndex} that groups ticket ids by keys derived from each ticket,
+ * such as the principal it was issued to or the ticket-granting ticket it descends from.
+ * <p>
+ * The index allows related tickets to be located without walking every ticket in the registry.
+ * Keys are produced by the given resolver when tickets are added or updated, and tickets for which
+ * the resolver produces no keys are not tracked at all. Like the {@link TicketExpirationIndex},
+ * the index is kept by the registry instance that owns it and is therefore only meaningful
+ * for registries that are local to the node, such as the in-memory registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketRelationIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketRelationIndex.class);
+
+    private final Map<String, Set<String>> ticketIdsByKey = new ConcurrentHashMap<>();
+    private final Map<String, Collection<String>> keysByTicketId = new ConcurrentHashMap<>();
+
+    private final Function<Ticket, Collection<String>> keyResolver;
+
+    public TicketRelationIndex(final Function<Ticket, Collection<String>> keyResolver) {
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * Index (or re-index) the ticket under the keys produced for it.
+     *
+     * @param ticket the ticket
+     */
+    public void index(final Ticket ticket) {
+        if (ticket == null) {
+            return;
+        }
+        final Collection<String> resolved = this.keyResolver.apply(ticket);
+        final Collection<String> keys = resolved == null ? new LinkedHashSet<>(0) : new LinkedHashSet<>(resolved);
+        final Collection<String> previous = keys.isEmpty()
+                ? this.keysByTicketId.remove(ticket.getId())
+                : this.keysByTicketId.put(ticket.getId(), keys);
+        if (previous != null) {
+            previous.stream().filter(key -> !keys.contains(key)).forEach(key -> unlink(key, ticket.getId()));
+        }
+        keys.forEach(key -> link(key, ticket.getId()));
+        LOGGER.trace("Indexed ticket [{}] under [{}]", ticket.getId(), keys);
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        if (ticketId == null) {
+            return;
+        }
+        final Collection<String> previous = this.keysByTicketId.remove(ticketId);
+        if (previous != null) {
+            previous.forEach(key -> unlink(key, ticketId));
+        }
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    public void clear() {
+        this.keysByTicketId.clear();
+        this.ticketIdsByKey.clear();
+    }
+
+    /**
+     * Gets the ids of tickets indexed under the given key.
+     *
+     * @param key the key
+     * @return the ticket ids
+     */
+    public Collection<String> getTicketIds(final String key) {
+        final Set<String> ids = this.ticketIdsByKey.get(key);
+        return ids == null ? new ArrayList<>(0) : new ArrayList<>(ids);
+    }
+
+    /**
+     * Number of indexed tickets.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.keysByTicketId.size();
+    }
+
+    private void link(final String key, final String ticketId) {
+        this.ticketIdsByKey.compute(key, (k, ids) -> {
+            final Set<String> results = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            results.add(ticketId);
+            return results;
+        });
+    }
+
+    private void unlink(final String key, final String ticketId) {
+        this.ticketIdsByKey.computeIfPresent(key, (k, ids) -> {
+            ids.remove(ticketId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package org.apereo.cas.ticket.registry.support.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.pool.KryoFactory;
+import com.esotericsoftware.kryo.serializers.DefaultSerializers;
+import de.javakaffee.kryoserializers.CollectionsEmptyListSerializer;
+import de.javakaffee.kryoserializers.CollectionsEmptyMapSerializer;
+import de.javakaffee.kryoserializers.CollectionsEmptySetSerializer;
+import de.javakaffee.kryoserializers.EnumMapSerializer;
+import de.javakaffee.kryoserializers.EnumSetSerializer;
+import de.javakaffee.kryoserializers.KryoReflectionFactorySupport;
+import de.javakaffee.kryoserializers.RegexSerializer;
+import de.javakaffee.kryoserializers.URISerializer;
+import de.javakaffee.kryoserializers.UUIDSerializer;
+import de.javakaffee.kryoserializers.UnmodifiableCollectionsSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableListSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableMapSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableMultimapSerializer;
+import de.javakaffee.kryoserializers.guava.ImmutableSetSerializer;
+import org.apereo.cas.authentication.BasicCredentialMetaData;
+import org.apereo.cas.authentication.DefaultAuthentication;
+import org.apereo.cas.authentication.DefaultHandlerResult;
+import org.apereo.cas.authentication.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.SimplePrincipal;
+import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.ticket.ProxyGrantingTicketImpl;
+import org.apereo.cas.ticket.ProxyTicketImpl;
+import org.apereo.cas.ticket.ServiceTicketImpl;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.EncodedTicket;
+import org.apereo.cas.ticket.registry.support.kryo.serial.RegisteredServiceSerializer;
+import org.apereo.cas.ticket.registry.support.kryo.serial.SimpleWebApplicationServiceSerializer;
+import org.apereo.cas.ticket.registry.support.kryo.serial.URLSerializer;
+import org.apereo.cas.ticket.registry.support.kryo.serial.ZonedDateTimeTranscoder;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
+import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * This is {@link CasKryoFactory} that creates and configures {@link Kryo} instances
+ * with the set of CAS types that are known ahead of time. Registered types are written
+ * as compact numeric identifiers rather than class names; registration order is
+ * therefore part of the wire format and must remain stable.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CasKryoFactory implements KryoFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CasKryoFactory.class);
+
+    /**
+     * Ticket types that live in optional modules and are registered when present on the classpath.
+     */
+    private static final String[] OPTIONAL_TICKET_TYPES = {
+            "org.apereo.cas.ticket.accesstoken.AccessTokenImpl",
+            "org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy",
+            "org.apereo.cas.ticket.refreshtoken.RefreshTokenImpl",
+            "org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenExpirationPolicy",
+            "org.apereo.cas.ticket.code.OAuthCodeImpl",
+            "org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy"
+    };
+
+    @Override
+    public Kryo create() {
+        final Kryo kryo = new KryoReflectionFactorySupport();
+        registerTypes(kryo);
+
+        kryo.register(ProxyGrantingTicketImpl.class);
+        kryo.register(ProxyTicketImpl.class);
+        for (final String type : OPTIONAL_TICKET_TYPES) {
+            try {
+                kryo.register(Class.forName(type));
+            } catch (final ClassNotFoundException e) {
+                LOGGER.trace("Ticket type [{}] is not available and will not be registered", type);
+            }
+        }
+
+        // tickets may share the same authentication and service instances
+        kryo.setReferences(true);
+        kryo.setRegistrationRequired(false);
+        return kryo;
+    }
+
+    /**
+     * Register types we know about and do not require external configuration.
+     *
+     * @param kryo the kryo instance
+     */
+    public static void registerTypes(final Kryo kryo) {
+        kryo.register(EncodedTicket.class);
+        kryo.register(ArrayList.class);
+        kryo.register(BasicCredentialMetaData.class);
+        kryo.register(Class.class, new DefaultSerializers.ClassSerializer());
+        kryo.register(ZonedDateTime.class, new ZonedDateTimeTranscoder());
+        kryo.register(HardTimeoutExpirationPolicy.class);
+        kryo.register(HashMap.class);
+        kryo.register(LinkedHashMap.class);
+        kryo.register(HashSet.class);
+        kryo.register(DefaultHandlerResult.class);
+        kryo.register(DefaultAuthentication.class);
+        kryo.register(MultiTimeUseOrTimeoutExpirationPolicy.class);
+        kryo.register(NeverExpiresExpirationPolicy.class);
+        kryo.register(RememberMeDelegatingExpirationPolicy.class);
+        kryo.register(ServiceTicketImpl.class);
+        kryo.register(SimpleWebApplicationServiceImpl.class, new SimpleWebApplicationServiceSerializer());
+        kryo.register(ThrottledUseAndTimeoutExpirationPolicy.class);
+        kryo.register(TicketGrantingTicketExpirationPolicy.class);
+        kryo.register(TicketGrantingTicketImpl.class);
+        kryo.register(TimeoutExpirationPolicy.class);
+        kryo.register(UsernamePasswordCredential.class);
+        kryo.register(SimplePrincipal.class);
+        kryo.register(URL.class, new URLSerializer());
+        kryo.register(URI.class, new URISerializer());
+        kryo.register(Pattern.class, new RegexSerializer());
+        kryo.register(UUID.class, new UUIDSerializer());
+        kryo.register(EnumMap.class, new EnumMapSerializer());
+        kryo.register(EnumSet.class, new EnumSetSerializer());
+
+        kryo.register(RegexRegisteredService.class, new RegisteredServiceSerializer());
+        
+        // from the kryo-serializers library (https://github.com/magro/kryo-serializers)
+        UnmodifiableCollectionsSerializer.registerSerializers(kryo);
+        ImmutableListSerializer.registerSerializers(kryo);
+        ImmutableSetSerializer.registerSerializers(kryo);
+        ImmutableMapSerializer.registerSerializers(kryo);
+        ImmutableMultimapSerializer.registerSerializers(kryo);
+
+        kryo.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer());
+        kryo.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer());
+        kryo.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer());
+    }
+}
@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket.registry.support.kryo;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.pool.KryoFactory;
+import com.esotericsoftware.kryo.pool.KryoPool;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.DefaultTicketSerializer;
+import org.apereo.cas.ticket.registry.TicketSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is {@link KryoTicketSerializer} that produces a compact binary representation of tickets
+ * using Kryo, with CAS types registered ahead of time via {@link CasKryoFactory}.
+ * Kryo instances are not thread-safe, and are borrowed from a pool for each operation.
+ * <p>
+ * Serialized payloads carry a short header; payloads without it are assumed to be produced
+ * by {@link DefaultTicketSerializer} and are handed over to it, so tickets that were stored
+ * before the switch remain readable.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class KryoTicketSerializer implements TicketSerializer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KryoTicketSerializer.class);
+
+    private static final byte[] HEADER = {'C', 'K', 1};
+    private static final int BUFFER_SIZE = 1024;
+
+    private final KryoPool kryoPool;
+    private final TicketSerializer fallbackSerializer = new DefaultTicketSerializer();
+
+    public KryoTicketSerializer() {
+        this(new CasKryoFactory());
+    }
+
+    public KryoTicketSerializer(final KryoFactory kryoFactory) {
+        this.kryoPool = new KryoPool.Builder(kryoFactory).softReferences().build();
+    }
+
+    @Override
+    public byte[] serialize(final Ticket ticket) {
+        try (Output output = new Output(BUFFER_SIZE, -1)) {
+            output.writeBytes(HEADER);
+            this.kryoPool.run(kryo -> {
+                kryo.writeClassAndObject(output, ticket);
+                return null;
+            });
+            return output.toBytes();
+        }
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] bytes) {
+        if (!hasHeader(bytes)) {
+            LOGGER.debug("Serialized ticket is not produced by Kryo; falling back to [{}]", this.fallbackSerializer);
+            return this.fallbackSerializer.deserialize(bytes);
+        }
+        try (Input input = new Input(bytes, HEADER.length, bytes.length - HEADER.length)) {
+            final Object result = this.kryoPool.run(kryo -> kryo.readClassAndObject(input));
+            if (!(result instanceof Ticket)) {
+                throw new ClassCastException("Decoded object is of type " + result + " when we were expecting " + Ticket.class);
+            }
+            return (Ticket) result;
+        }
+    }
+
+    private static boolean hasHeader(final byte[] bytes) {
+        if (bytes == null || bytes.length <= HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if (bytes[i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -289,6 +289,35 @@ public abstract class AbstractTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyGetTicketsStreamInBatches() {
+        Assume.assumeTrue(isIterableRegistry());
+        for (int i = 0; i < TICKETS_IN_REGISTRY; i++) {
+            final TicketGrantingTicket ticketGrantingTicket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + i,
+                    CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+            final ServiceTicket st = ticketGrantingTicket.grantServiceTicket(ServiceTicket.PREFIX + i,
+                    RegisteredServiceTestUtils.getService(),
+                    new NeverExpiresExpirationPolicy(), false, true);
+            this.ticketRegistry.addTicket(ticketGrantingTicket);
+            this.ticketRegistry.addTicket(st);
+        }
+        assertEquals(TICKETS_IN_REGISTRY * 2, this.ticketRegistry.getTicketsStream(null, 3).count());
+    }
+
+    @Test
+    public void verifyGetTicketsStreamWhileDeletingTickets() {
+        Assume.assumeTrue(isIterableRegistry());
+        for (int i = 0; i < TICKETS_IN_REGISTRY; i++) {
+            this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-STREAM-" + i,
+                    CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        }
+        final long streamed = this.ticketRegistry.getTicketsStream(null, 3)
+                .peek(ticket -> this.ticketRegistry.deleteTicket(ticket.getId()))
+                .count();
+        assertEquals(TICKETS_IN_REGISTRY, streamed);
+        assertTrue(this.ticketRegistry.getTickets().isEmpty());
+    }
+
     @Test
     public void verifyDeleteTicketWithChildren() {
         try {
@@ -0,0 +1,70 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.DefaultTicketDefinition;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.ServiceTicketImpl;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ShardedTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@RunWith(Parameterized.class)
+public class ShardedTicketRegistryTests extends AbstractTicketRegistryTests {
+
+    public ShardedTicketRegistryTests(final boolean useEncryption) {
+        super(useEncryption);
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object> getTestParameters() throws Exception {
+        return Arrays.asList(false, true);
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() throws Exception {
+        return new ShardedTicketRegistry(null);
+    }
+
+    @Test
+    public void verifyCountersAndTypedIteration() {
+        final ShardedTicketRegistry registry = new ShardedTicketRegistry(null);
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-1",
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        registry.addTicket(tgt);
+        final ServiceTicket st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+        assertEquals(1, registry.getTickets(ServiceTicket.PREFIX).size());
+        assertEquals(1, registry.getTickets(TicketGrantingTicket.class).size());
+        assertTrue(registry.getTickets("PT").isEmpty());
+
+        assertEquals(2, registry.getTicketsStream(null, 1).count());
+        assertEquals(st, registry.getTicketsStream(new DefaultTicketDefinition(ServiceTicketImpl.class, ServiceTicket.PREFIX), 1)
+                .findFirst().get());
+        assertEquals(0, registry.getTicketsStream(new DefaultTicketDefinition(ServiceTicketImpl.class, "PT"), 1).count());
+
+        registry.deleteSingleTicket(st.getId());
+        assertEquals(0, registry.serviceTicketCount());
+        assertEquals(1, registry.deleteAll());
+        assertEquals(0, registry.sessionCount());
+    }
+}
@@ -0,0 +1,109 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link TicketExpirationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TicketExpirationIndexTests {
+
+    private DefaultTicketRegistry ticketRegistry;
+    private TicketExpirationIndex index;
+
+    @Before
+    public void setUp() {
+        this.index = new TicketExpirationIndex();
+        this.ticketRegistry = new DefaultTicketRegistry();
+        this.ticketRegistry.setTicketExpirationIndex(this.index);
+    }
+
+    @Test
+    public void verifyTicketsAreScheduledByExpiration() {
+        this.ticketRegistry.addTicket(newTicket("TGT-1", new AlwaysExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(newTicket("TGT-2", new NeverExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(newTicket("TGT-3", new HardTimeoutExpirationPolicy(60)));
+        assertEquals(3, this.index.size());
+
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertEquals(1, this.index.getDueTicketIds(now).size());
+        assertTrue(this.index.getDueTicketIds(now).contains("TGT-1"));
+        assertTrue(this.index.getDueTicketIds(now.plusSeconds(120)).contains("TGT-3"));
+        assertFalse(this.index.getDueTicketIds(now.plusSeconds(120)).contains("TGT-2"));
+    }
+
+    @Test
+    public void verifyIndexFollowsRegistry() {
+        this.ticketRegistry.addTicket(newTicket("TGT-1", new AlwaysExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(newTicket("TGT-2", new AlwaysExpiresExpirationPolicy()));
+        this.ticketRegistry.deleteTicket("TGT-1");
+        assertEquals(1, this.index.size());
+        this.ticketRegistry.deleteAll();
+        assertEquals(0, this.index.size());
+    }
+
+    @Test
+    public void verifyCleanerOnlyRemovesDueTickets() {
+        this.ticketRegistry.addTicket(newTicket("TGT-1", new AlwaysExpiresExpirationPolicy()));
+        this.ticketRegistry.addTicket(newTicket("TGT-2", new NeverExpiresExpirationPolicy()));
+
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final DefaultTicketRegistryCleaner cleaner = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(),
+                logoutManager, this.ticketRegistry);
+        cleaner.clean();
+
+        verify(logoutManager).performLogout(any(TicketGrantingTicket.class));
+        assertNull(this.ticketRegistry.getTicket("TGT-1"));
+        assertNotNull(this.ticketRegistry.getTicket("TGT-2"));
+        assertEquals(1, this.index.size());
+    }
+
+    @Test
+    public void verifyTicketsExpiringOnUseAreAlwaysDue() {
+        final TicketGrantingTicket ticket = newTicket("TGT-1", new MultiTimeUseOrTimeoutExpirationPolicy(1, 3600));
+        this.ticketRegistry.addTicket(ticket);
+        assertTrue(this.index.getDueTicketIds(ZonedDateTime.now(ZoneOffset.UTC)).contains("TGT-1"));
+
+        ticket.update();
+        final DefaultTicketRegistryCleaner cleaner = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(),
+                mock(LogoutManager.class), this.ticketRegistry);
+        cleaner.clean();
+        assertNull(this.ticketRegistry.getTicket("TGT-1"));
+    }
+
+    @Test
+    public void verifyTicketsWithGrantingTicketAreAlwaysDue() {
+        final TicketGrantingTicket ticket = newTicket("TGT-1", new HardTimeoutExpirationPolicy(3600));
+        final ServiceTicket st = ticket.grantServiceTicket("ST-1", CoreAuthenticationTestUtils.getService(),
+                new HardTimeoutExpirationPolicy(3600), false, true);
+        this.ticketRegistry.addTicket(ticket);
+        this.ticketRegistry.addTicket(st);
+
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertFalse(this.index.getDueTicketIds(now).contains("TGT-1"));
+        assertTrue(this.index.getDueTicketIds(now).contains("ST-1"));
+    }
+
+    private static TicketGrantingTicket newTicket(final String id, final ExpirationPolicy policy) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), policy);
+    }
+}
@@ -0,0 +1,53 @@
+package org.apereo.cas.ticket.registry.support.kryo;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.TicketSerializer;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link KryoTicketSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class KryoTicketSerializerTests {
+    private static final String ST_ID = "ST-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK";
+    private static final String TGT_ID = "TGT-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK-cas1";
+
+    private final TicketSerializer serializer = new KryoTicketSerializer();
+
+    @Test
+    public void verifyTicketsRoundTrip() {
+        final TicketGrantingTicket tgt = getTicketGrantingTicket();
+        final ServiceTicket st = tgt.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+
+        assertEquals(tgt, this.serializer.deserialize(this.serializer.serialize(tgt)));
+        assertEquals(st, this.serializer.deserialize(this.serializer.serialize(st)));
+    }
+
+    @Test
+    public void verifyPayloadIsSmallerThanJavaSerialization() {
+        final TicketGrantingTicket tgt = getTicketGrantingTicket();
+        assertTrue(this.serializer.serialize(tgt).length < SerializationUtils.serialize(tgt).length);
+    }
+
+    @Test
+    public void verifyJavaSerializedTicketsRemainReadable() {
+        final TicketGrantingTicket tgt = getTicketGrantingTicket();
+        assertEquals(tgt, this.serializer.deserialize(SerializationUtils.serialize(tgt)));
+    }
+
+    private static TicketGrantingTicket getTicketGrantingTicket() {
+        return new TicketGrantingTicketImpl(TGT_ID, CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+    }
+}
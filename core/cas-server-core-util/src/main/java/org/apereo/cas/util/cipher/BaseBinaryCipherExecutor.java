@@ -1,8 +1,6 @@
 package org.apereo.cas.util.cipher;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.shiro.crypto.AesCipherService;
-import org.apache.shiro.crypto.CipherService;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 import org.jose4j.jwk.JsonWebKey;
@@ -11,9 +9,18 @@ import org.jose4j.jwk.OctetSequenceJsonWebKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -21,7 +28,16 @@ import java.util.Map;
  * <p>
  * A implementation that is based on algorithms
  * provided by the default platform's JCE. By default AES encryption is
- * used.
+ * used, and the result is signed as a JWS.
+ * <p>
+ * Authenticated encryption may optionally be turned on, in which case values are
+ * encrypted using {@code AES/GCM} and the separate signing pass is skipped, since the
+ * authentication tag already protects the integrity of the value. Such values are prefixed
+ * with a marker byte, which allows values produced in either format to be decoded.
+ * <p>
+ * In both modes the JCE {@link Cipher} and {@link Mac} instances are kept per thread and only
+ * re-initialized for each call. Signed values are still produced and verified as compact
+ * {@code HS512} JWS strings, so they remain interchangeable with those produced by jose4j.
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -29,18 +45,39 @@ import java.util.Map;
 public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseBinaryCipherExecutor.class);
 
+    private static final byte AUTHENTICATED_ENCRYPTION_MARKER = 0x01;
+    private static final String AUTHENTICATED_ENCRYPTION_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_LENGTH = 16;
+    private static final int GCM_HEADER_LENGTH = 1 + GCM_IV_LENGTH;
+
+    private static final String ENCRYPTION_TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    private static final int CBC_IV_LENGTH = 16;
+
+    private static final String ENCRYPTION_ALGORITHM = "AES";
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA512";
+    private static final int MINIMUM_SIGNING_KEY_LENGTH = 64;
+    private static final String SIGNED_VALUE_HEADER = EncodingUtils.encodeUrlSafeBase64("{\"alg\":\"HS512\"}".getBytes(StandardCharsets.UTF_8)) + '.';
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<Cipher> GCM_CIPHERS = ThreadLocal.withInitial(() -> newCipher(AUTHENTICATED_ENCRYPTION_TRANSFORMATION));
+    private static final ThreadLocal<Cipher> CBC_CIPHERS = ThreadLocal.withInitial(() -> newCipher(ENCRYPTION_TRANSFORMATION));
+    private static final ThreadLocal<Mac> SIGNING_MACS = ThreadLocal.withInitial(BaseBinaryCipherExecutor::newSigningMac);
+
     /**
      * Name of the cipher/component whose keys are generated here.
      */
     protected final String cipherName;
 
     /**
-     * Secret key IV algorithm. Default is {@code AES}.
+     * Secret key, whose algorithm defaults to {@code AES}.
      */
-    private String secretKeyAlgorithm = "AES";
+    private Key encryptionKey;
 
-    private byte[] encryptionSecretKey;
+    private Key signingMacKey;
 
+    private boolean authenticatedEncryption;
 
     /**
      * Instantiates a new cryptic ticket cipher executor.
@@ -59,17 +96,48 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         ensureEncryptionKeyExists(encryptionSecretKey, encryptionKeySize);
     }
 
+    /**
+     * Sets the algorithm of the encryption key. Values are encrypted using {@code AES/CBC}
+     * or {@code AES/GCM}, so {@code AES} is the only algorithm the key may be used with.
+     *
+     * @param secretKeyAlgorithm the secret key algorithm
+     */
     public void setSecretKeyAlgorithm(final String secretKeyAlgorithm) {
-        this.secretKeyAlgorithm = secretKeyAlgorithm;
+        if (!ENCRYPTION_ALGORITHM.equalsIgnoreCase(secretKeyAlgorithm)) {
+            throw new IllegalArgumentException("Secret key algorithm [" + secretKeyAlgorithm + "] is not supported; values can only be encrypted using "
+                    + ENCRYPTION_ALGORITHM);
+        }
+        this.encryptionKey = new SecretKeySpec(this.encryptionKey.getEncoded(), secretKeyAlgorithm);
+    }
+
+    public void setAuthenticatedEncryption(final boolean authenticatedEncryption) {
+        this.authenticatedEncryption = authenticatedEncryption;
+    }
+
+    /**
+     * Sets the signing key. As with {@code HS512} in jose4j, the key must be at least as long as the
+     * output of the hash, which is 512 bits.
+     *
+     * @param signingSecretKey the signing secret key
+     */
+    @Override
+    public void setSigningKey(final String signingSecretKey) {
+        final byte[] key = signingSecretKey.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MINIMUM_SIGNING_KEY_LENGTH) {
+            throw new IllegalArgumentException("Secret key for signing defined under [" + getSigningKeySetting() + "] is only " + key.length * Byte.SIZE
+                    + " bits long; a key of at least " + MINIMUM_SIGNING_KEY_LENGTH * Byte.SIZE + " bits must be used to sign values using HS512");
+        }
+        super.setSigningKey(signingSecretKey);
+        this.signingMacKey = new SecretKeySpec(key, SIGNING_ALGORITHM);
     }
 
     @Override
     public byte[] encode(final byte[] value) {
         try {
-            final Key key = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-            final CipherService cipher = new AesCipherService();
-            final byte[] result = cipher.encrypt(value, key.getEncoded()).getBytes();
-            return sign(result);
+            if (this.authenticatedEncryption) {
+                return encryptAuthenticated(value);
+            }
+            return sign(encrypt(value));
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
             throw new RuntimeException(e.getMessage(), e);
@@ -79,15 +147,134 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     @Override
     public byte[] decode(final byte[] value) {
         try {
+            if (isAuthenticatedEncryption(value)) {
+                return decryptAuthenticated(value);
+            }
             final byte[] verifiedValue = verifySignature(value);
-            final Key key = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-            final CipherService cipher = new AesCipherService();
-            return cipher.decrypt(verifiedValue, key.getEncoded()).getBytes();
+            if (verifiedValue == null) {
+                throw new IllegalArgumentException("Unable to verify the signature of the value");
+            }
+            return decrypt(verifiedValue);
         } catch (final Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
 
+    @Override
+    protected byte[] sign(final byte[] value) {
+        final String signingInput = SIGNED_VALUE_HEADER
+                + EncodingUtils.encodeUrlSafeBase64(EncodingUtils.encodeBase64(value).getBytes(StandardCharsets.UTF_8));
+        final String signature = EncodingUtils.encodeUrlSafeBase64(computeSignature(signingInput));
+        return (signingInput + '.' + signature).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected byte[] verifySignature(final byte[] value) {
+        final String signedValue = new String(value, StandardCharsets.UTF_8);
+        final int signatureIndex = signedValue.lastIndexOf('.');
+        if (!signedValue.startsWith(SIGNED_VALUE_HEADER) || signatureIndex < SIGNED_VALUE_HEADER.length()) {
+            LOGGER.trace("Signed value does not carry the expected header and is verified by jose4j");
+            return super.verifySignature(value);
+        }
+        final String signingInput = signedValue.substring(0, signatureIndex);
+        final byte[] signature = EncodingUtils.decodeUrlSafeBase64(signedValue.substring(signatureIndex + 1));
+        if (!MessageDigest.isEqual(computeSignature(signingInput), signature)) {
+            return null;
+        }
+        final byte[] payload = EncodingUtils.decodeUrlSafeBase64(signedValue.substring(SIGNED_VALUE_HEADER.length(), signatureIndex));
+        return EncodingUtils.decodeBase64(new String(payload, StandardCharsets.UTF_8));
+    }
+
+    private byte[] computeSignature(final String signingInput) {
+        try {
+            final Mac mac = SIGNING_MACS.get();
+            mac.init(this.signingMacKey);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Encrypt the value using {@code AES/CBC}. The result is the random IV followed by the ciphertext,
+     * which is the format produced by Shiro's {@code AesCipherService}.
+     *
+     * @param value the value
+     * @return the encrypted value
+     * @throws GeneralSecurityException if the value cannot be encrypted
+     */
+    private byte[] encrypt(final byte[] value) throws GeneralSecurityException {
+        final byte[] iv = new byte[CBC_IV_LENGTH];
+        RANDOM.nextBytes(iv);
+
+        final Cipher cipher = CBC_CIPHERS.get();
+        initCipher(cipher, Cipher.ENCRYPT_MODE, new IvParameterSpec(iv));
+        final byte[] result = new byte[CBC_IV_LENGTH + cipher.getOutputSize(value.length)];
+        System.arraycopy(iv, 0, result, 0, CBC_IV_LENGTH);
+        final int length = cipher.doFinal(value, 0, value.length, result, CBC_IV_LENGTH);
+        return CBC_IV_LENGTH + length == result.length ? result : Arrays.copyOf(result, CBC_IV_LENGTH + length);
+    }
+
+    private byte[] decrypt(final byte[] value) throws GeneralSecurityException {
+        if (value.length < CBC_IV_LENGTH) {
+            throw new IllegalArgumentException("Encrypted value is too short to be decoded");
+        }
+        final Cipher cipher = CBC_CIPHERS.get();
+        initCipher(cipher, Cipher.DECRYPT_MODE, new IvParameterSpec(value, 0, CBC_IV_LENGTH));
+        return cipher.doFinal(value, CBC_IV_LENGTH, value.length - CBC_IV_LENGTH);
+    }
+
+    private void initCipher(final Cipher cipher, final int mode, final AlgorithmParameterSpec parameters) {
+        try {
+            cipher.init(mode, this.encryptionKey, parameters);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to init cipher instance.", e);
+        }
+    }
+
+    private byte[] encryptAuthenticated(final byte[] value) throws GeneralSecurityException {
+        final byte[] iv = new byte[GCM_IV_LENGTH];
+        RANDOM.nextBytes(iv);
+
+        final Cipher cipher = GCM_CIPHERS.get();
+        initCipher(cipher, Cipher.ENCRYPT_MODE, new GCMParameterSpec(GCM_TAG_LENGTH * Byte.SIZE, iv));
+        final byte[] result = new byte[GCM_HEADER_LENGTH + cipher.getOutputSize(value.length)];
+        result[0] = AUTHENTICATED_ENCRYPTION_MARKER;
+        System.arraycopy(iv, 0, result, 1, GCM_IV_LENGTH);
+        final int length = cipher.doFinal(value, 0, value.length, result, GCM_HEADER_LENGTH);
+        return GCM_HEADER_LENGTH + length == result.length ? result : Arrays.copyOf(result, GCM_HEADER_LENGTH + length);
+    }
+
+    private byte[] decryptAuthenticated(final byte[] value) throws GeneralSecurityException {
+        if (value.length < GCM_HEADER_LENGTH + GCM_TAG_LENGTH) {
+            throw new IllegalArgumentException("Encrypted value is too short to be decoded");
+        }
+        final Cipher cipher = GCM_CIPHERS.get();
+        initCipher(cipher, Cipher.DECRYPT_MODE, new GCMParameterSpec(GCM_TAG_LENGTH * Byte.SIZE, value, 1, GCM_IV_LENGTH));
+        return cipher.doFinal(value, GCM_HEADER_LENGTH, value.length - GCM_HEADER_LENGTH);
+    }
+
+    private static boolean isAuthenticatedEncryption(final byte[] value) {
+        // signed values are compact JWS strings, which never begin with the marker byte.
+        return value != null && value.length > 0 && value[0] == AUTHENTICATED_ENCRYPTION_MARKER;
+    }
+
+    private static Cipher newCipher(final String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static Mac newSigningMac() {
+        try {
+            return Mac.getInstance(SIGNING_ALGORITHM);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
     private static String generateOctetJsonWebKeyOfSize(final int size) {
         try {
             final OctetSequenceJsonWebKey octetKey = OctJwkGenerator.generateJwk(size);
@@ -146,7 +333,7 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
                 encryptionKey = encryptionSecretKey.getBytes(StandardCharsets.UTF_8);
             }
         }
-        this.encryptionSecretKey = encryptionKey;
+        this.encryptionKey = new SecretKeySpec(encryptionKey, ENCRYPTION_ALGORITHM);
     }
 
     private void ensureSigningKeyExists(final String signingSecretKey, final int signingKeySize) {
@@ -1,11 +1,15 @@
 package org.apereo.cas.util;
 
+import org.apache.shiro.crypto.AesCipherService;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+import org.jose4j.keys.AesKey;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.*;
 
 /**
@@ -15,6 +19,7 @@ import static org.junit.Assert.*;
  * @since 4.2
  */
 public class BinaryCipherExecutorTests {
+    private static final String SIGNING_KEY = "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w";
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -35,7 +40,7 @@ public class BinaryCipherExecutorTests {
     public void checkEncodingDecodingBadKeys() {
         final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
         final CipherExecutor<byte[], byte[]> cc = new TestBinaryCipherExecutor("0000",
-                "1234", 512, 16) {
+                SIGNING_KEY, 512, 16) {
         };
 
         this.thrown.expect(RuntimeException.class);
@@ -55,6 +60,59 @@ public class BinaryCipherExecutorTests {
         final byte[] decoded = cc.decode(bytes);
         assertEquals(new String(decoded), value);
     }
+
+    @Test
+    public void checkSignedValuesMatchJose4jAndShiro() {
+        final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final byte[] encryptionKey = EncodingUtils.decodeBase64("MTIzNDU2Nzg5MDEyMzQ1Ng==");
+        final AesKey signingKey = new AesKey(SIGNING_KEY.getBytes(StandardCharsets.UTF_8));
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==", SIGNING_KEY, 512, 16);
+
+        final byte[] encrypted = EncodingUtils.verifyJwsSignature(signingKey, cc.encode(value.getBytes()));
+        assertEquals(value, new String(new AesCipherService().decrypt(encrypted, encryptionKey).getBytes()));
+
+        final byte[] legacy = EncodingUtils.signJws(signingKey, new AesCipherService().encrypt(value.getBytes(), encryptionKey).getBytes());
+        assertEquals(value, new String(cc.decode(legacy)));
+    }
+
+    @Test
+    public void checkAuthenticatedEncryption() {
+        final String value = "ThisIsATestValueThatIsGoingToBeEncodedAndDecodedAgainAndAgain";
+        final TestBinaryCipherExecutor legacy = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+                "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+                512,
+                16);
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+                "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+                512,
+                16);
+        cc.setAuthenticatedEncryption(true);
+
+        final byte[] bytes = cc.encode(value.getBytes());
+        assertEquals(value, new String(cc.decode(bytes)));
+        assertEquals(value, new String(legacy.decode(bytes)));
+        assertEquals(value, new String(cc.decode(legacy.encode(value.getBytes()))));
+
+        bytes[bytes.length - 1] ^= 1;
+        this.thrown.expect(RuntimeException.class);
+        cc.decode(bytes);
+    }
+
+    @Test
+    public void checkShortSigningKeyIsRejected() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("at least 512 bits");
+        new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==", "1234", 512, 16);
+    }
+
+    @Test
+    public void checkUnsupportedSecretKeyAlgorithmIsRejected() {
+        final TestBinaryCipherExecutor cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==", SIGNING_KEY, 512, 16);
+        cc.setSecretKeyAlgorithm("aes");
+        this.thrown.expect(IllegalArgumentException.class);
+        cc.setSecretKeyAlgorithm("DES");
+    }
+
     private static class TestBinaryCipherExecutor extends BaseBinaryCipherExecutor {
         TestBinaryCipherExecutor(final String encKey, final String signingKey, final int sKey, final int eKey) {
             super(encKey, signingKey, sKey, eKey, "Test");
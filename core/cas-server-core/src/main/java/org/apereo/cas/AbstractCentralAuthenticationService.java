@@ -184,7 +184,7 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
     @Counted(name = "GET_TICKETS_COUNTER", monotonic = true)
     @Override
     public Collection<Ticket> getTickets(final Predicate<Ticket> predicate) {
-        return this.ticketRegistry.getTickets().stream()
+        return this.ticketRegistry.getTicketsStream(null, TicketRegistry.DEFAULT_BATCH_SIZE)
                 .filter(predicate)
                 .collect(Collectors.toSet());
     }
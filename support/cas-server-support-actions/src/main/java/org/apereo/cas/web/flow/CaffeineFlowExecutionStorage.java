@@ -0,0 +1,42 @@
+package org.apereo.cas.web.flow;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CaffeineFlowExecutionStorage} that keeps the state of flow executions
+ * in memory on the local node. The storage is bounded by the total size of the states it holds,
+ * rather than by their number, since the size of a flow execution varies with what the flow keeps in scope.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CaffeineFlowExecutionStorage implements FlowExecutionStorage {
+
+    private final Cache<String, byte[]> storage;
+
+    public CaffeineFlowExecutionStorage(final long maximumSize, final long timeToLive) {
+        this.storage = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((final String id, final byte[] state) -> id.length() + state.length)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public void put(final String id, final byte[] state) {
+        this.storage.put(id, state);
+    }
+
+    @Override
+    public byte[] get(final String id) {
+        return this.storage.getIfPresent(id);
+    }
+
+    @Override
+    public void remove(final String id) {
+        this.storage.invalidate(id);
+    }
+}
@@ -0,0 +1,45 @@
+package org.apereo.cas.web.flow;
+
+import org.springframework.webflow.execution.FlowExecutionKey;
+
+/**
+ * This is {@link StoredFlowExecutionKey} that identifies the state of a flow execution
+ * kept in a {@link FlowExecutionStorage}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class StoredFlowExecutionKey extends FlowExecutionKey {
+    private static final long serialVersionUID = -2386240211378539426L;
+
+    private final String id;
+
+    public StoredFlowExecutionKey(final String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof StoredFlowExecutionKey)) {
+            return false;
+        }
+        return this.id.equals(((StoredFlowExecutionKey) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.id;
+    }
+}
@@ -0,0 +1,171 @@
+package org.apereo.cas.web.flow;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+import org.apereo.cas.util.gen.RandomStringGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.FlowExecutionKey;
+import org.springframework.webflow.execution.FlowExecutionKeyFactory;
+import org.springframework.webflow.execution.repository.BadlyFormattedFlowExecutionKeyException;
+import org.springframework.webflow.execution.repository.FlowExecutionLock;
+import org.springframework.webflow.execution.repository.FlowExecutionRepository;
+import org.springframework.webflow.execution.repository.FlowExecutionRepositoryException;
+import org.springframework.webflow.execution.repository.FlowExecutionRestorationFailureException;
+import org.springframework.webflow.execution.repository.NoSuchFlowExecutionException;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is {@link StoredFlowExecutionRepository} that keeps flow execution snapshots on the server side,
+ * in a {@link FlowExecutionStorage}, and hands out a short random identifier to the client as the execution key.
+ * Unlike the client-side repository, flow state does not travel with every request; unlike the session-bound
+ * repository, it does not depend on the HTTP session, so any node that shares the storage may resume an execution.
+ * <p>Every pause of the execution is stored under a new key, and earlier snapshots are left to expire from the storage.
+ * Executions are not locked across nodes.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class StoredFlowExecutionRepository implements FlowExecutionRepository, FlowExecutionKeyFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoredFlowExecutionRepository.class);
+
+    private static final int KEY_LENGTH = 16;
+
+    private static final FlowExecutionLock NO_OP_LOCK = new FlowExecutionLock() {
+        @Override
+        public void lock() {
+        }
+
+        @Override
+        public void unlock() {
+        }
+    };
+
+    private final RandomStringGenerator keyGenerator = new Base64RandomStringGenerator(KEY_LENGTH);
+
+    private final FlowExecutionStorage storage;
+
+    private final FlowExecutionSnapshotFactory snapshotFactory;
+
+    public StoredFlowExecutionRepository(final FlowExecutionStorage storage, final FlowExecutionSnapshotFactory snapshotFactory) {
+        this.storage = storage;
+        this.snapshotFactory = snapshotFactory;
+    }
+
+    @Override
+    public FlowExecutionKey parseFlowExecutionKey(final String encodedKey) throws FlowExecutionRepositoryException {
+        if (StringUtils.isBlank(encodedKey)) {
+            throw new BadlyFormattedFlowExecutionKeyException(encodedKey, "<random identifier>");
+        }
+        return new StoredFlowExecutionKey(encodedKey);
+    }
+
+    @Override
+    public FlowExecutionLock getLock(final FlowExecutionKey key) throws FlowExecutionRepositoryException {
+        return NO_OP_LOCK;
+    }
+
+    @Override
+    public FlowExecution getFlowExecution(final FlowExecutionKey key) throws FlowExecutionRepositoryException {
+        final byte[] state = this.storage.get(key.toString());
+        if (state == null) {
+            throw new NoSuchFlowExecutionException(key, null);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(state)))) {
+            final StoredFlowExecution execution = (StoredFlowExecution) in.readObject();
+            return this.snapshotFactory.restoreExecution(execution.getSnapshot(), execution.getFlowId(), key,
+                    execution.getConversationScope(), this);
+        } catch (final IOException | ClassNotFoundException e) {
+            throw new FlowExecutionRestorationFailureException(key, e);
+        }
+    }
+
+    @Override
+    public void putFlowExecution(final FlowExecution flowExecution) throws FlowExecutionRepositoryException {
+        final FlowExecutionKey key = flowExecution.getKey();
+        if (key == null) {
+            throw new IllegalStateException("The key of the flow execution must be assigned before it can be stored");
+        }
+        final StoredFlowExecution execution = new StoredFlowExecution(flowExecution.getDefinition().getId(),
+                this.snapshotFactory.createSnapshot(flowExecution), flowExecution.getConversationScope());
+        final ByteArrayOutputStream state = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(state))) {
+            out.writeObject(execution);
+        } catch (final IOException e) {
+            throw new FlowExecutionRepositoryException("Unable to serialize flow execution " + key, e);
+        }
+        LOGGER.debug("Storing flow execution [{}] of [{}] bytes", key, state.size());
+        this.storage.put(key.toString(), state.toByteArray());
+    }
+
+    @Override
+    public void removeFlowExecution(final FlowExecution flowExecution) throws FlowExecutionRepositoryException {
+        removeFlowExecutionSnapshot(flowExecution);
+    }
+
+    @Override
+    public FlowExecutionKey getKey(final FlowExecution execution) {
+        return new StoredFlowExecutionKey(this.keyGenerator.getNewString());
+    }
+
+    @Override
+    public void updateFlowExecutionSnapshot(final FlowExecution execution) {
+        if (execution.getKey() != null) {
+            putFlowExecution(execution);
+        }
+    }
+
+    @Override
+    public void removeFlowExecutionSnapshot(final FlowExecution execution) {
+        if (execution.getKey() != null) {
+            this.storage.remove(execution.getKey().toString());
+        }
+    }
+
+    @Override
+    public void removeAllFlowExecutionSnapshots(final FlowExecution execution) {
+        removeFlowExecutionSnapshot(execution);
+    }
+
+    /**
+     * The state of a flow execution as it is kept in the storage.
+     */
+    private static class StoredFlowExecution implements Serializable {
+        private static final long serialVersionUID = 5178923456061207624L;
+
+        private final String flowId;
+        private final FlowExecutionSnapshot snapshot;
+        private final LocalAttributeMap<Object> conversationScope;
+
+        StoredFlowExecution(final String flowId, final FlowExecutionSnapshot snapshot, final MutableAttributeMap<Object> conversationScope) {
+            this.flowId = flowId;
+            this.snapshot = snapshot;
+            this.conversationScope = new LocalAttributeMap<>(conversationScope.asMap());
+        }
+
+        public String getFlowId() {
+            return this.flowId;
+        }
+
+        public FlowExecutionSnapshot getSnapshot() {
+            return this.snapshot;
+        }
+
+        public LocalAttributeMap<Object> getConversationScope() {
+            return this.conversationScope;
+        }
+    }
+}
@@ -22,7 +22,8 @@ import org.junit.runners.Suite;
         SendTicketGrantingTicketActionSsoTests.class,
         ServiceAuthorizationCheckTests.class,
         TicketGrantingTicketCheckActionTests.class, 
-        CasDefaultFlowUrlHandlerTests.class
+        CasDefaultFlowUrlHandlerTests.class,
+        CaffeineFlowExecutionStorageTests.class
 })
 public class AllTestsSuite {
 }
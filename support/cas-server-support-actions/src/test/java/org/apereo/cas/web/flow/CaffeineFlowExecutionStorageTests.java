@@ -0,0 +1,64 @@
+package org.apereo.cas.web.flow;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CaffeineFlowExecutionStorageTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CaffeineFlowExecutionStorageTests {
+    private static final byte[] STATE = "flow-execution-state".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void verifyStateIsStoredAndRemoved() {
+        final FlowExecutionStorage storage = new CaffeineFlowExecutionStorage(1_024, 60);
+        storage.put("key", STATE);
+        assertArrayEquals(STATE, storage.get("key"));
+        storage.remove("key");
+        assertNull(storage.get("key"));
+    }
+
+    @Test
+    public void verifyUnknownStateIsNotFound() {
+        final FlowExecutionStorage storage = new CaffeineFlowExecutionStorage(1_024, 60);
+        assertNull(storage.get("unknown"));
+    }
+
+    @Test
+    public void verifyStateExpires() throws Exception {
+        final FlowExecutionStorage storage = new CaffeineFlowExecutionStorage(1_024, 1);
+        storage.put("key", STATE);
+        Thread.sleep(1_500);
+        assertNull(storage.get("key"));
+    }
+
+    @Test
+    public void verifyStorageIsBoundedBySize() throws Exception {
+        final FlowExecutionStorage storage = new CaffeineFlowExecutionStorage(1_024, 60);
+        final byte[] state = new byte[400];
+        storage.put("first", state);
+        storage.put("second", state);
+        storage.put("third", state);
+
+        for (int i = 0; i < 50 && countStored(storage) == 3; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(2, countStored(storage));
+    }
+
+    private static int countStored(final FlowExecutionStorage storage) {
+        int count = 0;
+        for (final String id : new String[]{"first", "second", "third"}) {
+            if (storage.get(id) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
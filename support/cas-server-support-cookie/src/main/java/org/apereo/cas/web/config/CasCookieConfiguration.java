@@ -8,6 +8,7 @@ import org.apereo.cas.configuration.model.support.cookie.WarningCookieProperties
 import org.apereo.cas.util.cipher.NoOpCipherExecutor;
 import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
 import org.apereo.cas.web.WarningCookieRetrievingCookieGenerator;
+import org.apereo.cas.web.support.CompactCasCookieValueManager;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.apereo.cas.web.support.CookieValueManager;
 import org.apereo.cas.web.support.DefaultCasCookieValueManager;
@@ -50,8 +51,13 @@ public class CasCookieConfiguration {
     @Autowired
     @Bean
     public CookieValueManager cookieValueManager(@Qualifier("cookieCipherExecutor") final CipherExecutor cipherExecutor) {
-        if (casProperties.getTgc().getCrypto().isEnabled()) {
-            return new DefaultCasCookieValueManager(cipherExecutor);
+        final TicketGrantingCookieProperties tgc = casProperties.getTgc();
+        if (tgc.getCrypto().isEnabled()) {
+            if (tgc.isCompact()) {
+                return new CompactCasCookieValueManager(tgc.getCrypto().getSigning().getKey(),
+                        tgc.getDecodedValueCacheSize(), tgc.getDecodedValueCacheTimeToLive());
+            }
+            return new DefaultCasCookieValueManager(cipherExecutor, tgc.getDecodedValueCacheSize(), tgc.getDecodedValueCacheTimeToLive());
         }
         return new NoOpCookieValueManager();
     }
@@ -0,0 +1,126 @@
+package org.apereo.cas.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * The {@link CompactCasCookieValueManager} packs the CAS SSO cookie value, the remote address
+ * and a digest of the user-agent into a binary payload that is protected by an HMAC, rather than
+ * signing and encrypting the value as a JWT. The cookie is much shorter and cheaper to verify,
+ * and cannot be tampered with, but its content is not encrypted.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CompactCasCookieValueManager extends DefaultCasCookieValueManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactCasCookieValueManager.class);
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final byte VERSION = 1;
+    private static final int MAC_LENGTH = 32;
+    private static final int USER_AGENT_DIGEST_LENGTH = 16;
+    private static final int MAX_FIELD_LENGTH = 255;
+    private static final int SIGNING_KEY_SIZE = 512;
+
+    private final SecretKeySpec signingKey;
+
+    /**
+     * Instantiates a new compact cookie value manager.
+     *
+     * @param secretKeySigning the secret key signing; as with the other cipher executors,
+     *                         the UTF-8 bytes of the setting are used as the key
+     * @param cacheSize        the maximum number of decoded cookie values to cache; 0 turns caching off
+     * @param cacheTimeToLive  the number of seconds a decoded cookie value is cached for
+     */
+    public CompactCasCookieValueManager(final String secretKeySigning, final long cacheSize, final long cacheTimeToLive) {
+        super(NoOpCipherExecutor.getInstance(), cacheSize, cacheTimeToLive);
+        String signingKeyToUse = secretKeySigning;
+        if (StringUtils.isBlank(signingKeyToUse)) {
+            LOGGER.warn("Secret key for signing is not defined for compact ticket-granting cookies. CAS will attempt to auto-generate the signing key");
+            signingKeyToUse = EncodingUtils.generateJsonWebKey(SIGNING_KEY_SIZE);
+            LOGGER.warn("Generated signing key [{}] of size [{}]. The generated key MUST be added to CAS settings under setting [{}].",
+                    signingKeyToUse, SIGNING_KEY_SIZE, "cas.tgc.crypto.signing.key");
+        }
+        this.signingKey = new SecretKeySpec(signingKeyToUse.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+    }
+
+    @Override
+    protected String encodeCookieValue(final String value, final String remoteAddress, final String userAgent) {
+        final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        final byte[] addressBytes = remoteAddress.getBytes(StandardCharsets.UTF_8);
+        if (addressBytes.length > MAX_FIELD_LENGTH) {
+            throw new IllegalStateException("Remote address " + remoteAddress + " is too long to be packed in a compact cookie");
+        }
+        final ByteBuffer payload = ByteBuffer.allocate(2 + USER_AGENT_DIGEST_LENGTH + addressBytes.length + valueBytes.length + MAC_LENGTH);
+        payload.put(VERSION)
+                .put(digestUserAgent(userAgent))
+                .put((byte) addressBytes.length)
+                .put(addressBytes)
+                .put(valueBytes);
+        payload.put(mac(payload.array(), payload.position()));
+        return EncodingUtils.encodeUrlSafeBase64(payload.array());
+    }
+
+    @Override
+    protected CookieValue decodeCookieValue(final String cookieValue) {
+        final byte[] cookie = EncodingUtils.decodeUrlSafeBase64(cookieValue);
+        if (cookie == null || cookie.length < 2 + USER_AGENT_DIGEST_LENGTH + MAC_LENGTH || cookie[0] != VERSION) {
+            throw new IllegalStateException("Invalid cookie. Cookie is not in the compact format");
+        }
+        final int payloadLength = cookie.length - MAC_LENGTH;
+        if (!MessageDigest.isEqual(mac(cookie, payloadLength), Arrays.copyOfRange(cookie, payloadLength, cookie.length))) {
+            throw new IllegalStateException("Invalid cookie. Signature does not match");
+        }
+
+        final ByteBuffer payload = ByteBuffer.wrap(cookie, 1, payloadLength - 1);
+        final byte[] userAgent = new byte[USER_AGENT_DIGEST_LENGTH];
+        payload.get(userAgent);
+        final byte[] address = new byte[Byte.toUnsignedInt(payload.get())];
+        if (address.length > payload.remaining()) {
+            throw new IllegalStateException("Invalid cookie. Required fields are missing");
+        }
+        payload.get(address);
+        final byte[] value = new byte[payload.remaining()];
+        payload.get(value);
+        return new CookieValue(new String(value, StandardCharsets.UTF_8), new String(address, StandardCharsets.UTF_8),
+                EncodingUtils.encodeUrlSafeBase64(userAgent));
+    }
+
+    @Override
+    protected String getUserAgentFingerprint(final String userAgent) {
+        return EncodingUtils.encodeUrlSafeBase64(digestUserAgent(userAgent));
+    }
+
+    private static byte[] digestUserAgent(final String userAgent) {
+        try {
+            final byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(StringUtils.defaultString(userAgent).getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, USER_AGENT_DIGEST_LENGTH);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private byte[] mac(final byte[] data, final int length) {
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(this.signingKey);
+            mac.update(data, 0, length);
+            return mac.doFinal();
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.web.support;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.util.cipher.NoOpCipherExecutor;
@@ -11,10 +13,14 @@ import org.slf4j.LoggerFactory;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The {@link DefaultCasCookieValueManager} is responsible creating
  * the CAS SSO cookie and encrypting and signing its value.
+ * <p>Decoded cookie values may be kept in a short-lived cache keyed by the raw cookie value,
+ * so that repeated requests carrying the same cookie do not verify and decrypt it again.
+ * The remote address and user-agent of each request are still checked against the cookie.</p>
  *
  * @author Misagh Moayyed
  * @since 4.1
@@ -30,64 +36,155 @@ public class DefaultCasCookieValueManager implements CookieValueManager {
      */
     private CipherExecutor<Serializable, String> cipherExecutor = NoOpCipherExecutor.getInstance();
 
+    /**
+     * Decoded cookie values keyed by the raw cookie value; null if caching is turned off.
+     */
+    private final Cache<String, CookieValue> decodedCookieValues;
+
     /**
      * Instantiates a new Cas cookie value manager.
      *
      * @param cipherExecutor the cipher executor
      */
     public DefaultCasCookieValueManager(final CipherExecutor cipherExecutor) {
+        this(cipherExecutor, 0, 0);
+    }
+
+    /**
+     * Instantiates a new Cas cookie value manager that caches decoded cookie values.
+     *
+     * @param cipherExecutor    the cipher executor
+     * @param cacheSize         the maximum number of decoded cookie values to cache; 0 turns caching off
+     * @param cacheTimeToLive   the number of seconds a decoded cookie value is cached for
+     */
+    public DefaultCasCookieValueManager(final CipherExecutor cipherExecutor, final long cacheSize, final long cacheTimeToLive) {
         this.cipherExecutor = cipherExecutor;
+        if (cacheSize > 0 && cacheTimeToLive > 0) {
+            this.decodedCookieValues = Caffeine.newBuilder()
+                    .maximumSize(cacheSize)
+                    .expireAfterWrite(cacheTimeToLive, TimeUnit.SECONDS)
+                    .build();
+        } else {
+            this.decodedCookieValues = null;
+        }
     }
 
     @Override
     public String buildCookieValue(final String givenCookieValue, final HttpServletRequest request) {
         final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
-        final StringBuilder builder = new StringBuilder(givenCookieValue)
-                .append(COOKIE_FIELD_SEPARATOR)
-                .append(clientInfo.getClientIpAddress());
-
         final String userAgent = WebUtils.getHttpServletRequestUserAgent(request);
         if (StringUtils.isBlank(userAgent)) {
             throw new IllegalStateException("Request does not specify a user-agent");
         }
-        builder.append(COOKIE_FIELD_SEPARATOR).append(userAgent);
-
-        final String res = builder.toString();
-        LOGGER.debug("Encoding cookie value [{}]", res);
-        return this.cipherExecutor.encode(res);
+        return encodeCookieValue(givenCookieValue, clientInfo.getClientIpAddress(), userAgent);
     }
 
     @Override
     public String obtainCookieValue(final Cookie cookie, final HttpServletRequest request) {
-        final String cookieValue = this.cipherExecutor.decode(cookie.getValue());
-        LOGGER.debug("Decoded cookie value is [{}]", cookieValue);
-        if (StringUtils.isBlank(cookieValue)) {
+        final CookieValue cookieValue = this.decodedCookieValues == null
+                ? decodeCookieValue(cookie.getValue())
+                : this.decodedCookieValues.get(cookie.getValue(), this::decodeCookieValue);
+        if (cookieValue == null) {
             LOGGER.debug("Retrieved decoded cookie value is blank. Failed to decode cookie [{}]", cookie.getName());
             return null;
         }
 
-        final String[] cookieParts = cookieValue.split(String.valueOf(COOKIE_FIELD_SEPARATOR));
+        final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
+        if (!cookieValue.getRemoteAddress().equals(clientInfo.getClientIpAddress())) {
+            throw new IllegalStateException("Invalid cookie. Required remote address "
+                    + cookieValue.getRemoteAddress() + " does not match " + clientInfo.getClientIpAddress());
+        }
+
+        final String agent = getUserAgentFingerprint(WebUtils.getHttpServletRequestUserAgent(request));
+        if (!cookieValue.getUserAgent().equals(agent)) {
+            throw new IllegalStateException("Invalid cookie. Required user-agent " + cookieValue.getUserAgent() + " does not match " + agent);
+        }
+        return cookieValue.getValue();
+    }
+
+    /**
+     * Encode the cookie value along with the remote address and user-agent of the request.
+     *
+     * @param value         the value
+     * @param remoteAddress the remote address
+     * @param userAgent     the user agent
+     * @return the encoded cookie value
+     */
+    protected String encodeCookieValue(final String value, final String remoteAddress, final String userAgent) {
+        final String res = new StringBuilder(value)
+                .append(COOKIE_FIELD_SEPARATOR)
+                .append(remoteAddress)
+                .append(COOKIE_FIELD_SEPARATOR)
+                .append(getUserAgentFingerprint(userAgent))
+                .toString();
+        LOGGER.debug("Encoding cookie value [{}]", res);
+        return this.cipherExecutor.encode(res);
+    }
+
+    /**
+     * Decode the raw cookie value.
+     *
+     * @param cookieValue the raw cookie value
+     * @return the decoded cookie value, or null if it cannot be decoded
+     */
+    protected CookieValue decodeCookieValue(final String cookieValue) {
+        final String decoded = this.cipherExecutor.decode(cookieValue);
+        LOGGER.debug("Decoded cookie value is [{}]", decoded);
+        if (StringUtils.isBlank(decoded)) {
+            return null;
+        }
+
+        final String[] cookieParts = decoded.split(String.valueOf(COOKIE_FIELD_SEPARATOR));
         if (cookieParts.length != COOKIE_FIELDS_LENGTH) {
             throw new IllegalStateException("Invalid cookie. Required fields are missing");
         }
-        final String value = cookieParts[0];
-        final String remoteAddr = cookieParts[1];
-        final String userAgent = cookieParts[2];
+        return new CookieValue(cookieParts[0], cookieParts[1], cookieParts[2]);
+    }
+
+    /**
+     * Gets the form of the user-agent that is kept in the cookie and compared with the user-agent of requests.
+     *
+     * @param userAgent the user agent
+     * @return the user agent fingerprint
+     */
+    protected String getUserAgentFingerprint(final String userAgent) {
+        return userAgent;
+    }
+
+    /**
+     * The fields of a decoded cookie value.
+     */
+    protected static class CookieValue {
+        private final String value;
+        private final String remoteAddress;
+        private final String userAgent;
+
+        /**
+         * Instantiates a new decoded cookie value.
+         *
+         * @param value         the value
+         * @param remoteAddress the remote address
+         * @param userAgent     the user agent fingerprint
+         */
+        protected CookieValue(final String value, final String remoteAddress, final String userAgent) {
+            if (StringUtils.isBlank(value) || StringUtils.isBlank(remoteAddress) || StringUtils.isBlank(userAgent)) {
+                throw new IllegalStateException("Invalid cookie. Required fields are empty");
+            }
+            this.value = value;
+            this.remoteAddress = remoteAddress;
+            this.userAgent = userAgent;
+        }
 
-        if (StringUtils.isBlank(value) || StringUtils.isBlank(remoteAddr) || StringUtils.isBlank(userAgent)) {
-            throw new IllegalStateException("Invalid cookie. Required fields are empty");
+        public String getValue() {
+            return this.value;
         }
 
-        final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
-        if (!remoteAddr.equals(clientInfo.getClientIpAddress())) {
-            throw new IllegalStateException("Invalid cookie. Required remote address "
-                    + remoteAddr + " does not match " + clientInfo.getClientIpAddress());
+        public String getRemoteAddress() {
+            return this.remoteAddress;
         }
 
-        final String agent = WebUtils.getHttpServletRequestUserAgent(request);
-        if (!userAgent.equals(agent)) {
-            throw new IllegalStateException("Invalid cookie. Required user-agent " + userAgent + " does not match " + agent);
+        public String getUserAgent() {
+            return this.userAgent;
         }
-        return value;
     }
 }
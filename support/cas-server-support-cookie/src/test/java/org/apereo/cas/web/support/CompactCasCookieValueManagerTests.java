@@ -0,0 +1,115 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.Cookie;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CompactCasCookieValueManager}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CompactCasCookieValueManagerTests {
+    private static final String VALUE = "TGT-1-abcdefghijklmnopqrstuvwxyz";
+    private static final String USER_AGENT = "Mozilla/5.0 (Test)";
+    private static final int MAC_LENGTH = 32;
+    private static final String SIGNING_KEY = EncodingUtils.generateJsonWebKey(512);
+
+    private final CompactCasCookieValueManager manager = new CompactCasCookieValueManager(SIGNING_KEY, 0, 0);
+
+    private MockHttpServletRequest request;
+
+    @Before
+    public void setUp() {
+        this.request = newRequest("127.0.0.1", USER_AGENT);
+    }
+
+    @After
+    public void tearDown() {
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyRoundTrip() {
+        final String cookieValue = this.manager.buildCookieValue(VALUE, this.request);
+        assertFalse(cookieValue.contains(VALUE));
+        assertEquals(VALUE, this.manager.obtainCookieValue(new Cookie("TGC", cookieValue), this.request));
+    }
+
+    @Test
+    public void verifyRoundTripWithCachedValues() {
+        final CompactCasCookieValueManager cached = new CompactCasCookieValueManager(SIGNING_KEY, 100, 60);
+        final Cookie cookie = new Cookie("TGC", cached.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, cached.obtainCookieValue(cookie, this.request));
+        assertEquals(VALUE, cached.obtainCookieValue(cookie, this.request));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyTamperedCookieIsRejected() {
+        final byte[] cookie = EncodingUtils.decodeUrlSafeBase64(this.manager.buildCookieValue(VALUE, this.request));
+        cookie[cookie.length - MAC_LENGTH - 1] ^= 1;
+        this.manager.obtainCookieValue(new Cookie("TGC", EncodingUtils.encodeUrlSafeBase64(cookie)), this.request);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyTamperedMacIsRejected() {
+        final byte[] cookie = EncodingUtils.decodeUrlSafeBase64(this.manager.buildCookieValue(VALUE, this.request));
+        cookie[cookie.length - 1] ^= 1;
+        this.manager.obtainCookieValue(new Cookie("TGC", EncodingUtils.encodeUrlSafeBase64(cookie)), this.request);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyCookieSignedWithAnotherKeyIsRejected() {
+        final CompactCasCookieValueManager other = new CompactCasCookieValueManager(EncodingUtils.generateJsonWebKey(512), 0, 0);
+        this.manager.obtainCookieValue(new Cookie("TGC", other.buildCookieValue(VALUE, this.request)), this.request);
+    }
+
+    @Test
+    public void verifySigningKeyIsNotRequiredToBeBase64Encoded() {
+        final CompactCasCookieValueManager other = new CompactCasCookieValueManager("This key is not base64 encoded!", 0, 0);
+        final Cookie cookie = new Cookie("TGC", other.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, other.obtainCookieValue(cookie, this.request));
+    }
+
+    @Test
+    public void verifyRemoteAddressMismatchIsRejected() {
+        final Cookie cookie = new Cookie("TGC", this.manager.buildCookieValue(VALUE, this.request));
+        final MockHttpServletRequest other = newRequest("10.0.0.1", USER_AGENT);
+        try {
+            this.manager.obtainCookieValue(cookie, other);
+            fail("Expected the cookie to be rejected for another remote address");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("remote address"));
+        }
+    }
+
+    @Test
+    public void verifyUserAgentMismatchIsRejected() {
+        final Cookie cookie = new Cookie("TGC", this.manager.buildCookieValue(VALUE, this.request));
+        final MockHttpServletRequest other = newRequest("127.0.0.1", "Other/1.0");
+        try {
+            this.manager.obtainCookieValue(cookie, other);
+            fail("Expected the cookie to be rejected for another user-agent");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("user-agent"));
+        }
+    }
+
+    private static MockHttpServletRequest newRequest(final String remoteAddress, final String userAgent) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        request.setLocalAddr("127.0.0.1");
+        request.addHeader("User-Agent", userAgent);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+        return request;
+    }
+}
@@ -0,0 +1,120 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.Cookie;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link DefaultCasCookieValueManager} and its cache of decoded cookie values.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class DefaultCasCookieValueManagerTests {
+    private static final String VALUE = "TGT-1-abcdefghijklmnopqrstuvwxyz";
+    private static final String USER_AGENT = "Mozilla/5.0 (Test)";
+
+    private MockHttpServletRequest request;
+
+    @Before
+    public void setUp() {
+        this.request = newRequest("127.0.0.1", USER_AGENT);
+    }
+
+    @After
+    public void tearDown() {
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyDecodedValuesAreCached() {
+        final CountingCookieValueManager manager = new CountingCookieValueManager(100, 60);
+        final Cookie cookie = new Cookie("TGC", manager.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+        assertEquals(1, manager.decoded.get());
+    }
+
+    @Test
+    public void verifyDecodedValuesAreNotCachedWhenCachingIsOff() {
+        final CountingCookieValueManager manager = new CountingCookieValueManager(0, 0);
+        final Cookie cookie = new Cookie("TGC", manager.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+        assertEquals(2, manager.decoded.get());
+    }
+
+    @Test
+    public void verifyCachedValuesExpire() throws Exception {
+        final CountingCookieValueManager manager = new CountingCookieValueManager(100, 1);
+        final Cookie cookie = new Cookie("TGC", manager.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+        Thread.sleep(1_500);
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+        assertEquals(2, manager.decoded.get());
+    }
+
+    @Test
+    public void verifyRemoteAddressIsCheckedForCachedValues() {
+        final CountingCookieValueManager manager = new CountingCookieValueManager(100, 60);
+        final Cookie cookie = new Cookie("TGC", manager.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+
+        final MockHttpServletRequest other = newRequest("10.0.0.1", USER_AGENT);
+        try {
+            manager.obtainCookieValue(cookie, other);
+            fail("Expected the cookie to be rejected for another remote address");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("remote address"));
+        }
+        assertEquals(1, manager.decoded.get());
+    }
+
+    @Test
+    public void verifyUserAgentIsCheckedForCachedValues() {
+        final CountingCookieValueManager manager = new CountingCookieValueManager(100, 60);
+        final Cookie cookie = new Cookie("TGC", manager.buildCookieValue(VALUE, this.request));
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, this.request));
+
+        final MockHttpServletRequest other = newRequest("127.0.0.1", "Other/1.0");
+        try {
+            manager.obtainCookieValue(cookie, other);
+            fail("Expected the cookie to be rejected for another user-agent");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("user-agent"));
+        }
+        assertEquals(1, manager.decoded.get());
+    }
+
+    private static MockHttpServletRequest newRequest(final String remoteAddress, final String userAgent) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        request.setLocalAddr("127.0.0.1");
+        request.addHeader("User-Agent", userAgent);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+        return request;
+    }
+
+    private static class CountingCookieValueManager extends DefaultCasCookieValueManager {
+        private final AtomicInteger decoded = new AtomicInteger();
+
+        CountingCookieValueManager(final long cacheSize, final long cacheTimeToLive) {
+            super(NoOpCipherExecutor.getInstance(), cacheSize, cacheTimeToLive);
+        }
+
+        @Override
+        protected CookieValue decodeCookieValue(final String cookieValue) {
+            this.decoded.incrementAndGet();
+            return super.decodeCookieValue(cookieValue);
+        }
+    }
+}
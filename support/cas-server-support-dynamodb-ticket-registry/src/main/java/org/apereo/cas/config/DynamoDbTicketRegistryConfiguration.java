@@ -17,6 +17,7 @@ import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.DynamoDbTicketRegistry;
 import org.apereo.cas.ticket.registry.DynamoDbTicketRegistryFacilitator;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -38,14 +39,20 @@ public class DynamoDbTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     @Autowired
     @RefreshScope
     @Bean
     public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final DynamoDbTicketRegistryProperties db = casProperties.getTicket().getRegistry().getDynamoDb();
         final EncryptionRandomizedSigningJwtCryptographyProperties crypto = db.getCrypto();
-        return new DynamoDbTicketRegistry(Beans.newTicketRegistryCipherExecutor(crypto, "dynamoDb"),
+        final DynamoDbTicketRegistry r = new DynamoDbTicketRegistry(Beans.newTicketRegistryCipherExecutor(crypto, "dynamoDb"),
                 dynamoDbTicketRegistryFacilitator(ticketCatalog));
+        r.setTicketSerializer(this.ticketSerializer);
+        return r;
     }
 
     @Autowired
@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.registry;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -12,10 +14,16 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.PreDestroy;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -31,6 +39,10 @@ import java.util.stream.Collectors;
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastTicketRegistry.class);
 
+    private static final String KEY_ATTRIBUTE_NAME = "__key";
+
+    private static final Comparator<Map.Entry<String, Ticket>> TICKET_ID_ORDER = new TicketIdComparator();
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final int pageSize;
@@ -124,6 +136,39 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched from the distributed map one page at a time via a {@link PagingPredicate}
+     * ordered by ticket id. Each page starts after the last ticket id seen, rather than at a page number,
+     * so removing tickets while the stream is consumed never causes others to be skipped.</p>
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream(final TicketDefinition definition, final int batchSize) {
+        if (definition == null) {
+            return this.ticketCatalog.findAll().stream()
+                    .flatMap(defn -> getTicketsStream(defn, batchSize));
+        }
+        final IMap<String, Ticket> map = getTicketMapInstanceByMetadata(definition);
+        return new AbstractPagedTicketIterator(batchSize) {
+            private String lastId = StringUtils.EMPTY;
+
+            @Override
+            protected List<Ticket> fetchNextPage() {
+                final PagingPredicate<String, Ticket> predicate = new PagingPredicate<>(
+                        Predicates.greaterThan(KEY_ATTRIBUTE_NAME, this.lastId), TICKET_ID_ORDER, this.pageSize);
+                final List<Map.Entry<String, Ticket>> entries = new ArrayList<>(map.entrySet(predicate));
+                entries.sort(TICKET_ID_ORDER);
+                if (!entries.isEmpty()) {
+                    this.lastId = entries.get(entries.size() - 1).getKey();
+                }
+                return entries.stream()
+                        .map(Map.Entry::getValue)
+                        .map(HazelcastTicketRegistry.this::decodeTicket)
+                        .collect(Collectors.toList());
+            }
+        }.stream();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -152,4 +197,16 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
         }
         return null;
     }
+
+    /**
+     * Orders map entries by ticket id; serializable so that cluster members can sort pages.
+     */
+    private static class TicketIdComparator implements Comparator<Map.Entry<String, Ticket>>, Serializable {
+        private static final long serialVersionUID = -3190645212383458371L;
+
+        @Override
+        public int compare(final Map.Entry<String, Ticket> o1, final Map.Entry<String, Ticket> o2) {
+            return o1.getKey().compareTo(o2.getKey());
+        }
+    }
 }
@@ -9,7 +9,9 @@ import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.annotation.Bean;
 
 /**
  * This is {@link InfinispanTicketRegistryTests}.
@@ -20,6 +22,14 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 @SpringBootTest(classes = {RefreshAutoConfiguration.class, InfinispanTicketRegistryConfiguration.class})
 public class InfinispanTicketRegistryTests extends AbstractTicketRegistryTests {
 
+    @TestConfiguration
+    public static class TicketSerializerTestConfiguration {
+        @Bean
+        public TicketSerializer ticketSerializer() {
+            return new DefaultTicketSerializer();
+        }
+    }
+
     @Autowired
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -15,9 +16,11 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
@@ -97,6 +100,38 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Tickets are fetched with keyset pagination on the ticket id, so each page is
+     * a bounded indexed range query. Fetched entities are detached from the persistence
+     * context once their page has been loaded.</p>
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream(final TicketDefinition definition, final int batchSize) {
+        if (definition == null) {
+            return this.ticketCatalog.findAll().stream()
+                    .flatMap(defn -> getTicketsStream(defn, batchSize));
+        }
+        return new AbstractPagedTicketIterator(batchSize) {
+            private String lastTicketId = StringUtils.EMPTY;
+
+            @Override
+            protected List<Ticket> fetchNextPage() {
+                final TypedQuery<? extends Ticket> query = entityManager.createQuery("select t from " + getTicketEntityName(definition)
+                        + " t where t.id like :prefix and t.id > :lastId order by t.id", definition.getImplementationClass());
+                query.setParameter("prefix", definition.getPrefix() + "-%");
+                query.setParameter("lastId", this.lastTicketId);
+                query.setMaxResults(this.pageSize);
+                final List<Ticket> page = new ArrayList<>(query.getResultList());
+                if (!page.isEmpty()) {
+                    this.lastTicketId = page.get(page.size() - 1).getId();
+                    page.forEach(entityManager::detach);
+                }
+                return page;
+            }
+        }.stream();
+    }
+
     @Override
     public long sessionCount() {
         final TicketDefinition md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -0,0 +1,183 @@
+package org.apereo.cas.util;
+
+import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+import org.ldaptive.pool.ConnectionPool;
+import org.ldaptive.pool.PooledConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registry of the LDAP connection pools of the application, shared by all components that connect to
+ * the same directory with the same connection settings: LDAP URLs, bind DN and credential, SSL and SASL
+ * configuration, timeouts, connection strategy and provider.
+ * <p>The settings of the component that first asks for a pool, such as its size and validation,
+ * define the pool. Pools that authentication handlers use to bind as the authenticating user are kept apart
+ * from the pools used to search, since binding changes the identity of the connection.</p>
+ * <p>The registry only keeps weak references to the pools it hands out. Once no component holds on to a pool
+ * any more, for example after the components that used it are rebuilt with new settings on refresh,
+ * the pool is closed and removed from the registry.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public final class LdapConnectionPoolRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LdapConnectionPoolRegistry.class);
+
+    private static final Map<PoolKey, SharedPool> POOLS = new HashMap<>();
+
+    private static final ReferenceQueue<PooledConnectionFactory> RELEASED_POOLS = new ReferenceQueue<>();
+
+    private LdapConnectionPoolRegistry() {
+        // private constructor so that no one can instantiate.
+    }
+
+    /**
+     * Gets the connection pool used to search the directory described by the given settings,
+     * creating it if no component has asked for it yet.
+     *
+     * @param l the ldap properties
+     * @return the pooled connection factory
+     */
+    public static PooledConnectionFactory getPooledConnectionFactory(final AbstractLdapProperties l) {
+        return getPooledConnectionFactory(l, false);
+    }
+
+    /**
+     * Gets the connection pool used to bind as authenticating users to the directory described by the given settings,
+     * creating it if no component has asked for it yet.
+     *
+     * @param l the ldap properties
+     * @return the pooled connection factory
+     */
+    public static PooledConnectionFactory getPooledBindConnectionFactory(final AbstractLdapProperties l) {
+        return getPooledConnectionFactory(l, true);
+    }
+
+    /**
+     * Gets the registered connection pools that are still in use, keyed by a description of the directory,
+     * the bind DN and the purpose of each.
+     *
+     * @return the pooled connection factories
+     */
+    public static Map<String, PooledConnectionFactory> getPooledConnectionFactories() {
+        final Map<String, PooledConnectionFactory> pools = new TreeMap<>();
+        synchronized (POOLS) {
+            closeReleasedPools();
+            POOLS.forEach((key, shared) -> {
+                final PooledConnectionFactory factory = shared.get();
+                if (factory != null) {
+                    final String name = key.toString();
+                    pools.put(pools.containsKey(name) ? name + " #" + pools.size() : name, factory);
+                }
+            });
+        }
+        return pools;
+    }
+
+    private static PooledConnectionFactory getPooledConnectionFactory(final AbstractLdapProperties l, final boolean bind) {
+        final PoolKey key = new PoolKey(l, bind);
+        synchronized (POOLS) {
+            closeReleasedPools();
+            final SharedPool shared = POOLS.get(key);
+            final PooledConnectionFactory factory = shared == null ? null : shared.get();
+            if (factory != null) {
+                LOGGER.debug("Sharing LDAP connection pool [{}]", key);
+                return factory;
+            }
+            LOGGER.debug("Creating shared LDAP connection pool [{}]", key);
+            final PooledConnectionFactory created = new PooledConnectionFactory(LdapUtils.newLdaptiveBlockingConnectionPool(l));
+            POOLS.put(key, new SharedPool(key, created));
+            return created;
+        }
+    }
+
+    /**
+     * Close the pools that are no longer held by any component.
+     */
+    private static void closeReleasedPools() {
+        Reference<? extends PooledConnectionFactory> reference = RELEASED_POOLS.poll();
+        while (reference != null) {
+            final SharedPool released = (SharedPool) reference;
+            POOLS.remove(released.key, released);
+            LOGGER.debug("Closing LDAP connection pool [{}] that is no longer in use", released.key);
+            try {
+                released.pool.close();
+            } catch (final Exception e) {
+                LOGGER.warn("Error closing LDAP connection pool [{}]: [{}]", released.key, e.getMessage());
+            }
+            reference = RELEASED_POOLS.poll();
+        }
+    }
+
+    /**
+     * Weak reference to a shared pooled connection factory, which keeps hold of the underlying pool
+     * so that it can be closed once the factory is no longer referenced.
+     */
+    private static final class SharedPool extends WeakReference<PooledConnectionFactory> {
+        private final PoolKey key;
+        private final ConnectionPool pool;
+
+        SharedPool(final PoolKey key, final PooledConnectionFactory factory) {
+            super(factory, RELEASED_POOLS);
+            this.key = key;
+            this.pool = factory.getConnectionPool();
+        }
+    }
+
+    /**
+     * Identity of a connection pool, made up of every setting used to build its connections.
+     */
+    private static final class PoolKey {
+        private final String ldapUrl;
+        private final String bindDn;
+        private final boolean useSsl;
+        private final boolean useStartTls;
+        private final boolean bind;
+        private final List<Object> settings;
+
+        PoolKey(final AbstractLdapProperties l, final boolean bind) {
+            this.ldapUrl = l.getLdapUrl();
+            this.bindDn = l.getBindDn();
+            this.useSsl = l.isUseSsl();
+            this.useStartTls = l.isUseStartTls();
+            this.bind = bind;
+            this.settings = Arrays.asList(this.ldapUrl, this.bindDn, l.getBindCredential(), this.useSsl, this.useStartTls,
+                    l.getConnectTimeout(), l.getResponseTimeout(), l.getConnectionStrategy(),
+                    l.getTrustCertificates(), l.getKeystore(), l.getKeystoreType(), l.getKeystorePassword(),
+                    l.getSaslMechanism(), l.getSaslRealm(), l.getSaslAuthorizationId(), l.getSaslMutualAuth(),
+                    l.getSaslQualityOfProtection(), l.getSaslSecurityStrength(), l.getProviderClass(), bind);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PoolKey)) {
+                return false;
+            }
+            return this.settings.equals(((PoolKey) obj).settings);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.settings.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s%s%s%s", this.bind ? "bind" : "search", this.ldapUrl,
+                    this.bindDn == null ? "" : " as " + this.bindDn,
+                    this.useSsl ? " with SSL" : "", this.useStartTls ? " with StartTLS" : "");
+        }
+    }
+}
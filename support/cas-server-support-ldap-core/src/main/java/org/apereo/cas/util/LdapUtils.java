@@ -621,7 +621,7 @@ public final class LdapUtils {
 
         final Authenticator auth;
         if (StringUtils.isBlank(l.getPrincipalAttributePassword())) {
-            auth = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+            auth = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledBindConnectionFactory(l)));
         } else {
             auth = new Authenticator(resolver, getPooledCompareAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
         }
@@ -637,7 +637,7 @@ public final class LdapUtils {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for direct bind authentication");
         }
         final FormatDnResolver resolver = new FormatDnResolver(l.getDnFormat());
-        final Authenticator authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+        final Authenticator authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledBindConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
             authenticator.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
@@ -650,7 +650,7 @@ public final class LdapUtils {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for active directory authentication");
         }
         final FormatDnResolver resolver = new FormatDnResolver(l.getDnFormat());
-        final Authenticator authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
+        final Authenticator authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledBindConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
             authn.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
@@ -674,15 +674,33 @@ public final class LdapUtils {
 
     /**
      * New pooled connection factory pooled connection factory.
+     * The connection pool is shared through the {@link LdapConnectionPoolRegistry}, unless the settings ask otherwise.
      *
      * @param l the ldap properties
      * @return the pooled connection factory
      */
     public static PooledConnectionFactory newLdaptivePooledConnectionFactory(final AbstractLdapProperties l) {
+        if (l.isSharedPool()) {
+            return LdapConnectionPoolRegistry.getPooledConnectionFactory(l);
+        }
         final ConnectionPool cp = newLdaptiveBlockingConnectionPool(l);
         return new PooledConnectionFactory(cp);
     }
 
+    /**
+     * New pooled connection factory used to bind as authenticating users.
+     * The connection pool is shared through the {@link LdapConnectionPoolRegistry}, unless the settings ask otherwise.
+     *
+     * @param l the ldap properties
+     * @return the pooled connection factory
+     */
+    private static PooledConnectionFactory newLdaptivePooledBindConnectionFactory(final AbstractLdapProperties l) {
+        if (l.isSharedPool()) {
+            return LdapConnectionPoolRegistry.getPooledBindConnectionFactory(l);
+        }
+        return new PooledConnectionFactory(newLdaptiveBlockingConnectionPool(l));
+    }
+
     /**
      * New connection config connection config.
      *
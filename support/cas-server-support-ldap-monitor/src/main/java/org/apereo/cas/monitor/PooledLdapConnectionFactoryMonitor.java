@@ -32,7 +32,24 @@ public class PooledLdapConnectionFactoryMonitor extends AbstractPoolMonitor {
                                               final int maxWait, 
                                               final PooledConnectionFactory factory,
                                               final Validator<Connection> validator) {
-        super(PooledLdapConnectionFactoryMonitor.class.getSimpleName(), executorService, maxWait);
+        this(PooledLdapConnectionFactoryMonitor.class.getSimpleName(), executorService, maxWait, factory, validator);
+    }
+
+    /**
+     * Creates a new instance that monitors the given pooled connection factory under the given name.
+     *
+     * @param name            the monitor name
+     * @param executorService the executor service
+     * @param maxWait         the max wait
+     * @param factory         Connection factory to monitor.
+     * @param validator       Validates connections from the factory.
+     */
+    public PooledLdapConnectionFactoryMonitor(final String name,
+                                              final ExecutorService executorService,
+                                              final int maxWait,
+                                              final PooledConnectionFactory factory,
+                                              final Validator<Connection> validator) {
+        super(name, executorService, maxWait);
         this.connectionFactory = factory;
         this.validator = validator;
     }
@@ -0,0 +1,48 @@
+package org.apereo.cas.monitor;
+
+import org.apereo.cas.util.LdapConnectionPoolRegistry;
+import org.ldaptive.pool.SearchValidator;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Monitors every LDAP connection pool shared through the {@link LdapConnectionPoolRegistry},
+ * reporting the utilization of each pool and the worst status among them.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SharedLdapConnectionPoolsMonitor implements Monitor<HealthStatus> {
+
+    private final ExecutorService executorService;
+
+    private final int maxWait;
+
+    public SharedLdapConnectionPoolsMonitor(final ExecutorService executorService, final int maxWait) {
+        this.executorService = executorService;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public String getName() {
+        return SharedLdapConnectionPoolsMonitor.class.getSimpleName();
+    }
+
+    @Override
+    public HealthStatus observe() {
+        final Map<String, Status> results = new LinkedHashMap<>();
+        LdapConnectionPoolRegistry.getPooledConnectionFactories().forEach((name, factory) -> {
+            final PooledLdapConnectionFactoryMonitor monitor =
+                    new PooledLdapConnectionFactoryMonitor(name, this.executorService, this.maxWait, factory, new SearchValidator());
+            results.put(name, monitor.observe());
+        });
+        final StatusCode code = results.values().stream()
+                .map(Status::getCode)
+                .max(Comparator.comparingInt(StatusCode::value))
+                .orElse(StatusCode.UNKNOWN);
+        return new HealthStatus(code, results);
+    }
+}
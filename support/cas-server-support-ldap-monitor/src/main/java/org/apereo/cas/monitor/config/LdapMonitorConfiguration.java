@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.model.core.monitor.MonitorProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.monitor.Monitor;
 import org.apereo.cas.monitor.PooledLdapConnectionFactoryMonitor;
+import org.apereo.cas.monitor.SharedLdapConnectionPoolsMonitor;
 import org.apereo.cas.util.LdapUtils;
 import org.ldaptive.pool.PooledConnectionFactory;
 import org.ldaptive.pool.SearchValidator;
@@ -45,4 +46,10 @@ public class LdapMonitorConfiguration {
         return new PooledLdapConnectionFactoryMonitor(executor, (int) ldap.getMaxWait(),
                 connectionFactory, new SearchValidator());
     }
+
+    @Autowired
+    @Bean
+    public Monitor sharedLdapConnectionPoolsMonitor(@Qualifier("pooledConnectionFactoryMonitorExecutorService") final ExecutorService executor) {
+        return new SharedLdapConnectionPoolsMonitor(executor, (int) casProperties.getMonitor().getLdap().getMaxWait());
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.monitor.PooledConnectionFactoryMonitorTests;
+import org.apereo.cas.monitor.SharedLdapConnectionPoolsMonitorTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -10,6 +11,6 @@ import org.junit.runners.Suite;
  * @since 4.1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses(PooledConnectionFactoryMonitorTests.class)
+@Suite.SuiteClasses({PooledConnectionFactoryMonitorTests.class, SharedLdapConnectionPoolsMonitorTests.class})
 public class AllTestsSuite {
 }
@@ -0,0 +1,95 @@
+package org.apereo.cas.monitor;
+
+import org.apereo.cas.adaptors.ldap.AbstractLdapTests;
+import org.apereo.cas.configuration.model.core.monitor.MonitorProperties;
+import org.apereo.cas.util.LdapConnectionPoolRegistry;
+import org.apereo.cas.util.LdapUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.ldaptive.pool.ConnectionPool;
+import org.ldaptive.pool.PooledConnectionFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SharedLdapConnectionPoolsMonitorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SharedLdapConnectionPoolsMonitorTests extends AbstractLdapTests {
+    private static final String LDAP_URL = "ldap://localhost:1389";
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void bootstrap() throws Exception {
+        initDirectoryServer();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void verifyPoolsAreSharedBySettings() {
+        final PooledConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(newLdapProperties());
+        assertSame(factory, LdapUtils.newLdaptivePooledConnectionFactory(newLdapProperties()));
+        assertSame(factory, LdapConnectionPoolRegistry.getPooledConnectionFactory(newLdapProperties()));
+        assertNotSame(factory, LdapConnectionPoolRegistry.getPooledBindConnectionFactory(newLdapProperties()));
+
+        final MonitorProperties.Ldap unshared = newLdapProperties();
+        unshared.setSharedPool(false);
+        assertNotSame(factory, LdapUtils.newLdaptivePooledConnectionFactory(unshared));
+
+        final MonitorProperties.Ldap timeout = newLdapProperties();
+        timeout.setResponseTimeout("PT30S");
+        assertNotSame(factory, LdapUtils.newLdaptivePooledConnectionFactory(timeout));
+    }
+
+    @Test
+    public void verifyReleasedPoolsAreClosed() throws Exception {
+        final MonitorProperties.Ldap ldap = newLdapProperties();
+        ldap.setConnectTimeout("PT7S");
+        PooledConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
+        final ConnectionPool pool = factory.getConnectionPool();
+        assertTrue(pool.availableCount() > 0);
+
+        final WeakReference<PooledConnectionFactory> released = new WeakReference<>(factory);
+        factory = null;
+        for (int i = 0; i < 50 && released.get() != null; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertNull(released.get());
+        for (int i = 0; i < 50 && pool.availableCount() > 0; i++) {
+            LdapConnectionPoolRegistry.getPooledConnectionFactories();
+            Thread.sleep(100);
+        }
+        assertEquals(0, pool.availableCount());
+    }
+
+    @Test
+    public void verifyObserve() {
+        final PooledConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(newLdapProperties());
+        final HealthStatus status = new SharedLdapConnectionPoolsMonitor(executor, 5000).observe();
+        assertEquals(StatusCode.OK, status.getCode());
+        assertTrue(status.getDetails().keySet().stream().anyMatch(name -> name.contains(LDAP_URL)));
+        assertTrue(LdapConnectionPoolRegistry.getPooledConnectionFactories().containsValue(factory));
+    }
+
+    private static MonitorProperties.Ldap newLdapProperties() {
+        final MonitorProperties.Ldap ldap = new MonitorProperties.Ldap();
+        ldap.setLdapUrl(LDAP_URL);
+        ldap.setUseSsl(false);
+        ldap.setSharedPool(true);
+        return ldap;
+    }
+}
@@ -4,61 +4,14 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
-import com.esotericsoftware.kryo.serializers.DefaultSerializers;
-import de.javakaffee.kryoserializers.CollectionsEmptyListSerializer;
-import de.javakaffee.kryoserializers.CollectionsEmptyMapSerializer;
-import de.javakaffee.kryoserializers.CollectionsEmptySetSerializer;
-import de.javakaffee.kryoserializers.EnumMapSerializer;
-import de.javakaffee.kryoserializers.EnumSetSerializer;
 import de.javakaffee.kryoserializers.KryoReflectionFactorySupport;
-import de.javakaffee.kryoserializers.RegexSerializer;
-import de.javakaffee.kryoserializers.URISerializer;
-import de.javakaffee.kryoserializers.UUIDSerializer;
-import de.javakaffee.kryoserializers.UnmodifiableCollectionsSerializer;
-import de.javakaffee.kryoserializers.guava.ImmutableListSerializer;
-import de.javakaffee.kryoserializers.guava.ImmutableMapSerializer;
-import de.javakaffee.kryoserializers.guava.ImmutableMultimapSerializer;
-import de.javakaffee.kryoserializers.guava.ImmutableSetSerializer;
 import net.spy.memcached.CachedData;
 import net.spy.memcached.transcoders.Transcoder;
-import org.apereo.cas.authentication.BasicCredentialMetaData;
-import org.apereo.cas.authentication.DefaultHandlerResult;
-import org.apereo.cas.authentication.UsernamePasswordCredential;
-import org.apereo.cas.authentication.principal.SimplePrincipal;
-import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
-import org.apereo.cas.services.RegexRegisteredService;
-import org.apereo.cas.ticket.ServiceTicketImpl;
-import org.apereo.cas.ticket.TicketGrantingTicketImpl;
-import org.apereo.cas.ticket.registry.EncodedTicket;
-import org.apereo.cas.ticket.registry.support.kryo.serial.RegisteredServiceSerializer;
-import org.apereo.cas.ticket.registry.support.kryo.serial.SimpleWebApplicationServiceSerializer;
-import org.apereo.cas.ticket.registry.support.kryo.serial.URLSerializer;
-import org.apereo.cas.ticket.registry.support.kryo.serial.ZonedDateTimeTranscoder;
-import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
-import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
-import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
-import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
-import org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicy;
-import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
-import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
-import org.apereo.cas.authentication.DefaultAuthentication;
 
 import javax.annotation.PostConstruct;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.net.URI;
-import java.net.URL;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumMap;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.UUID;
-import java.util.regex.Pattern;
 
 /**
  * {@link net.spy.memcached.MemcachedClient} transcoder implementation based on Kryo fast serialization framework
@@ -101,49 +54,7 @@ public class KryoTranscoder implements Transcoder<Object> {
      */
     @PostConstruct
     public void initialize() {
-        // Register types we know about and do not require external configuration
-        this.kryo.register(EncodedTicket.class);
-        this.kryo.register(ArrayList.class);
-        this.kryo.register(BasicCredentialMetaData.class);
-        this.kryo.register(Class.class, new DefaultSerializers.ClassSerializer());
-        this.kryo.register(ZonedDateTime.class, new ZonedDateTimeTranscoder());
-        this.kryo.register(HardTimeoutExpirationPolicy.class);
-        this.kryo.register(HashMap.class);
-        this.kryo.register(LinkedHashMap.class);
-        this.kryo.register(HashSet.class);
-        this.kryo.register(DefaultHandlerResult.class);
-        this.kryo.register(DefaultAuthentication.class);
-        this.kryo.register(MultiTimeUseOrTimeoutExpirationPolicy.class);
-        this.kryo.register(NeverExpiresExpirationPolicy.class);
-        this.kryo.register(RememberMeDelegatingExpirationPolicy.class);
-        this.kryo.register(ServiceTicketImpl.class);
-        this.kryo.register(SimpleWebApplicationServiceImpl.class, new SimpleWebApplicationServiceSerializer());
-        this.kryo.register(ThrottledUseAndTimeoutExpirationPolicy.class);
-        this.kryo.register(TicketGrantingTicketExpirationPolicy.class);
-        this.kryo.register(TicketGrantingTicketImpl.class);
-        this.kryo.register(TimeoutExpirationPolicy.class);
-        this.kryo.register(UsernamePasswordCredential.class);
-        this.kryo.register(SimplePrincipal.class);
-        this.kryo.register(URL.class, new URLSerializer());
-        this.kryo.register(URI.class, new URISerializer());
-        this.kryo.register(Pattern.class, new RegexSerializer());
-        this.kryo.register(UUID.class, new UUIDSerializer());
-        this.kryo.register(EnumMap.class, new EnumMapSerializer());
-        this.kryo.register(EnumSet.class, new EnumSetSerializer());
-
-        // we add these ones for tests only
-        this.kryo.register(RegexRegisteredService.class, new RegisteredServiceSerializer());
-        
-        // from the kryo-serializers library (https://github.com/magro/kryo-serializers)
-        UnmodifiableCollectionsSerializer.registerSerializers(this.kryo);
-        ImmutableListSerializer.registerSerializers(this.kryo);
-        ImmutableSetSerializer.registerSerializers(this.kryo);
-        ImmutableMapSerializer.registerSerializers(this.kryo);
-        ImmutableMultimapSerializer.registerSerializers(this.kryo);
-
-        this.kryo.register(Collections.EMPTY_LIST.getClass(), new CollectionsEmptyListSerializer());
-        this.kryo.register(Collections.EMPTY_MAP.getClass(), new CollectionsEmptyMapSerializer());
-        this.kryo.register(Collections.EMPTY_SET.getClass(), new CollectionsEmptySetSerializer());
+        CasKryoFactory.registerTypes(this.kryo);
 
         // Register other types
         if (this.serializerMap != null) {
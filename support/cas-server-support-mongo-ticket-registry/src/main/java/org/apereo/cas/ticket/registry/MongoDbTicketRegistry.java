@@ -12,6 +12,7 @@ import org.hjson.JsonValue;
 import org.hjson.Stringify;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -21,6 +22,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -68,6 +70,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         final DBCollection collection = mongoTemplate.getCollection(collectionName);
         collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_EXPIRE_AT, 1),
                 new BasicDBObject(FIELD_NAME_EXPIRE_AFTER_SECONDS, ticket.getProperties().getStorageTimeout()));
+        collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_ID, 1));
         return collection;
     }
 
@@ -166,6 +169,37 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Documents are fetched with keyset pagination on the indexed ticket id,
+     * one collection at a time.</p>
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream(final TicketDefinition definition, final int batchSize) {
+        if (definition == null) {
+            return this.ticketCatalog.findAll().stream()
+                    .flatMap(defn -> getTicketsStream(defn, batchSize));
+        }
+        final String collectionName = getTicketCollectionInstanceByMetadata(definition);
+        return new AbstractPagedTicketIterator(batchSize) {
+            private String lastTicketId = StringUtils.EMPTY;
+
+            @Override
+            protected List<Ticket> fetchNextPage() {
+                final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).gt(this.lastTicketId))
+                        .with(new Sort(Sort.Direction.ASC, TicketHolder.FIELD_NAME_ID))
+                        .limit(this.pageSize);
+                final List<TicketHolder> holders = mongoTemplate.find(query, TicketHolder.class, collectionName);
+                if (!holders.isEmpty()) {
+                    this.lastTicketId = holders.get(holders.size() - 1).getTicketId();
+                }
+                return holders.stream()
+                        .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+                        .collect(Collectors.toList());
+            }
+        }.stream();
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         final String ticketId = encodeTicketId(ticketIdToDelete);
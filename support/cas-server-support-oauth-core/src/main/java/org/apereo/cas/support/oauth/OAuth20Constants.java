@@ -82,6 +82,9 @@ public interface OAuth20Constants {
     /** The invalid grant. */
     String INVALID_GRANT = "invalid_grant";
 
+    /** The invalid client. */
+    String INVALID_CLIENT = "invalid_client";
+
     /** The authorize url. */
     String AUTHORIZE_URL = "authorize";
 
@@ -100,6 +103,12 @@ public interface OAuth20Constants {
     /** The profile url. */
     String PROFILE_URL = "profile";
 
+    /** The token revocation url. */
+    String REVOKE_URL = "revoke";
+
+    /** The token parameter of revocation requests. */
+    String TOKEN = "token";
+
     /** The remaining time in seconds before expiration with syntax : expires=3600... */
     String EXPIRES_IN = "expires_in";
 
@@ -43,6 +43,9 @@ public class OAuthRegisteredService extends RegexRegisteredService {
     @Column(updatable = true, insertable = true)
     private Boolean jsonFormat = Boolean.FALSE;
 
+    @Column(updatable = true, insertable = true)
+    private Boolean jwtAccessToken = Boolean.FALSE;
+
     @Lob
     @Column(name = "supported_grants", length = Integer.MAX_VALUE)
     private HashSet<String> supportedGrantTypes = new HashSet<>();
@@ -91,6 +94,14 @@ public class OAuthRegisteredService extends RegexRegisteredService {
         this.jsonFormat = jsonFormat;
     }
 
+    public Boolean isJwtAccessToken() {
+        return this.jwtAccessToken;
+    }
+
+    public void setJwtAccessToken(final Boolean jwtAccessToken) {
+        this.jwtAccessToken = jwtAccessToken;
+    }
+
     public Set<String> getSupportedGrantTypes() {
         return supportedGrantTypes;
     }
@@ -115,6 +126,7 @@ public class OAuthRegisteredService extends RegexRegisteredService {
         builder.append("approvalPrompt", isBypassApprovalPrompt());
         builder.append("generateRefreshToken", isGenerateRefreshToken());
         builder.append("jsonFormat", isJsonFormat());
+        builder.append("jwtAccessToken", isJwtAccessToken());
         builder.append("supportedResponseTypes", getSupportedResponseTypes());
         builder.append("supportedGrantTypes", getSupportedGrantTypes());
 
@@ -130,6 +142,7 @@ public class OAuthRegisteredService extends RegexRegisteredService {
         setBypassApprovalPrompt(oAuthRegisteredService.isBypassApprovalPrompt());
         setGenerateRefreshToken(oAuthRegisteredService.isGenerateRefreshToken());
         setJsonFormat(oAuthRegisteredService.isJsonFormat());
+        setJwtAccessToken(oAuthRegisteredService.isJwtAccessToken());
         setSupportedGrantTypes(oAuthRegisteredService.getSupportedGrantTypes());
         setSupportedResponseTypes(oAuthRegisteredService.getSupportedResponseTypes());
     }
@@ -158,6 +171,7 @@ public class OAuthRegisteredService extends RegexRegisteredService {
                 .append(this.bypassApprovalPrompt, rhs.bypassApprovalPrompt)
                 .append(this.generateRefreshToken, rhs.generateRefreshToken)
                 .append(this.jsonFormat, rhs.jsonFormat)
+                .append(this.jwtAccessToken, rhs.jwtAccessToken)
                 .append(this.supportedResponseTypes, rhs.supportedResponseTypes)
                 .append(this.supportedGrantTypes, rhs.supportedGrantTypes);
         
@@ -173,6 +187,7 @@ public class OAuthRegisteredService extends RegexRegisteredService {
                 .append(this.bypassApprovalPrompt)
                 .append(this.generateRefreshToken)
                 .append(this.jsonFormat)
+                .append(this.jwtAccessToken)
                 .append(this.supportedResponseTypes)
                 .append(this.supportedGrantTypes)
                 .toHashCode();
@@ -189,5 +204,8 @@ public class OAuthRegisteredService extends RegexRegisteredService {
         if (this.supportedResponseTypes == null) {
             this.supportedResponseTypes = new HashSet<>();
         }
+        if (this.jwtAccessToken == null) {
+            this.jwtAccessToken = Boolean.FALSE;
+        }
     }
 }
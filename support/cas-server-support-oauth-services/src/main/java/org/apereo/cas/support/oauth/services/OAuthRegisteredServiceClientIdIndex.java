@@ -0,0 +1,42 @@
+package org.apereo.cas.support.oauth.services;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.services.RegisteredServiceIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link OAuthRegisteredServiceClientIdIndex}, which indexes
+ * OAuth and OpenID Connect services by their client id.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthRegisteredServiceClientIdIndex implements RegisteredServiceIndex<OAuthRegisteredService> {
+    private static final long serialVersionUID = 5402346618738574470L;
+
+    @Override
+    public String getName() {
+        return "oauthClientId";
+    }
+
+    @Override
+    public Class<OAuthRegisteredService> getServiceType() {
+        return OAuthRegisteredService.class;
+    }
+
+    @Override
+    public Collection<String> getKeys(final OAuthRegisteredService service) {
+        final Collection<String> keys = new ArrayList<>(1);
+        if (StringUtils.isNotBlank(service.getClientId())) {
+            keys.add(service.getClientId());
+        }
+        return keys;
+    }
+
+    @Override
+    public boolean matches(final OAuthRegisteredService service, final String key) {
+        return key.equals(service.getClientId());
+    }
+}
@@ -1,12 +1,14 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.util.EncryptionJwtSigningJwtCryptographyProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.services.DenyAllAttributeReleasePolicy;
 import org.apereo.cas.services.RegexRegisteredService;
@@ -32,6 +34,7 @@ import org.apereo.cas.support.oauth.web.OAuth20HandlerInterceptorAdapter;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20AccessTokenEndpointController;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20AuthorizeEndpointController;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20CallbackAuthorizeEndpointController;
+import org.apereo.cas.support.oauth.web.endpoints.OAuth20RevocationEndpointController;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20UserProfileControllerController;
 import org.apereo.cas.support.oauth.web.response.OAuth20CasClientRedirectActionBuilder;
 import org.apereo.cas.support.oauth.web.response.OAuth20DefaultCasClientRedirectActionBuilder;
@@ -48,19 +51,31 @@ import org.apereo.cas.support.oauth.web.views.ConsentApprovalViewResolver;
 import org.apereo.cas.support.oauth.web.views.OAuth20CallbackAuthorizeViewResolver;
 import org.apereo.cas.support.oauth.web.views.OAuth20ConsentApprovalViewResolver;
 import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCipherExecutor;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenRevocationList;
 import org.apereo.cas.ticket.code.DefaultOAuthCodeFactory;
+import org.apereo.cas.ticket.code.OAuthCode;
 import org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
 import org.apereo.cas.ticket.refreshtoken.DefaultRefreshTokenFactory;
 import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenExpirationPolicy;
+import org.apereo.cas.ticket.refreshtoken.RefreshToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
+import org.apereo.cas.ticket.registry.AbstractTicketRegistry;
+import org.apereo.cas.ticket.registry.OAuthTokenRelationIndex;
+import org.apereo.cas.ticket.registry.OAuthTokenRevocationService;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.pac4j.cas.client.CasClient;
 import org.pac4j.cas.config.CasConfiguration;
@@ -72,6 +87,8 @@ import org.pac4j.http.client.direct.DirectBasicAuthClient;
 import org.pac4j.http.client.direct.DirectFormClient;
 import org.pac4j.springframework.web.CallbackController;
 import org.pac4j.springframework.web.SecurityInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -84,8 +101,10 @@ import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -102,6 +121,7 @@ import static org.apereo.cas.support.oauth.OAuth20Constants.*;
 @Configuration("oauthConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CasOAuthConfiguration.class);
 
     @Autowired
     private ApplicationContext applicationContext;
@@ -129,6 +149,10 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     @Autowired
     @Qualifier("ticketGrantingTicketCookieGenerator")
     private CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator;
@@ -318,7 +342,54 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
     @Bean
     @RefreshScope
     public OAuth20TokenGenerator oauthTokenGenerator() {
-        return new OAuth20DefaultTokenGenerator(defaultAccessTokenFactory(), ticketRegistry, defaultRefreshTokenFactory());
+        return new OAuth20DefaultTokenGenerator(defaultAccessTokenFactory(), ticketRegistry,
+                defaultRefreshTokenFactory(), oauthJwtAccessTokenCodec());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenCipherExecutor")
+    @Bean
+    @RefreshScope
+    public CipherExecutor oauthJwtAccessTokenCipherExecutor() {
+        final EncryptionJwtSigningJwtCryptographyProperties crypto = casProperties.getAuthn().getOauth().getAccessToken().getCrypto();
+        if (crypto.isEnabled()) {
+            return new OAuthJwtAccessTokenCipherExecutor(crypto.getEncryption().getKey(),
+                    crypto.getSigning().getKey(),
+                    crypto.getAlg());
+        }
+        LOGGER.info("OAuth JWT access token encryption/signing is turned off. Access tokens will not be issued as JWTs, "
+                + "even for services that request them.");
+        return NoOpCipherExecutor.getInstance();
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenRevocationList")
+    @Bean
+    public OAuthJwtAccessTokenRevocationList oauthJwtAccessTokenRevocationList() {
+        final OAuthProperties.AccessToken accessToken = casProperties.getAuthn().getOauth().getAccessToken();
+        return new OAuthJwtAccessTokenRevocationList(Math.max(accessToken.getMaxTimeToLiveInSeconds(), accessToken.getTimeToKillInSeconds()));
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenCodec")
+    @Bean
+    @RefreshScope
+    public OAuthJwtAccessTokenCodec oauthJwtAccessTokenCodec() {
+        return new OAuthJwtAccessTokenCodec(oauthJwtAccessTokenCipherExecutor(), casProperties.getServer().getPrefix(),
+                oauthJwtAccessTokenRevocationList(), oauthPrincipalFactory(), webApplicationServiceFactory);
+    }
+
+    @ConditionalOnMissingBean(name = "oauthTokenRevocationService")
+    @Bean
+    public OAuthTokenRevocationService oauthTokenRevocationService() {
+        final OAuthTokenRelationIndex index = new OAuthTokenRelationIndex();
+        final boolean indexed = ticketRegistry instanceof AbstractTicketRegistry
+                && ((AbstractTicketRegistry) ticketRegistry).registerTicketRelationIndex(index);
+        final Collection<TicketDefinition> tokenDefinitions = Stream.of(OAuthCode.PREFIX, AccessToken.PREFIX, RefreshToken.PREFIX)
+                .map(ticketCatalog::find)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        final OAuthTokenRevocationService service = new OAuthTokenRevocationService(ticketRegistry, indexed ? index : null,
+                oauthJwtAccessTokenRevocationList(), tokenDefinitions);
+        service.setRevokeTokensWithTicketGrantingTicket(casProperties.getAuthn().getOauth().isRevokeTokensWithTicketGrantingTicket());
+        return service;
     }
 
 
@@ -344,6 +415,18 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
         );
     }
 
+    @ConditionalOnMissingBean(name = "revocationController")
+    @Bean
+    @RefreshScope
+    public OAuth20RevocationEndpointController revocationController() {
+        return new OAuth20RevocationEndpointController(servicesManager,
+                ticketRegistry, oAuthValidator(), defaultAccessTokenFactory(),
+                oauthPrincipalFactory(), webApplicationServiceFactory,
+                profileScopeToAttributesFilter(), casProperties,
+                ticketGrantingTicketCookieGenerator, oauthJwtAccessTokenCodec(),
+                oauthTokenRevocationService());
+    }
+
     @ConditionalOnMissingBean(name = "profileController")
     @Bean
     @RefreshScope
@@ -352,7 +435,7 @@ public class CasOAuthConfiguration extends WebMvcConfigurerAdapter {
                 ticketRegistry, oAuthValidator(), defaultAccessTokenFactory(),
                 oauthPrincipalFactory(), webApplicationServiceFactory,
                 profileScopeToAttributesFilter(), casProperties,
-                ticketGrantingTicketCookieGenerator);
+                ticketGrantingTicketCookieGenerator, oauthJwtAccessTokenCodec());
     }
 
     @ConditionalOnMissingBean(name = "oauthAuthorizationResponseBuilders")
@@ -5,13 +5,14 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.HttpStatus;
-import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndex;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredServiceClientIdIndex;
 import org.pac4j.core.context.J2EContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,7 @@ public final class OAuth20Utils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OAuth20Utils.class);
     private static final ObjectWriter WRITER = new ObjectMapper().findAndRegisterModules().writer().withDefaultPrettyPrinter();
+    private static final RegisteredServiceIndex<OAuthRegisteredService> CLIENT_ID_INDEX = new OAuthRegisteredServiceClientIdIndex();
 
     private OAuth20Utils() {
     }
@@ -105,12 +107,7 @@ public final class OAuth20Utils {
      * @return null, or the located {@link OAuthRegisteredService} instance in the service registry.
      */
     public static OAuthRegisteredService getRegisteredOAuthService(final ServicesManager servicesManager, final String clientId) {
-        final Collection<RegisteredService> services = servicesManager.getAllServices();
-        return (OAuthRegisteredService) services.stream()
-                .filter(OAuthRegisteredService.class::isInstance)
-                .filter(s -> OAuthRegisteredService.class.cast(s).getClientId().equals(clientId))
-                .findFirst()
-                .orElse(null);
+        return servicesManager.findServiceBy(CLIENT_ID_INDEX, clientId);
     }
 
     /**
@@ -47,7 +47,8 @@ public class OAuth20HandlerInterceptorAdapter extends HandlerInterceptorAdapter
      */
     protected boolean isAccessTokenRequestRequest(final String requestPath) {
         return doesUriMatchPattern(requestPath, OAuth20Constants.ACCESS_TOKEN_URL)
-                || doesUriMatchPattern(requestPath, OAuth20Constants.TOKEN_URL);
+                || doesUriMatchPattern(requestPath, OAuth20Constants.TOKEN_URL)
+                || doesUriMatchPattern(requestPath, OAuth20Constants.REVOKE_URL);
     }
 
     /**
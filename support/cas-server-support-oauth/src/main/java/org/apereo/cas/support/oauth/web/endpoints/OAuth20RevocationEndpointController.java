@@ -0,0 +1,148 @@
+package org.apereo.cas.support.oauth.web.endpoints;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
+import org.apereo.cas.support.oauth.profile.OAuthClientProfile;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.util.OAuth20Utils;
+import org.apereo.cas.support.oauth.validator.OAuth20Validator;
+import org.apereo.cas.ticket.OAuthToken;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
+import org.apereo.cas.ticket.registry.OAuthTokenRevocationService;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
+import org.apereo.cas.web.support.WebUtils;
+import org.jose4j.jwt.JwtClaims;
+import org.pac4j.core.profile.ProfileManager;
+import org.pac4j.core.profile.UserProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Optional;
+
+/**
+ * This controller revokes codes, access tokens and refresh tokens on behalf of the
+ * authenticated client they were issued for, as described by RFC 7009.
+ * Tokens issued for other clients and unknown tokens are ignored, and the request still succeeds.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuth20RevocationEndpointController extends BaseOAuth20Controller {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuth20RevocationEndpointController.class);
+
+    /**
+     * The codec for access tokens issued as JWTs.
+     */
+    protected final OAuthJwtAccessTokenCodec jwtAccessTokenCodec;
+
+    /**
+     * The token revocation service.
+     */
+    protected final OAuthTokenRevocationService tokenRevocationService;
+
+    public OAuth20RevocationEndpointController(final ServicesManager servicesManager,
+                                               final TicketRegistry ticketRegistry,
+                                               final OAuth20Validator validator,
+                                               final AccessTokenFactory accessTokenFactory,
+                                               final PrincipalFactory principalFactory,
+                                               final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
+                                               final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
+                                               final CasConfigurationProperties casProperties,
+                                               final CookieRetrievingCookieGenerator cookieGenerator,
+                                               final OAuthJwtAccessTokenCodec jwtAccessTokenCodec,
+                                               final OAuthTokenRevocationService tokenRevocationService) {
+        super(servicesManager, ticketRegistry, validator, accessTokenFactory, principalFactory,
+                webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
+        this.jwtAccessTokenCodec = jwtAccessTokenCodec;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * Handle the revocation request.
+     *
+     * @param request  the request
+     * @param response the response
+     * @return the response entity
+     */
+    @PostMapping(path = OAuth20Constants.BASE_OAUTH20_URL + '/' + OAuth20Constants.REVOKE_URL, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> handleRequest(final HttpServletRequest request, final HttpServletResponse response) {
+        final ProfileManager manager = WebUtils.getPac4jProfileManager(request, response);
+        final Optional<UserProfile> profile = manager.get(true);
+        if (profile == null || !profile.isPresent() || !(profile.get() instanceof OAuthClientProfile)) {
+            LOGGER.warn("Could not locate an authenticated client for this revocation request");
+            return buildErrorResponseEntity(OAuth20Constants.INVALID_CLIENT, HttpStatus.UNAUTHORIZED);
+        }
+
+        final String token = request.getParameter(OAuth20Constants.TOKEN);
+        if (StringUtils.isBlank(token)) {
+            LOGGER.warn("Missing [{}]", OAuth20Constants.TOKEN);
+            return buildErrorResponseEntity(OAuth20Constants.INVALID_REQUEST, HttpStatus.BAD_REQUEST);
+        }
+
+        final String clientId = profile.get().getId();
+        if (this.jwtAccessTokenCodec != null && OAuthJwtAccessTokenCodec.isJwtAccessToken(token)) {
+            revokeJwtAccessToken(token, clientId);
+        } else {
+            revokeToken(token, clientId);
+        }
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    private void revokeJwtAccessToken(final String token, final String clientId) {
+        final Optional<JwtClaims> claims = this.jwtAccessTokenCodec.decodeClaims(token);
+        if (!claims.isPresent()) {
+            LOGGER.debug("JWT access token is invalid or already revoked");
+            return;
+        }
+        try {
+            if (!StringUtils.equals(clientId, claims.get().getClaimValue(OAuthJwtAccessTokenCodec.CLAIM_CLIENT_ID, String.class))) {
+                LOGGER.warn("JWT access token [{}] is not issued for client [{}]", claims.get().getJwtId(), clientId);
+                return;
+            }
+            this.tokenRevocationService.revokeJwtAccessToken(claims.get().getJwtId());
+            LOGGER.debug("Revoked JWT access token [{}] for client [{}]", claims.get().getJwtId(), clientId);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to revoke JWT access token: [{}]", e.getMessage());
+        }
+    }
+
+    private void revokeToken(final String token, final String clientId) {
+        final Ticket found = this.ticketRegistry.getTicket(token);
+        if (!(found instanceof OAuthToken)) {
+            LOGGER.debug("Token [{}] is not found", token);
+            return;
+        }
+        final OAuthToken ticket = (OAuthToken) found;
+        final RegisteredService registeredService = ticket.getService() == null ? null : this.servicesManager.findServiceBy(ticket.getService());
+        if (!(registeredService instanceof OAuthRegisteredService)
+                || !StringUtils.equals(clientId, ((OAuthRegisteredService) registeredService).getClientId())) {
+            LOGGER.warn("Token [{}] is not issued for client [{}]", token, clientId);
+            return;
+        }
+        final int count = this.tokenRevocationService.revokeToken(token);
+        LOGGER.debug("Revoked token [{}] for client [{}], removing [{}] ticket(s)", token, clientId, count);
+    }
+
+    private static ResponseEntity<String> buildErrorResponseEntity(final String code, final HttpStatus status) {
+        final LinkedMultiValueMap<String, String> map = new LinkedMultiValueMap<>(1);
+        map.add(OAuth20Constants.ERROR, code);
+        return new ResponseEntity<>(OAuth20Utils.jsonify(map), status);
+    }
+}
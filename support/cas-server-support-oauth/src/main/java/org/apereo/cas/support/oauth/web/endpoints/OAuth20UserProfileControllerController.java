@@ -19,6 +19,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.hjson.JsonValue;
@@ -51,6 +52,11 @@ public class OAuth20UserProfileControllerController extends BaseOAuth20Controlle
     private static final String ID = "id";
     private static final String ATTRIBUTES = "attributes";
 
+    /**
+     * The codec for access tokens issued as JWTs.
+     */
+    protected final OAuthJwtAccessTokenCodec jwtAccessTokenCodec;
+
     public OAuth20UserProfileControllerController(final ServicesManager servicesManager,
                                                   final TicketRegistry ticketRegistry,
                                                   final OAuth20Validator validator,
@@ -59,9 +65,11 @@ public class OAuth20UserProfileControllerController extends BaseOAuth20Controlle
                                                   final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
                                                   final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                                   final CasConfigurationProperties casProperties,
-                                                  final CookieRetrievingCookieGenerator cookieGenerator) {
+                                                  final CookieRetrievingCookieGenerator cookieGenerator,
+                                                  final OAuthJwtAccessTokenCodec jwtAccessTokenCodec) {
         super(servicesManager, ticketRegistry, validator, accessTokenFactory, principalFactory,
                 webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
+        this.jwtAccessTokenCodec = jwtAccessTokenCodec;
     }
 
     /**
@@ -82,19 +90,24 @@ public class OAuth20UserProfileControllerController extends BaseOAuth20Controlle
             return buildUnauthorizedResponseEntity(OAuth20Constants.MISSING_ACCESS_TOKEN);
         }
 
-        final AccessToken accessTokenTicket = this.ticketRegistry.getTicket(accessToken, AccessToken.class);
+        final boolean jwtAccessToken = this.jwtAccessTokenCodec != null && OAuthJwtAccessTokenCodec.isJwtAccessToken(accessToken);
+        final AccessToken accessTokenTicket = jwtAccessToken
+                ? this.jwtAccessTokenCodec.decode(accessToken).orElse(null)
+                : this.ticketRegistry.getTicket(accessToken, AccessToken.class);
         if (accessTokenTicket == null || accessTokenTicket.isExpired()) {
             LOGGER.error("Expired/Missing access token: [{}]", accessToken);
             return buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
         }
 
-        final TicketGrantingTicket ticketGrantingTicket = accessTokenTicket.getGrantingTicket();
-        if (ticketGrantingTicket == null || ticketGrantingTicket.isExpired()) {
-            LOGGER.error("Ticket granting ticket [{}] parenting access token [{}] has expired or is not found", ticketGrantingTicket, accessTokenTicket);
-            this.ticketRegistry.deleteTicket(accessToken);
-            return buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
+        if (!jwtAccessToken) {
+            final TicketGrantingTicket ticketGrantingTicket = accessTokenTicket.getGrantingTicket();
+            if (ticketGrantingTicket == null || ticketGrantingTicket.isExpired()) {
+                LOGGER.error("Ticket granting ticket [{}] parenting access token [{}] has expired or is not found", ticketGrantingTicket, accessTokenTicket);
+                this.ticketRegistry.deleteTicket(accessToken);
+                return buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
+            }
+            updateAccessTokenUsage(accessTokenTicket);
         }
-        updateAccessTokenUsage(accessTokenTicket);
 
         final Map<String, Object> map = writeOutProfileResponse(accessTokenTicket);
         finalizeProfileResponse(accessTokenTicket, map);
@@ -1,5 +1,6 @@
 package org.apereo.cas.support.oauth.web.response.accesstoken;
 
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
@@ -10,6 +11,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
 import org.apereo.cas.ticket.code.OAuthCode;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
@@ -41,11 +43,23 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      */
     protected final TicketRegistry ticketRegistry;
 
+    /**
+     * The codec for access tokens issued as JWTs.
+     */
+    protected final OAuthJwtAccessTokenCodec jwtAccessTokenCodec;
+
     public OAuth20DefaultTokenGenerator(final AccessTokenFactory accessTokenFactory, final TicketRegistry ticketRegistry,
                                         final RefreshTokenFactory refreshTokenFactory) {
+        this(accessTokenFactory, ticketRegistry, refreshTokenFactory, null);
+    }
+
+    public OAuth20DefaultTokenGenerator(final AccessTokenFactory accessTokenFactory, final TicketRegistry ticketRegistry,
+                                        final RefreshTokenFactory refreshTokenFactory,
+                                        final OAuthJwtAccessTokenCodec jwtAccessTokenCodec) {
         this.accessTokenFactory = accessTokenFactory;
         this.ticketRegistry = ticketRegistry;
         this.refreshTokenFactory = refreshTokenFactory;
+        this.jwtAccessTokenCodec = jwtAccessTokenCodec;
     }
 
     @Override
@@ -56,12 +70,22 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
                 .addAttribute(OAuth20Constants.GRANT_TYPE, responseHolder.getGrantType().toString())
                 .build();
 
-        final AccessToken accessToken = this.accessTokenFactory.create(responseHolder.getService(),
+        final AccessToken createdAccessToken = this.accessTokenFactory.create(responseHolder.getService(),
                 authn, responseHolder.getTicketGrantingTicket());
 
-        LOGGER.debug("Creating access token [{}]", accessToken);
-        addTicketToRegistry(accessToken, responseHolder.getTicketGrantingTicket());
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
+        final AccessToken accessToken;
+        if (isJwtAccessTokenRequested(responseHolder)) {
+            accessToken = this.jwtAccessTokenCodec.encode(createdAccessToken, responseHolder.getRegisteredService());
+            if (responseHolder.getTicketGrantingTicket() != null) {
+                responseHolder.getTicketGrantingTicket().getDescendantTickets().remove(createdAccessToken.getId());
+            }
+            LOGGER.debug("Issued access token [{}] as a JWT, which is not added to the registry", createdAccessToken.getId());
+        } else {
+            accessToken = createdAccessToken;
+            LOGGER.debug("Creating access token [{}]", accessToken);
+            addTicketToRegistry(accessToken, responseHolder.getTicketGrantingTicket());
+            LOGGER.debug("Added access token [{}] to registry", accessToken);
+        }
 
         if (responseHolder.getToken() instanceof OAuthCode) {
             final TicketState codeState = TicketState.class.cast(responseHolder.getToken());
@@ -102,6 +126,19 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
         }
     }
 
+    /**
+     * Whether the access token should be issued as a JWT for the requesting service.
+     *
+     * @param responseHolder the response holder
+     * @return true/false
+     */
+    protected boolean isJwtAccessTokenRequested(final AccessTokenRequestDataHolder responseHolder) {
+        return this.jwtAccessTokenCodec != null
+                && this.jwtAccessTokenCodec.isEnabled()
+                && responseHolder.getRegisteredService() != null
+                && BooleanUtils.isTrue(responseHolder.getRegisteredService().isJwtAccessToken());
+    }
+
     private RefreshToken generateRefreshToken(final AccessTokenRequestDataHolder responseHolder) {
         LOGGER.debug("Creating refresh token for [{}]", responseHolder.getService());
         final RefreshToken refreshToken = this.refreshTokenFactory.create(responseHolder.getService(),
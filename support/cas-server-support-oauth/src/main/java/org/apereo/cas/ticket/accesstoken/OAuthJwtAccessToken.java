@@ -0,0 +1,33 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.ExpirationPolicy;
+
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link OAuthJwtAccessToken}, an access token that is reconstructed
+ * from the claims of a JWT access token once the JWT is validated.
+ * Such tokens are never found in, or added to, the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthJwtAccessToken extends AccessTokenImpl {
+
+    private static final long serialVersionUID = -3470318542612087265L;
+
+    private final ZonedDateTime issuedAt;
+
+    public OAuthJwtAccessToken(final String id, final Service service, final Authentication authentication,
+                               final ExpirationPolicy expirationPolicy, final ZonedDateTime issuedAt) {
+        super(id, service, authentication, expirationPolicy, null);
+        this.issuedAt = issuedAt;
+    }
+
+    @Override
+    public ZonedDateTime getCreationTime() {
+        return this.issuedAt;
+    }
+}
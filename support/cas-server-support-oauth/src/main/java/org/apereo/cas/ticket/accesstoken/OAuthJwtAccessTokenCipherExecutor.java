@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.util.cipher.BaseStringCipherExecutor;
+
+/**
+ * This is {@link OAuthJwtAccessTokenCipherExecutor} that signs and encrypts
+ * the claims of access tokens that are issued as JWTs.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthJwtAccessTokenCipherExecutor extends BaseStringCipherExecutor {
+
+    public OAuthJwtAccessTokenCipherExecutor(final String secretKeyEncryption,
+                                             final String secretKeySigning,
+                                             final String alg) {
+        super(secretKeyEncryption, secretKeySigning, alg);
+    }
+
+    @Override
+    protected String getEncryptionKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.encryption.key";
+    }
+
+    @Override
+    protected String getSigningKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.signing.key";
+    }
+
+    @Override
+    public String getName() {
+        return "OAuth JWT Access Tokens";
+    }
+}
@@ -0,0 +1,257 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.AuthenticationBuilder;
+import org.apereo.cas.authentication.AuthenticationManager;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OAuthJwtAccessTokenCodec} that issues access tokens as signed and encrypted JWTs,
+ * and validates such tokens from their signature and claims alone, without a ticket registry lookup.
+ * <p>The claims carry the principal and its attributes, the client and service the token was issued for,
+ * and the ticket-granting ticket it was derived from. A token is valid if its signature is verified,
+ * it was issued by this server, it has not expired and it is not found in the {@link OAuthJwtAccessTokenRevocationList}.
+ * JWTs are neither issued nor accepted when signing and encryption are turned off.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthJwtAccessTokenCodec {
+    /**
+     * Claim that carries the client id.
+     */
+    public static final String CLAIM_CLIENT_ID = OAuth20Constants.CLIENT_ID;
+    /**
+     * Claim that carries the service the token is issued for.
+     */
+    public static final String CLAIM_SERVICE = "service";
+    /**
+     * Claim that carries the principal attributes.
+     */
+    public static final String CLAIM_ATTRIBUTES = "attributes";
+    /**
+     * Claim that carries the authentication methods.
+     */
+    public static final String CLAIM_AUTHENTICATION_METHODS = "authentication_methods";
+    /**
+     * Claim that carries the authentication date.
+     */
+    public static final String CLAIM_AUTHENTICATION_TIME = "auth_time";
+    /**
+     * Claim that carries the grant type.
+     */
+    public static final String CLAIM_GRANT_TYPE = OAuth20Constants.GRANT_TYPE;
+    /**
+     * Claim that carries the ticket-granting ticket id.
+     */
+    public static final String CLAIM_TICKET_GRANTING_TICKET = "tgt";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuthJwtAccessTokenCodec.class);
+
+    private final CipherExecutor<Serializable, String> cipherExecutor;
+    private final String issuer;
+    private final OAuthJwtAccessTokenRevocationList revocationList;
+    private final PrincipalFactory principalFactory;
+    private final ServiceFactory<WebApplicationService> serviceFactory;
+
+    public OAuthJwtAccessTokenCodec(final CipherExecutor<Serializable, String> cipherExecutor,
+                                    final String issuer,
+                                    final OAuthJwtAccessTokenRevocationList revocationList,
+                                    final PrincipalFactory principalFactory,
+                                    final ServiceFactory<WebApplicationService> serviceFactory) {
+        this.cipherExecutor = cipherExecutor;
+        this.issuer = issuer;
+        this.revocationList = revocationList;
+        this.principalFactory = principalFactory;
+        this.serviceFactory = serviceFactory;
+    }
+
+    /**
+     * Whether access tokens can be issued and validated as JWTs, which requires
+     * signing and encryption to be turned on; JWTs are neither issued nor accepted otherwise.
+     *
+     * @return true/false
+     */
+    public boolean isEnabled() {
+        return this.cipherExecutor.isEnabled();
+    }
+
+    /**
+     * Whether the given token has the shape of a JWT, as opposed to an opaque access token id.
+     *
+     * @param token the token
+     * @return true/false
+     */
+    public static boolean isJwtAccessToken(final String token) {
+        return StringUtils.isNotBlank(token)
+                && !token.startsWith(AccessToken.PREFIX + '-')
+                && StringUtils.countMatches(token, '.') == 2;
+    }
+
+    /**
+     * Encode the access token as a JWT. The returned access token carries the same
+     * service, authentication and expiration policy, and is identified by the JWT itself.
+     *
+     * @param accessToken       the access token
+     * @param registeredService the registered service
+     * @return the access token identified by the JWT
+     */
+    public AccessToken encode(final AccessToken accessToken, final OAuthRegisteredService registeredService) {
+        final Authentication authentication = accessToken.getAuthentication();
+        final Principal principal = authentication.getPrincipal();
+        final long issuedAt = accessToken.getCreationTime().toInstant().toEpochMilli();
+
+        final JwtClaims claims = new JwtClaims();
+        claims.setJwtId(accessToken.getId());
+        claims.setIssuer(this.issuer);
+        claims.setAudience(registeredService.getClientId());
+        claims.setSubject(principal.getId());
+        claims.setIssuedAt(NumericDate.fromMilliseconds(issuedAt));
+        claims.setExpirationTime(NumericDate.fromMilliseconds(issuedAt + getTimeToLive(accessToken.getExpirationPolicy()) * 1000L));
+        claims.setClaim(CLAIM_CLIENT_ID, registeredService.getClientId());
+        claims.setClaim(CLAIM_SERVICE, accessToken.getService().getId());
+        claims.setClaim(CLAIM_ATTRIBUTES, toClaimValues(principal.getAttributes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_TIME, authentication.getAuthenticationDate().toEpochSecond());
+        claims.setStringListClaim(CLAIM_AUTHENTICATION_METHODS,
+                toStrings(authentication.getAttributes().get(AuthenticationManager.AUTHENTICATION_METHOD_ATTRIBUTE)));
+        final Object grantType = authentication.getAttributes().get(OAuth20Constants.GRANT_TYPE);
+        if (grantType != null) {
+            claims.setClaim(CLAIM_GRANT_TYPE, grantType.toString());
+        }
+        if (accessToken.getGrantingTicket() != null) {
+            claims.setClaim(CLAIM_TICKET_GRANTING_TICKET, accessToken.getGrantingTicket().getId());
+        }
+        final String jwt = this.cipherExecutor.encode(claims.toJson());
+        LOGGER.debug("Encoded access token [{}] as a JWT for [{}]", accessToken.getId(), registeredService.getClientId());
+        return new AccessTokenImpl(jwt, accessToken.getService(), authentication,
+                accessToken.getExpirationPolicy(), accessToken.getGrantingTicket());
+    }
+
+    /**
+     * Validate the JWT access token and extract its claims.
+     *
+     * @param token the token
+     * @return the claims, if the token is valid
+     */
+    public Optional<JwtClaims> decodeClaims(final String token) {
+        if (!isEnabled() || !isJwtAccessToken(token)) {
+            return Optional.empty();
+        }
+        try {
+            final String json = this.cipherExecutor.decode(token);
+            if (StringUtils.isBlank(json)) {
+                LOGGER.warn("Unable to verify the signature of the JWT access token");
+                return Optional.empty();
+            }
+            final JwtClaims claims = JwtClaims.parse(json);
+            if (!StringUtils.equals(this.issuer, claims.getIssuer())) {
+                LOGGER.warn("JWT access token is issued by [{}] and not by [{}]", claims.getIssuer(), this.issuer);
+                return Optional.empty();
+            }
+            if (claims.getExpirationTime() == null || claims.getExpirationTime().isBefore(NumericDate.now())) {
+                LOGGER.debug("JWT access token [{}] has expired", claims.getJwtId());
+                return Optional.empty();
+            }
+            if (this.revocationList.isRevoked(claims.getJwtId(),
+                    claims.getClaimValue(CLAIM_TICKET_GRANTING_TICKET, String.class),
+                    claims.getSubject(),
+                    claims.getClaimValue(CLAIM_CLIENT_ID, String.class),
+                    claims.getIssuedAt().getValueInMillis())) {
+                LOGGER.debug("JWT access token [{}] is revoked", claims.getJwtId());
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to decode JWT access token: [{}]", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Validate the JWT access token and reconstruct the access token from its claims.
+     *
+     * @param token the token
+     * @return the access token, if the token is valid
+     */
+    public Optional<AccessToken> decode(final String token) {
+        return decodeClaims(token).map(claims -> toAccessToken(token, claims));
+    }
+
+    private AccessToken toAccessToken(final String token, final JwtClaims claims) {
+        try {
+            final Map<String, Object> attributes = claims.getClaimValue(CLAIM_ATTRIBUTES, Map.class);
+            final Principal principal = this.principalFactory.createPrincipal(claims.getSubject(),
+                    attributes == null ? new LinkedHashMap<>(0) : attributes);
+            final Number authenticationTime = claims.getClaimValue(CLAIM_AUTHENTICATION_TIME, Number.class);
+            final ZonedDateTime issuedAt = ZonedDateTime.ofInstant(Instant.ofEpochMilli(claims.getIssuedAt().getValueInMillis()), ZoneOffset.UTC);
+
+            final AuthenticationBuilder builder = DefaultAuthenticationBuilder.newInstance()
+                    .setPrincipal(principal)
+                    .setAuthenticationDate(authenticationTime == null
+                            ? issuedAt
+                            : ZonedDateTime.ofInstant(Instant.ofEpochSecond(authenticationTime.longValue()), ZoneOffset.UTC))
+                    .addAttribute(AuthenticationManager.AUTHENTICATION_METHOD_ATTRIBUTE,
+                            claims.getStringListClaimValue(CLAIM_AUTHENTICATION_METHODS));
+            if (claims.hasClaim(CLAIM_GRANT_TYPE)) {
+                builder.addAttribute(OAuth20Constants.GRANT_TYPE, claims.getStringClaimValue(CLAIM_GRANT_TYPE));
+            }
+            final long timeToLive = claims.getExpirationTime().getValue() - claims.getIssuedAt().getValue();
+            return new OAuthJwtAccessToken(token,
+                    this.serviceFactory.createService(claims.getStringClaimValue(CLAIM_SERVICE)),
+                    builder.build(),
+                    new HardTimeoutExpirationPolicy(timeToLive),
+                    issuedAt);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("Unable to reconstruct access token from JWT claims: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * JWTs cannot slide; they are issued for the shorter of the hard and idle timeouts of the policy.
+     */
+    private static long getTimeToLive(final ExpirationPolicy policy) {
+        final long timeToLive = policy.getTimeToLive() == null ? 0 : policy.getTimeToLive();
+        final long timeToIdle = policy.getTimeToIdle() == null ? 0 : policy.getTimeToIdle();
+        if (timeToLive > 0 && timeToIdle > 0) {
+            return Math.min(timeToLive, timeToIdle);
+        }
+        return Math.max(timeToLive, timeToIdle);
+    }
+
+    private static Map<String, Object> toClaimValues(final Map<String, Object> attributes) {
+        final Map<String, Object> values = new LinkedHashMap<>(attributes.size());
+        attributes.forEach((name, value) -> values.put(name, value instanceof Collection ? new ArrayList<>((Collection) value) : value));
+        return values;
+    }
+
+    private static List<String> toStrings(final Object value) {
+        return CollectionUtils.toCollection(value).stream().map(Object::toString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,113 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apereo.cas.ticket.registry.OAuthTokenRelationIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link OAuthJwtAccessTokenRevocationList} that records revocations of access tokens
+ * issued as JWTs, which are validated without consulting the ticket registry.
+ * <p>Revocations are recorded for a single token, a ticket-granting ticket, a principal or a client,
+ * along with the instant they took place; a token is revoked if any of those it relates to was revoked
+ * at or after the time it was issued. Entries are dropped once every token they could apply to has expired,
+ * which keeps the list limited to recent revocations.</p>
+ * <p>The list is kept in memory and is local to the node that keeps it: revocations are neither shared
+ * with other nodes nor kept across restarts, so other nodes accept a revoked token until it expires.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthJwtAccessTokenRevocationList {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuthJwtAccessTokenRevocationList.class);
+
+    private final Cache<String, Long> revocations;
+
+    /**
+     * Instantiates a new revocation list.
+     *
+     * @param maxTimeToLiveInSeconds the longest lifetime of an access token, in seconds
+     */
+    public OAuthJwtAccessTokenRevocationList(final long maxTimeToLiveInSeconds) {
+        this.revocations = Caffeine.newBuilder()
+                .expireAfterWrite(maxTimeToLiveInSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Revoke a single access token.
+     *
+     * @param tokenId the token id, as found in the token's {@code jti} claim
+     */
+    public void revokeToken(final String tokenId) {
+        revoke("token:" + tokenId);
+    }
+
+    /**
+     * Revoke the access tokens derived from a ticket-granting ticket.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     */
+    public void revokeTicketGrantingTicket(final String ticketGrantingTicketId) {
+        revoke(OAuthTokenRelationIndex.ticketGrantingTicketKey(ticketGrantingTicketId));
+    }
+
+    /**
+     * Revoke the access tokens issued to a principal so far.
+     *
+     * @param principalId the principal id
+     */
+    public void revokePrincipal(final String principalId) {
+        revoke(OAuthTokenRelationIndex.principalKey(principalId));
+    }
+
+    /**
+     * Revoke the access tokens issued for a client so far.
+     *
+     * @param clientId the client id
+     */
+    public void revokeClient(final String clientId) {
+        revoke(OAuthTokenRelationIndex.clientKey(clientId));
+    }
+
+    /**
+     * Whether a token issued at the given instant is revoked.
+     *
+     * @param tokenId                the token id
+     * @param ticketGrantingTicketId the ticket-granting ticket id, if any
+     * @param principalId            the principal id
+     * @param clientId               the client id
+     * @param issuedAt               the instant the token was issued, in epoch milliseconds
+     * @return true if the token is revoked
+     */
+    public boolean isRevoked(final String tokenId, final String ticketGrantingTicketId,
+                             final String principalId, final String clientId, final long issuedAt) {
+        return isRevokedSince("token:" + tokenId, issuedAt)
+                || ticketGrantingTicketId != null && isRevokedSince(OAuthTokenRelationIndex.ticketGrantingTicketKey(ticketGrantingTicketId), issuedAt)
+                || isRevokedSince(OAuthTokenRelationIndex.principalKey(principalId), issuedAt)
+                || isRevokedSince(OAuthTokenRelationIndex.clientKey(clientId), issuedAt);
+    }
+
+    /**
+     * Number of recorded revocations.
+     *
+     * @return the size
+     */
+    public long size() {
+        this.revocations.cleanUp();
+        return this.revocations.estimatedSize();
+    }
+
+    private void revoke(final String key) {
+        LOGGER.debug("Recording revocation of JWT access tokens for [{}]", key);
+        this.revocations.put(key, System.currentTimeMillis());
+    }
+
+    private boolean isRevokedSince(final String key, final long issuedAt) {
+        final Long revokedAt = this.revocations.getIfPresent(key);
+        return revokedAt != null && revokedAt >= issuedAt;
+    }
+}
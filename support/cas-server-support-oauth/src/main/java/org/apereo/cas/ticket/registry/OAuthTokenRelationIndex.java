@@ -0,0 +1,74 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.ticket.OAuthToken;
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link OAuthTokenRelationIndex} that groups OAuth codes, access tokens and refresh tokens
+ * by the principal they were issued to, the client they were issued for and the ticket-granting ticket
+ * they were derived from. Tickets that are not OAuth tokens are not indexed.
+ * <p>The client of a token is identified by the token's service, which carries the client id
+ * unless the service was explicitly supplied as a request header.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthTokenRelationIndex extends TicketRelationIndex {
+
+    public OAuthTokenRelationIndex() {
+        super(OAuthTokenRelationIndex::resolveKeys);
+    }
+
+    /**
+     * Index key for tokens issued to the given principal.
+     *
+     * @param principalId the principal id
+     * @return the key
+     */
+    public static String principalKey(final String principalId) {
+        return "principal:" + principalId;
+    }
+
+    /**
+     * Index key for tokens issued for the given client.
+     *
+     * @param clientId the client id
+     * @return the key
+     */
+    public static String clientKey(final String clientId) {
+        return "client:" + clientId;
+    }
+
+    /**
+     * Index key for tokens derived from the given ticket-granting ticket.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     * @return the key
+     */
+    public static String ticketGrantingTicketKey(final String ticketGrantingTicketId) {
+        return "tgt:" + ticketGrantingTicketId;
+    }
+
+    private static Collection<String> resolveKeys(final Ticket ticket) {
+        final Collection<String> keys = new ArrayList<>();
+        if (!(ticket instanceof OAuthToken)) {
+            return keys;
+        }
+        final OAuthToken token = (OAuthToken) ticket;
+        final Authentication authentication = token.getAuthentication();
+        if (authentication != null && authentication.getPrincipal() != null) {
+            keys.add(principalKey(authentication.getPrincipal().getId()));
+        }
+        if (token.getService() != null) {
+            keys.add(clientKey(token.getService().getId()));
+        }
+        if (token.getGrantingTicket() != null) {
+            keys.add(ticketGrantingTicketKey(token.getGrantingTicket().getId()));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,218 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketDestroyedEvent;
+import org.apereo.cas.ticket.DefaultTicketDefinition;
+import org.apereo.cas.ticket.OAuthToken;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenRevocationList;
+import org.apereo.cas.ticket.code.OAuthCode;
+import org.apereo.cas.ticket.code.OAuthCodeImpl;
+import org.apereo.cas.ticket.refreshtoken.RefreshToken;
+import org.apereo.cas.ticket.refreshtoken.RefreshTokenImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OAuthTokenRevocationService} that locates and revokes the OAuth codes,
+ * access tokens and refresh tokens of a principal, a client or a single sign-on session.
+ * <p>When the ticket registry maintains an {@link OAuthTokenRelationIndex}, only the related tokens
+ * are visited; otherwise, only tickets of the OAuth token types are streamed from the registry. Tokens derived from a
+ * ticket-granting ticket are revoked once that ticket-granting ticket is destroyed, unless turned off. Access tokens issued as JWTs
+ * are not kept by the registry; their revocation is recorded in the {@link OAuthJwtAccessTokenRevocationList}.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthTokenRevocationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuthTokenRevocationService.class);
+
+    private final TicketRegistry ticketRegistry;
+    private final OAuthTokenRelationIndex index;
+    private final OAuthJwtAccessTokenRevocationList jwtRevocationList;
+    private final Collection<TicketDefinition> tokenDefinitions;
+
+    private boolean revokeTokensWithTicketGrantingTicket = true;
+
+    public OAuthTokenRevocationService(final TicketRegistry ticketRegistry, final OAuthTokenRelationIndex index) {
+        this(ticketRegistry, index, null);
+    }
+
+    public OAuthTokenRevocationService(final TicketRegistry ticketRegistry, final OAuthTokenRelationIndex index,
+                                       final OAuthJwtAccessTokenRevocationList jwtRevocationList) {
+        this(ticketRegistry, index, jwtRevocationList, getDefaultTokenDefinitions());
+    }
+
+    /**
+     * Instantiates a new revocation service.
+     *
+     * @param ticketRegistry    the ticket registry
+     * @param index             the index maintained by the ticket registry, or null if the registry maintains none
+     * @param jwtRevocationList the revocation list of JWT access tokens, or null if none are issued
+     * @param tokenDefinitions  the definitions of the OAuth token types, used to stream tokens when the registry maintains no index
+     */
+    public OAuthTokenRevocationService(final TicketRegistry ticketRegistry, final OAuthTokenRelationIndex index,
+                                       final OAuthJwtAccessTokenRevocationList jwtRevocationList,
+                                       final Collection<TicketDefinition> tokenDefinitions) {
+        this.ticketRegistry = ticketRegistry;
+        this.index = index;
+        this.jwtRevocationList = jwtRevocationList;
+        this.tokenDefinitions = tokenDefinitions;
+    }
+
+    public void setRevokeTokensWithTicketGrantingTicket(final boolean revokeTokensWithTicketGrantingTicket) {
+        this.revokeTokensWithTicketGrantingTicket = revokeTokensWithTicketGrantingTicket;
+    }
+
+    /**
+     * Gets the tokens issued to the given principal.
+     *
+     * @param principalId the principal id
+     * @return the tokens
+     */
+    public Collection<OAuthToken> getTokensForPrincipal(final String principalId) {
+        return getTokens(OAuthTokenRelationIndex.principalKey(principalId),
+                token -> token.getAuthentication() != null && token.getAuthentication().getPrincipal() != null
+                        && Objects.equals(principalId, token.getAuthentication().getPrincipal().getId()));
+    }
+
+    /**
+     * Gets the tokens issued for the given client.
+     *
+     * @param clientId the client id
+     * @return the tokens
+     */
+    public Collection<OAuthToken> getTokensForClient(final String clientId) {
+        return getTokens(OAuthTokenRelationIndex.clientKey(clientId),
+                token -> token.getService() != null && Objects.equals(clientId, token.getService().getId()));
+    }
+
+    /**
+     * Gets the tokens derived from the given ticket-granting ticket.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     * @return the tokens
+     */
+    public Collection<OAuthToken> getTokensForTicketGrantingTicket(final String ticketGrantingTicketId) {
+        return getTokens(OAuthTokenRelationIndex.ticketGrantingTicketKey(ticketGrantingTicketId),
+                token -> token.getGrantingTicket() != null && Objects.equals(ticketGrantingTicketId, token.getGrantingTicket().getId()));
+    }
+
+    /**
+     * Revoke a single code, access token or refresh token kept by the ticket registry.
+     *
+     * @param tokenId the token id
+     * @return the number of tickets removed
+     */
+    public int revokeToken(final String tokenId) {
+        return this.ticketRegistry.deleteTicket(tokenId);
+    }
+
+    /**
+     * Revoke a single access token issued as a JWT.
+     *
+     * @param jwtId the token id, as found in the token's {@code jti} claim
+     */
+    public void revokeJwtAccessToken(final String jwtId) {
+        if (this.jwtRevocationList != null) {
+            this.jwtRevocationList.revokeToken(jwtId);
+        }
+    }
+
+    /**
+     * Revoke the tokens issued to the given principal.
+     *
+     * @param principalId the principal id
+     * @return the number of tickets removed
+     */
+    public int revokeTokensForPrincipal(final String principalId) {
+        if (this.jwtRevocationList != null) {
+            this.jwtRevocationList.revokePrincipal(principalId);
+        }
+        return revoke(getTokensForPrincipal(principalId));
+    }
+
+    /**
+     * Revoke the tokens issued for the given client.
+     *
+     * @param clientId the client id
+     * @return the number of tickets removed
+     */
+    public int revokeTokensForClient(final String clientId) {
+        if (this.jwtRevocationList != null) {
+            this.jwtRevocationList.revokeClient(clientId);
+        }
+        return revoke(getTokensForClient(clientId));
+    }
+
+    /**
+     * Revoke the tokens derived from the given ticket-granting ticket.
+     *
+     * @param ticketGrantingTicketId the ticket-granting ticket id
+     * @return the number of tickets removed
+     */
+    public int revokeTokensForTicketGrantingTicket(final String ticketGrantingTicketId) {
+        if (this.jwtRevocationList != null) {
+            this.jwtRevocationList.revokeTicketGrantingTicket(ticketGrantingTicketId);
+        }
+        return revoke(getTokensForTicketGrantingTicket(ticketGrantingTicketId));
+    }
+
+    /**
+     * Revoke the tokens of a single sign-on session once its ticket-granting ticket is destroyed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleTicketGrantingTicketDestroyedEvent(final CasTicketGrantingTicketDestroyedEvent event) {
+        if (!this.revokeTokensWithTicketGrantingTicket || event.getTicketGrantingTicket() == null) {
+            return;
+        }
+        final String id = event.getTicketGrantingTicket().getId();
+        final int count = revokeTokensForTicketGrantingTicket(id);
+        LOGGER.debug("Revoked [{}] OAuth token(s) derived from ticket-granting ticket [{}]", count, id);
+    }
+
+    private Collection<OAuthToken> getTokens(final String key, final Predicate<OAuthToken> predicate) {
+        if (this.index != null) {
+            return this.index.getTicketIds(key)
+                    .stream()
+                    .map(this.ticketRegistry::getTicket)
+                    .filter(OAuthToken.class::isInstance)
+                    .map(OAuthToken.class::cast)
+                    .collect(Collectors.toList());
+        }
+        LOGGER.trace("Ticket registry maintains no OAuth token index; examining OAuth tokens for [{}]", key);
+        return this.tokenDefinitions
+                .stream()
+                .flatMap(definition -> this.ticketRegistry.getTicketsStream(definition, TicketRegistry.DEFAULT_BATCH_SIZE))
+                .filter(OAuthToken.class::isInstance)
+                .map(OAuthToken.class::cast)
+                .filter(predicate)
+                .collect(Collectors.toList());
+    }
+
+    private static Collection<TicketDefinition> getDefaultTokenDefinitions() {
+        final Collection<TicketDefinition> definitions = new ArrayList<>();
+        definitions.add(new DefaultTicketDefinition(OAuthCodeImpl.class, OAuthCode.PREFIX));
+        definitions.add(new DefaultTicketDefinition(AccessTokenImpl.class, AccessToken.PREFIX));
+        definitions.add(new DefaultTicketDefinition(RefreshTokenImpl.class, RefreshToken.PREFIX));
+        return definitions;
+    }
+
+    private int revoke(final Collection<OAuthToken> tokens) {
+        return tokens.stream()
+                .map(Ticket::getId)
+                .mapToInt(this.ticketRegistry::deleteTicket)
+                .sum();
+    }
+}
@@ -0,0 +1,136 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.OAuthTokenRevocationService;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.cipher.NoOpCipherExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OAuthJwtAccessTokenCodecTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthJwtAccessTokenCodecTests {
+    private static final String ISSUER = "https://sso.example.org/cas";
+    private static final String SERVICE_ID = "https://oauth.example.org";
+
+    private OAuthJwtAccessTokenCipherExecutor cipherExecutor;
+    private OAuthJwtAccessTokenRevocationList revocationList;
+    private OAuthJwtAccessTokenCodec codec;
+    private OAuthRegisteredService registeredService;
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Before
+    public void setUp() {
+        this.cipherExecutor = new OAuthJwtAccessTokenCipherExecutor(null, null, "A128CBC-HS256");
+        this.revocationList = new OAuthJwtAccessTokenRevocationList(60);
+        this.codec = newCodec(ISSUER);
+
+        this.registeredService = new OAuthRegisteredService();
+        this.registeredService.setClientId("clientid");
+        this.registeredService.setServiceId(SERVICE_ID);
+        this.registeredService.setJwtAccessToken(true);
+
+        this.ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-1",
+                CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy());
+    }
+
+    @Test
+    public void verifyTokenIsDecodedFromClaims() {
+        final AccessToken token = encode();
+        assertTrue(OAuthJwtAccessTokenCodec.isJwtAccessToken(token.getId()));
+
+        final Optional<AccessToken> decoded = this.codec.decode(token.getId());
+        assertTrue(decoded.isPresent());
+        final AccessToken accessToken = decoded.get();
+        assertEquals(token.getId(), accessToken.getId());
+        assertEquals("casuser", accessToken.getAuthentication().getPrincipal().getId());
+        assertEquals(SERVICE_ID, accessToken.getService().getId());
+        assertNull(accessToken.getGrantingTicket());
+        assertFalse(accessToken.isExpired());
+    }
+
+    @Test
+    public void verifyRevokedTokenIsRejected() {
+        final AccessToken token = encode();
+        this.revocationList.revokeTicketGrantingTicket(this.ticketGrantingTicket.getId());
+        assertFalse(this.codec.decode(token.getId()).isPresent());
+        assertEquals(1, this.revocationList.size());
+    }
+
+    @Test
+    public void verifyTokenRevokedForClientIsRejected() {
+        final AccessToken token = encode();
+        this.revocationList.revokeClient("otherclient");
+        assertTrue(this.codec.decode(token.getId()).isPresent());
+        this.revocationList.revokeClient(this.registeredService.getClientId());
+        assertFalse(this.codec.decode(token.getId()).isPresent());
+    }
+
+    @Test
+    public void verifyTokenRevokedForPrincipalIsRejected() {
+        final AccessToken token = encode();
+        this.revocationList.revokePrincipal("otheruser");
+        assertTrue(this.codec.decode(token.getId()).isPresent());
+        this.revocationList.revokePrincipal("casuser");
+        assertFalse(this.codec.decode(token.getId()).isPresent());
+    }
+
+    @Test
+    public void verifySingleTokenRevokedThroughRevocationServiceIsRejected() {
+        final AccessToken token = encode();
+        final AccessToken other = encode();
+        final OAuthTokenRevocationService service = new OAuthTokenRevocationService(new DefaultTicketRegistry(), null, this.revocationList);
+        service.revokeJwtAccessToken(this.codec.decodeClaims(token.getId()).get().getJwtId());
+        assertFalse(this.codec.decode(token.getId()).isPresent());
+        assertTrue(this.codec.decode(other.getId()).isPresent());
+    }
+
+    @Test
+    public void verifyTokenIsNotAcceptedWithoutCrypto() {
+        final AccessToken token = encode();
+        final OAuthJwtAccessTokenCodec codec = new OAuthJwtAccessTokenCodec(NoOpCipherExecutor.getInstance(), ISSUER, this.revocationList,
+                new DefaultPrincipalFactory(), new WebApplicationServiceFactory());
+        assertFalse(codec.isEnabled());
+        assertFalse(codec.decode(token.getId()).isPresent());
+    }
+
+    @Test
+    public void verifyTokenFromAnotherIssuerIsRejected() {
+        final AccessToken token = encode();
+        assertFalse(newCodec("https://other.example.org/cas").decode(token.getId()).isPresent());
+    }
+
+    @Test
+    public void verifyOpaqueTokenIsNotDecoded() {
+        assertFalse(OAuthJwtAccessTokenCodec.isJwtAccessToken("AT-1-abcdefg"));
+        assertFalse(this.codec.decode("AT-1-abcdefg").isPresent());
+    }
+
+    private AccessToken encode() {
+        final DefaultAccessTokenFactory factory = new DefaultAccessTokenFactory(new HardTimeoutExpirationPolicy(60));
+        final AccessToken token = factory.create(RegisteredServiceTestUtils.getService(SERVICE_ID),
+                this.ticketGrantingTicket.getAuthentication(), this.ticketGrantingTicket);
+        return this.codec.encode(token, this.registeredService);
+    }
+
+    private OAuthJwtAccessTokenCodec newCodec(final String issuer) {
+        return new OAuthJwtAccessTokenCodec(this.cipherExecutor, issuer, this.revocationList,
+                new DefaultPrincipalFactory(), new WebApplicationServiceFactory());
+    }
+}
@@ -0,0 +1,104 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketDestroyedEvent;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OAuthTokenRevocationServiceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OAuthTokenRevocationServiceTests {
+
+    private DefaultTicketRegistry ticketRegistry;
+    private OAuthTokenRelationIndex index;
+    private DefaultAccessTokenFactory accessTokenFactory;
+
+    @Before
+    public void setUp() {
+        this.ticketRegistry = new DefaultTicketRegistry();
+        this.index = new OAuthTokenRelationIndex();
+        assertTrue(this.ticketRegistry.registerTicketRelationIndex(this.index));
+        this.accessTokenFactory = new DefaultAccessTokenFactory(new NeverExpiresExpirationPolicy());
+    }
+
+    @Test
+    public void verifyTokensAreRevokedWhenTicketGrantingTicketIsDestroyed() {
+        final TicketGrantingTicket tgt1 = newTicketGrantingTicket("TGT-1", "casuser");
+        final TicketGrantingTicket tgt2 = newTicketGrantingTicket("TGT-2", "casuser");
+        final AccessToken at1 = addAccessToken(tgt1, "client1");
+        final AccessToken at2 = addAccessToken(tgt2, "client2");
+        assertEquals(2, this.index.size());
+
+        final OAuthTokenRevocationService service = new OAuthTokenRevocationService(this.ticketRegistry, this.index);
+        assertEquals(2, service.getTokensForPrincipal("casuser").size());
+        assertEquals(1, service.getTokensForClient("client1").size());
+
+        service.handleTicketGrantingTicketDestroyedEvent(new CasTicketGrantingTicketDestroyedEvent(this, tgt1));
+        assertNull(this.ticketRegistry.getTicket(at1.getId()));
+        assertNotNull(this.ticketRegistry.getTicket(at2.getId()));
+        assertEquals(1, this.index.size());
+
+        assertEquals(1, service.revokeTokensForPrincipal("casuser"));
+        assertNull(this.ticketRegistry.getTicket(at2.getId()));
+        assertEquals(0, this.index.size());
+    }
+
+    @Test
+    public void verifyTokensAreLocatedWithoutIndex() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket("TGT-1", "casuser");
+        final AccessToken at = addAccessToken(tgt, "client1");
+
+        final OAuthTokenRevocationService service = new OAuthTokenRevocationService(this.ticketRegistry, null);
+        assertEquals(1, service.getTokensForTicketGrantingTicket(tgt.getId()).size());
+        assertTrue(service.getTokensForClient("client2").isEmpty());
+        assertEquals(1, service.revokeTokensForClient("client1"));
+        assertNull(this.ticketRegistry.getTicket(at.getId()));
+    }
+
+    @Test
+    public void verifyDeletedTokensAreRemovedFromIndex() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket("TGT-1", "casuser");
+        final AccessToken at = addAccessToken(tgt, "client1");
+        assertEquals(1, this.index.size());
+
+        assertTrue(this.ticketRegistry.deleteSingleTicket(at.getId()));
+        assertEquals(0, this.index.size());
+    }
+
+    @Test
+    public void verifyTokensAreKeptWhenRevocationWithTicketGrantingTicketIsOff() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket("TGT-1", "casuser");
+        final AccessToken at = addAccessToken(tgt, "client1");
+
+        final OAuthTokenRevocationService service = new OAuthTokenRevocationService(this.ticketRegistry, this.index);
+        service.setRevokeTokensWithTicketGrantingTicket(false);
+        service.handleTicketGrantingTicketDestroyedEvent(new CasTicketGrantingTicketDestroyedEvent(this, tgt));
+        assertNotNull(this.ticketRegistry.getTicket(at.getId()));
+    }
+
+    private TicketGrantingTicket newTicketGrantingTicket(final String id, final String principal) {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(id,
+                CoreAuthenticationTestUtils.getAuthentication(principal), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        return tgt;
+    }
+
+    private AccessToken addAccessToken(final TicketGrantingTicket tgt, final String clientId) {
+        final AccessToken token = this.accessTokenFactory.create(RegisteredServiceTestUtils.getService(clientId),
+                tgt.getAuthentication(), tgt);
+        this.ticketRegistry.addTicket(token);
+        return token;
+    }
+}
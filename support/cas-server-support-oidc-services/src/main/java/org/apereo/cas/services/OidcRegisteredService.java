@@ -33,6 +33,9 @@ public class OidcRegisteredService extends OAuthRegisteredService {
     @Column(updatable = true, insertable = true)
     private boolean signIdToken = true;
 
+    @Column(length = 255, updatable = true, insertable = true)
+    private String idTokenSigningAlg;
+
     @Column(updatable = true, insertable = true)
     private boolean encryptIdToken;
 
@@ -81,6 +84,14 @@ public class OidcRegisteredService extends OAuthRegisteredService {
         this.signIdToken = signIdToken;
     }
 
+    public String getIdTokenSigningAlg() {
+        return idTokenSigningAlg;
+    }
+
+    public void setIdTokenSigningAlg(final String idTokenSigningAlg) {
+        this.idTokenSigningAlg = idTokenSigningAlg;
+    }
+
     public String getJwks() {
         return jwks;
     }
@@ -227,6 +238,7 @@ public class OidcRegisteredService extends OAuthRegisteredService {
                 .append(this.jwks, rhs.jwks)
                 .append(this.implicit, rhs.implicit)
                 .append(this.signIdToken, rhs.signIdToken)
+                .append(this.idTokenSigningAlg, rhs.idTokenSigningAlg)
                 .append(this.encryptIdToken, rhs.encryptIdToken)
                 .append(this.idTokenEncryptionAlg, rhs.idTokenEncryptionAlg)
                 .append(this.idTokenEncryptionEncoding, rhs.idTokenEncryptionEncoding)
@@ -242,6 +254,7 @@ public class OidcRegisteredService extends OAuthRegisteredService {
                 .appendSuper(super.hashCode())
                 .append(jwks)
                 .append(signIdToken)
+                .append(idTokenSigningAlg)
                 .append(implicit)
                 .append(encryptIdToken)
                 .append(idTokenEncryptionAlg)
@@ -260,6 +273,7 @@ public class OidcRegisteredService extends OAuthRegisteredService {
                 .append("jwks", jwks)
                 .append("implicit", implicit)
                 .append("signIdToken", signIdToken)
+                .append("idTokenSigningAlg", idTokenSigningAlg)
                 .append("idTokenEncryptionAlg", idTokenEncryptionAlg)
                 .append("idTokenEncryptionEncoding", idTokenEncryptionEncoding)
                 .append("encryptIdToken", encryptIdToken)
@@ -278,6 +292,7 @@ public class OidcRegisteredService extends OAuthRegisteredService {
             setJwks(oidcService.getJwks());
             setImplicit(oidcService.isImplicit());
             setSignIdToken(oidcService.isSignIdToken());
+            setIdTokenSigningAlg(oidcService.getIdTokenSigningAlg());
             setIdTokenEncryptionAlg(oidcService.getIdTokenEncryptionAlg());
             setIdTokenEncryptionEncoding(oidcService.idTokenEncryptionEncoding);
             setEncryptIdToken(oidcService.isEncryptIdToken());
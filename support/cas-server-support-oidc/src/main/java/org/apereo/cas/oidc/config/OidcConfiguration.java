@@ -24,6 +24,7 @@ import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequest;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequestSerializer;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
+import org.apereo.cas.oidc.jwks.OidcPublicJsonWebKeystoreCache;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilter;
 import org.apereo.cas.oidc.profile.OidcRegisteredServicePreProcessorEventListener;
@@ -63,6 +64,7 @@ import org.apereo.cas.support.oauth.web.views.ConsentApprovalViewResolver;
 import org.apereo.cas.support.oauth.web.views.OAuth20CallbackAuthorizeViewResolver;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
@@ -73,7 +75,8 @@ import org.apereo.cas.web.flow.authentication.RankedMultifactorAuthenticationPro
 import org.apereo.cas.web.flow.resolver.CasDelegatingWebflowEventResolver;
 import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
-import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.PublicJsonWebKey;
 import org.pac4j.cas.client.CasClient;
 import org.pac4j.core.config.Config;
 import org.pac4j.springframework.web.SecurityInterceptor;
@@ -85,6 +88,7 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
@@ -124,6 +128,10 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     @Qualifier("oauthTokenGenerator")
     private OAuth20TokenGenerator oauthTokenGenerator;
 
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenCodec")
+    private OAuthJwtAccessTokenCodec oauthJwtAccessTokenCodec;
+
     @Autowired
     @Qualifier("oauthAuthorizationResponseBuilders")
     private Set<OAuth20AuthorizationResponseBuilder> oauthAuthorizationResponseBuilders;
@@ -302,7 +310,7 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
                 servicesManager, ticketRegistry, oAuth20Validator, defaultAccessTokenFactory,
                 oidcPrincipalFactory(), webApplicationServiceFactory,
                 profileScopeToAttributesFilter(), casProperties,
-                ticketGrantingTicketCookieGenerator, centralAuthenticationService);
+                ticketGrantingTicketCookieGenerator, centralAuthenticationService, oauthJwtAccessTokenCodec);
     }
 
     @RefreshScope
@@ -339,7 +347,15 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
         return new OidcJwksEndpointController(servicesManager, ticketRegistry, oAuth20Validator,
                 defaultAccessTokenFactory,
                 oidcPrincipalFactory(), webApplicationServiceFactory,
-                profileScopeToAttributesFilter(), casProperties, ticketGrantingTicketCookieGenerator);
+                profileScopeToAttributesFilter(), casProperties, ticketGrantingTicketCookieGenerator,
+                oidcPublicJsonWebKeystoreCache());
+    }
+
+    @Bean
+    public OidcPublicJsonWebKeystoreCache oidcPublicJsonWebKeystoreCache() {
+        final OidcProperties oidc = casProperties.getAuthn().getOidc();
+        return new OidcPublicJsonWebKeystoreCache(oidc.getJwksFile(), servicesManager, applicationContext,
+                TimeUnit.MINUTES.toMillis(oidc.getJwksCacheInMinutes()));
     }
 
     @Autowired
@@ -361,7 +377,7 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
                 defaultAccessTokenFactory,
                 oidcPrincipalFactory(), webApplicationServiceFactory,
                 profileScopeToAttributesFilter(),
-                casProperties, ticketGrantingTicketCookieGenerator);
+                casProperties, ticketGrantingTicketCookieGenerator, oauthJwtAccessTokenCodec);
     }
 
     @RefreshScope
@@ -415,19 +431,19 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     }
 
     @Bean
-    public LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
+    public LoadingCache<OidcRegisteredService, Optional<PublicJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
         final OidcProperties oidc = casProperties.getAuthn().getOidc();
-        final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> cache =
-                Caffeine.newBuilder().maximumSize(1)
+        final LoadingCache<OidcRegisteredService, Optional<PublicJsonWebKey>> cache =
+                Caffeine.newBuilder().maximumSize(1000)
                         .expireAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
                         .build(oidcServiceJsonWebKeystoreCacheLoader());
         return cache;
     }
 
     @Bean
-    public LoadingCache<String, Optional<RsaJsonWebKey>> oidcDefaultJsonWebKeystoreCache() {
+    public LoadingCache<String, Optional<JsonWebKeySet>> oidcDefaultJsonWebKeystoreCache() {
         final OidcProperties oidc = casProperties.getAuthn().getOidc();
-        final LoadingCache<String, Optional<RsaJsonWebKey>> cache =
+        final LoadingCache<String, Optional<JsonWebKeySet>> cache =
                 Caffeine.newBuilder().maximumSize(1)
                         .expireAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
                         .build(oidcDefaultJsonWebKeystoreCacheLoader());
@@ -445,8 +461,9 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter {
     }
 
     @Bean
+    @DependsOn("oidcJsonWebKeystoreGeneratorService")
     public OidcServerDiscoverySettingsFactory oidcServerDiscoverySettingsFactory() {
-        return new OidcServerDiscoverySettingsFactory(casProperties);
+        return new OidcServerDiscoverySettingsFactory(casProperties, oidcTokenSigningAndEncryptionService());
     }
 
     @Bean
@@ -2,9 +2,11 @@ package org.apereo.cas.oidc.discovery;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.oidc.OidcProperties;
+import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionService;
 import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
 import org.apereo.cas.util.CollectionUtils;
+import org.jose4j.jws.AlgorithmIdentifiers;
 import org.springframework.beans.factory.FactoryBean;
 
 import java.util.ArrayList;
@@ -19,9 +21,12 @@ import java.util.List;
  */
 public class OidcServerDiscoverySettingsFactory implements FactoryBean<OidcServerDiscoverySettings> {
     private final CasConfigurationProperties casProperties;
+    private final OidcIdTokenSigningAndEncryptionService signingService;
 
-    public OidcServerDiscoverySettingsFactory(final CasConfigurationProperties casProperties) {
+    public OidcServerDiscoverySettingsFactory(final CasConfigurationProperties casProperties,
+                                              final OidcIdTokenSigningAndEncryptionService signingService) {
         this.casProperties = casProperties;
+        this.signingService = signingService;
     }
 
     @Override
@@ -49,7 +54,15 @@ public class OidcServerDiscoverySettingsFactory implements FactoryBean<OidcServe
                         OAuth20GrantTypes.PASSWORD.getType(),
                         OAuth20GrantTypes.REFRESH_TOKEN.getType()));
 
-        discoveryProperties.setIdTokenSigningAlgValuesSupported(Arrays.asList("none", "RS256"));
+        final List<String> signingAlgs = new ArrayList<>();
+        signingAlgs.add(AlgorithmIdentifiers.NONE);
+        final List<String> keystoreAlgs = this.signingService.getSupportedSigningAlgorithms();
+        if (keystoreAlgs.isEmpty()) {
+            signingAlgs.add(AlgorithmIdentifiers.RSA_USING_SHA256);
+        } else {
+            signingAlgs.addAll(keystoreAlgs);
+        }
+        discoveryProperties.setIdTokenSigningAlgValuesSupported(signingAlgs);
         return discoveryProperties;
     }
 
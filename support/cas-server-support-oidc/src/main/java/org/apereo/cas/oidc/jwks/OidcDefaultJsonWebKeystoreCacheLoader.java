@@ -3,23 +3,28 @@ package org.apereo.cas.oidc.jwks;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.JsonWebKeySet;
-import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.PublicJsonWebKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link OidcDefaultJsonWebKeystoreCacheLoader}.
- * Only attempts to cache the default CAS keystore.
+ * Only attempts to cache the default CAS keystore. The keystore may carry
+ * signing keys of different types, such as RSA and elliptic-curve keys;
+ * only keys that have an associated private key are retained.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
-public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String, Optional<RsaJsonWebKey>> {
+public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String, Optional<JsonWebKeySet>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcDefaultJsonWebKeystoreCacheLoader.class);
 
     private final Resource jwksFile;
@@ -29,37 +34,45 @@ public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String
     }
 
     @Override
-    public Optional<RsaJsonWebKey> load(final String issuer) throws Exception {
+    public Optional<JsonWebKeySet> load(final String issuer) throws Exception {
         final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet();
         if (!jwks.isPresent() || jwks.get().getJsonWebKeys().isEmpty()) {
             return Optional.empty();
         }
-        final RsaJsonWebKey key = getJsonSigningWebKeyFromJwks(jwks.get());
-        if (key == null) {
+        final List<JsonWebKey> keys = getJsonSigningWebKeysFromJwks(jwks.get());
+        if (keys.isEmpty()) {
             return Optional.empty();
         }
-        return Optional.of(key);
+        return Optional.of(new JsonWebKeySet(keys));
     }
-    
-    private static RsaJsonWebKey getJsonSigningWebKeyFromJwks(final JsonWebKeySet jwks) {
+
+    private static List<JsonWebKey> getJsonSigningWebKeysFromJwks(final JsonWebKeySet jwks) {
         if (jwks.getJsonWebKeys().isEmpty()) {
             LOGGER.warn("No JSON web keys are available in the keystore");
-            return null;
+            return jwks.getJsonWebKeys();
         }
+        return jwks.getJsonWebKeys()
+                .stream()
+                .filter(OidcDefaultJsonWebKeystoreCacheLoader::isSigningKey)
+                .collect(Collectors.toList());
+    }
 
-        final RsaJsonWebKey key = (RsaJsonWebKey) jwks.getJsonWebKeys().get(0);
+    private static boolean isSigningKey(final JsonWebKey key) {
+        if (!(key instanceof PublicJsonWebKey)) {
+            LOGGER.warn("Located JSON web key [{}] of type [{}] is not an asymmetric key", key.getKeyId(), key.getKeyType());
+            return false;
+        }
         if (StringUtils.isBlank(key.getAlgorithm())) {
             LOGGER.warn("Located JSON web key [{}] has no algorithm defined", key);
         }
         if (StringUtils.isBlank(key.getKeyId())) {
             LOGGER.warn("Located JSON web key [{}] has no key id defined", key);
         }
-
-        if (key.getPrivateKey() == null) {
+        if (((PublicJsonWebKey) key).getPrivateKey() == null) {
             LOGGER.warn("Located JSON web key [{}] has no private key", key);
-            return null;
+            return false;
         }
-        return key;
+        return true;
     }
 
     private static JsonWebKeySet buildJsonWebKeySet(final Resource resource) throws Exception {
@@ -70,9 +83,8 @@ public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String
 
     private static JsonWebKeySet buildJsonWebKeySet(final String json) throws Exception {
         final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(json);
-        final RsaJsonWebKey webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
-        if (webKey == null || webKey.getPrivateKey() == null) {
-            LOGGER.warn("JSON web key retrieved [{}] is not found or has no associated private key", webKey);
+        if (getJsonSigningWebKeysFromJwks(jsonWebKeySet).isEmpty()) {
+            LOGGER.warn("JSON web keystore has no keys with an associated private key");
             return null;
         }
         return jsonWebKeySet;
@@ -104,12 +116,6 @@ public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String
                     LOGGER.warn("No valid JSON web keys could be found");
                     return Optional.empty();
                 }
-
-                final RsaJsonWebKey webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
-                if (webKey.getPrivateKey() == null) {
-                    LOGGER.warn("JSON web key retrieved [{}] has no associated private key", webKey.getKeyId());
-                    return Optional.empty();
-                }
                 return Optional.of(jsonWebKeySet);
             }
         } catch (final Exception e) {
@@ -1,20 +1,26 @@
 package org.apereo.cas.oidc.jwks;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.model.support.oidc.OidcProperties;
 import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.JsonWebKeySet;
-import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.EcJwkGenerator;
+import org.jose4j.jwk.EllipticCurveJsonWebKey;
+import org.jose4j.jwk.PublicJsonWebKey;
 import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.keys.EllipticCurves;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.security.spec.ECParameterSpec;
 
 /**
  * This is {@link OidcJsonWebKeystoreGeneratorService}.
+ * Generates an RSA or elliptic-curve signing key, based on the configured key type.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -22,6 +28,10 @@ import java.nio.charset.StandardCharsets;
 public class OidcJsonWebKeystoreGeneratorService {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcJsonWebKeystoreGeneratorService.class);
 
+    private static final int EC_P256_KEY_SIZE = 256;
+    private static final int EC_P384_KEY_SIZE = 384;
+    private static final int EC_P521_KEY_SIZE = 521;
+
     private final OidcProperties oidcProperties;
 
     public OidcJsonWebKeystoreGeneratorService(final OidcProperties oidcProperties) {
@@ -36,8 +46,8 @@ public class OidcJsonWebKeystoreGeneratorService {
         try {
             final File file = oidcProperties.getJwksFile().getFile();
             if (!file.exists()) {
-                final RsaJsonWebKey rsaJsonWebKey = RsaJwkGenerator.generateJwk(2048);
-                final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(rsaJsonWebKey);
+                final PublicJsonWebKey jsonWebKey = generateJsonWebKey();
+                final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(jsonWebKey);
                 final String data = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE);
                 FileUtils.write(file, data, StandardCharsets.UTF_8);
                 LOGGER.debug("Generated JSON web keystore at [{}]", file);
@@ -48,4 +58,31 @@ public class OidcJsonWebKeystoreGeneratorService {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    private PublicJsonWebKey generateJsonWebKey() throws Exception {
+        final int keySize = oidcProperties.getJwksKeySize();
+        if (StringUtils.equalsIgnoreCase(oidcProperties.getJwksType(), EllipticCurveJsonWebKey.KEY_TYPE)) {
+            final ECParameterSpec spec;
+            switch (keySize) {
+                case EC_P256_KEY_SIZE:
+                    spec = EllipticCurves.P256;
+                    break;
+                case EC_P384_KEY_SIZE:
+                    spec = EllipticCurves.P384;
+                    break;
+                case EC_P521_KEY_SIZE:
+                    spec = EllipticCurves.P521;
+                    break;
+                default:
+                    LOGGER.warn("Key size [{}] does not name an elliptic curve; supported sizes are [{}], [{}] and [{}]. "
+                            + "An elliptic-curve JSON web key will be generated on curve [{}] instead",
+                            keySize, EC_P256_KEY_SIZE, EC_P384_KEY_SIZE, EC_P521_KEY_SIZE, EllipticCurves.P_256);
+                    spec = EllipticCurves.P256;
+            }
+            LOGGER.debug("Generating elliptic-curve JSON web key on curve [{}]", EllipticCurves.getName(spec.getCurve()));
+            return EcJwkGenerator.generateJwk(spec);
+        }
+        LOGGER.debug("Generating RSA JSON web key of size [{}]", keySize);
+        return RsaJwkGenerator.generateJwk(keySize);
+    }
 }
@@ -0,0 +1,188 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.DigestUtils;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OidcPublicJsonWebKeystoreCache}. It holds the public keys published
+ * by the JWKS endpoint, built from the default keystore and the keystores of all OIDC services.
+ * <p>The key set is only rebuilt when the keystore files it was built from are modified on disk,
+ * when registered services are loaded, saved or deleted, or once it grows older than the
+ * configured expiration for keystores that are not backed by files.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OidcPublicJsonWebKeystoreCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OidcPublicJsonWebKeystoreCache.class);
+
+    private final Resource jwksFile;
+    private final ServicesManager servicesManager;
+    private final ResourceLoader resourceLoader;
+    private final long expirationInMillis;
+
+    private volatile PublicJsonWebKeystore current;
+
+    public OidcPublicJsonWebKeystoreCache(final Resource jwksFile, final ServicesManager servicesManager,
+                                          final ResourceLoader resourceLoader, final long expirationInMillis) {
+        this.jwksFile = jwksFile;
+        this.servicesManager = servicesManager;
+        this.resourceLoader = resourceLoader;
+        this.expirationInMillis = expirationInMillis;
+    }
+
+    /**
+     * Gets the public keystore, rebuilding it if any of its sources have changed.
+     *
+     * @return the public keystore
+     * @throws Exception the exception
+     */
+    public PublicJsonWebKeystore get() throws Exception {
+        PublicJsonWebKeystore keystore = this.current;
+        if (keystore == null || !keystore.isCurrent(this.expirationInMillis)) {
+            synchronized (this) {
+                keystore = this.current;
+                if (keystore == null || !keystore.isCurrent(this.expirationInMillis)) {
+                    keystore = build();
+                    this.current = keystore;
+                }
+            }
+        }
+        return keystore;
+    }
+
+    /**
+     * Discard the current keystore so the next request rebuilds it.
+     */
+    public void invalidate() {
+        this.current = null;
+    }
+
+    /**
+     * Handle registered services loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        if (event.getRegisteredService() instanceof OidcRegisteredService) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        if (event.getRegisteredService() instanceof OidcRegisteredService) {
+            invalidate();
+        }
+    }
+
+    private PublicJsonWebKeystore build() throws Exception {
+        LOGGER.debug("Building public JSON web keystore from [{}] and registered OIDC services", this.jwksFile);
+        final Map<File, Long> files = new LinkedHashMap<>();
+        final JsonWebKeySet jsonWebKeySet = readJsonWebKeySet(this.jwksFile, files);
+
+        final List<OidcRegisteredService> services = this.servicesManager.getAllServices()
+                .stream()
+                .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
+                .map(OidcRegisteredService.class::cast)
+                .collect(Collectors.toList());
+        for (final OidcRegisteredService service : services) {
+            final Resource resource = this.resourceLoader.getResource(service.getJwks());
+            readJsonWebKeySet(resource, files).getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
+        }
+        final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        return new PublicJsonWebKeystore(body, files);
+    }
+
+    private static JsonWebKeySet readJsonWebKeySet(final Resource resource, final Map<File, Long> files) throws Exception {
+        final File file = getFile(resource);
+        if (file != null) {
+            files.put(file, file.lastModified());
+        }
+        return new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static File getFile(final Resource resource) {
+        try {
+            return resource.getFile();
+        } catch (final IOException e) {
+            LOGGER.trace("Resource [{}] is not backed by a file and will not be monitored for changes", resource);
+            return null;
+        }
+    }
+
+    /**
+     * The public key set as published by the JWKS endpoint, along with its entity tag
+     * and the files it was built from.
+     */
+    public static class PublicJsonWebKeystore {
+        private final String body;
+        private final String entityTag;
+        private final Map<File, Long> files;
+        private final long createdAt = System.currentTimeMillis();
+
+        PublicJsonWebKeystore(final String body, final Map<File, Long> files) {
+            this.body = body;
+            this.entityTag = '"' + DigestUtils.sha256(body) + '"';
+            this.files = files;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getEntityTag() {
+            return entityTag;
+        }
+
+        /**
+         * Whether this key set still reflects its sources.
+         *
+         * @param expirationInMillis the expiration in millis
+         * @return true if the key set may be served as is
+         */
+        boolean isCurrent(final long expirationInMillis) {
+            if (System.currentTimeMillis() - this.createdAt >= expirationInMillis) {
+                return false;
+            }
+            return this.files.entrySet().stream().allMatch(e -> e.getKey().lastModified() == e.getValue());
+        }
+    }
+}
@@ -4,8 +4,9 @@ import com.github.benmanes.caffeine.cache.CacheLoader;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.services.OidcRegisteredService;
+import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.JsonWebKeySet;
-import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.PublicJsonWebKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,36 +18,42 @@ import java.util.Optional;
 
 /**
  * This is {@link OidcServiceJsonWebKeystoreCacheLoader}.
+ * Loads the first public key, RSA or elliptic-curve, from the keystore of a service.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
-public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> {
+public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRegisteredService, Optional<PublicJsonWebKey>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcServiceJsonWebKeystoreCacheLoader.class);
 
     @Autowired
     private ResourceLoader resourceLoader;
 
     @Override
-    public Optional<RsaJsonWebKey> load(final OidcRegisteredService svc) throws Exception {
+    public Optional<PublicJsonWebKey> load(final OidcRegisteredService svc) throws Exception {
         final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet(svc);
         if (!jwks.isPresent() || jwks.get().getJsonWebKeys().isEmpty()) {
             return Optional.empty();
         }
-        final RsaJsonWebKey key = getJsonSigningWebKeyFromJwks(jwks.get());
+        final PublicJsonWebKey key = getJsonSigningWebKeyFromJwks(jwks.get());
         if (key == null) {
             return Optional.empty();
         }
         return Optional.of(key);
     }
 
-    private static RsaJsonWebKey getJsonSigningWebKeyFromJwks(final JsonWebKeySet jwks) {
+    private static PublicJsonWebKey getJsonSigningWebKeyFromJwks(final JsonWebKeySet jwks) {
         if (jwks.getJsonWebKeys().isEmpty()) {
             LOGGER.warn("No JSON web keys are available in the keystore");
             return null;
         }
 
-        final RsaJsonWebKey key = (RsaJsonWebKey) jwks.getJsonWebKeys().get(0);
+        final JsonWebKey first = jwks.getJsonWebKeys().get(0);
+        if (!(first instanceof PublicJsonWebKey)) {
+            LOGGER.warn("Located JSON web key [{}] of type [{}] is not an asymmetric key", first.getKeyId(), first.getKeyType());
+            return null;
+        }
+        final PublicJsonWebKey key = (PublicJsonWebKey) first;
         if (StringUtils.isBlank(key.getAlgorithm())) {
             LOGGER.warn("Located JSON web key [{}] has no algorithm defined", key);
         }
@@ -82,7 +89,7 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
                 return Optional.empty();
             }
 
-            final RsaJsonWebKey webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
+            final PublicJsonWebKey webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
             if (webKey.getPublicKey() == null) {
                 LOGGER.warn("JSON web key retrieved [{}] has no associated public key", webKey.getKeyId());
                 return Optional.empty();
@@ -105,7 +112,7 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
 
     private static JsonWebKeySet buildJsonWebKeySet(final String json) throws Exception {
         final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(json);
-        final RsaJsonWebKey webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
+        final PublicJsonWebKey webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
         if (webKey == null || webKey.getPublicKey() == null) {
             LOGGER.warn("JSON web key retrieved [{}] is not found or has no associated public key", webKey);
             return null;
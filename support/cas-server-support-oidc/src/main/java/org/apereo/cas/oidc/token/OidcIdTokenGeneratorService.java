@@ -157,10 +157,17 @@ public class OidcIdTokenGeneratorService {
         final byte[] tokenBytes = accessTokenId.getId().getBytes();
         final String hashAlg;
 
-        switch (signingService.getJsonWebKeySigningAlgorithm()) {
+        switch (signingService.getJsonWebKeySigningAlgorithm(service)) {
             case AlgorithmIdentifiers.RSA_USING_SHA512:
+            case AlgorithmIdentifiers.RSA_PSS_USING_SHA512:
+            case AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512:
                 hashAlg = MessageDigestAlgorithms.SHA_512;
                 break;
+            case AlgorithmIdentifiers.RSA_USING_SHA384:
+            case AlgorithmIdentifiers.RSA_PSS_USING_SHA384:
+            case AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384:
+                hashAlg = MessageDigestAlgorithms.SHA_384;
+                break;
             case AlgorithmIdentifiers.RSA_USING_SHA256:
             default:
                 hashAlg = MessageDigestAlgorithms.SHA_256;
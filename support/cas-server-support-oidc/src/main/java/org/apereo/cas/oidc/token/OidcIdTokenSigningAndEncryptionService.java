@@ -4,20 +4,31 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.jose4j.jwa.AlgorithmConstraints;
+import org.jose4j.jwa.AlgorithmFactoryFactory;
 import org.jose4j.jwe.JsonWebEncryption;
+import org.jose4j.jwk.EllipticCurveJsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.PublicJsonWebKey;
 import org.jose4j.jwk.RsaJsonWebKey;
 import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.EllipticCurves;
 import org.jose4j.lang.JoseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link OidcIdTokenSigningAndEncryptionService}.
+ * ID tokens may be signed with RSA or elliptic-curve keys; the signing algorithm
+ * is chosen per service and the matching key is located in the default keystore.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -25,13 +36,23 @@ import java.util.UUID;
 public class OidcIdTokenSigningAndEncryptionService {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcIdTokenSigningAndEncryptionService.class);
 
-    private final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache;
-    private final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
+    /**
+     * Signing algorithms that may be used with RSA keys. The {@code PS*} algorithms
+     * are only included if the JCA providers support RSASSA-PSS.
+     */
+    private static final List<String> RSA_SIGNING_ALGORITHMS = Stream.of(
+            AlgorithmIdentifiers.RSA_USING_SHA256, AlgorithmIdentifiers.RSA_USING_SHA384, AlgorithmIdentifiers.RSA_USING_SHA512,
+            AlgorithmIdentifiers.RSA_PSS_USING_SHA256, AlgorithmIdentifiers.RSA_PSS_USING_SHA384, AlgorithmIdentifiers.RSA_PSS_USING_SHA512)
+            .filter(AlgorithmFactoryFactory.getInstance().getJwsAlgorithmFactory()::isAvailable)
+            .collect(Collectors.toList());
+
+    private final LoadingCache<String, Optional<JsonWebKeySet>> defaultJsonWebKeystoreCache;
+    private final LoadingCache<OidcRegisteredService, Optional<PublicJsonWebKey>> serviceJsonWebKeystoreCache;
 
     private final String issuer;
 
-    public OidcIdTokenSigningAndEncryptionService(final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache,
-                                                  final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache,
+    public OidcIdTokenSigningAndEncryptionService(final LoadingCache<String, Optional<JsonWebKeySet>> defaultJsonWebKeystoreCache,
+                                                  final LoadingCache<OidcRegisteredService, Optional<PublicJsonWebKey>> serviceJsonWebKeystoreCache,
                                                   final String issuer) {
         this.defaultJsonWebKeystoreCache = defaultJsonWebKeystoreCache;
         this.serviceJsonWebKeystoreCache = serviceJsonWebKeystoreCache;
@@ -76,13 +97,13 @@ public class OidcIdTokenSigningAndEncryptionService {
         jwe.setAlgorithmHeaderValue(svc.getIdTokenEncryptionAlg());
         jwe.setEncryptionMethodHeaderParameter(svc.getIdTokenEncryptionEncoding());
 
-        final Optional<RsaJsonWebKey> jwks = this.serviceJsonWebKeystoreCache.get(svc);
+        final Optional<PublicJsonWebKey> jwks = this.serviceJsonWebKeystoreCache.get(svc);
         if (!jwks.isPresent()) {
             throw new IllegalArgumentException("Service " + svc.getServiceId()
                     + " with client id " + svc.getClientId()
                     + " is configured to encrypt id tokens, yet no JSON web key is available");
         }
-        final RsaJsonWebKey jsonWebKey = jwks.get();
+        final PublicJsonWebKey jsonWebKey = jwks.get();
         LOGGER.debug("Found JSON web key to encrypt the id token: [{}]", jsonWebKey);
         if (jsonWebKey.getPublicKey() == null) {
             throw new IllegalArgumentException("JSON web key used to sign the id token has no associated public key");
@@ -96,13 +117,7 @@ public class OidcIdTokenSigningAndEncryptionService {
     }
 
     private String signIdToken(final OidcRegisteredService svc, final JsonWebSignature jws) throws Exception {
-        final Optional<RsaJsonWebKey> jwks = defaultJsonWebKeystoreCache.get(this.issuer);
-        if (!jwks.isPresent()) {
-            throw new IllegalArgumentException("Service " + svc.getServiceId()
-                    + " with client id " + svc.getClientId()
-                    + " is configured to sign id tokens, yet no JSON web key is available");
-        }
-        final RsaJsonWebKey jsonWebKey = jwks.get();
+        final PublicJsonWebKey jsonWebKey = getSigningKey(svc);
         LOGGER.debug("Found JSON web key to sign the id token: [{}]", jsonWebKey);
         if (jsonWebKey.getPrivateKey() == null) {
             throw new IllegalArgumentException("JSON web key used to sign the id token has no associated private key");
@@ -112,7 +127,7 @@ public class OidcIdTokenSigningAndEncryptionService {
     }
 
     private void prepareJsonWebSignatureForIdTokenSigning(final OidcRegisteredService svc, final JsonWebSignature jws,
-                                                          final RsaJsonWebKey jsonWebKey) {
+                                                          final PublicJsonWebKey jsonWebKey) {
         LOGGER.debug("Service [{}] is set to sign id tokens", svc);
 
         jws.setKey(jsonWebKey.getPrivateKey());
@@ -123,12 +138,102 @@ public class OidcIdTokenSigningAndEncryptionService {
             jws.setKeyIdHeaderValue(jsonWebKey.getKeyId());
         }
         LOGGER.debug("Signing id token with key id header value [{}]", jws.getKeyIdHeaderValue());
-        jws.setAlgorithmHeaderValue(getJsonWebKeySigningAlgorithm());
+        jws.setAlgorithmHeaderValue(getJsonWebKeySigningAlgorithm(svc, jsonWebKey));
 
         LOGGER.debug("Signing id token with algorithm [{}]", jws.getAlgorithmHeaderValue());
     }
 
-    public String getJsonWebKeySigningAlgorithm() {
+    /**
+     * Gets the algorithm used to sign id tokens for the given service.
+     * This is the algorithm defined by the service, or the algorithm that
+     * matches the first signing key of the default keystore.
+     *
+     * @param svc the service
+     * @return the signing algorithm
+     */
+    public String getJsonWebKeySigningAlgorithm(final OidcRegisteredService svc) {
+        if (StringUtils.isNotBlank(svc.getIdTokenSigningAlg())) {
+            return svc.getIdTokenSigningAlg();
+        }
+        final Optional<JsonWebKeySet> jwks = this.defaultJsonWebKeystoreCache.get(this.issuer);
+        if (!jwks.isPresent() || jwks.get().getJsonWebKeys().isEmpty()) {
+            return AlgorithmIdentifiers.RSA_USING_SHA256;
+        }
+        return getDefaultSigningAlgorithm((PublicJsonWebKey) jwks.get().getJsonWebKeys().get(0));
+    }
+
+    private static String getJsonWebKeySigningAlgorithm(final OidcRegisteredService svc, final PublicJsonWebKey jsonWebKey) {
+        if (StringUtils.isNotBlank(svc.getIdTokenSigningAlg())) {
+            return svc.getIdTokenSigningAlg();
+        }
+        return getDefaultSigningAlgorithm(jsonWebKey);
+    }
+
+    /**
+     * Locate the key in the default keystore that is able to produce
+     * signatures with the algorithm of the given service.
+     */
+    private PublicJsonWebKey getSigningKey(final OidcRegisteredService svc) {
+        final Optional<JsonWebKeySet> jwks = this.defaultJsonWebKeystoreCache.get(this.issuer);
+        if (!jwks.isPresent() || jwks.get().getJsonWebKeys().isEmpty()) {
+            throw new IllegalArgumentException("Service " + svc.getServiceId()
+                    + " with client id " + svc.getClientId()
+                    + " is configured to sign id tokens, yet no JSON web key is available");
+        }
+        final String algorithm = svc.getIdTokenSigningAlg();
+        return jwks.get().getJsonWebKeys()
+                .stream()
+                .map(PublicJsonWebKey.class::cast)
+                .filter(key -> StringUtils.isBlank(algorithm) || isKeyCompatibleWithAlgorithm(key, algorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Service " + svc.getServiceId()
+                        + " with client id " + svc.getClientId()
+                        + " is configured to sign id tokens using " + algorithm
+                        + ", yet no JSON web key for that algorithm is available"));
+    }
+
+    private static boolean isKeyCompatibleWithAlgorithm(final PublicJsonWebKey key, final String algorithm) {
+        if (key instanceof RsaJsonWebKey) {
+            return RSA_SIGNING_ALGORITHMS.contains(algorithm);
+        }
+        if (key instanceof EllipticCurveJsonWebKey) {
+            return algorithm.equals(getDefaultSigningAlgorithm(key));
+        }
+        return false;
+    }
+
+    private static String getDefaultSigningAlgorithm(final PublicJsonWebKey key) {
+        if (key instanceof EllipticCurveJsonWebKey) {
+            final String curve = ((EllipticCurveJsonWebKey) key).getCurveName();
+            if (EllipticCurves.P_384.equals(curve)) {
+                return AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384;
+            }
+            if (EllipticCurves.P_521.equals(curve)) {
+                return AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512;
+            }
+            return AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256;
+        }
+        if (StringUtils.isNotBlank(key.getAlgorithm()) && RSA_SIGNING_ALGORITHMS.contains(key.getAlgorithm())) {
+            return key.getAlgorithm();
+        }
         return AlgorithmIdentifiers.RSA_USING_SHA256;
     }
+
+    /**
+     * Gets the signing algorithms supported by the keys of the default keystore.
+     *
+     * @return the signing algorithms
+     */
+    public List<String> getSupportedSigningAlgorithms() {
+        final Optional<JsonWebKeySet> jwks = this.defaultJsonWebKeystoreCache.get(this.issuer);
+        if (!jwks.isPresent()) {
+            return new ArrayList<>(0);
+        }
+        return jwks.get().getJsonWebKeys()
+                .stream()
+                .map(PublicJsonWebKey.class::cast)
+                .flatMap(key -> key instanceof RsaJsonWebKey ? RSA_SIGNING_ALGORITHMS.stream() : Stream.of(getDefaultSigningAlgorithm(key)))
+                .distinct()
+                .collect(Collectors.toList());
+    }
 }
@@ -19,6 +19,7 @@ import org.apereo.cas.support.oauth.validator.OAuth20Validator;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
@@ -48,6 +49,7 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcIntrospectionEndpointController.class);
 
     private final CentralAuthenticationService centralAuthenticationService;
+    private final OAuthJwtAccessTokenCodec jwtAccessTokenCodec;
 
     public OidcIntrospectionEndpointController(final ServicesManager servicesManager,
                                                final TicketRegistry ticketRegistry,
@@ -58,11 +60,13 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
                                                final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                                final CasConfigurationProperties casProperties,
                                                final CookieRetrievingCookieGenerator cookieGenerator,
-                                               final CentralAuthenticationService centralAuthenticationService) {
+                                               final CentralAuthenticationService centralAuthenticationService,
+                                               final OAuthJwtAccessTokenCodec jwtAccessTokenCodec) {
         super(servicesManager, ticketRegistry, validator, accessTokenFactory, principalFactory,
                 webApplicationServiceServiceFactory,
                 scopeToAttributesFilter, casProperties, cookieGenerator);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.jwtAccessTokenCodec = jwtAccessTokenCodec;
     }
 
     /**
@@ -106,7 +110,7 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
                     && this.validator.checkParameterExist(request, OAuth20Constants.ACCESS_TOKEN)
                     && this.validator.checkClientSecret(service, credentials.getPassword())) {
                 final String accessToken = request.getParameter(OAuth20Constants.ACCESS_TOKEN);
-                final AccessToken ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
+                final AccessToken ticket = getAccessToken(accessToken);
                 if (ticket != null) {
                     final OidcIntrospectionAccessTokenResponse introspect = new OidcIntrospectionAccessTokenResponse();
                     introspect.setActive(true);
@@ -142,4 +146,11 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
         }
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    private AccessToken getAccessToken(final String accessToken) {
+        if (this.jwtAccessTokenCodec != null && OAuthJwtAccessTokenCodec.isJwtAccessToken(accessToken)) {
+            return this.jwtAccessTokenCodec.decode(accessToken).orElse(null);
+        }
+        return this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
+    }
 }
@@ -1,14 +1,13 @@
 package org.apereo.cas.oidc.web.controllers;
 
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.oidc.OidcConstants;
-import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.oidc.jwks.OidcPublicJsonWebKeystoreCache;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.validator.OAuth20Validator;
@@ -16,27 +15,25 @@ import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
-import org.jooq.lambda.Unchecked;
-import org.jose4j.jwk.JsonWebKey;
-import org.jose4j.jwk.JsonWebKeySet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
-import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link OidcJwksEndpointController}.
+ * Serves the public keys held by {@link OidcPublicJsonWebKeystoreCache}, along with an entity tag
+ * so that relying parties polling the endpoint receive a {@code 304} response when the keys have not changed.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -44,10 +41,7 @@ import java.nio.charset.StandardCharsets;
 public class OidcJwksEndpointController extends BaseOAuth20Controller {
     private static final Logger LOGGER = LoggerFactory.getLogger(OidcJwksEndpointController.class);
 
-    @Autowired
-    private ResourceLoader resourceLoader;
-
-    private final Resource jwksFile;
+    private final OidcPublicJsonWebKeystoreCache publicJsonWebKeystoreCache;
 
     public OidcJwksEndpointController(final ServicesManager servicesManager,
                                       final TicketRegistry ticketRegistry,
@@ -57,11 +51,12 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
                                       final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
                                       final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                       final CasConfigurationProperties casProperties,
-                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator) {
+                                      final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
+                                      final OidcPublicJsonWebKeystoreCache publicJsonWebKeystoreCache) {
         super(servicesManager, ticketRegistry, validator, accessTokenFactory, principalFactory,
                 webApplicationServiceServiceFactory, scopeToAttributesFilter, 
                 casProperties, ticketGrantingTicketCookieGenerator);
-        this.jwksFile = casProperties.getAuthn().getOidc().getJwksFile();
+        this.publicJsonWebKeystoreCache = publicJsonWebKeystoreCache;
     }
 
     /**
@@ -77,29 +72,36 @@ public class OidcJwksEndpointController extends BaseOAuth20Controller {
     public ResponseEntity<String> handleRequestInternal(final HttpServletRequest request,
                                                         final HttpServletResponse response,
                                                         final Model model) throws Exception {
-
-        Assert.notNull(this.jwksFile, "JWKS file cannot be undefined or null.");
-
         try {
-            final String jsonJwks = IOUtils.toString(this.jwksFile.getInputStream(), StandardCharsets.UTF_8);
-            final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(jsonJwks);
+            final OidcPublicJsonWebKeystoreCache.PublicJsonWebKeystore keystore = this.publicJsonWebKeystoreCache.get();
+            final CacheControl cacheControl = CacheControl.maxAge(
+                    casProperties.getAuthn().getOidc().getJwksCacheControlMaxAgeInSeconds(), TimeUnit.SECONDS).cachePublic();
 
-            this.servicesManager.getAllServices()
-                    .stream()
-                    .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
-                    .forEach(
-                            Unchecked.consumer(s -> {
-                                final OidcRegisteredService service = (OidcRegisteredService) s;
-                                final Resource resource = this.resourceLoader.getResource(service.getJwks());
-                                final JsonWebKeySet set = new JsonWebKeySet(IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8));
-                                set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
-                            }));
-            final String body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            return new ResponseEntity<>(body, HttpStatus.OK);
+            final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (isNotModified(ifNoneMatch, keystore.getEntityTag())) {
+                LOGGER.trace("JSON web keystore has not changed since [{}] was issued", ifNoneMatch);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(keystore.getEntityTag())
+                        .cacheControl(cacheControl)
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(keystore.getEntityTag())
+                    .cacheControl(cacheControl)
+                    .body(keystore.getBody());
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    private static boolean isNotModified(final String ifNoneMatch, final String entityTag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(StringUtils.split(ifNoneMatch, ','))
+                .map(String::trim)
+                .anyMatch(tag -> "*".equals(tag) || tag.equals(entityTag) || tag.equals("W/" + entityTag));
+    }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.support.oauth.validator.OAuth20Validator;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20UserProfileControllerController;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCodec;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.springframework.http.MediaType;
@@ -41,10 +42,11 @@ public class OidcProfileEndpointController extends OAuth20UserProfileControllerC
                                          final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory,
                                          final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                          final CasConfigurationProperties casProperties,
-                                         final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator) {
+                                         final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
+                                         final OAuthJwtAccessTokenCodec jwtAccessTokenCodec) {
         super(servicesManager, ticketRegistry, validator, accessTokenFactory,
                 principalFactory, webApplicationServiceServiceFactory,
-                scopeToAttributesFilter, casProperties, ticketGrantingTicketCookieGenerator);
+                scopeToAttributesFilter, casProperties, ticketGrantingTicketCookieGenerator, jwtAccessTokenCodec);
     }
 
     @GetMapping(value = '/' + OidcConstants.BASE_OIDC_URL + '/' + OAuth20Constants.PROFILE_URL, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,93 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.jose4j.jwk.EcJwkGenerator;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.keys.EllipticCurves;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcPublicJsonWebKeystoreCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OidcPublicJsonWebKeystoreCacheTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File jwksFile;
+    private File serviceJwksFile;
+    private ServicesManager servicesManager;
+    private OidcPublicJsonWebKeystoreCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        this.jwksFile = writeKeystore(folder.newFile("keystore.jwks"), "cas");
+        this.serviceJwksFile = writeKeystore(folder.newFile("service.jwks"), "service");
+
+        this.servicesManager = mock(ServicesManager.class);
+        when(this.servicesManager.getAllServices()).thenReturn(new ArrayList<>());
+        this.cache = new OidcPublicJsonWebKeystoreCache(new FileSystemResource(this.jwksFile), this.servicesManager,
+                new DefaultResourceLoader(), TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    public void verifyKeystoreIsReusedUntilChanged() throws Exception {
+        final OidcPublicJsonWebKeystoreCache.PublicJsonWebKeystore keystore = this.cache.get();
+        assertSame(keystore, this.cache.get());
+        assertTrue(keystore.getBody().contains("\"kid\":\"cas\""));
+        assertFalse(keystore.getBody().contains("\"d\""));
+        verify(this.servicesManager, times(1)).getAllServices();
+
+        writeKeystore(this.jwksFile, "rotated");
+        assertTrue(this.jwksFile.setLastModified(this.jwksFile.lastModified() + TimeUnit.SECONDS.toMillis(5)));
+        final OidcPublicJsonWebKeystoreCache.PublicJsonWebKeystore rotated = this.cache.get();
+        assertNotSame(keystore, rotated);
+        assertNotEquals(keystore.getEntityTag(), rotated.getEntityTag());
+        assertTrue(rotated.getBody().contains("\"kid\":\"rotated\""));
+    }
+
+    @Test
+    public void verifyKeystoreRebuiltWhenServiceSaved() throws Exception {
+        final OidcPublicJsonWebKeystoreCache.PublicJsonWebKeystore keystore = this.cache.get();
+
+        final OidcRegisteredService service = new OidcRegisteredService();
+        service.setJwks("file:" + this.serviceJwksFile.getCanonicalPath());
+        final Collection<RegisteredService> services = new ArrayList<>();
+        services.add(service);
+        when(this.servicesManager.getAllServices()).thenReturn(services);
+        this.cache.handleRegisteredServiceSavedEvent(new CasRegisteredServiceSavedEvent(this, service));
+
+        final OidcPublicJsonWebKeystoreCache.PublicJsonWebKeystore rebuilt = this.cache.get();
+        assertNotSame(keystore, rebuilt);
+        assertTrue(rebuilt.getBody().contains("\"kid\":\"cas\""));
+        assertTrue(rebuilt.getBody().contains("\"kid\":\"service\""));
+    }
+
+    private static File writeKeystore(final File file, final String keyId) throws Exception {
+        final JsonWebKey key = EcJwkGenerator.generateJwk(EllipticCurves.P256);
+        key.setKeyId(keyId);
+        FileUtils.write(file, new JsonWebKeySet(key).toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE), StandardCharsets.UTF_8);
+        return file;
+    }
+}
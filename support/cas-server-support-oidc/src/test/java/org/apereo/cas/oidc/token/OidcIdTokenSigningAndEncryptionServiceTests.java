@@ -0,0 +1,129 @@
+package org.apereo.cas.oidc.token;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.jose4j.jwk.EcJwkGenerator;
+import org.jose4j.jwk.EllipticCurveJsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.EllipticCurves;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcIdTokenSigningAndEncryptionServiceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OidcIdTokenSigningAndEncryptionServiceTests {
+    private static final String ISSUER = "https://sso.example.org/cas/oidc";
+
+    private EllipticCurveJsonWebKey ecKey;
+    private RsaJsonWebKey rsaKey;
+
+    @Before
+    public void setUp() throws Exception {
+        this.ecKey = EcJwkGenerator.generateJwk(EllipticCurves.P256);
+        this.ecKey.setKeyId("ec");
+        this.rsaKey = RsaJwkGenerator.generateJwk(2048);
+        this.rsaKey.setKeyId("rsa");
+    }
+
+    @Test
+    public void verifyDefaultAlgorithmFollowsKeyType() throws Exception {
+        final OidcIdTokenSigningAndEncryptionService service = buildService(new JsonWebKeySet(this.ecKey, this.rsaKey));
+        final OidcRegisteredService svc = getOidcRegisteredService(null);
+        assertEquals(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256, service.getJsonWebKeySigningAlgorithm(svc));
+
+        final JsonWebSignature jws = verifySignature(service.encode(svc, getClaims()), this.ecKey);
+        assertEquals(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256, jws.getAlgorithmHeaderValue());
+        assertEquals("ec", jws.getKeyIdHeaderValue());
+    }
+
+    @Test
+    public void verifyServiceAlgorithmSelectsMatchingKey() throws Exception {
+        final OidcIdTokenSigningAndEncryptionService service = buildService(new JsonWebKeySet(this.ecKey, this.rsaKey));
+        final OidcRegisteredService svc = getOidcRegisteredService(AlgorithmIdentifiers.RSA_USING_SHA256);
+
+        final JsonWebSignature jws = verifySignature(service.encode(svc, getClaims()), this.rsaKey);
+        assertEquals(AlgorithmIdentifiers.RSA_USING_SHA256, jws.getAlgorithmHeaderValue());
+        assertEquals("rsa", jws.getKeyIdHeaderValue());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void verifyServiceAlgorithmWithoutMatchingKey() throws Exception {
+        final OidcIdTokenSigningAndEncryptionService service = buildService(new JsonWebKeySet(this.ecKey));
+        service.encode(getOidcRegisteredService(AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384), getClaims());
+    }
+
+    @Test
+    public void verifySupportedSigningAlgorithms() throws Exception {
+        final OidcIdTokenSigningAndEncryptionService service = buildService(new JsonWebKeySet(this.ecKey, this.rsaKey));
+        final List<String> algs = service.getSupportedSigningAlgorithms();
+        assertTrue(algs.contains(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256));
+        assertTrue(algs.contains(AlgorithmIdentifiers.RSA_USING_SHA256));
+        assertFalse(algs.contains(AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384));
+    }
+
+    @Test
+    public void verifyPssAlgorithmsRequireProviderSupport() throws Exception {
+        final OidcIdTokenSigningAndEncryptionService service = buildService(new JsonWebKeySet(this.rsaKey));
+        final List<String> algs = service.getSupportedSigningAlgorithms();
+        assertEquals(isPssSupported(), algs.contains(AlgorithmIdentifiers.RSA_PSS_USING_SHA256));
+        assertTrue(algs.contains(AlgorithmIdentifiers.RSA_USING_SHA512));
+    }
+
+    private static boolean isPssSupported() {
+        try {
+            Signature.getInstance("SHA256withRSAandMGF1");
+            return true;
+        } catch (final NoSuchAlgorithmException e) {
+            return false;
+        }
+    }
+
+    private static OidcIdTokenSigningAndEncryptionService buildService(final JsonWebKeySet jwks) {
+        final LoadingCache<String, Optional<JsonWebKeySet>> defaultCache = Caffeine.newBuilder().build(issuer -> Optional.of(jwks));
+        final LoadingCache<OidcRegisteredService, Optional<PublicJsonWebKey>> serviceCache =
+                Caffeine.newBuilder().build(svc -> Optional.empty());
+        return new OidcIdTokenSigningAndEncryptionService(defaultCache, serviceCache, ISSUER);
+    }
+
+    private static JsonWebSignature verifySignature(final String token, final PublicJsonWebKey key) throws Exception {
+        final JsonWebSignature jws = new JsonWebSignature();
+        jws.setCompactSerialization(token);
+        jws.setKey(key.getPublicKey());
+        assertTrue(jws.verifySignature());
+        return jws;
+    }
+
+    private static OidcRegisteredService getOidcRegisteredService(final String signingAlg) {
+        final OidcRegisteredService svc = new OidcRegisteredService();
+        svc.setClientId("client");
+        svc.setServiceId("https://oidc.example.org");
+        svc.setSignIdToken(true);
+        svc.setIdTokenSigningAlg(signingAlg);
+        return svc;
+    }
+
+    private static JwtClaims getClaims() {
+        final JwtClaims claims = new JwtClaims();
+        claims.setIssuer(ISSUER);
+        claims.setSubject("casuser");
+        return claims;
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.config;
 
+import com.codahale.metrics.MetricRegistry;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.io.IOUtils;
@@ -7,9 +8,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.resolvers.InternalGroovyScriptDao;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.authentication.GrouperPrincipalAttributesProperties;
+import org.apereo.cas.configuration.model.core.authentication.ParallelPrincipalAttributesProperties;
 import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.persondir.support.ParallelPersonAttributeDao;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.services.persondir.IPersonAttributeDao;
@@ -47,6 +50,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -66,6 +70,9 @@ public class CasPersonDirectoryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired(required = false)
+    private MetricRegistry metricRegistry;
+
     @ConditionalOnMissingBean(name = "attributeRepositories")
     @Bean
     @RefreshScope
@@ -319,20 +326,28 @@ public class CasPersonDirectoryConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        final MergingPersonAttributeDaoImpl mergingDao = new MergingPersonAttributeDaoImpl();
         final String merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace".trim());
         LOGGER.debug("Configured merging strategy for attribute sources is [{}]", merger);
-        mergingDao.setMerger(getAttributeMerger(merger));
 
         final List<IPersonAttributeDao> list = attributeRepositories();
-        mergingDao.setPersonAttributeDaos(list);
-
         if (list.isEmpty()) {
             LOGGER.debug("No attribute repository sources are available/defined to merge together.");
         } else {
             LOGGER.debug("Configured attribute repository sources to merge together: [{}]", list);
         }
 
+        final ParallelPrincipalAttributesProperties parallel = casProperties.getAuthn().getAttributeRepository().getParallel();
+        if (parallel.isEnabled()) {
+            LOGGER.debug("Attribute repository sources will be queried concurrently, each within [{}] ms", parallel.getTimeoutInMillis());
+            return new ParallelPersonAttributeDao(list, getAttributeMerger(merger),
+                    Executors.newFixedThreadPool(parallel.getThreads()),
+                    parallel.getTimeoutInMillis(), parallel.getFailureThreshold(),
+                    parallel.getResetTimeoutInMillis(), this.metricRegistry);
+        }
+
+        final MergingPersonAttributeDaoImpl mergingDao = new MergingPersonAttributeDaoImpl();
+        mergingDao.setMerger(getAttributeMerger(merger));
+        mergingDao.setPersonAttributeDaos(list);
         return mergingDao;
     }
 
@@ -0,0 +1,243 @@
+package org.apereo.cas.persondir.support;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.NamedPersonImpl;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * This is {@link ParallelPersonAttributeDao} that queries its attribute repository sources concurrently,
+ * and merges their results in the order of the sources once they are all available.
+ * <p>Each source is allowed a fixed amount of time to produce results; sources that fail or take longer
+ * contribute nothing to the final result. A source that fails a number of consecutive times is no longer
+ * queried until its circuit is reset, so that an unavailable source does not hold up every authentication attempt.
+ * The time taken by each source is recorded in the metric registry, if one is available.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ParallelPersonAttributeDao extends BasePersonAttributeDao implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelPersonAttributeDao.class);
+
+    private final List<Source> sources;
+    private final IAttributeMerger merger;
+    private final ExecutorService executorService;
+    private final long timeoutInMillis;
+
+    /**
+     * Instantiates a new dao. The executor service is owned by this dao, and is shut down once the dao is destroyed.
+     *
+     * @param personAttributeDaos  the attribute repository sources, in the order their results are merged
+     * @param merger               the merger
+     * @param executorService      the executor service
+     * @param timeoutInMillis      the time each source is allowed to produce results
+     * @param failureThreshold     the number of consecutive failures after which a source is no longer queried
+     * @param resetTimeoutInMillis the time after which a source that is no longer queried is tried again
+     * @param metricRegistry       the metric registry, or null
+     */
+    public ParallelPersonAttributeDao(final List<IPersonAttributeDao> personAttributeDaos,
+                                      final IAttributeMerger merger,
+                                      final ExecutorService executorService,
+                                      final long timeoutInMillis,
+                                      final int failureThreshold,
+                                      final long resetTimeoutInMillis,
+                                      final MetricRegistry metricRegistry) {
+        this.merger = merger;
+        this.executorService = executorService;
+        this.timeoutInMillis = timeoutInMillis;
+        this.sources = new ArrayList<>(personAttributeDaos.size());
+        for (int i = 0; i < personAttributeDaos.size(); i++) {
+            final IPersonAttributeDao dao = personAttributeDaos.get(i);
+            final String name = i + "-" + dao.getClass().getSimpleName();
+            final Timer timer = metricRegistry == null
+                    ? null
+                    : metricRegistry.timer(MetricRegistry.name(ParallelPersonAttributeDao.class, name));
+            this.sources.add(new Source(name, dao, timer, failureThreshold, resetTimeoutInMillis));
+        }
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        final Map<String, List<Object>> attributes = queryInParallel(dao -> {
+            final IPersonAttributes person = dao.getPerson(uid);
+            return person == null ? null : person.getAttributes();
+        }, this.merger::mergeAttributes, LinkedHashMap::new);
+        return attributes == null ? null : new NamedPersonImpl(uid, attributes);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query) {
+        final Map<String, List<Object>> multivaluedQuery = new LinkedHashMap<>(query.size());
+        query.forEach((name, value) -> multivaluedQuery.put(name, new ArrayList<>(CollectionUtils.toCollection(value))));
+        return getPeopleWithMultivaluedAttributes(multivaluedQuery);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        return queryInParallel(dao -> dao.getPeopleWithMultivaluedAttributes(query), this.merger::mergeResults, LinkedHashSet::new);
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        return collect(IPersonAttributeDao::getPossibleUserAttributeNames);
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        return collect(IPersonAttributeDao::getAvailableQueryAttributes);
+    }
+
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Submit the query to every source whose circuit is closed, and merge the results
+     * of the sources that respond in time, in the order of the sources.
+     */
+    private <T> T queryInParallel(final Function<IPersonAttributeDao, T> query, final BinaryOperator<T> merge,
+                                  final Function<T, T> copy) {
+        final Map<Source, Future<T>> futures = new LinkedHashMap<>(this.sources.size());
+        this.sources.stream()
+                .filter(Source::isAvailable)
+                .forEach(source -> futures.put(source, this.executorService.submit(source.call(query))));
+
+        final long deadline = System.currentTimeMillis() + this.timeoutInMillis;
+        T result = null;
+        for (final Map.Entry<Source, Future<T>> entry : futures.entrySet()) {
+            final Source source = entry.getKey();
+            try {
+                final long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                final T value = entry.getValue().get(remaining, TimeUnit.MILLISECONDS);
+                source.recordSuccess();
+                if (value != null) {
+                    result = result == null ? copy.apply(value) : merge.apply(result, value);
+                }
+            } catch (final TimeoutException e) {
+                entry.getValue().cancel(true);
+                source.recordFailure();
+                LOGGER.warn("Attribute repository source [{}] did not respond within [{}] ms", source, this.timeoutInMillis);
+            } catch (final ExecutionException e) {
+                source.recordFailure();
+                LOGGER.warn("Attribute repository source [{}] failed to produce results: [{}]", source, e.getCause().getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting on attribute repository sources");
+                futures.values().forEach(future -> future.cancel(true));
+                break;
+            }
+        }
+        return result;
+    }
+
+    private Set<String> collect(final Function<IPersonAttributeDao, Set<String>> function) {
+        final Set<String> names = new LinkedHashSet<>();
+        this.sources.forEach(source -> {
+            final Set<String> values = function.apply(source.getDao());
+            if (values != null) {
+                names.addAll(values);
+            }
+        });
+        return names;
+    }
+
+    /**
+     * An attribute repository source along with its circuit breaker and timer.
+     */
+    private static class Source {
+        private final String name;
+        private final IPersonAttributeDao dao;
+        private final Timer timer;
+        private final int failureThreshold;
+        private final long resetTimeoutInMillis;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong openedAt = new AtomicLong();
+
+        Source(final String name, final IPersonAttributeDao dao, final Timer timer,
+               final int failureThreshold, final long resetTimeoutInMillis) {
+            this.name = name;
+            this.dao = dao;
+            this.timer = timer;
+            this.failureThreshold = failureThreshold;
+            this.resetTimeoutInMillis = resetTimeoutInMillis;
+        }
+
+        IPersonAttributeDao getDao() {
+            return this.dao;
+        }
+
+        /**
+         * The circuit is closed while the source fails less often than the threshold allows.
+         * Once open, a single attempt is let through after the reset timeout; its outcome
+         * decides whether the circuit is closed again.
+         */
+        boolean isAvailable() {
+            if (this.failureThreshold <= 0 || this.failures.get() < this.failureThreshold) {
+                return true;
+            }
+            final long opened = this.openedAt.get();
+            final long now = System.currentTimeMillis();
+            if (now - opened >= this.resetTimeoutInMillis && this.openedAt.compareAndSet(opened, now)) {
+                LOGGER.debug("Attempting to query attribute repository source [{}] again", this.name);
+                return true;
+            }
+            LOGGER.debug("Skipping attribute repository source [{}] after [{}] consecutive failures", this.name, this.failures.get());
+            return false;
+        }
+
+        void recordSuccess() {
+            this.failures.set(0);
+        }
+
+        void recordFailure() {
+            if (this.failures.incrementAndGet() == this.failureThreshold) {
+                this.openedAt.set(System.currentTimeMillis());
+                LOGGER.warn("Attribute repository source [{}] will be skipped for [{}] ms", this.name, this.resetTimeoutInMillis);
+            }
+        }
+
+        <T> Callable<T> call(final Function<IPersonAttributeDao, T> query) {
+            return () -> {
+                final Timer.Context context = this.timer == null ? null : this.timer.time();
+                try {
+                    return query.apply(this.dao);
+                } finally {
+                    if (context != null) {
+                        context.stop();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.apereo.cas.persondir.support;
+
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParallelPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class ParallelPersonAttributeDaoTests {
+    private ParallelPersonAttributeDao dao;
+
+    @After
+    public void tearDown() {
+        if (this.dao != null) {
+            this.dao.destroy();
+        }
+    }
+
+    @Test
+    public void verifyResultsAreMergedInSourceOrder() {
+        final List<IPersonAttributeDao> sources = new ArrayList<>();
+        sources.add(new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrap("first"))));
+        sources.add(new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrap("second"),
+                "mail", CollectionUtils.wrap("casuser@example.org"))));
+        this.dao = newDao(sources, 1000, 3);
+
+        final IPersonAttributes person = this.dao.getPerson("casuser");
+        assertNotNull(person);
+        assertEquals("second", person.getAttributeValue("name"));
+        assertEquals("casuser@example.org", person.getAttributeValue("mail"));
+    }
+
+    @Test
+    public void verifySlowSourceIsSkipped() {
+        final List<IPersonAttributeDao> sources = new ArrayList<>();
+        sources.add(new StubPersonAttributeDao(CollectionUtils.wrap("mail", CollectionUtils.wrap("casuser@example.org"))) {
+            @Override
+            public IPersonAttributes getPerson(final String uid) {
+                try {
+                    Thread.sleep(5000);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getPerson(uid);
+            }
+        });
+        sources.add(new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrap("casuser"))));
+        this.dao = newDao(sources, 200, 3);
+
+        final long start = System.currentTimeMillis();
+        final IPersonAttributes person = this.dao.getPerson("casuser");
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertNotNull(person);
+        assertEquals("casuser", person.getAttributeValue("name"));
+        assertNull(person.getAttributeValue("mail"));
+    }
+
+    @Test
+    public void verifyFailingSourceIsNoLongerQueried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<IPersonAttributeDao> sources = new ArrayList<>();
+        sources.add(new StubPersonAttributeDao(CollectionUtils.wrap("name", CollectionUtils.wrap("casuser"))) {
+            @Override
+            public IPersonAttributes getPerson(final String uid) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("Source is unavailable");
+            }
+        });
+        this.dao = newDao(sources, 1000, 2);
+
+        for (int i = 0; i < 4; i++) {
+            assertNull(this.dao.getPerson("casuser"));
+        }
+        assertEquals(2, attempts.get());
+    }
+
+    private static ParallelPersonAttributeDao newDao(final List<IPersonAttributeDao> sources, final long timeout,
+                                                     final int failureThreshold) {
+        return new ParallelPersonAttributeDao(sources, new ReplacingAttributeAdder(), Executors.newFixedThreadPool(2),
+                timeout, failureThreshold, 60000, null);
+    }
+}
@@ -1,19 +1,41 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.Assert;
 
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Tickets are enumerated with cursor-based {@code SCAN} commands and fetched in pipelined {@code MGET} batches.
+ * Ticket ids are also tracked in a sorted set per ticket type, scored by their expiration time,
+ * so that ticket counts can be computed without enumerating and decoding tickets. Ticket ids are stored
+ * in those sets as plain strings, so that members sharing a score are ordered by id.
  *
  * @author serv
  * @since 5.1.0
@@ -23,29 +45,46 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisTicketRegistry.class);
     
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
+    private static final String CAS_TICKET_TYPE_PREFIX = "CAS_TICKET_TYPE:";
     private static final String NO_REDIS_CLIENT_IS_DEFINED = "No redis client is defined.";
+    private static final int DEFAULT_SCAN_COUNT = 1000;
 
     @NotNull
     private final TicketRedisTemplate client;
 
+    private final StringRedisTemplate ticketTypes;
+
+    private final int scanCount;
+
     public RedisTicketRegistry(final TicketRedisTemplate client) {
+        this(client, DEFAULT_SCAN_COUNT);
+    }
+
+    public RedisTicketRegistry(final TicketRedisTemplate client, final int scanCount) {
         this.client = client;
+        this.ticketTypes = new StringRedisTemplate(client.getConnectionFactory());
+        this.scanCount = scanCount > 0 ? scanCount : DEFAULT_SCAN_COUNT;
     }
 
     @Override
     public long deleteAll() {
-        final Set<String> redisKeys = this.client.keys(getPatternTicketRedisKey());
-        final int size = redisKeys.size();
-        this.client.delete(redisKeys);
-        return size;
+        Assert.notNull(this.client, NO_REDIS_CLIENT_IS_DEFINED);
+        final List<String> redisKeys = scanKeys(getPatternTicketRedisKey());
+        partition(redisKeys).forEach(this.client::delete);
+        final List<String> typeKeys = scanKeys(CAS_TICKET_TYPE_PREFIX + '*');
+        if (!typeKeys.isEmpty()) {
+            this.client.delete(typeKeys);
+        }
+        return redisKeys.size();
     }
-    
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         Assert.notNull(this.client, NO_REDIS_CLIENT_IS_DEFINED);
         try {
             final String redisKey = getTicketRedisKey(ticketId);
             this.client.delete(redisKey);
+            getTicketTypeOperations().remove(getTicketTypeRedisKey(ticketId), ticketId);
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -63,6 +102,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             final Ticket encodeTicket = this.encodeTicket(ticket);
             this.client.boundValueOps(redisKey)
                     .set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            trackTicketType(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket);
         }
@@ -88,20 +128,115 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public Collection<Ticket> getTickets() {
         Assert.notNull(this.client, NO_REDIS_CLIENT_IS_DEFINED);
 
-        return this.client.keys(RedisTicketRegistry.getPatternTicketRedisKey()).stream()
-                .map(redisKey -> {
-                    final Ticket ticket = this.client.boundValueOps(redisKey).get();
-                    if (ticket == null) {
-                        this.client.delete(redisKey);
-                        return null;
-                    }
-                    return ticket;
-                })
-                .filter(Objects::nonNull)
+        final List<String> redisKeys = scanKeys(getPatternTicketRedisKey());
+        final RedisSerializer<String> keySerializer = getKeySerializer();
+        final List<Object> results = this.client.executePipelined((RedisCallback<Object>) connection -> {
+            partition(redisKeys).forEach(batch -> connection.mGet(batch.stream()
+                    .map(keySerializer::serialize)
+                    .toArray(byte[][]::new)));
+            return null;
+        });
+
+        return results.stream()
+                .filter(List.class::isInstance)
+                .flatMap(batch -> ((List<?>) batch).stream())
+                .filter(Ticket.class::isInstance)
+                .map(Ticket.class::cast)
                 .map(this::decodeTicket)
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Ticket ids are paged out of the sorted set that tracks each ticket type, and each page
+     * is fetched with a single {@code MGET}. Pages are read by score, after the score and id of the last
+     * member seen, so removing tickets while the stream is consumed never causes others to be skipped.
+     * Paging is otherwise weakly consistent: tickets added or updated meanwhile may or may not be observed,
+     * and an updated ticket may be observed twice.</p>
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream(final TicketDefinition definition, final int batchSize) {
+        Assert.notNull(this.client, NO_REDIS_CLIENT_IS_DEFINED);
+        if (definition == null) {
+            return scanKeys(CAS_TICKET_TYPE_PREFIX + '*').stream()
+                    .flatMap(typeKey -> streamTicketsOfType(typeKey, batchSize));
+        }
+        return streamTicketsOfType(CAS_TICKET_TYPE_PREFIX + definition.getPrefix(), batchSize);
+    }
+
+    private Stream<Ticket> streamTicketsOfType(final String typeKey, final int batchSize) {
+        pruneExpiredTicketIds(typeKey);
+        return new AbstractPagedTicketIterator(batchSize) {
+            private double lastScore;
+            private String lastId;
+            private int seenWithLastScore;
+
+            @Override
+            protected List<Ticket> fetchNextPage() {
+                while (true) {
+                    final List<String> ids = fetchNextIds();
+                    if (ids.isEmpty()) {
+                        return new ArrayList<>(0);
+                    }
+                    final List<String> keys = ids.stream().map(RedisTicketRegistry::getTicketRedisKey).collect(Collectors.toList());
+                    final List<Ticket> page = client.opsForValue().multiGet(keys)
+                            .stream()
+                            .filter(Objects::nonNull)
+                            .map(RedisTicketRegistry.this::decodeTicket)
+                            .collect(Collectors.toList());
+                    if (!page.isEmpty()) {
+                        return page;
+                    }
+                }
+            }
+
+            /**
+             * Members that share the last score seen are ordered by id, so the members up to and including
+             * the last id are fetched again and dropped, rather than skipped by rank. The window is widened
+             * if tickets added meanwhile with the same score fill it entirely.
+             */
+            private List<String> fetchNextIds() {
+                final List<String> ids = new ArrayList<>(this.pageSize);
+                long count = this.pageSize + this.seenWithLastScore;
+                while (true) {
+                    final Set<ZSetOperations.TypedTuple<String>> tuples = getTicketTypeOperations().rangeByScoreWithScores(typeKey,
+                            this.lastScore, Double.POSITIVE_INFINITY, 0, count);
+                    if (tuples == null || tuples.isEmpty()) {
+                        return ids;
+                    }
+                    for (final ZSetOperations.TypedTuple<String> tuple : tuples) {
+                        if (ids.size() == this.pageSize) {
+                            break;
+                        }
+                        final double score = tuple.getScore();
+                        final String id = tuple.getValue();
+                        final boolean sameScore = Double.compare(score, this.lastScore) == 0;
+                        if (this.lastId == null || !sameScore || id.compareTo(this.lastId) > 0) {
+                            this.seenWithLastScore = sameScore ? this.seenWithLastScore + 1 : 1;
+                            this.lastScore = score;
+                            this.lastId = id;
+                            ids.add(id);
+                        }
+                    }
+                    if (!ids.isEmpty() || tuples.size() < count) {
+                        return ids;
+                    }
+                    count += this.pageSize;
+                }
+            }
+        }.stream();
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.PREFIX, ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.PREFIX, ProxyTicket.PROXY_TICKET_PREFIX);
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         Assert.notNull(this.client, NO_REDIS_CLIENT_IS_DEFINED);
@@ -110,6 +245,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             final Ticket encodeTicket = this.encodeTicket(ticket);
             final String redisKey = RedisTicketRegistry.getTicketRedisKey(ticket.getId());
             this.client.boundValueOps(redisKey).set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            trackTicketType(ticket);
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket);
@@ -117,6 +253,97 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Count the tickets of the given types that are not yet expired.
+     * Members whose expiration time has passed are pruned from each type set before counting.
+     *
+     * @param types the ticket type prefixes
+     * @return the count, or {@link Long#MIN_VALUE} if unknown
+     */
+    private long countTickets(final String... types) {
+        Assert.notNull(this.client, NO_REDIS_CLIENT_IS_DEFINED);
+        try {
+            long count = 0;
+            for (final String type : types) {
+                final String key = CAS_TICKET_TYPE_PREFIX + type;
+                pruneExpiredTicketIds(key);
+                count += getTicketTypeOperations().zCard(key);
+            }
+            return count;
+        } catch (final Exception e) {
+            LOGGER.error("Failed to count tickets of types [{}]", (Object) types, e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Track the ticket id in the sorted set of its ticket type, scored by its expiration time.
+     *
+     * @param ticket the ticket
+     */
+    private void trackTicketType(final Ticket ticket) {
+        final String typeKey = getTicketTypeRedisKey(ticket.getId());
+        final long expiration = Instant.now().getEpochSecond() + getTimeout(ticket);
+        getTicketTypeOperations().add(typeKey, ticket.getId(), expiration);
+        pruneExpiredTicketIds(typeKey);
+    }
+
+    /**
+     * Remove the ids of tickets whose expiration time has passed from the sorted set of a ticket type.
+     * Redis expires the ticket keys themselves through their TTL, but not the members that track them.
+     *
+     * @param typeKey the sorted set of the ticket type
+     */
+    private void pruneExpiredTicketIds(final String typeKey) {
+        getTicketTypeOperations().removeRangeByScore(typeKey, 0, Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Collect keys matching the pattern using a cursor-based {@code SCAN}, which unlike {@code KEYS}
+     * does not block the redis server while walking the keyspace.
+     *
+     * @param pattern the pattern
+     * @return the keys
+     */
+    private List<String> scanKeys(final String pattern) {
+        final RedisSerializer<String> keySerializer = getKeySerializer();
+        return this.client.execute((RedisConnection connection) -> {
+            final List<String> keys = new ArrayList<>();
+            final ScanOptions options = ScanOptions.scanOptions().match(pattern).count(this.scanCount).build();
+            try (Cursor<byte[]> cursor = connection.scan(options)) {
+                while (cursor.hasNext()) {
+                    keys.add(keySerializer.deserialize(cursor.next()));
+                }
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close redis cursor for pattern [{}]: [{}]", pattern, e.getMessage());
+            }
+            return keys;
+        }, true);
+    }
+
+    private List<List<String>> partition(final List<String> keys) {
+        final List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += this.scanCount) {
+            batches.add(keys.subList(i, Math.min(i + this.scanCount, keys.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * The sorted sets that track ticket types hold ticket ids serialized as plain strings,
+     * which redis orders the same way as {@link String#compareTo(String)} for ticket ids.
+     *
+     * @return the sorted set operations
+     */
+    private ZSetOperations<String, String> getTicketTypeOperations() {
+        return this.ticketTypes.opsForZSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<String> getKeySerializer() {
+        return (RedisSerializer<String>) this.client.getKeySerializer();
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -136,6 +363,11 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + ticketId;
     }
 
+    // Sorted set tracking ticket ids of a given type, i.e. TGT, ST, PGT
+    private static String getTicketTypeRedisKey(final String ticketId) {
+        return CAS_TICKET_TYPE_PREFIX + StringUtils.substringBefore(ticketId, "-");
+    }
+
     // pattern all ticket redisKey
     private static String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + "*";
@@ -2,21 +2,37 @@ package org.apereo.cas.ticket.registry;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.TestPropertySource;
 import redis.embedded.RedisServer;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -31,6 +47,14 @@ import redis.embedded.RedisServer;
 @TestPropertySource(locations={"classpath:/redis.properties"})
 public class RedisTicketRegistryTests extends AbstractTicketRegistryTests {
 
+    @TestConfiguration
+    public static class TicketSerializerTestConfiguration {
+        @Bean
+        public TicketSerializer ticketSerializer() {
+            return new DefaultTicketSerializer();
+        }
+    }
+
     private static RedisServer REDIS_SERVER;
 
     @Autowired
@@ -61,4 +85,35 @@ public class RedisTicketRegistryTests extends AbstractTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() throws Exception {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketCountsByType() {
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-count",
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        final ServiceTicket st = tgt.grantServiceTicket("ST-count", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+        this.ticketRegistry.addTicket(st);
+        this.ticketRegistry.updateTicket(tgt);
+
+        assertEquals(1, this.ticketRegistry.sessionCount());
+        assertEquals(1, this.ticketRegistry.serviceTicketCount());
+        assertEquals(2, this.ticketRegistry.getTickets().size());
+
+        this.ticketRegistry.deleteTicket(tgt.getId());
+        assertEquals(0, this.ticketRegistry.sessionCount());
+        assertEquals(0, this.ticketRegistry.serviceTicketCount());
+    }
+
+    @Test
+    public void verifyTicketsWithSameExpirationAreStreamedInPages() {
+        final List<String> ids = Arrays.asList("TGT-9", "TGT-99", "TGT-100", "TGT-1000");
+        ids.forEach(id -> this.ticketRegistry.addTicket(new TicketGrantingTicketImpl(id,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy())));
+
+        final Set<String> streamed = this.ticketRegistry.getTicketsStream(null, 1)
+                .map(Ticket::getId)
+                .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(ids), streamed);
+    }
 }
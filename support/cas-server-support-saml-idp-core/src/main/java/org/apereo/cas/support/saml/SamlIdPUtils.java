@@ -5,6 +5,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.opensaml.core.criterion.EntityIdCriterion;
@@ -28,6 +29,7 @@ import org.opensaml.saml.saml2.metadata.impl.AssertionConsumerServiceBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -114,6 +116,31 @@ public final class SamlIdPUtils {
         }
     }
 
+    /**
+     * Gets the metadata resolver for the service provider entity id, located via the metadata index.
+     *
+     * @param index    the metadata index
+     * @param entityID the entity id
+     * @return the metadata resolver, which resolves nothing if no SAML service carries metadata for the entity id
+     */
+    public static MetadataResolver getMetadataResolverForAllSamlServices(final SamlRegisteredServiceMetadataIndex index,
+                                                                         final String entityID) {
+        final Optional<SamlRegisteredServiceServiceProviderMetadataFacade> facade = index.findMetadataFacade(entityID);
+        if (facade.isPresent()) {
+            return facade.get().getMetadataResolver();
+        }
+        try {
+            LOGGER.debug("No metadata resolvers could be located to match against [{}]", entityID);
+            final ChainingMetadataResolver chainingMetadataResolver = new ChainingMetadataResolver();
+            chainingMetadataResolver.setResolvers(new ArrayList<>(0));
+            chainingMetadataResolver.setId(entityID);
+            chainingMetadataResolver.initialize();
+            return chainingMetadataResolver;
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(new SamlException(e.getMessage(), e));
+        }
+    }
+
     /**
      * Gets assertion consumer service for.
      *
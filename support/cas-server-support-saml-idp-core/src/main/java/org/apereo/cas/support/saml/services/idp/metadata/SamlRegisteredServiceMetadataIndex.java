@@ -0,0 +1,197 @@
+package org.apereo.cas.support.saml.services.idp.metadata;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.RefreshableMetadataResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link SamlRegisteredServiceMetadataIndex}. It maintains an index of service provider
+ * entity ids to the SAML service and the metadata facade that were located for that entity id,
+ * so that repeated requests from the same service provider are answered with a hash lookup
+ * instead of asking every SAML service in the registry for its metadata.
+ * <p>Entries are populated when an entity id is first looked up, and are verified against
+ * the metadata resolver cache on every hit so refreshed or reloaded metadata is never served stale.
+ * The index is cleared whenever registered services are loaded, saved or deleted.</p>
+ * <p>Entity ids that no SAML service carries metadata for are remembered for a short while as well,
+ * so that repeated requests from unknown service providers do not walk the registry every time.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SamlRegisteredServiceMetadataIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SamlRegisteredServiceMetadataIndex.class);
+
+    private static final long MAXIMUM_UNKNOWN_ENTITY_IDS = 10_000;
+    private static final long UNKNOWN_ENTITY_ID_TIME_TO_LIVE_SECONDS = 60;
+
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+
+    private final Cache<String, Boolean> unknownEntityIds = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_UNKNOWN_ENTITY_IDS)
+            .expireAfterWrite(UNKNOWN_ENTITY_ID_TIME_TO_LIVE_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    private final ServicesManager servicesManager;
+    private final SamlRegisteredServiceCachingMetadataResolver resolver;
+
+    public SamlRegisteredServiceMetadataIndex(final ServicesManager servicesManager,
+                                              final SamlRegisteredServiceCachingMetadataResolver resolver) {
+        this.servicesManager = servicesManager;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Locate the metadata facade for the given service provider entity id.
+     *
+     * @param entityID the entity id
+     * @return the metadata facade
+     */
+    public Optional<SamlRegisteredServiceServiceProviderMetadataFacade> findMetadataFacade(final String entityID) {
+        return locate(entityID).map(entry -> entry.facade);
+    }
+
+    /**
+     * Locate the metadata facade for the given service provider entity id,
+     * provided the entity id is indexed under the given service.
+     *
+     * @param registeredService the registered service
+     * @param entityID          the entity id
+     * @return the metadata facade
+     */
+    public Optional<SamlRegisteredServiceServiceProviderMetadataFacade> findMetadataFacade(final SamlRegisteredService registeredService,
+                                                                                          final String entityID) {
+        return locate(entityID)
+                .filter(entry -> entry.registeredService.getId() == registeredService.getId())
+                .map(entry -> entry.facade);
+    }
+
+    /**
+     * Locate the SAML service whose metadata contains the given service provider entity id.
+     *
+     * @param entityID the entity id
+     * @return the registered service
+     */
+    public Optional<SamlRegisteredService> findRegisteredService(final String entityID) {
+        return locate(entityID).map(entry -> entry.registeredService);
+    }
+
+    /**
+     * Number of indexed entity ids.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.index.size();
+    }
+
+    /**
+     * Clear the index when services are loaded.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        LOGGER.debug("Registered services are loaded; clearing SAML service provider metadata index");
+        clear();
+    }
+
+    /**
+     * Clear the index when a service is saved, since the service may now claim
+     * entity ids that were previously matched by another service.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        clear();
+    }
+
+    /**
+     * Drop the entries that belong to a deleted service.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        final RegisteredService service = event.getRegisteredService();
+        this.index.values().removeIf(entry -> entry.registeredService.getId() == service.getId());
+    }
+
+    private void clear() {
+        this.index.clear();
+        this.unknownEntityIds.invalidateAll();
+    }
+
+    private Optional<IndexEntry> locate(final String entityID) {
+        final IndexEntry entry = this.index.get(entityID);
+        if (entry != null && isCurrent(entry)) {
+            LOGGER.debug("Located indexed SAML service [{}] for entity id [{}]", entry.registeredService.getName(), entityID);
+            return Optional.of(entry);
+        }
+        if (entry == null && this.unknownEntityIds.getIfPresent(entityID) != null) {
+            LOGGER.debug("No SAML service was recently found to carry metadata for entity id [{}]", entityID);
+            return Optional.empty();
+        }
+        final Optional<IndexEntry> located = this.servicesManager.findServiceBy(SamlRegisteredService.class::isInstance)
+                .stream()
+                .map(SamlRegisteredService.class::cast)
+                .map(s -> SamlRegisteredServiceServiceProviderMetadataFacade.get(this.resolver, s, entityID)
+                        .map(facade -> new IndexEntry(s, facade)))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
+        if (located.isPresent()) {
+            LOGGER.debug("Indexing SAML service [{}] for entity id [{}]", located.get().registeredService.getName(), entityID);
+            this.index.put(entityID, located.get());
+        } else {
+            this.index.remove(entityID);
+            this.unknownEntityIds.put(entityID, Boolean.TRUE);
+        }
+        return located;
+    }
+
+    /**
+     * An entry remains valid for as long as the metadata cache hands out the same resolver
+     * for the service, and that resolver has not reloaded its metadata since the entry was created.
+     */
+    private boolean isCurrent(final IndexEntry entry) {
+        final MetadataResolver current = this.resolver.resolve(entry.registeredService);
+        if (current != entry.facade.getMetadataResolver()) {
+            return false;
+        }
+        return !(current instanceof RefreshableMetadataResolver)
+                || Objects.equals(((RefreshableMetadataResolver) current).getLastUpdate(), entry.lastUpdate);
+    }
+
+    private static final class IndexEntry {
+        private final SamlRegisteredService registeredService;
+        private final SamlRegisteredServiceServiceProviderMetadataFacade facade;
+        private final Object lastUpdate;
+
+        IndexEntry(final SamlRegisteredService registeredService, final SamlRegisteredServiceServiceProviderMetadataFacade facade) {
+            this.registeredService = registeredService;
+            this.facade = facade;
+            final MetadataResolver metadataResolver = facade.getMetadataResolver();
+            this.lastUpdate = metadataResolver instanceof RefreshableMetadataResolver
+                    ? ((RefreshableMetadataResolver) metadataResolver).getLastUpdate()
+                    : null;
+        }
+    }
+}
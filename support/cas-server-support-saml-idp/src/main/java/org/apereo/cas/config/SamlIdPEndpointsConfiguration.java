@@ -7,6 +7,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.IdPInitiatedProfileHandlerController;
 import org.apereo.cas.support.saml.web.idp.profile.artifact.Saml1ArtifactResolutionProfileHandlerController;
@@ -73,6 +74,10 @@ public class SamlIdPEndpointsConfiguration {
     @Qualifier("defaultSamlRegisteredServiceCachingMetadataResolver")
     private SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver;
 
+    @Autowired
+    @Qualifier("samlRegisteredServiceMetadataIndex")
+    private SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex;
+
     @Autowired
     @Qualifier("webApplicationServiceFactory")
     private ServiceFactory<WebApplicationService> webApplicationServiceFactory;
@@ -163,7 +168,8 @@ public class SamlIdPEndpointsConfiguration {
                 openSamlConfigBean,
                 samlProfileSamlResponseBuilder,
                 casProperties,
-                samlObjectSignatureValidator());
+                samlObjectSignatureValidator(),
+                samlRegisteredServiceMetadataIndex);
     }
 
     @Bean
@@ -179,7 +185,8 @@ public class SamlIdPEndpointsConfiguration {
                 openSamlConfigBean,
                 samlProfileSamlResponseBuilder,
                 casProperties,
-                samlObjectSignatureValidator());
+                samlObjectSignatureValidator(),
+                samlRegisteredServiceMetadataIndex);
     }
 
     @Bean
@@ -195,7 +202,8 @@ public class SamlIdPEndpointsConfiguration {
                 openSamlConfigBean,
                 samlProfileSamlResponseBuilder,
                 casProperties,
-                samlObjectSignatureValidator());
+                samlObjectSignatureValidator(),
+                samlRegisteredServiceMetadataIndex);
     }
 
     @Bean
@@ -228,7 +236,8 @@ public class SamlIdPEndpointsConfiguration {
                 samlProfileSamlResponseBuilder,
                 casProperties,
                 samlObjectSignatureValidator(),
-                this.casClientTicketValidator);
+                this.casClientTicketValidator,
+                samlRegisteredServiceMetadataIndex);
     }
 
     @Bean
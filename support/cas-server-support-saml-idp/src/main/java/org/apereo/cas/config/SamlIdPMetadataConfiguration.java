@@ -3,7 +3,9 @@ package org.apereo.cas.config;
 import net.shibboleth.ext.spring.resource.ResourceHelper;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataResolverCacheLoader;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
@@ -49,6 +51,10 @@ public class SamlIdPMetadataConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("servicesManager")
+    private ServicesManager servicesManager;
+
     @Autowired
     @Qualifier("shibboleth.OpenSAMLConfig")
     private OpenSamlConfigBean openSamlConfigBean;
@@ -116,4 +122,10 @@ public class SamlIdPMetadataConfiguration {
         );
     }
 
+    @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataIndex")
+    @Bean
+    public SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex() {
+        return new SamlRegisteredServiceMetadataIndex(servicesManager, defaultSamlRegisteredServiceCachingMetadataResolver());
+    }
+
 }
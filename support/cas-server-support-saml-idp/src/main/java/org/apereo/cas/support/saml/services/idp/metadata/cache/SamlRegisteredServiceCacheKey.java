@@ -0,0 +1,93 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.util.DigestUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link SamlRegisteredServiceCacheKey}. It identifies a metadata source by the
+ * metadata location along with every setting that affects how metadata from that location
+ * is fetched and filtered, so that all services which share the same source resolve to the
+ * same cached metadata resolver regardless of the service definition itself.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SamlRegisteredServiceCacheKey implements Serializable {
+    private static final long serialVersionUID = -7238573226470492601L;
+
+    private final String id;
+
+    private final SamlRegisteredService registeredService;
+
+    public SamlRegisteredServiceCacheKey(final SamlRegisteredService registeredService) {
+        this.id = buildRegisteredServiceCacheKey(registeredService);
+        this.registeredService = registeredService;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * The service that first requested the metadata source,
+     * used to construct the resolver for this key.
+     *
+     * @return the registered service
+     */
+    public SamlRegisteredService getRegisteredService() {
+        return registeredService;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        final SamlRegisteredServiceCacheKey rhs = (SamlRegisteredServiceCacheKey) obj;
+        return new EqualsBuilder().append(this.id, rhs.id).isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(id).toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    /**
+     * Build the cache key for the metadata source of the given service.
+     *
+     * @param service the service
+     * @return the key
+     */
+    public static String buildRegisteredServiceCacheKey(final SamlRegisteredService service) {
+        final String source = Stream.of(service.getMetadataLocation(),
+                service.getMetadataSignatureLocation(),
+                service.getMetadataMaxValidity(),
+                service.getMetadataExpirationDuration(),
+                service.getMetadataCriteriaRoles(),
+                service.getMetadataCriteriaDirection(),
+                service.getMetadataCriteriaPattern(),
+                service.isMetadataCriteriaRemoveEmptyEntitiesDescriptors(),
+                service.isMetadataCriteriaRemoveRolelessEntityDescriptors())
+                .map(Objects::toString)
+                .collect(Collectors.joining("|"));
+        return DigestUtils.sha256(source);
+    }
+}
@@ -11,6 +11,8 @@ import org.slf4j.LoggerFactory;
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * Resolvers are cached per metadata source (see {@link SamlRegisteredServiceCacheKey}) rather
+ * than per service, so services that point to the same metadata aggregate share a single resolver.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -21,7 +23,7 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
     private final long metadataCacheExpirationMinutes;
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
-    private final LoadingCache<SamlRegisteredService, MetadataResolver> cache;
+    private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
 
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
@@ -38,7 +40,7 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         MetadataResolver resolver = null;
         try {
             LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
-            resolver = this.cache.get(service);
+            resolver = this.cache.get(new SamlRegisteredServiceCacheKey(service));
             return resolver;
         } catch (final Exception e) {
             throw new IllegalArgumentException("Metadata resolver could not be located from metadata "
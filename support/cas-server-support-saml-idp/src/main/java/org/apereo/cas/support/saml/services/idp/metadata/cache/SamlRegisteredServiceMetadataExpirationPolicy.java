@@ -16,7 +16,7 @@ import java.util.concurrent.TimeUnit;
  * @author Misagh Moayyed
  * @since 5.2.0
  */
-public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<SamlRegisteredService, MetadataResolver> {
+public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> {
     private final long defaultExpiration;
     
     public SamlRegisteredServiceMetadataExpirationPolicy(final long metadataCacheExpirationMinutes) {
@@ -24,10 +24,10 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     }
 
     @Override
-    public long expireAfterCreate(@Nonnull final SamlRegisteredService service, 
+    public long expireAfterCreate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver, 
                                   final long currentTime) {
-        
+        final SamlRegisteredService service = cacheKey.getRegisteredService();
         if (StringUtils.isNotBlank(service.getMetadataExpirationDuration())) {
             final Duration duration = Beans.newDuration(service.getMetadataExpirationDuration());
             return duration.toNanos();
@@ -36,14 +36,14 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     }
 
     @Override
-    public long expireAfterUpdate(@Nonnull final SamlRegisteredService service,
+    public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
         return currentDuration;
     }
 
     @Override
-    public long expireAfterRead(@Nonnull final SamlRegisteredService service, 
+    public long expireAfterRead(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                 @Nonnull final MetadataResolver chainingMetadataResolver, 
                                 final long currentTime, final long currentDuration) {
         return currentDuration;
@@ -25,7 +25,7 @@ import java.util.List;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
-public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLoader<SamlRegisteredService, MetadataResolver> {
+public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> {
     private static final Logger LOGGER = LoggerFactory.getLogger(SamlRegisteredServiceMetadataResolverCacheLoader.class);
 
     /**
@@ -52,8 +52,9 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
     }
 
     @Override
-    public ChainingMetadataResolver load(final SamlRegisteredService service) throws Exception {
+    public ChainingMetadataResolver load(final SamlRegisteredServiceCacheKey cacheKey) throws Exception {
         try {
+            final SamlRegisteredService service = cacheKey.getRegisteredService();
             final ChainingMetadataResolver metadataResolver = new ChainingMetadataResolver();
             final List<MetadataResolver> metadataResolvers = new ArrayList<>();
             
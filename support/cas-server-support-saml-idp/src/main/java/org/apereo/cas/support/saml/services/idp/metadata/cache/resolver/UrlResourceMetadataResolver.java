@@ -2,9 +2,9 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import org.apache.commons.io.FileUtils;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
-import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCacheKey;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.http.HttpClient;
@@ -19,10 +19,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.UUID;
 
 /**
- * This is {@link UrlResourceMetadataResolver}.
+ * This is {@link UrlResourceMetadataResolver}. The metadata backup file is named after the
+ * metadata source rather than the service, so that services sharing the same source
+ * also share the same backup file across restarts.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -64,15 +65,17 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
     }
 
     private File getMetadataBackupFile(final AbstractResource metadataResource,
-                                       final RegisteredService service) throws IOException {
+                                       final SamlRegisteredService service) throws IOException {
         final SamlIdPProperties.Metadata md = samlIdPProperties.getMetadata();
         final File backupDirectory = new File(md.getLocation().getFile(), "metadata-backups");
         LOGGER.debug("Metadata backup directory is at [{}]", backupDirectory.getCanonicalPath());
         
-        final String metadataFileName = service.getName().concat("-").concat(UUID.randomUUID().toString()).concat(metadataResource.getFilename());
+        final String metadataFileName = SamlRegisteredServiceCacheKey.buildRegisteredServiceCacheKey(service)
+                .concat("-").concat(metadataResource.getFilename());
         final File backupFile = new File(backupDirectory, metadataFileName);
         if (backupFile.exists()) {
-            LOGGER.warn("Metadata file designated for service [{}] already exists at path [{}].", service.getName(), backupFile.getCanonicalPath());
+            LOGGER.debug("Metadata file designated for service [{}] already exists at path [{}] and will be reused.",
+                    service.getName(), backupFile.getCanonicalPath());
         } else {
             LOGGER.debug("Metadata to fetch for service [{}] will be placed at [{}]", service.getName(), backupFile.getCanonicalPath());
         }
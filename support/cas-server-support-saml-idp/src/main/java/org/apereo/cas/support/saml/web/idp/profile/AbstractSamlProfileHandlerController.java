@@ -13,6 +13,8 @@ import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegexRegisteredService;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndex;
+import org.apereo.cas.services.ServiceIdRegisteredServiceIndex;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
@@ -22,6 +24,7 @@ import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlProtocolConstants;
 import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
@@ -82,6 +85,12 @@ import java.util.TreeMap;
 public abstract class AbstractSamlProfileHandlerController {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSamlProfileHandlerController.class);
 
+    /**
+     * Services are indexed by literal service id so that service provider entity ids
+     * are located without evaluating every registered service in turn.
+     */
+    private static final RegisteredServiceIndex<RegisteredService> SERVICE_ID_INDEX = new ServiceIdRegisteredServiceIndex<>(RegisteredService.class);
+
     /**
      * Authentication support to handle credentials and authn subsystem calls.
      */
@@ -137,6 +146,11 @@ public abstract class AbstractSamlProfileHandlerController {
      */
     protected CasConfigurationProperties casProperties;
 
+    /**
+     * Index of service provider entity ids to their SAML service and metadata; may be null.
+     */
+    protected SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex;
+
     /**
      * Instantiates a new Abstract saml profile handler controller.
      *
@@ -161,6 +175,38 @@ public abstract class AbstractSamlProfileHandlerController {
                                                 final SamlProfileObjectBuilder<? extends SAMLObject> responseBuilder,
                                                 final CasConfigurationProperties casProperties,
                                                 final SamlObjectSignatureValidator samlObjectSignatureValidator) {
+        this(samlObjectSigner, parserPool, authenticationSystemSupport, servicesManager, webApplicationServiceFactory,
+                samlRegisteredServiceCachingMetadataResolver, configBean, responseBuilder, casProperties, samlObjectSignatureValidator, null);
+    }
+
+    /**
+     * Instantiates a new Abstract saml profile handler controller
+     * that locates service provider metadata via the metadata index.
+     *
+     * @param samlObjectSigner                             the saml object signer
+     * @param parserPool                                   the parser pool
+     * @param authenticationSystemSupport                  the authentication system support
+     * @param servicesManager                              the services manager
+     * @param webApplicationServiceFactory                 the web application service factory
+     * @param samlRegisteredServiceCachingMetadataResolver the saml registered service caching metadata resolver
+     * @param configBean                                   the config bean
+     * @param responseBuilder                              the response builder
+     * @param casProperties                                the cas properties
+     * @param samlObjectSignatureValidator                 the saml object signature validator
+     * @param samlRegisteredServiceMetadataIndex           the saml registered service metadata index
+     */
+    public AbstractSamlProfileHandlerController(final BaseSamlObjectSigner samlObjectSigner,
+                                                final ParserPool parserPool,
+                                                final AuthenticationSystemSupport authenticationSystemSupport,
+                                                final ServicesManager servicesManager,
+                                                final ServiceFactory<WebApplicationService> webApplicationServiceFactory,
+                                                final SamlRegisteredServiceCachingMetadataResolver samlRegisteredServiceCachingMetadataResolver,
+                                                final OpenSamlConfigBean configBean,
+                                                final SamlProfileObjectBuilder<? extends SAMLObject> responseBuilder,
+                                                final CasConfigurationProperties casProperties,
+                                                final SamlObjectSignatureValidator samlObjectSignatureValidator,
+                                                final SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex) {
+        this.samlRegisteredServiceMetadataIndex = samlRegisteredServiceMetadataIndex;
         this.samlObjectSigner = samlObjectSigner;
         this.parserPool = parserPool;
         this.servicesManager = servicesManager;
@@ -192,7 +238,7 @@ public abstract class AbstractSamlProfileHandlerController {
      */
     protected Optional<SamlRegisteredServiceServiceProviderMetadataFacade> getSamlMetadataFacadeFor(final SamlRegisteredService registeredService,
                                                                                                     final RequestAbstractType authnRequest) {
-        return SamlRegisteredServiceServiceProviderMetadataFacade.get(this.samlRegisteredServiceCachingMetadataResolver, registeredService, authnRequest);
+        return getSamlMetadataFacadeFor(registeredService, SamlIdPUtils.getIssuerFromSamlRequest(authnRequest));
     }
 
     /**
@@ -204,6 +250,14 @@ public abstract class AbstractSamlProfileHandlerController {
      */
     protected Optional<SamlRegisteredServiceServiceProviderMetadataFacade> getSamlMetadataFacadeFor(final SamlRegisteredService registeredService,
                                                                                                     final String entityId) {
+        if (this.samlRegisteredServiceMetadataIndex != null) {
+            final Optional<SamlRegisteredServiceServiceProviderMetadataFacade> facade =
+                    this.samlRegisteredServiceMetadataIndex.findMetadataFacade(registeredService, entityId);
+            if (facade.isPresent()) {
+                LOGGER.debug("Located indexed SAML metadata for [{}]", entityId);
+                return facade;
+            }
+        }
         return SamlRegisteredServiceServiceProviderMetadataFacade
                 .get(this.samlRegisteredServiceCachingMetadataResolver, registeredService, entityId);
     }
@@ -221,7 +275,7 @@ public abstract class AbstractSamlProfileHandlerController {
         }
         LOGGER.debug("Checking service access in CAS service registry for [{}]", serviceId);
         final RegisteredService registeredService =
-                this.servicesManager.findServiceBy(this.webApplicationServiceFactory.createService(serviceId));
+                this.servicesManager.findServiceBy(SERVICE_ID_INDEX, this.webApplicationServiceFactory.createService(serviceId).getId());
         if (registeredService == null || !registeredService.getAccessStrategy().isServiceAccessAllowed()) {
             LOGGER.warn("[{}] is not found in the registry or service access is denied. Ensure service is registered in service registry",
                     serviceId);
@@ -525,9 +579,7 @@ public abstract class AbstractSamlProfileHandlerController {
 
         final SamlRegisteredService registeredService = verifySamlRegisteredService(issuer);
         LOGGER.debug("Fetching saml metadata adaptor for [{}]", issuer);
-        final Optional<SamlRegisteredServiceServiceProviderMetadataFacade> adaptor =
-                SamlRegisteredServiceServiceProviderMetadataFacade.get(this.samlRegisteredServiceCachingMetadataResolver,
-                        registeredService, authnRequest);
+        final Optional<SamlRegisteredServiceServiceProviderMetadataFacade> adaptor = getSamlMetadataFacadeFor(registeredService, authnRequest);
 
         if (!adaptor.isPresent()) {
             LOGGER.warn("No metadata could be found for [{}]", issuer);
@@ -1,5 +1,7 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -42,6 +44,9 @@ import java.util.List;
 
 /**
  * This is {@link BaseSamlObjectSigner}.
+ * <p>The signing certificate and private key are loaded once and reused until either
+ * file is modified on disk. Signature signing parameters resolved for a service provider
+ * are cached against its role descriptor for as long as the same credentials remain in use.</p>
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -49,6 +54,8 @@ import java.util.List;
 public class BaseSamlObjectSigner {
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseSamlObjectSigner.class);
 
+    private static final long MAX_CACHED_SIGNING_PARAMETERS = 10_000;
+
     /**
      * The Override signature reference digest methods.
      */
@@ -75,6 +82,8 @@ public class BaseSamlObjectSigner {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private volatile SigningCredentialHolder signingCredentialHolder;
+
     public BaseSamlObjectSigner(final List overrideSignatureReferenceDigestMethods, final List overrideSignatureAlgorithms,
                                 final List overrideBlackListedSignatureAlgorithms, final List overrideWhiteListedAlgorithms) {
         this.overrideSignatureReferenceDigestMethods = overrideSignatureReferenceDigestMethods;
@@ -176,10 +185,33 @@ public class BaseSamlObjectSigner {
             throw new IllegalArgumentException("No signature signing parameters could be determined");
         }
         final RoleDescriptor roleDesc = adaptor.getSsoDescriptor();
-        final SignatureSigningParameters signingParameters = buildSignatureSigningParameters(roleDesc);
+        final SignatureSigningParameters signingParameters = getSignatureSigningParameters(roleDesc);
         secParametersContext.setSignatureSigningParameters(signingParameters);
     }
 
+    /**
+     * Gets signature signing parameters for the role descriptor, reusing the parameters
+     * previously resolved for the same descriptor with the current signing credentials.
+     * Role descriptors are compared by identity, so refreshed metadata resolves its parameters again.
+     * On a cache miss, parameters are built through {@link #buildSignatureSigningParameters(RoleDescriptor)}
+     * and {@link #getSignatureSigningConfiguration()}, so that overrides of either are honored.
+     *
+     * @param descriptor the descriptor
+     * @return the signature signing parameters
+     * @throws SAMLException the saml exception
+     */
+    protected SignatureSigningParameters getSignatureSigningParameters(final RoleDescriptor descriptor) throws SAMLException {
+        final SigningCredentialHolder holder = getSigningCredentialHolder();
+        final SignatureSigningParameters cached = holder.signingParameters.getIfPresent(descriptor);
+        if (cached != null) {
+            LOGGER.debug("Using cached signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
+            return cached;
+        }
+        final SignatureSigningParameters params = buildSignatureSigningParameters(descriptor);
+        holder.signingParameters.put(descriptor, params);
+        return params;
+    }
+
     /**
      * Prepare outbound context.
      *
@@ -208,9 +240,28 @@ public class BaseSamlObjectSigner {
      * @throws SAMLException the saml exception
      */
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor) throws SAMLException {
+        try {
+            return buildSignatureSigningParameters(descriptor, getSignatureSigningConfiguration());
+        } catch (final SAMLException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SAMLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build signature signing parameters from the given signing configuration.
+     *
+     * @param descriptor    the descriptor
+     * @param configuration the signature signing configuration
+     * @return the signature signing parameters
+     * @throws SAMLException the saml exception
+     */
+    protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                         final SignatureSigningConfiguration configuration) throws SAMLException {
         try {
             final CriteriaSet criteria = new CriteriaSet();
-            criteria.add(new SignatureSigningConfigurationCriterion(getSignatureSigningConfiguration()));
+            criteria.add(new SignatureSigningConfigurationCriterion(configuration));
             criteria.add(new RoleDescriptorCriterion(descriptor));
             final SAMLMetadataSignatureSigningParametersResolver resolver = new SAMLMetadataSignatureSigningParametersResolver();
             LOGGER.debug("Resolving signature signing parameters for [{}]", descriptor.getElementQName().getLocalPart());
@@ -240,6 +291,16 @@ public class BaseSamlObjectSigner {
      * @throws Exception the exception
      */
     protected SignatureSigningConfiguration getSignatureSigningConfiguration() throws Exception {
+        return getSigningCredentialHolder().configuration;
+    }
+
+    /**
+     * Build signature signing configuration for the given signing credential.
+     *
+     * @param credential the signing credential
+     * @return the signature signing configuration
+     */
+    protected SignatureSigningConfiguration buildSignatureSigningConfiguration(final Credential credential) {
         final BasicSignatureSigningConfiguration config =
                 DefaultSecurityConfigurationBootstrap.buildDefaultSignatureSigningConfiguration();
         final SamlIdPProperties samlIdp = casProperties.getAuthn().getSamlIdp();
@@ -270,17 +331,48 @@ public class BaseSamlObjectSigner {
         LOGGER.debug("Signature signing whitelisted algorithms: [{}]", config.getWhitelistedAlgorithms());
         LOGGER.debug("Signature signing reference digest methods: [{}]", config.getSignatureReferenceDigestMethods());
 
-        final PrivateKey privateKey = getSigningPrivateKey();
-        final X509Certificate certificate = getSigningCertificate();
-
         final List<Credential> creds = new ArrayList<>();
-        creds.add(new BasicX509Credential(certificate, privateKey));
+        creds.add(credential);
         config.setSigningCredentials(creds);
         LOGGER.debug("Signature signing credentials configured");
 
         return config;
     }
 
+    /**
+     * Gets the current signing credentials, reloading the certificate and private key
+     * only when either file has been modified since they were last read.
+     *
+     * @return the signing credential holder
+     * @throws SAMLException the saml exception
+     */
+    private SigningCredentialHolder getSigningCredentialHolder() throws SAMLException {
+        try {
+            final SamlIdPProperties.Metadata metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
+            final long certLastModified = metadata.getSigningCertFile().getFile().lastModified();
+            final long keyLastModified = metadata.getSigningKeyFile().getFile().lastModified();
+
+            SigningCredentialHolder holder = this.signingCredentialHolder;
+            if (holder == null || !holder.isCurrent(certLastModified, keyLastModified)) {
+                synchronized (this) {
+                    holder = this.signingCredentialHolder;
+                    if (holder == null || !holder.isCurrent(certLastModified, keyLastModified)) {
+                        LOGGER.debug("Loading signature signing credentials from [{}] and [{}]",
+                                metadata.getSigningCertFile(), metadata.getSigningKeyFile());
+                        final Credential credential = new BasicX509Credential(getSigningCertificate(), getSigningPrivateKey());
+                        holder = new SigningCredentialHolder(buildSignatureSigningConfiguration(credential), certLastModified, keyLastModified);
+                        this.signingCredentialHolder = holder;
+                    }
+                }
+            }
+            return holder;
+        } catch (final SAMLException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SAMLException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Gets signing certificate.
      *
@@ -309,4 +401,29 @@ public class BaseSamlObjectSigner {
         LOGGER.debug("Locating signature signing key file from [{}]", samlIdp.getMetadata().getSigningKeyFile());
         return privateKeyFactoryBean.getObject();
     }
+
+    /**
+     * Signing configuration built for a given set of credentials, along with the
+     * signing parameters resolved with it for each service provider role descriptor.
+     */
+    private static class SigningCredentialHolder {
+        private final SignatureSigningConfiguration configuration;
+        private final long certificateLastModified;
+        private final long privateKeyLastModified;
+        private final Cache<RoleDescriptor, SignatureSigningParameters> signingParameters = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(MAX_CACHED_SIGNING_PARAMETERS)
+                .build();
+
+        SigningCredentialHolder(final SignatureSigningConfiguration configuration,
+                                final long certificateLastModified, final long privateKeyLastModified) {
+            this.configuration = configuration;
+            this.certificateLastModified = certificateLastModified;
+            this.privateKeyLastModified = privateKeyLastModified;
+        }
+
+        boolean isCurrent(final long certLastModified, final long keyLastModified) {
+            return this.certificateLastModified == certLastModified && this.privateKeyLastModified == keyLastModified;
+        }
+    }
 }
@@ -10,6 +10,7 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.AbstractSamlProfileHandlerController;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
@@ -51,6 +52,7 @@ public abstract class AbstractSamlSLOProfileHandlerController extends AbstractSa
      * @param responseBuilder                              the response builder
      * @param casProperties                                the cas properties
      * @param samlObjectSignatureValidator                 the saml object signature validator
+     * @param samlRegisteredServiceMetadataIndex           the saml registered service metadata index
      */
     public AbstractSamlSLOProfileHandlerController(final BaseSamlObjectSigner samlObjectSigner, final ParserPool parserPool,
                                                    final AuthenticationSystemSupport authenticationSystemSupport,
@@ -60,9 +62,11 @@ public abstract class AbstractSamlSLOProfileHandlerController extends AbstractSa
                                                    final OpenSamlConfigBean configBean,
                                                    final SamlProfileObjectBuilder<? extends SAMLObject> responseBuilder,
                                                    final CasConfigurationProperties casProperties,
-                                                   final SamlObjectSignatureValidator samlObjectSignatureValidator) {
+                                                   final SamlObjectSignatureValidator samlObjectSignatureValidator,
+                                                   final SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex) {
         super(samlObjectSigner, parserPool, authenticationSystemSupport, servicesManager, webApplicationServiceFactory,
-                samlRegisteredServiceCachingMetadataResolver, configBean, responseBuilder, casProperties, samlObjectSignatureValidator);
+                samlRegisteredServiceCachingMetadataResolver, configBean, responseBuilder, casProperties, samlObjectSignatureValidator,
+                samlRegisteredServiceMetadataIndex);
     }
 
     /**
@@ -90,9 +94,8 @@ public abstract class AbstractSamlSLOProfileHandlerController extends AbstractSa
         }
 
         if (SAMLBindingSupport.isMessageSigned(ctx)) {
-            final MetadataResolver resolver = SamlIdPUtils.getMetadataResolverForAllSamlServices(this.servicesManager,
-                    SamlIdPUtils.getIssuerFromSamlRequest(logoutRequest),
-                    this.samlRegisteredServiceCachingMetadataResolver);
+            final MetadataResolver resolver = SamlIdPUtils.getMetadataResolverForAllSamlServices(this.samlRegisteredServiceMetadataIndex,
+                    SamlIdPUtils.getIssuerFromSamlRequest(logoutRequest));
             this.samlObjectSignatureValidator.verifySamlProfileRequestIfNeeded(logoutRequest, resolver, request, ctx);
         }
         SamlUtils.logSamlObject(this.configBean, logoutRequest);
@@ -9,6 +9,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlIdPConstants;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.BaseSamlObjectSigner;
@@ -45,6 +46,7 @@ public class SLORedirectProfileHandlerController extends AbstractSamlSLOProfileH
      * @param responseBuilder                              the response builder
      * @param casProperties                                the cas properties
      * @param samlObjectSignatureValidator                 the saml object signature validator
+     * @param samlRegisteredServiceMetadataIndex           the saml registered service metadata index
      */
     public SLORedirectProfileHandlerController(final BaseSamlObjectSigner samlObjectSigner,
                                                final ParserPool parserPool,
@@ -55,7 +57,8 @@ public class SLORedirectProfileHandlerController extends AbstractSamlSLOProfileH
                                                final OpenSamlConfigBean configBean,
                                                final SamlProfileObjectBuilder<Response> responseBuilder,
                                                final CasConfigurationProperties casProperties,
-                                               final SamlObjectSignatureValidator samlObjectSignatureValidator) {
+                                               final SamlObjectSignatureValidator samlObjectSignatureValidator,
+                                               final SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex) {
         super(samlObjectSigner,
                 parserPool,
                 authenticationSystemSupport,
@@ -65,7 +68,8 @@ public class SLORedirectProfileHandlerController extends AbstractSamlSLOProfileH
                 configBean,
                 responseBuilder,
                 casProperties,
-                samlObjectSignatureValidator);
+                samlObjectSignatureValidator,
+                samlRegisteredServiceMetadataIndex);
     }
 
     /**
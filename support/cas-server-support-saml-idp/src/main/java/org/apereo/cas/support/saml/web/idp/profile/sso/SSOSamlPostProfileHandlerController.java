@@ -9,6 +9,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlIdPConstants;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.AbstractSamlProfileHandlerController;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
@@ -49,6 +50,7 @@ public class SSOSamlPostProfileHandlerController extends AbstractSamlProfileHand
      * @param responseBuilder                              the response builder
      * @param casProperties                                the cas properties
      * @param samlObjectSignatureValidator                 the saml object signature validator
+     * @param samlRegisteredServiceMetadataIndex           the saml registered service metadata index
      */
     public SSOSamlPostProfileHandlerController(final BaseSamlObjectSigner samlObjectSigner,
                                                final ParserPool parserPool,
@@ -59,7 +61,8 @@ public class SSOSamlPostProfileHandlerController extends AbstractSamlProfileHand
                                                final OpenSamlConfigBean configBean,
                                                final SamlProfileObjectBuilder<Response> responseBuilder,
                                                final CasConfigurationProperties casProperties,
-                                               final SamlObjectSignatureValidator samlObjectSignatureValidator) {
+                                               final SamlObjectSignatureValidator samlObjectSignatureValidator,
+                                               final SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex) {
         super(samlObjectSigner,
                 parserPool,
                 authenticationSystemSupport,
@@ -69,7 +72,8 @@ public class SSOSamlPostProfileHandlerController extends AbstractSamlProfileHand
                 configBean,
                 responseBuilder,
                 casProperties,
-                samlObjectSignatureValidator);
+                samlObjectSignatureValidator,
+                samlRegisteredServiceMetadataIndex);
     }
 
 
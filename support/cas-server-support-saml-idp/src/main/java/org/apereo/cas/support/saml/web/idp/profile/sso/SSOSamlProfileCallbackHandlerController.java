@@ -14,6 +14,7 @@ import org.apereo.cas.support.saml.SamlIdPConstants;
 import org.apereo.cas.support.saml.SamlProtocolConstants;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndex;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.AbstractSamlProfileHandlerController;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
@@ -62,6 +63,7 @@ public class SSOSamlProfileCallbackHandlerController extends AbstractSamlProfile
      * @param casProperties                                the cas properties
      * @param samlObjectSignatureValidator                 the saml object signature validator
      * @param ticketValidator                              the ticket validator
+     * @param samlRegisteredServiceMetadataIndex           the saml registered service metadata index
      */
     public SSOSamlProfileCallbackHandlerController(final BaseSamlObjectSigner samlObjectSigner,
                                                    final ParserPool parserPool,
@@ -73,7 +75,8 @@ public class SSOSamlProfileCallbackHandlerController extends AbstractSamlProfile
                                                    final SamlProfileObjectBuilder<Response> responseBuilder,
                                                    final CasConfigurationProperties casProperties,
                                                    final SamlObjectSignatureValidator samlObjectSignatureValidator,
-                                                   final AbstractUrlBasedTicketValidator ticketValidator) {
+                                                   final AbstractUrlBasedTicketValidator ticketValidator,
+                                                   final SamlRegisteredServiceMetadataIndex samlRegisteredServiceMetadataIndex) {
         super(samlObjectSigner,
                 parserPool,
                 authenticationSystemSupport,
@@ -83,7 +86,8 @@ public class SSOSamlProfileCallbackHandlerController extends AbstractSamlProfile
                 configBean,
                 responseBuilder,
                 casProperties,
-                samlObjectSignatureValidator);
+                samlObjectSignatureValidator,
+                samlRegisteredServiceMetadataIndex);
         this.ticketValidator = ticketValidator;
     }
 
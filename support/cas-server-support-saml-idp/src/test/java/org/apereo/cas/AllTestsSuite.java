@@ -3,6 +3,9 @@ package org.apereo.cas;
 import org.apereo.cas.support.saml.SamlAttributeEncoderTests;
 import org.apereo.cas.support.saml.SamlIdPConfigurationTests;
 import org.apereo.cas.support.saml.SamlRegisteredServiceTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataIndexTests;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCacheKeyTests;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.BaseSamlObjectSignerTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -15,7 +18,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         SamlRegisteredServiceTests.class, SamlIdPConfigurationTests.class,
-        SamlAttributeEncoderTests.class
+        SamlAttributeEncoderTests.class, SamlRegisteredServiceCacheKeyTests.class,
+        SamlRegisteredServiceMetadataIndexTests.class, BaseSamlObjectSignerTests.class
 })
 public class AllTestsSuite {
 }
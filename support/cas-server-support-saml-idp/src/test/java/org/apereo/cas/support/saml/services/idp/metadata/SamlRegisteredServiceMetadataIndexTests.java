@@ -0,0 +1,91 @@
+package org.apereo.cas.support.saml.services.idp.metadata;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlRegisteredServiceMetadataIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SamlRegisteredServiceMetadataIndexTests {
+    private static final String ENTITY_ID = "https://sp.example.org/shibboleth";
+    private static final String UNKNOWN_ENTITY_ID = "https://unknown.example.org/shibboleth";
+
+    private ServicesManager servicesManager;
+    private SamlRegisteredServiceMetadataIndex index;
+    private SamlRegisteredService service;
+    private MetadataResolver metadataResolver;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new SamlRegisteredService();
+        service.setId(1);
+        service.setName("SAMLService");
+        service.setServiceId(ENTITY_ID);
+        service.setMetadataLocation("classpath:/metadata/sp-metadata.xml");
+
+        final SPSSODescriptor spssoDescriptor = mock(SPSSODescriptor.class);
+        final EntityDescriptor entityDescriptor = mock(EntityDescriptor.class);
+        when(entityDescriptor.getSPSSODescriptor(SAMLConstants.SAML20P_NS)).thenReturn(spssoDescriptor);
+        metadataResolver = mock(MetadataResolver.class);
+        when(metadataResolver.resolveSingle(any())).thenReturn(entityDescriptor);
+
+        final SamlRegisteredServiceCachingMetadataResolver resolver = mock(SamlRegisteredServiceCachingMetadataResolver.class);
+        when(resolver.resolve(service)).thenReturn(metadataResolver);
+
+        final Collection<RegisteredService> services = new ArrayList<>();
+        services.add(service);
+        servicesManager = mock(ServicesManager.class);
+        when(servicesManager.findServiceBy(any(Predicate.class))).thenReturn(services);
+
+        index = new SamlRegisteredServiceMetadataIndex(servicesManager, resolver);
+    }
+
+    @Test
+    public void verifyRepeatedLookupsAreIndexed() {
+        assertTrue(index.findMetadataFacade(ENTITY_ID).isPresent());
+        assertEquals(service, index.findRegisteredService(ENTITY_ID).get());
+        assertEquals(1, index.size());
+        verify(servicesManager, times(1)).findServiceBy(any(Predicate.class));
+    }
+
+    @Test
+    public void verifyIndexClearedWhenServicesLoad() {
+        assertTrue(index.findMetadataFacade(ENTITY_ID).isPresent());
+        index.handleRegisteredServicesLoadedEvent(new CasRegisteredServicesLoadedEvent(this, new ArrayList<>()));
+        assertEquals(0, index.size());
+        assertTrue(index.findMetadataFacade(ENTITY_ID).isPresent());
+        verify(servicesManager, times(2)).findServiceBy(any(Predicate.class));
+    }
+
+    @Test
+    public void verifyUnknownEntityIdsAreRemembered() throws Exception {
+        when(metadataResolver.resolveSingle(any())).thenReturn(null);
+        assertFalse(index.findMetadataFacade(UNKNOWN_ENTITY_ID).isPresent());
+        assertFalse(index.findMetadataFacade(service, UNKNOWN_ENTITY_ID).isPresent());
+        assertEquals(0, index.size());
+        verify(servicesManager, times(1)).findServiceBy(any(Predicate.class));
+
+        index.handleRegisteredServicesLoadedEvent(new CasRegisteredServicesLoadedEvent(this, new ArrayList<>()));
+        assertFalse(index.findMetadataFacade(UNKNOWN_ENTITY_ID).isPresent());
+        verify(servicesManager, times(2)).findServiceBy(any(Predicate.class));
+    }
+}
@@ -0,0 +1,40 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlRegisteredServiceCacheKeyTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class SamlRegisteredServiceCacheKeyTests {
+    private static final String METADATA_LOCATION = "https://md.incommon.org/InCommon/InCommon-metadata.xml";
+
+    @Test
+    public void verifyServicesShareMetadataSource() {
+        final SamlRegisteredService service1 = newService(1, "https://sp1.example.org");
+        final SamlRegisteredService service2 = newService(2, "https://sp2.example.org");
+        assertEquals(new SamlRegisteredServiceCacheKey(service1), new SamlRegisteredServiceCacheKey(service2));
+    }
+
+    @Test
+    public void verifyFilterSettingsSeparateMetadataSources() {
+        final SamlRegisteredService service1 = newService(1, "https://sp1.example.org");
+        final SamlRegisteredService service2 = newService(2, "https://sp2.example.org");
+        service2.setMetadataSignatureLocation("classpath:inc-md-cert.pem");
+        assertNotEquals(new SamlRegisteredServiceCacheKey(service1), new SamlRegisteredServiceCacheKey(service2));
+    }
+
+    private static SamlRegisteredService newService(final long id, final String serviceId) {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setId(id);
+        service.setName("SAMLService" + id);
+        service.setServiceId(serviceId);
+        service.setMetadataLocation(METADATA_LOCATION);
+        return service;
+    }
+}
@@ -0,0 +1,135 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opensaml.saml.common.SAMLException;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.opensaml.security.credential.Credential;
+import org.opensaml.xmlsec.SignatureSigningConfiguration;
+import org.opensaml.xmlsec.SignatureSigningParameters;
+import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BaseSamlObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class BaseSamlObjectSignerTests {
+    private static final long ONE_MINUTE = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File signingKeyFile;
+    private CountingSamlObjectSigner signer;
+    private RoleDescriptor descriptor;
+
+    @Before
+    public void setUp() throws Exception {
+        new File(folder.getRoot(), "idp-signing.crt").createNewFile();
+        signingKeyFile = new File(folder.getRoot(), "idp-signing.key");
+        signingKeyFile.createNewFile();
+
+        final CasConfigurationProperties casProperties = new CasConfigurationProperties();
+        casProperties.getAuthn().getSamlIdp().getMetadata().setLocation(new FileSystemResource(folder.getRoot()));
+
+        signer = new CountingSamlObjectSigner();
+        ReflectionTestUtils.setField(signer, "casProperties", casProperties);
+
+        descriptor = mock(SPSSODescriptor.class);
+        when(descriptor.getElementQName()).thenReturn(SPSSODescriptor.DEFAULT_ELEMENT_NAME);
+    }
+
+    @Test
+    public void verifySigningParametersAreReused() throws Exception {
+        final SignatureSigningParameters params = signer.getSignatureSigningParameters(descriptor);
+        assertSame(params, signer.getSignatureSigningParameters(descriptor));
+        assertEquals(1, signer.credentialsLoaded);
+        assertEquals(1, signer.parametersBuilt);
+
+        assertNotSame(params, signer.getSignatureSigningParameters(mock(SPSSODescriptor.class)));
+        assertEquals(1, signer.credentialsLoaded);
+        assertEquals(2, signer.parametersBuilt);
+    }
+
+    @Test
+    public void verifyRotatedSigningKeyInvalidatesSigningParameters() throws Exception {
+        final SignatureSigningParameters params = signer.getSignatureSigningParameters(descriptor);
+        assertTrue(signingKeyFile.setLastModified(signingKeyFile.lastModified() + ONE_MINUTE));
+
+        final SignatureSigningParameters rotated = signer.getSignatureSigningParameters(descriptor);
+        assertNotSame(params, rotated);
+        assertEquals(2, signer.credentialsLoaded);
+        assertEquals(2, signer.parametersBuilt);
+        assertSame(rotated, signer.getSignatureSigningParameters(descriptor));
+    }
+
+    @Test
+    public void verifyCacheMissGoesThroughOverridableHooks() throws Exception {
+        signer.getSignatureSigningParameters(descriptor);
+        signer.getSignatureSigningParameters(descriptor);
+        assertEquals(1, signer.parametersRequested);
+        assertEquals(1, signer.configurationsRequested);
+    }
+
+    private static class CountingSamlObjectSigner extends BaseSamlObjectSigner {
+        private int credentialsLoaded;
+        private int parametersBuilt;
+        private int parametersRequested;
+        private int configurationsRequested;
+
+        CountingSamlObjectSigner() {
+            super(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        @Override
+        protected X509Certificate getSigningCertificate() {
+            return mock(X509Certificate.class);
+        }
+
+        @Override
+        protected PrivateKey getSigningPrivateKey() {
+            this.credentialsLoaded++;
+            return mock(PrivateKey.class);
+        }
+
+        @Override
+        protected SignatureSigningConfiguration buildSignatureSigningConfiguration(final Credential credential) {
+            return new BasicSignatureSigningConfiguration();
+        }
+
+        @Override
+        protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor) throws SAMLException {
+            this.parametersRequested++;
+            return super.buildSignatureSigningParameters(descriptor);
+        }
+
+        @Override
+        protected SignatureSigningConfiguration getSignatureSigningConfiguration() throws Exception {
+            this.configurationsRequested++;
+            return super.getSignatureSigningConfiguration();
+        }
+
+        @Override
+        protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                             final SignatureSigningConfiguration configuration) {
+            this.parametersBuilt++;
+            return new SignatureSigningParameters();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.apereo.cas.web.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Variant of {@link InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter} that keeps
+ * the most recent failures per IP address and username in a local cache. Failures of each key are loaded
+ * from the database when the key is first seen and again once per refresh interval, to pick up failures
+ * recorded by other nodes, and are merged with local failures whose audit records have not been written yet.
+ * Audit records are queued and written to the database in batches by a background task.
+ * <p>
+ * Database work is thus bounded by the number of distinct keys seen per refresh interval and by
+ * the size of the queue, rather than by the rate of submissions. When the queue is full, audit records
+ * are dropped; the local cache still accounts for the failure until the key is next refreshed.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter
+        extends InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter.class);
+
+    private static final double NUMBER_OF_MILLISECONDS_IN_SECOND = 1000.0;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("cas-throttle-audit-flush-%d").daemon(true).build());
+
+    private final Cache<String, FailureWindow> failures;
+    private final BlockingQueue<AuditActionContext> pendingAuditActions;
+    private final Duration flushInterval;
+    private final int flushBatchSize;
+    private final long refreshIntervalInMillis;
+
+    /**
+     * Time before which every queued audit record has been handed over to the audit trail.
+     */
+    private volatile long flushedThrough;
+
+    /**
+     * Instantiates a new caching inspektr throttled submission by ip address and username handler interceptor adapter.
+     *
+     * @param failureThreshold          the failure threshold
+     * @param failureRangeInSeconds     the failure range in seconds
+     * @param usernameParameter         the username parameter
+     * @param auditTrailManager         the audit trail manager
+     * @param dataSource                the data source
+     * @param appCode                   the app code
+     * @param sqlQueryAudit             the sql query audit
+     * @param authenticationFailureCode the authentication failure code
+     * @param maximumTrackedKeys        the maximum number of keys kept in the local cache
+     * @param queueCapacity             the maximum number of audit records waiting to be written
+     * @param flushInterval             the interval between writes of queued audit records
+     * @param flushBatchSize            the maximum number of audit records written per batch
+     * @param refreshInterval           the interval after which failures of a key are loaded again from the database
+     */
+    public CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final int failureThreshold,
+                                                                                             final int failureRangeInSeconds,
+                                                                                             final String usernameParameter,
+                                                                                             final AuditTrailManager auditTrailManager,
+                                                                                             final DataSource dataSource, final String appCode,
+                                                                                             final String sqlQueryAudit,
+                                                                                             final String authenticationFailureCode,
+                                                                                             final int maximumTrackedKeys,
+                                                                                             final int queueCapacity,
+                                                                                             final Duration flushInterval,
+                                                                                             final int flushBatchSize,
+                                                                                             final Duration refreshInterval) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter, auditTrailManager, dataSource, appCode,
+                sqlQueryAudit, authenticationFailureCode);
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumTrackedKeys);
+        if (failureRangeInSeconds > 0) {
+            builder.expireAfterAccess(failureRangeInSeconds, TimeUnit.SECONDS);
+        }
+        this.failures = builder.build();
+        this.pendingAuditActions = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushInterval = flushInterval;
+        this.flushBatchSize = flushBatchSize;
+        this.refreshIntervalInMillis = refreshInterval.toMillis();
+    }
+
+    /**
+     * Initializes the process that periodically writes queued audit records.
+     */
+    @PostConstruct
+    public void init() {
+        final long interval = this.flushInterval.toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        return getFailureWindow(request).exceedsThreshold(System.currentTimeMillis());
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        getFailureWindow(request).record(System.currentTimeMillis());
+        super.recordSubmissionFailure(request);
+    }
+
+    @Override
+    protected void recordAuditAction(final AuditActionContext context) {
+        if (!this.pendingAuditActions.offer(context)) {
+            LOGGER.warn("Audit queue for [{}] is full; dropping audit record for [{}]", getName(), context.getPrincipal());
+        }
+    }
+
+    /**
+     * Write queued audit records to the audit trail, in batches.
+     */
+    public void flush() {
+        final long started = System.currentTimeMillis();
+        final List<AuditActionContext> batch = new ArrayList<>(this.flushBatchSize);
+        while (this.pendingAuditActions.drainTo(batch, this.flushBatchSize) > 0) {
+            int recorded = 0;
+            for (final AuditActionContext context : batch) {
+                try {
+                    super.recordAuditAction(context);
+                    recorded++;
+                } catch (final Exception e) {
+                    LOGGER.error("Unable to record audit record for [{}]: [{}]", context.getPrincipal(), e.getMessage(), e);
+                }
+            }
+            LOGGER.debug("Recorded [{}] of [{}] queued audit record(s)", recorded, batch.size());
+            batch.clear();
+        }
+        this.flushedThrough = started;
+    }
+
+    /**
+     * Write remaining audit records and shutdown the scheduler.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Construct key used to track failures locally.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        return ClientInfoHolder.getClientInfo().getClientIpAddress() + ';' + constructUsername(request, getUsernameParameter());
+    }
+
+    private FailureWindow getFailureWindow(final HttpServletRequest request) {
+        final FailureWindow window = this.failures.get(constructKey(request), k -> new FailureWindow());
+        window.refreshIfStale(System.currentTimeMillis(), () -> loadStoredFailures(request));
+        return window;
+    }
+
+    private List<Timestamp> loadStoredFailures(final HttpServletRequest request) {
+        final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
+        try {
+            return getRecentFailures(clientInfo.getClientIpAddress(), constructUsername(request, getUsernameParameter()));
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return "cachingInspektrIpAddressUsernameThrottle";
+    }
+
+    /**
+     * Times of the two most recent failures of a single key, as last loaded from the database
+     * and as recorded locally since.
+     */
+    private final class FailureWindow {
+        private long loadedAt;
+        private long lastFailure;
+        private long previousFailure;
+
+        synchronized void record(final long time) {
+            if (time >= this.lastFailure) {
+                this.previousFailure = this.lastFailure;
+                this.lastFailure = time;
+            } else if (time > this.previousFailure) {
+                this.previousFailure = time;
+            }
+        }
+
+        /**
+         * Load failures from the database once the refresh interval has passed since they were last loaded.
+         * Local failures whose audit records have been written by then are part of the loaded failures;
+         * the others are kept.
+         *
+         * @param now            the current time
+         * @param storedFailures the failures recorded in the database, most recent first, or null if they cannot be loaded
+         */
+        synchronized void refreshIfStale(final long now, final Supplier<List<Timestamp>> storedFailures) {
+            if (this.loadedAt > 0 && now - this.loadedAt < refreshIntervalInMillis) {
+                return;
+            }
+            final long written = flushedThrough;
+            final List<Timestamp> stored = storedFailures.get();
+            this.loadedAt = now;
+            if (stored == null) {
+                return;
+            }
+            final long last = this.lastFailure;
+            final long previous = this.previousFailure;
+            this.lastFailure = 0;
+            this.previousFailure = 0;
+            stored.stream().limit(2).forEach(t -> record(t.getTime()));
+            if (last > written) {
+                record(last);
+            }
+            if (previous > written) {
+                record(previous);
+            }
+        }
+
+        synchronized boolean exceedsThreshold(final long now) {
+            if (this.previousFailure <= 0 || this.previousFailure < now - TimeUnit.SECONDS.toMillis(getFailureRangeInSeconds())) {
+                return false;
+            }
+            return NUMBER_OF_MILLISECONDS_IN_SECOND / (this.lastFailure - this.previousFailure) > getThresholdRate();
+        }
+    }
+}
@@ -81,18 +81,10 @@ public class InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
     public boolean exceedsThreshold(final HttpServletRequest request) {
         if (this.dataSource != null && this.jdbcTemplate != null) {
             final String userToUse = constructUsername(request, getUsernameParameter());
-            final ZonedDateTime cutoff = ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(getFailureRangeInSeconds());
-
             final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
             final String remoteAddress = clientInfo.getClientIpAddress();
-            
-            final List<Timestamp> failures = this.jdbcTemplate.query(
-                this.sqlQueryAudit,
-                new Object[]{
-                    remoteAddress, userToUse, this.authenticationFailureCode,
-                    this.applicationCode, DateTimeUtils.timestampOf(cutoff)},
-                new int[]{Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP},
-                (resultSet, i) -> resultSet.getTimestamp(1));
+
+            final List<Timestamp> failures = getRecentFailures(remoteAddress, userToUse);
             if (failures.size() < 2) {
                 return false;
             }
@@ -103,6 +95,24 @@ public class InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
         return false;
     }
 
+    /**
+     * Gets the failures recorded for the address and user within the failure range, most recent first.
+     *
+     * @param remoteAddress the remote address
+     * @param username      the username
+     * @return the failure timestamps
+     */
+    protected List<Timestamp> getRecentFailures(final String remoteAddress, final String username) {
+        final ZonedDateTime cutoff = ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(getFailureRangeInSeconds());
+        return this.jdbcTemplate.query(
+            this.sqlQueryAudit,
+            new Object[]{
+                remoteAddress, username, this.authenticationFailureCode,
+                this.applicationCode, DateTimeUtils.timestampOf(cutoff)},
+            new int[]{Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP},
+            (resultSet, i) -> resultSet.getTimestamp(1));
+    }
+
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
         super.recordSubmissionFailure(request);
@@ -143,12 +153,21 @@ public class InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
                     clientInfo.getClientIpAddress(),
                     clientInfo.getServerIpAddress(),
                     auditPointRuntimeInfo);
-            this.auditTrailManager.record(context);
+            recordAuditAction(context);
         } else {
             LOGGER.warn("No data source is defined for [{}]. Ignoring audit record-keeping", this.getName());
         }
     }
 
+    /**
+     * Hand the audit action over to the audit trail manager.
+     *
+     * @param context the audit action context
+     */
+    protected void recordAuditAction(final AuditActionContext context) {
+        this.auditTrailManager.record(context);
+    }
+
     /**
      * Construct username from the request.
      *
@@ -156,7 +175,7 @@ public class InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
      * @param usernameParameter the username parameter
      * @return the string
      */
-    private static String constructUsername(final HttpServletRequest request, final String usernameParameter) {
+    protected static String constructUsername(final HttpServletRequest request, final String usernameParameter) {
         return request.getParameter(usernameParameter);
     }
 
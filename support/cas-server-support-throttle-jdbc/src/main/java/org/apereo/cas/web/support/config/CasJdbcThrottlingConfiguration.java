@@ -2,7 +2,9 @@ package org.apereo.cas.web.support.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.web.support.CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 import org.apereo.inspektr.audit.AuditTrailManager;
@@ -41,6 +43,14 @@ public class CasJdbcThrottlingConfiguration {
         final String appcode = throttle.getAppcode();
         final String sqlQueryAudit = throttle.getJdbc().getAuditQuery();
         final ThrottleProperties.Failure failure = throttle.getFailure();
+        final ThrottleProperties.Jdbc jdbc = throttle.getJdbc();
+        if (jdbc.isCachingEnabled()) {
+            return new CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(failure.getThreshold(),
+                    failure.getRangeSeconds(), throttle.getUsernameParameter(), auditTrailManager, inspektrAuditTrailDataSource(), appcode,
+                    sqlQueryAudit, failure.getCode(), throttle.getMaximumTrackedKeys(), jdbc.getQueueCapacity(),
+                    Beans.newDuration(jdbc.getFlushInterval()), jdbc.getFlushBatchSize(),
+                    Beans.newDuration(jdbc.getRefreshInterval()));
+        }
         return new InspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(failure.getThreshold(), failure.getRangeSeconds(),
                 throttle.getUsernameParameter(), auditTrailManager, inspektrAuditTrailDataSource(), appcode, sqlQueryAudit, failure.getCode());
     }
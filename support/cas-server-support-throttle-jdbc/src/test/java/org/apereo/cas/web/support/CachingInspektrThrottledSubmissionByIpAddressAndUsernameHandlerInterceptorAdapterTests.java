@@ -0,0 +1,176 @@
+package org.apereo.cas.web.support;
+
+import org.apache.http.HttpStatus;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for {@link CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests {
+    private static final String IP_ADDRESS = "1.2.3.4";
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private final List<Timestamp> storedFailures = new ArrayList<>();
+
+    private AuditTrailManager auditTrailManager;
+    private CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter throttle;
+
+    @Before
+    public void setUp() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(IP_ADDRESS);
+        request.setLocalAddr(IP_ADDRESS);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        this.auditTrailManager = mock(AuditTrailManager.class);
+        this.throttle = newThrottle(Duration.ofMinutes(1));
+    }
+
+    @After
+    public void tearDown() {
+        this.throttle.shutdown();
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyDatabaseIsOnlyQueriedOnCacheMiss() throws Exception {
+        loginUnsuccessfully("mog");
+        Thread.sleep(1000);
+        loginUnsuccessfully("mog");
+        Thread.sleep(1000);
+        loginUnsuccessfully("mog");
+        assertEquals(1, this.queries.get());
+
+        loginUnsuccessfully("casuser");
+        assertEquals(2, this.queries.get());
+    }
+
+    @Test
+    public void verifyThrottleUsesLocalFailures() throws Exception {
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully("mog").getStatus());
+        Thread.sleep(100);
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully("mog").getStatus());
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully("mog").getStatus());
+    }
+
+    @Test
+    public void verifyThrottleUsesStoredFailuresOnCacheMiss() throws Exception {
+        final long now = System.currentTimeMillis();
+        this.storedFailures.add(new Timestamp(now - 100));
+        this.storedFailures.add(new Timestamp(now - 200));
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully("mog").getStatus());
+    }
+
+    @Test
+    public void verifyStoredFailuresAreLoadedBeforeFirstLocalFailure() throws Exception {
+        this.storedFailures.add(new Timestamp(System.currentTimeMillis() - 100));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("username", "mog");
+
+        this.throttle.recordSubmissionFailure(request);
+        assertEquals(1, this.queries.get());
+        assertTrue(this.throttle.exceedsThreshold(request));
+    }
+
+    @Test
+    public void verifyStoredFailuresAreReloadedAfterRefreshInterval() throws Exception {
+        this.throttle.shutdown();
+        this.throttle = newThrottle(Duration.ofMillis(500));
+
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully("mog").getStatus());
+        assertEquals(1, this.queries.get());
+        Thread.sleep(600);
+
+        final long now = System.currentTimeMillis();
+        this.storedFailures.add(new Timestamp(now - 100));
+        this.storedFailures.add(new Timestamp(now - 200));
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully("mog").getStatus());
+        assertEquals(2, this.queries.get());
+    }
+
+    @Test
+    public void verifyWrittenLocalFailuresAreNotCountedTwice() throws Exception {
+        this.throttle.shutdown();
+        this.throttle = newThrottle(Duration.ofMillis(500));
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("username", "mog");
+        this.throttle.recordSubmissionFailure(request);
+        this.storedFailures.add(new Timestamp(System.currentTimeMillis() + 1));
+        this.throttle.flush();
+        Thread.sleep(600);
+
+        assertFalse(this.throttle.exceedsThreshold(request));
+        assertEquals(2, this.queries.get());
+    }
+
+    @Test
+    public void verifyAuditRecordsAreWrittenInBackground() throws Exception {
+        loginUnsuccessfully("mog");
+        loginUnsuccessfully("casuser");
+        verify(this.auditTrailManager, never()).record(any(AuditActionContext.class));
+
+        this.throttle.flush();
+        verify(this.auditTrailManager, times(2)).record(any(AuditActionContext.class));
+    }
+
+    @Test
+    public void verifyFailedAuditRecordDoesNotDropTheRestOfTheBatch() throws Exception {
+        doThrow(new IllegalStateException("Unable to record")).doNothing()
+                .when(this.auditTrailManager).record(any(AuditActionContext.class));
+        loginUnsuccessfully("mog");
+        loginUnsuccessfully("casuser");
+
+        this.throttle.flush();
+        verify(this.auditTrailManager, times(2)).record(any(AuditActionContext.class));
+    }
+
+    private CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter newThrottle(final Duration refreshInterval) {
+        final CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter adapter =
+                new CachingInspektrThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(10, 5, "username",
+                        this.auditTrailManager, mock(DataSource.class), "CAS", "query", "AUTHENTICATION_FAILED",
+                        1000, 100, Duration.ofMinutes(1), 10, refreshInterval) {
+                    @Override
+                    protected List<Timestamp> getRecentFailures(final String remoteAddress, final String username) {
+                        queries.incrementAndGet();
+                        return storedFailures;
+                    }
+                };
+        adapter.afterPropertiesSet();
+        return adapter;
+    }
+
+    private MockHttpServletResponse loginUnsuccessfully(final String username) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setMethod("POST");
+        request.setParameter("username", username);
+        request.setRemoteAddr(IP_ADDRESS);
+        response.setStatus(HttpStatus.SC_UNAUTHORIZED);
+        if (this.throttle.preHandle(request, response, null)) {
+            this.throttle.postHandle(request, response, null, null);
+        }
+        return response;
+    }
+}
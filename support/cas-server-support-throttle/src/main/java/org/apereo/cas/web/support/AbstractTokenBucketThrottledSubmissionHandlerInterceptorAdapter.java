@@ -0,0 +1,157 @@
+package org.apereo.cas.web.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of a HandlerInterceptorAdapter that keeps track of failures to authenticate
+ * in a token bucket per key. Each bucket holds up to {@code failureThreshold} tokens and is refilled
+ * at the threshold rate; every failure takes a token away, and submissions are throttled once the bucket is empty.
+ * <p>
+ * Buckets are refilled lazily when accessed, so no periodic sweep is required for the throttle to relax.
+ * Keys are spread across a fixed number of stripes, each guarded by its own lock and bounded in size;
+ * once a stripe is full, the least recently used key is evicted. This keeps the memory footprint
+ * bounded when failures are recorded from a very large number of distinct addresses.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public abstract class AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
+        implements InMemoryThrottledSubmissionHandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter.class);
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+    private static final float STRIPE_LOAD_FACTOR = 0.75f;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold, final int failureRangeInSeconds,
+                                                                           final String usernameParameter, final int maximumKeys) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter);
+        final int capacity = Math.max(1, maximumKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        final String key = constructKey(request);
+        final Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            final Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                return false;
+            }
+            refill(bucket, System.currentTimeMillis());
+            return bucket.tokens < 1;
+        }
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        final String key = constructKey(request);
+        final Stripe stripe = getStripe(key);
+        final long now = System.currentTimeMillis();
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(getFailureThreshold(), now);
+                stripe.put(key, bucket);
+            } else {
+                refill(bucket, now);
+            }
+            bucket.tokens = Math.max(0, bucket.tokens - 1);
+        }
+    }
+
+    /**
+     * Buckets are refilled lazily, so this only releases the keys whose buckets are full again,
+     * one stripe at a time.
+     */
+    @Override
+    public void decrement() {
+        final long now = System.currentTimeMillis();
+        int removed = 0;
+        for (final Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                for (final Iterator<Bucket> iter = stripe.values().iterator(); iter.hasNext();) {
+                    final Bucket bucket = iter.next();
+                    refill(bucket, now);
+                    if (bucket.tokens >= getFailureThreshold()) {
+                        iter.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        LOGGER.debug("Released [{}] throttled key(s) whose failure allowance is restored", removed);
+    }
+
+    /**
+     * Number of keys currently tracked.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (final Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private void refill(final Bucket bucket, final long now) {
+        final long elapsed = now - bucket.lastRefillTime;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(getFailureThreshold(), bucket.tokens + elapsed / MILLIS_PER_SECOND * getThresholdRate());
+            bucket.lastRefillTime = now;
+        }
+    }
+
+    private Stripe getStripe(final String key) {
+        return this.stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    /**
+     * Access-ordered map of buckets that evicts its least recently used entry once full.
+     */
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private static final long serialVersionUID = -3398370226612338415L;
+
+        private final int capacity;
+
+        Stripe(final int capacity) {
+            super(INITIAL_STRIPE_CAPACITY, STRIPE_LOAD_FACTOR, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Bucket> eldest) {
+            return size() > this.capacity;
+        }
+    }
+
+    /**
+     * Remaining failure allowance of a single key.
+     */
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillTime;
+
+        Bucket(final double tokens, final long lastRefillTime) {
+            this.tokens = tokens;
+            this.lastRefillTime = lastRefillTime;
+        }
+    }
+}
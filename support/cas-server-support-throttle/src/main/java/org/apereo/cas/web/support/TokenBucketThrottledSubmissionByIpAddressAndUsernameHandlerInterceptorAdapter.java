@@ -0,0 +1,38 @@
+package org.apereo.cas.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Attempts to throttle by both IP Address and username, tracking failures in memory using token buckets.
+ * Protects against instances where there is a NAT, such as a local campus wireless network.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter
+        extends AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter {
+
+    public TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final int failureThreshold, final int failureRangeInSeconds,
+                                                                                         final String usernameParameter, final int maximumKeys) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter, maximumKeys);
+    }
+
+    @Override
+    public String constructKey(final HttpServletRequest request) {
+        final String username = request.getParameter(getUsernameParameter());
+
+        if (StringUtils.isBlank(username)) {
+            return request.getRemoteAddr();
+        }
+
+        return ClientInfoHolder.getClientInfo().getClientIpAddress() + ';' + username.toLowerCase();
+    }
+
+    @Override
+    public String getName() {
+        return "tokenBucketIpAddressUsernameThrottle";
+    }
+}
@@ -0,0 +1,30 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Throttles access attempts for failed logins by IP Address, tracking failures in memory using token buckets.
+ * This is not good for a clustered environment unless the intended behavior is that this blocking is per-machine.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TokenBucketThrottledSubmissionByIpAddressHandlerInterceptorAdapter extends AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter {
+
+    public TokenBucketThrottledSubmissionByIpAddressHandlerInterceptorAdapter(final int failureThreshold, final int failureRangeInSeconds,
+                                                                              final String usernameParameter, final int maximumKeys) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter, maximumKeys);
+    }
+
+    @Override
+    public String constructKey(final HttpServletRequest request) {
+        return ClientInfoHolder.getClientInfo().getClientIpAddress();
+    }
+
+    @Override
+    public String getName() {
+        return "tokenBucketIpAddressThrottle";
+    }
+}
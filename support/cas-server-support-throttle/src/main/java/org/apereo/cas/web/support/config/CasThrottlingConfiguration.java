@@ -8,6 +8,8 @@ import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsern
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.TokenBucketThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +45,9 @@ public class CasThrottlingConfiguration {
         final ThrottleProperties throttle = casProperties.getAuthn().getThrottle();
         if (throttle.getFailure().getThreshold() > 0
                 && throttle.getFailure().getRangeSeconds() > 0) {
+            if (throttle.getInMemoryStrategy() == ThrottleProperties.InMemoryStrategyTypes.TOKEN_BUCKET) {
+                return tokenBucketThrottle(throttle);
+            }
             if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
                 return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
                         throttle.getFailure().getRangeSeconds(), throttle.getUsernameParameter());
@@ -59,6 +64,15 @@ public class CasThrottlingConfiguration {
         return new InMemoryThrottledSubmissionCleaner(adapter);
     }
 
+    private static ThrottledSubmissionHandlerInterceptor tokenBucketThrottle(final ThrottleProperties throttle) {
+        if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
+            return new TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
+                    throttle.getFailure().getRangeSeconds(), throttle.getUsernameParameter(), throttle.getMaximumTrackedKeys());
+        }
+        return new TokenBucketThrottledSubmissionByIpAddressHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
+                throttle.getFailure().getRangeSeconds(), throttle.getUsernameParameter(), throttle.getMaximumTrackedKeys());
+    }
+
     private static ThrottledSubmissionHandlerInterceptor neverThrottle() {
         return () -> LOGGER.debug("Throttling is turned off. No cleanup will take place");
     }
@@ -0,0 +1,89 @@
+package org.apereo.cas.web.support;
+
+import org.apache.http.HttpStatus;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests {
+    private static final String IP_ADDRESS = "1.2.3.4";
+
+    @Before
+    public void setUp() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(IP_ADDRESS);
+        request.setLocalAddr(IP_ADDRESS);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+    }
+
+    @After
+    public void tearDown() {
+        ClientInfoHolder.setClientInfo(null);
+    }
+
+    @Test
+    public void verifyThrottleOnceAllowanceIsUsed() throws Exception {
+        final AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter throttle = newThrottle(3, 60, 1000);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "mog").getStatus());
+        }
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully(throttle, "mog").getStatus());
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "casuser").getStatus());
+    }
+
+    @Test
+    public void verifyAllowanceIsRestoredOverTime() throws Exception {
+        final AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter throttle = newThrottle(1, 1, 1000);
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "mog").getStatus());
+        assertEquals(HttpStatus.SC_LOCKED, loginUnsuccessfully(throttle, "mog").getStatus());
+
+        Thread.sleep(1100);
+        assertEquals(HttpStatus.SC_UNAUTHORIZED, loginUnsuccessfully(throttle, "mog").getStatus());
+        Thread.sleep(1100);
+        throttle.decrement();
+        assertEquals(0, throttle.size());
+    }
+
+    @Test
+    public void verifyTrackedKeysAreBounded() throws Exception {
+        final AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter throttle = newThrottle(3, 60, 64);
+        for (int i = 0; i < 1000; i++) {
+            loginUnsuccessfully(throttle, "user" + i);
+        }
+        assertTrue(throttle.size() <= 64);
+    }
+
+    private static AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter newThrottle(final int threshold, final int range,
+                                                                                               final int maximumKeys) {
+        final AbstractTokenBucketThrottledSubmissionHandlerInterceptorAdapter throttle =
+                new TokenBucketThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(threshold, range, "username", maximumKeys);
+        throttle.afterPropertiesSet();
+        return throttle;
+    }
+
+    private static MockHttpServletResponse loginUnsuccessfully(final ThrottledSubmissionHandlerInterceptor throttle,
+                                                               final String username) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setMethod("POST");
+        request.setParameter("username", username);
+        request.setRemoteAddr(IP_ADDRESS);
+        response.setStatus(HttpStatus.SC_UNAUTHORIZED);
+        if (throttle.preHandle(request, response, null)) {
+            throttle.postHandle(request, response, null, null);
+        }
+        return response;
+    }
+}
@@ -13,6 +13,8 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.wsfed.WsFederationProperties;
 import org.apereo.cas.services.RegexRegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
+import org.apereo.cas.services.RegisteredServiceIndex;
+import org.apereo.cas.services.ServiceIdRegisteredServiceIndex;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.saml.SamlException;
@@ -48,6 +50,9 @@ import javax.servlet.http.HttpServletResponse;
 public abstract class BaseWSFederationRequestController {
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseWSFederationRequestController.class);
 
+    private static final RegisteredServiceIndex<WSFederationRegisteredService> SERVICE_ID_INDEX =
+            new ServiceIdRegisteredServiceIndex<>(WSFederationRegisteredService.class);
+
     /**
      * The Services manager.
      */
@@ -304,7 +309,7 @@ public abstract class BaseWSFederationRequestController {
      * @return the ws federation registered service
      */
     protected WSFederationRegisteredService getWsFederationRegisteredService(final Service targetService) {
-        final WSFederationRegisteredService svc = this.servicesManager.findServiceBy(targetService, WSFederationRegisteredService.class);
+        final WSFederationRegisteredService svc = this.servicesManager.findServiceBy(SERVICE_ID_INDEX, targetService.getId());
         RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(targetService, svc);
         return svc;
     }
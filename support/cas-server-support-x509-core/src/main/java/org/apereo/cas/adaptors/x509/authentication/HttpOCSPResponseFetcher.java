@@ -0,0 +1,59 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * Fetches OCSP responses by posting requests to responders over HTTP, as described by RFC 6960.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class HttpOCSPResponseFetcher implements OCSPResponseFetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpOCSPResponseFetcher.class);
+
+    private static final String OCSP_REQUEST_CONTENT_TYPE = "application/ocsp-request";
+    private static final String OCSP_RESPONSE_CONTENT_TYPE = "application/ocsp-response";
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+
+    public HttpOCSPResponseFetcher(final int connectTimeoutMillis, final int readTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    @Override
+    public OCSPResp fetch(final URI responder, final OCSPReq request) throws IOException {
+        LOGGER.debug("Sending OCSP request to [{}]", responder);
+        final HttpURLConnection connection = (HttpURLConnection) responder.toURL().openConnection();
+        try {
+            connection.setConnectTimeout(this.connectTimeoutMillis);
+            connection.setReadTimeout(this.readTimeoutMillis);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", OCSP_REQUEST_CONTENT_TYPE);
+            connection.setRequestProperty("Accept", OCSP_RESPONSE_CONTENT_TYPE);
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(request.getEncoded());
+            }
+            final int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException(String.format("OCSP responder %s returned HTTP status %s", responder, status));
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return new OCSPResp(in);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Defines operations needed to fetch a response from an OCSP responder.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+@FunctionalInterface
+public interface OCSPResponseFetcher {
+
+    /**
+     * Send the request to the responder and fetch its response.
+     *
+     * @param responder the responder location
+     * @param request   the OCSP request
+     * @return the OCSP response
+     * @throws IOException the exception thrown if the responder cannot be reached or the response cannot be read
+     */
+    OCSPResp fetch(URI responder, OCSPReq request) throws IOException;
+}
@@ -125,7 +125,7 @@ public class RevokedCertificateException extends GeneralSecurityException {
      * @param entry  the entry
      * @return reason or null
      */
-    private static Reason getReasonFromX509Entry(final X509CRLEntry entry) {
+    public static Reason getReasonFromX509Entry(final X509CRLEntry entry) {
         if (entry.hasExtensions()) {
             try {
                 final int code = Integer.parseInt(
@@ -5,6 +5,9 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.index.CRLRevocationIndex;
+import org.apereo.cas.adaptors.x509.authentication.revocation.index.IndexedCRL;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.adaptors.x509.util.CertUtils;
 import org.bouncycastle.asn1.ASN1Sequence;
@@ -21,12 +24,14 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -36,7 +41,10 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. When given a {@link CRLRevocationIndex}, certificates are checked against
+ * the revoked serial numbers indexed for their distribution points, and CRLs are only
+ * fetched and parsed during the check for distribution points that are not indexed yet,
+ * or whose indexed CRL has expired.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
@@ -47,6 +55,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     private final Cache crlCache;
     private final CRLFetcher fetcher;
     private final boolean throwOnFetchFailure;
+    private final CRLRevocationIndex revocationIndex;
 
     /**
      * Creates a new instance that uses the given cache instance for CRL caching.
@@ -100,10 +109,65 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
                                                  final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
                                                  final CRLFetcher fetcher, final boolean throwOnFetchFailure) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, crlCache, fetcher, throwOnFetchFailure, null);
+    }
+
+    public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                 final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
+                                                 final CRLFetcher fetcher, final boolean throwOnFetchFailure,
+                                                 final CRLRevocationIndex revocationIndex) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
         this.crlCache = crlCache;
         this.fetcher = fetcher;
         this.throwOnFetchFailure = throwOnFetchFailure;
+        this.revocationIndex = revocationIndex;
+    }
+
+    @Override
+    public void check(final X509Certificate cert) throws GeneralSecurityException {
+        if (this.revocationIndex == null || cert == null) {
+            super.check(cert);
+            return;
+        }
+        final List<IndexedCRL> crls = getIndexedCRLs(cert);
+        if (crls.isEmpty()) {
+            LOGGER.debug("No indexed CRLs are available for [{}]. Fetching CRLs...", CertUtils.toString(cert));
+            super.check(cert);
+            return;
+        }
+        final List<RevokedCertificateException> revocations = crls.stream()
+                .map(crl -> crl.findRevocation(cert))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (revocations.size() == crls.size()) {
+            final RevokedCertificateException revocation = revocations.get(0);
+            LOGGER.warn("All CRL entries have been revoked. Rejecting the first entry [{}]", revocation.getMessage());
+            throw revocation;
+        }
+    }
+
+    /**
+     * Gets the indexed CRLs of the certificate distribution points, or none if the
+     * CRLs that the check requires are not all indexed and current.
+     *
+     * @param cert the cert
+     * @return the indexed crls
+     */
+    private List<IndexedCRL> getIndexedCRLs(final X509Certificate cert) {
+        final URI[] urls = getDistributionPoints(cert);
+        final List<IndexedCRL> crls = new ArrayList<>(urls.length);
+        for (final URI url : urls) {
+            final IndexedCRL crl = this.revocationIndex.get(url);
+            if (crl != null && !crl.isExpired()) {
+                crls.add(crl);
+                if (!this.checkAll) {
+                    break;
+                }
+            } else if (this.checkAll) {
+                return new ArrayList<>(0);
+            }
+        }
+        return crls;
     }
 
     @Override
@@ -138,6 +202,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
                     final X509CRL crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
 
                     if (crlFetched != null) {
+                        index(url, crlFetched);
                         listOfLocations.add(crlFetched);
                     } else {
                         LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
@@ -149,6 +214,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
                         if (crl != null) {
                             LOGGER.info("Success. Caching fetched CRL at [{}].", url);
                             addCRL(url, crl);
+                            index(url, crl);
                             listOfLocations.add(crl);
                         }
                     } catch (final Exception e) {
@@ -189,6 +255,17 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         }
     }
 
+    /**
+     * Index the CRL fetched for the distribution point, if an index is defined.
+     *
+     * @param url the distribution point
+     * @param crl the crl
+     */
+    private void index(final URI url, final X509CRL crl) {
+        if (this.revocationIndex != null) {
+            this.revocationIndex.put(url, crl);
+        }
+    }
 
     /**
      * Gets the distribution points.
@@ -0,0 +1,402 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.adaptors.x509.authentication.OCSPResponseFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.DenyRevocationPolicy;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.web.support.WebUtils;
+import org.bouncycastle.asn1.DERIA5String;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.bouncycastle.cert.ocsp.UnknownStatus;
+import org.bouncycastle.operator.ContentVerifierProvider;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.cryptacular.x509.ExtensionReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.security.auth.x500.X500Principal;
+import javax.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Performs OCSP-based revocation checking, as described by RFC 6960, by consulting the responder
+ * defined in the AuthorityInfoAccess extension field on the certificate, or a configured default responder.
+ * The issuing CA certificates must be supplied for all certificates that are expected to be checked;
+ * they identify certificates to responders and establish trust in the responses, which must be signed by the issuer
+ * or by a responder certificate issued by it for OCSP signing.
+ * <p>Responses are cached until their next update, and concurrent checks of the same certificate share
+ * a single request to the responder. A response stapled by the TLS terminator in a request header
+ * is accepted in place of a request to the responder. Responses that do not specify a next update
+ * are accepted, and cached, only until they reach the maximum response age.</p>
+ * <p>A response replaces the cached status of a certificate only if it was produced no earlier than the
+ * cached one, and a cached revoked status is never replaced by another status until it expires; the status
+ * that remains in the cache is the one applied to the certificate.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OCSPRevocationChecker implements RevocationChecker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OCSPRevocationChecker.class);
+
+    private static final long DEFAULT_MAXIMUM_RESPONSE_AGE_SECONDS = 3_600;
+
+    /**
+     * Map of CA subject to CA certificate.
+     */
+    private final Map<X500Principal, X509Certificate> issuers;
+
+    private final OCSPResponseFetcher fetcher;
+
+    /**
+     * Policy to apply when the revocation status is not available.
+     */
+    private final RevocationPolicy<Void> unavailableOCSPPolicy;
+
+    /**
+     * Responder to use for certificates with no OCSP responder in their AuthorityInfoAccess extension.
+     */
+    private final URI defaultResponder;
+
+    /**
+     * Name of the request header carrying a stapled, base64-encoded OCSP response.
+     */
+    private final String stapledResponseHeader;
+
+    private final int maximumCacheSize;
+
+    /**
+     * The age beyond which responses that do not specify a next update are no longer accepted.
+     */
+    private final long maximumResponseAgeMillis;
+
+    private final Map<CertificateID, CertificateStatus> statuses = new ConcurrentHashMap<>();
+
+    private final Map<CertificateID, CompletableFuture<CertificateStatus>> requests = new ConcurrentHashMap<>();
+
+    public OCSPRevocationChecker(final Collection<X509Certificate> issuers, final OCSPResponseFetcher fetcher,
+                                 final RevocationPolicy<Void> unavailableOCSPPolicy) {
+        this(issuers, fetcher, unavailableOCSPPolicy, null, null, Integer.MAX_VALUE, DEFAULT_MAXIMUM_RESPONSE_AGE_SECONDS);
+    }
+
+    public OCSPRevocationChecker(final Collection<X509Certificate> issuers, final OCSPResponseFetcher fetcher,
+                                 final RevocationPolicy<Void> unavailableOCSPPolicy, final URI defaultResponder,
+                                 final String stapledResponseHeader, final int maximumCacheSize,
+                                 final long maximumResponseAgeSeconds) {
+        this.issuers = issuers.stream().collect(Collectors.toMap(X509Certificate::getSubjectX500Principal,
+                Function.identity(), (first, second) -> first));
+        this.fetcher = fetcher;
+        this.unavailableOCSPPolicy = unavailableOCSPPolicy == null ? new DenyRevocationPolicy() : unavailableOCSPPolicy;
+        this.defaultResponder = defaultResponder;
+        this.stapledResponseHeader = stapledResponseHeader;
+        this.maximumCacheSize = maximumCacheSize;
+        this.maximumResponseAgeMillis = TimeUnit.SECONDS.toMillis(maximumResponseAgeSeconds);
+    }
+
+    @Override
+    public void check(final X509Certificate cert) throws GeneralSecurityException {
+        if (cert == null) {
+            throw new IllegalArgumentException("Certificate cannot be null.");
+        }
+        LOGGER.debug("Evaluating certificate revocation status for [{}]", CertUtils.toString(cert));
+        final CertificateStatus status = getStatus(cert);
+        if (status == null || status.isUnknown()) {
+            LOGGER.warn("OCSP revocation status is not available for [{}]", CertUtils.toString(cert));
+            this.unavailableOCSPPolicy.apply(null);
+            return;
+        }
+        if (status.isRevoked()) {
+            LOGGER.warn("OCSP responder reports [{}] as revoked on [{}]", CertUtils.toString(cert), status.revocationDate);
+            throw new RevokedCertificateException(DateTimeUtils.zonedDateTimeOf(status.revocationDate),
+                    cert.getSerialNumber(), status.reason);
+        }
+        LOGGER.debug("OCSP responder reports [{}] as good", CertUtils.toString(cert));
+    }
+
+    private CertificateStatus getStatus(final X509Certificate cert) {
+        final X509Certificate issuer = this.issuers.get(cert.getIssuerX500Principal());
+        if (issuer == null) {
+            LOGGER.warn("No issuer certificate is defined for [{}]", cert.getIssuerX500Principal());
+            return null;
+        }
+        try {
+            final CertificateID id = new CertificateID(new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1),
+                    new JcaX509CertificateHolder(issuer), cert.getSerialNumber());
+
+            final CertificateStatus stapled = getStapledStatus(id, issuer);
+            if (stapled != null) {
+                return cache(id, stapled);
+            }
+
+            final CertificateStatus cached = this.statuses.get(id);
+            if (cached != null && !cached.isExpired()) {
+                LOGGER.debug("Found cached OCSP response for [{}]", CertUtils.toString(cert));
+                return cached;
+            }
+
+            final CompletableFuture<CertificateStatus> request = new CompletableFuture<>();
+            final CompletableFuture<CertificateStatus> inFlight = this.requests.putIfAbsent(id, request);
+            if (inFlight != null) {
+                LOGGER.debug("Waiting for the OCSP request in flight for [{}]", CertUtils.toString(cert));
+                return inFlight.join();
+            }
+            try {
+                final CertificateStatus status = fetchStatus(cert, id, issuer);
+                request.complete(status);
+                return status;
+            } catch (final Exception e) {
+                request.complete(null);
+                throw e;
+            } finally {
+                this.requests.remove(id, request);
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Error checking OCSP revocation status of [{}]", CertUtils.toString(cert), e);
+        }
+        return null;
+    }
+
+    private CertificateStatus getStapledStatus(final CertificateID id, final X509Certificate issuer) {
+        if (StringUtils.isBlank(this.stapledResponseHeader)) {
+            return null;
+        }
+        final HttpServletRequest request = WebUtils.getHttpServletRequestFromRequestAttributes();
+        final String header = request == null ? null : request.getHeader(this.stapledResponseHeader);
+        if (StringUtils.isBlank(header)) {
+            return null;
+        }
+        try {
+            final CertificateStatus status = toStatus(new OCSPResp(EncodingUtils.decodeBase64(header)), id, issuer);
+            if (status != null) {
+                LOGGER.debug("Accepted OCSP response stapled in request header [{}]", this.stapledResponseHeader);
+                return status;
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Could not read the OCSP response stapled in request header [{}]: [{}]",
+                    this.stapledResponseHeader, e.getMessage());
+        }
+        return null;
+    }
+
+    private CertificateStatus fetchStatus(final X509Certificate cert, final CertificateID id,
+                                          final X509Certificate issuer) throws Exception {
+        final URI responder = getResponder(cert);
+        if (responder == null) {
+            LOGGER.warn("No OCSP responder is defined for [{}]", CertUtils.toString(cert));
+            return null;
+        }
+        LOGGER.debug("OCSP response for [{}] is not cached. Fetching from [{}]...", CertUtils.toString(cert), responder);
+        final OCSPResp response = this.fetcher.fetch(responder, new OCSPReqBuilder().addRequest(id).build());
+        final CertificateStatus status = toStatus(response, id, issuer);
+        return status == null ? null : cache(id, status);
+    }
+
+    /**
+     * Cache the status unless the cached status of the certificate supersedes it.
+     *
+     * @param id     the certificate id
+     * @param status the status
+     * @return the status in effect for the certificate
+     */
+    private CertificateStatus cache(final CertificateID id, final CertificateStatus status) {
+        if (status.isExpired()) {
+            return status;
+        }
+        if (this.statuses.size() >= this.maximumCacheSize) {
+            this.statuses.values().removeIf(CertificateStatus::isExpired);
+        }
+        if (this.statuses.size() < this.maximumCacheSize || this.statuses.containsKey(id)) {
+            return this.statuses.merge(id, status, (cached, candidate) -> candidate.supersedes(cached) ? candidate : cached);
+        }
+        return status;
+    }
+
+    /**
+     * Gets the OCSP responder of the certificate from its AuthorityInfoAccess extension field,
+     * or the default responder.
+     *
+     * @param cert the cert
+     * @return the responder
+     */
+    private URI getResponder(final X509Certificate cert) {
+        try {
+            final List<AccessDescription> descriptions = new ExtensionReader(cert).readAuthorityInformationAccess();
+            if (descriptions != null) {
+                for (final AccessDescription description : descriptions) {
+                    final GeneralName location = description.getAccessLocation();
+                    if (AccessDescription.id_ad_ocsp.equals(description.getAccessMethod())
+                            && location.getTagNo() == GeneralName.uniformResourceIdentifier) {
+                        return new URI(DERIA5String.getInstance(location.getName()).getString());
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Error reading AuthorityInfoAccess extension field on [{}]: [{}]", CertUtils.toString(cert), e.getMessage());
+        }
+        return this.defaultResponder;
+    }
+
+    /**
+     * Verify the response and extract the status of the certificate.
+     *
+     * @param response the response
+     * @param id       the certificate id
+     * @param issuer   the issuer
+     * @return the status, or null if the response is not successful, not trusted, not current or does not
+     * mention the certificate
+     * @throws Exception the exception
+     */
+    private CertificateStatus toStatus(final OCSPResp response, final CertificateID id,
+                                       final X509Certificate issuer) throws Exception {
+        if (response.getStatus() != OCSPResp.SUCCESSFUL) {
+            LOGGER.warn("OCSP responder returned unsuccessful response status [{}]", response.getStatus());
+            return null;
+        }
+        final BasicOCSPResp basic = (BasicOCSPResp) response.getResponseObject();
+        if (!isSignedByIssuerOrDelegate(basic, issuer)) {
+            LOGGER.warn("OCSP response is not signed by [{}] or a responder it authorized", issuer.getSubjectX500Principal());
+            return null;
+        }
+        final Date now = new Date();
+        for (final SingleResp single : basic.getResponses()) {
+            if (!id.equals(single.getCertID())) {
+                continue;
+            }
+            if (single.getThisUpdate().after(now) || single.getNextUpdate() != null && single.getNextUpdate().before(now)) {
+                LOGGER.warn("OCSP response produced on [{}] with next update [{}] is not current",
+                        single.getThisUpdate(), single.getNextUpdate());
+                return null;
+            }
+            if (single.getNextUpdate() == null
+                    && now.getTime() - single.getThisUpdate().getTime() > this.maximumResponseAgeMillis) {
+                LOGGER.warn("OCSP response produced on [{}] with no next update is older than [{}] ms",
+                        single.getThisUpdate(), this.maximumResponseAgeMillis);
+                return null;
+            }
+            final long expiresAt = single.getNextUpdate() == null
+                    ? single.getThisUpdate().getTime() + this.maximumResponseAgeMillis
+                    : single.getNextUpdate().getTime();
+            return new CertificateStatus(single.getCertStatus(), single.getThisUpdate().getTime(), expiresAt);
+        }
+        LOGGER.warn("OCSP response does not include the status of certificate [{}]", id.getSerialNumber());
+        return null;
+    }
+
+    private static boolean isSignedByIssuerOrDelegate(final BasicOCSPResp response, final X509Certificate issuer) throws Exception {
+        final JcaContentVerifierProviderBuilder builder = new JcaContentVerifierProviderBuilder();
+        if (isSignatureValid(response, builder.build(issuer.getPublicKey()))) {
+            return true;
+        }
+        final JcaX509CertificateConverter converter = new JcaX509CertificateConverter();
+        for (final X509CertificateHolder holder : response.getCerts()) {
+            try {
+                final X509Certificate responder = converter.getCertificate(holder);
+                final List<String> usages = responder.getExtendedKeyUsage();
+                if (responder.getIssuerX500Principal().equals(issuer.getSubjectX500Principal())
+                        && usages != null && usages.contains(KeyPurposeId.id_kp_OCSPSigning.getId())) {
+                    responder.verify(issuer.getPublicKey());
+                    responder.checkValidity();
+                    if (isSignatureValid(response, builder.build(responder.getPublicKey()))) {
+                        return true;
+                    }
+                }
+            } catch (final Exception e) {
+                LOGGER.debug("Responder certificate [{}] is not authorized by the issuer: [{}]", holder.getSubject(), e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSignatureValid(final BasicOCSPResp response, final ContentVerifierProvider verifier) {
+        try {
+            return response.isSignatureValid(verifier);
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * The status of a certificate reported by an OCSP response, kept until the response expires.
+     */
+    private static final class CertificateStatus {
+        private final boolean revoked;
+        private final boolean unknown;
+        private final Date revocationDate;
+        private final RevokedCertificateException.Reason reason;
+        private final long thisUpdate;
+        private final long expiresAt;
+
+        CertificateStatus(final Object status, final long thisUpdate, final long expiresAt) {
+            this.revoked = status instanceof RevokedStatus;
+            this.unknown = status instanceof UnknownStatus;
+            if (this.revoked) {
+                final RevokedStatus revokedStatus = (RevokedStatus) status;
+                this.revocationDate = revokedStatus.getRevocationTime();
+                this.reason = revokedStatus.hasRevocationReason()
+                        && revokedStatus.getRevocationReason() < RevokedCertificateException.Reason.values().length
+                        ? RevokedCertificateException.Reason.fromCode(revokedStatus.getRevocationReason()) : null;
+            } else {
+                this.revocationDate = null;
+                this.reason = null;
+            }
+            this.thisUpdate = thisUpdate;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isRevoked() {
+            return this.revoked;
+        }
+
+        boolean isUnknown() {
+            return this.unknown;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= this.expiresAt;
+        }
+
+        /**
+         * Whether this status replaces the given one, which is the case if the given one has expired,
+         * or if this status was produced no earlier and does not replace a revoked status with another.
+         *
+         * @param other the other status
+         * @return true if this status replaces the other
+         */
+        boolean supersedes(final CertificateStatus other) {
+            if (other.isExpired()) {
+                return true;
+            }
+            if (other.revoked && !this.revoked) {
+                return false;
+            }
+            return this.thisUpdate >= other.thisUpdate;
+        }
+    }
+}
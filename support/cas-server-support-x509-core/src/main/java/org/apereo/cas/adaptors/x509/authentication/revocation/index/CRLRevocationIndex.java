@@ -0,0 +1,124 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.index;
+
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CRLRevocationIndex} that keeps the {@link IndexedCRL indexed} CRL of each distribution point.
+ * <p>Once a distribution point is indexed, its CRL is fetched again in the background ahead of its next update,
+ * or at the refresh interval if sooner, and the indexed CRL is replaced as a whole once the new one is parsed,
+ * so that revocation checks never wait on fetching or parsing CRLs. Failed refreshes are retried, and the
+ * previously indexed CRL is used until it expires.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CRLRevocationIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CRLRevocationIndex.class);
+
+    private static final long RETRY_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<URI, IndexedCRL> crls = new ConcurrentHashMap<>();
+    private final Set<URI> scheduled = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+
+    private final CRLFetcher fetcher;
+    private final long refreshIntervalMillis;
+    private final long refreshBeforeNextUpdateMillis;
+
+    /**
+     * Instantiates a new CRL revocation index.
+     *
+     * @param fetcher                        the fetcher used to refresh CRLs
+     * @param refreshIntervalSeconds         the maximum time between refreshes of a distribution point
+     * @param refreshBeforeNextUpdateSeconds how long before its next update a CRL is refreshed
+     */
+    public CRLRevocationIndex(final CRLFetcher fetcher, final long refreshIntervalSeconds,
+                              final long refreshBeforeNextUpdateSeconds) {
+        this.fetcher = fetcher;
+        this.refreshIntervalMillis = TimeUnit.SECONDS.toMillis(refreshIntervalSeconds);
+        this.refreshBeforeNextUpdateMillis = TimeUnit.SECONDS.toMillis(refreshBeforeNextUpdateSeconds);
+    }
+
+    /**
+     * Gets the indexed CRL of the distribution point.
+     *
+     * @param uri the distribution point
+     * @return the indexed crl, or null if the distribution point is not indexed
+     */
+    public IndexedCRL get(final URI uri) {
+        return this.crls.get(uri);
+    }
+
+    /**
+     * Index the CRL of the distribution point, unless a CRL issued at the same time or later is already indexed,
+     * and keep the distribution point refreshed from then on.
+     *
+     * @param uri the distribution point
+     * @param crl the crl
+     */
+    public void put(final URI uri, final X509CRL crl) {
+        final IndexedCRL current = this.crls.get(uri);
+        if (current != null && current.getThisUpdate() >= crl.getThisUpdate().getTime()) {
+            LOGGER.trace("CRL at [{}] issued on [{}] is already indexed", uri, crl.getThisUpdate());
+            return;
+        }
+        final IndexedCRL indexed = IndexedCRL.of(crl);
+        this.crls.merge(uri, indexed, (previous, next) -> previous.getThisUpdate() >= next.getThisUpdate() ? previous : next);
+        LOGGER.debug("Indexed [{}] revoked serial numbers of the CRL at [{}] issued by [{}]",
+                indexed.size(), uri, indexed.getIssuer());
+        if (this.scheduled.add(uri)) {
+            scheduleRefresh(uri, getRefreshDelay(indexed));
+        }
+    }
+
+    /**
+     * Shutdown scheduler.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.shutdown();
+    }
+
+    private void refresh(final URI uri) {
+        try {
+            LOGGER.debug("Refreshing the indexed CRL at [{}]", uri);
+            final X509CRL crl = this.fetcher.fetch(uri);
+            if (crl != null) {
+                put(uri, crl);
+                scheduleRefresh(uri, getRefreshDelay(this.crls.get(uri)));
+                return;
+            }
+            LOGGER.warn("Could not refresh the indexed CRL at [{}]", uri);
+        } catch (final Exception e) {
+            LOGGER.warn("Error refreshing the indexed CRL at [{}]: [{}]", uri, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        scheduleRefresh(uri, Math.min(RETRY_INTERVAL_MILLIS, this.refreshIntervalMillis));
+    }
+
+    private void scheduleRefresh(final URI uri, final long delayMillis) {
+        if (this.scheduler.isShutdown()) {
+            return;
+        }
+        LOGGER.trace("Scheduling refresh of the indexed CRL at [{}] in [{}] ms", uri, delayMillis);
+        this.scheduler.schedule(() -> refresh(uri), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private long getRefreshDelay(final IndexedCRL crl) {
+        final long untilNextUpdate = crl.getNextUpdate() - this.refreshBeforeNextUpdateMillis - System.currentTimeMillis();
+        return Math.max(Math.min(RETRY_INTERVAL_MILLIS, this.refreshIntervalMillis),
+                Math.min(this.refreshIntervalMillis, untilNextUpdate));
+    }
+}
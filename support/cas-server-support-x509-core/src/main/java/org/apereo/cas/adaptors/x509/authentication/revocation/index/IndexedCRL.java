@@ -0,0 +1,112 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.index;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.util.DateTimeUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link IndexedCRL}, the revocation data of a CRL reduced to what revocation checks need:
+ * the issuer, the validity period and the {@link RevokedSerialNumberSet revoked serial numbers}
+ * of each certificate issuer that the CRL covers.
+ * <p>Entries of indirect CRLs may name a certificate issuer other than the CRL issuer; such entries
+ * are kept apart from those of the CRL issuer, so that a certificate is only matched against entries
+ * for its own issuer.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class IndexedCRL {
+    private final X500Principal issuer;
+    private final long thisUpdate;
+    private final long nextUpdate;
+    private final Map<X500Principal, RevokedSerialNumberSet> revokedSerialNumbers;
+
+    public IndexedCRL(final X500Principal issuer, final Date thisUpdate, final Date nextUpdate,
+                      final Map<X500Principal, RevokedSerialNumberSet> revokedSerialNumbers) {
+        this.issuer = issuer;
+        this.thisUpdate = thisUpdate.getTime();
+        this.nextUpdate = nextUpdate == null ? Long.MAX_VALUE : nextUpdate.getTime();
+        this.revokedSerialNumbers = revokedSerialNumbers;
+    }
+
+    /**
+     * Index the given CRL, grouping its entries by the issuer of the revoked certificates.
+     *
+     * @param crl the crl
+     * @return the indexed crl
+     */
+    public static IndexedCRL of(final X509CRL crl) {
+        final X500Principal crlIssuer = crl.getIssuerX500Principal();
+        final Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+        final Map<X500Principal, RevokedSerialNumberSet> revoked = new HashMap<>();
+        if (entries != null) {
+            entries.stream()
+                    .collect(Collectors.groupingBy(entry -> entry.getCertificateIssuer() == null
+                            ? crlIssuer : entry.getCertificateIssuer()))
+                    .forEach((certificateIssuer, issued) -> revoked.put(certificateIssuer, new RevokedSerialNumberSet(issued)));
+        }
+        return new IndexedCRL(crlIssuer, crl.getThisUpdate(), crl.getNextUpdate(), revoked);
+    }
+
+    /**
+     * Find the revocation of the given certificate, comparing its issuer
+     * with the certificate issuer of the CRL entries.
+     *
+     * @param cert the certificate
+     * @return the revocation, or null if the certificate is not revoked by this CRL
+     */
+    public RevokedCertificateException findRevocation(final X509Certificate cert) {
+        final RevokedSerialNumberSet serialNumbers = this.revokedSerialNumbers.get(cert.getIssuerX500Principal());
+        if (serialNumbers == null) {
+            return null;
+        }
+        final BigInteger serialNumber = cert.getSerialNumber();
+        final int index = serialNumbers.indexOf(serialNumber);
+        if (index < 0) {
+            return null;
+        }
+        return new RevokedCertificateException(
+                DateTimeUtils.zonedDateTimeOf(serialNumbers.getRevocationDate(index)),
+                serialNumber, serialNumbers.getReason(index));
+    }
+
+    /**
+     * Whether the CRL has passed its next update.
+     *
+     * @return true if expired
+     */
+    public boolean isExpired() {
+        return System.currentTimeMillis() > this.nextUpdate;
+    }
+
+    /**
+     * Gets the number of revoked serial numbers, across all certificate issuers.
+     *
+     * @return the number of revoked serial numbers
+     */
+    public int size() {
+        return this.revokedSerialNumbers.values().stream().mapToInt(RevokedSerialNumberSet::size).sum();
+    }
+
+    public X500Principal getIssuer() {
+        return this.issuer;
+    }
+
+    public long getThisUpdate() {
+        return this.thisUpdate;
+    }
+
+    public long getNextUpdate() {
+        return this.nextUpdate;
+    }
+}
@@ -0,0 +1,160 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.index;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This is {@link RevokedSerialNumberSet}, an immutable set of the serial numbers revoked by a CRL.
+ * <p>Serial numbers are kept back to back in a single byte array, alongside the revocation date
+ * and reason of each, and are located through an open-addressing hash table of offsets.
+ * Lookups compare serial numbers byte for byte and so produce no false positives,
+ * while the set holds a handful of arrays rather than an object per revoked certificate.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public final class RevokedSerialNumberSet {
+    private static final int EMPTY = -1;
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int HASH_MIX = 0x9E3779B9;
+    private static final int HASH_SHIFT = 16;
+
+    private final byte[] serials;
+    private final int[] offsets;
+    private final long[] revocationDates;
+    private final byte[] reasons;
+    private final int[] table;
+    private final int size;
+
+    /**
+     * Instantiates a new set from the entries of a CRL.
+     *
+     * @param entries the revoked certificate entries
+     */
+    public RevokedSerialNumberSet(final Collection<? extends X509CRLEntry> entries) {
+        final int count = entries.size();
+        final byte[][] encoded = new byte[count][];
+        int length = 0;
+        int i = 0;
+        for (final X509CRLEntry entry : entries) {
+            encoded[i] = entry.getSerialNumber().toByteArray();
+            length += encoded[i].length;
+            i++;
+        }
+
+        this.serials = new byte[length];
+        this.offsets = new int[count + 1];
+        this.revocationDates = new long[count];
+        this.reasons = new byte[count];
+        this.table = new int[Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1];
+        Arrays.fill(this.table, EMPTY);
+
+        int added = 0;
+        int offset = 0;
+        i = 0;
+        for (final X509CRLEntry entry : entries) {
+            final byte[] serial = encoded[i++];
+            if (indexOf(serial) != EMPTY) {
+                continue;
+            }
+            System.arraycopy(serial, 0, this.serials, offset, serial.length);
+            this.offsets[added] = offset;
+            offset += serial.length;
+            this.offsets[added + 1] = offset;
+            this.revocationDates[added] = entry.getRevocationDate().getTime();
+            final RevokedCertificateException.Reason reason = RevokedCertificateException.getReasonFromX509Entry(entry);
+            this.reasons[added] = reason == null ? EMPTY : (byte) reason.ordinal();
+
+            int slot = hash(serial) & (this.table.length - 1);
+            while (this.table[slot] != EMPTY) {
+                slot = (slot + 1) & (this.table.length - 1);
+            }
+            this.table[slot] = added;
+            added++;
+        }
+        this.size = added;
+    }
+
+    /**
+     * Find the position of the serial number in this set.
+     *
+     * @param serialNumber the serial number
+     * @return the position of the serial number, or {@code -1} if it is not revoked
+     */
+    public int indexOf(final BigInteger serialNumber) {
+        return indexOf(serialNumber.toByteArray());
+    }
+
+    /**
+     * Whether the serial number is revoked.
+     *
+     * @param serialNumber the serial number
+     * @return true if the serial number is in this set
+     */
+    public boolean contains(final BigInteger serialNumber) {
+        return indexOf(serialNumber) != EMPTY;
+    }
+
+    /**
+     * Gets the revocation date of the serial number at the given position.
+     *
+     * @param index the position, as returned by {@link #indexOf(BigInteger)}
+     * @return the revocation date in milliseconds since the epoch
+     */
+    public long getRevocationDate(final int index) {
+        return this.revocationDates[index];
+    }
+
+    /**
+     * Gets the revocation reason of the serial number at the given position.
+     *
+     * @param index the position, as returned by {@link #indexOf(BigInteger)}
+     * @return the reason, or null if the CRL entry carries none
+     */
+    public RevokedCertificateException.Reason getReason(final int index) {
+        final byte reason = this.reasons[index];
+        return reason == EMPTY ? null : RevokedCertificateException.Reason.fromCode(reason);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private int indexOf(final byte[] serial) {
+        int slot = hash(serial) & (this.table.length - 1);
+        while (this.table[slot] != EMPTY) {
+            final int index = this.table[slot];
+            if (matches(index, serial)) {
+                return index;
+            }
+            slot = (slot + 1) & (this.table.length - 1);
+        }
+        return EMPTY;
+    }
+
+    private boolean matches(final int index, final byte[] serial) {
+        final int start = this.offsets[index];
+        if (this.offsets[index + 1] - start != serial.length) {
+            return false;
+        }
+        for (int i = 0; i < serial.length; i++) {
+            if (this.serials[start + i] != serial[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(final byte[] serial) {
+        int hash = 1;
+        for (final byte b : serial) {
+            hash = HASH_MULTIPLIER * hash + b;
+        }
+        hash *= HASH_MIX;
+        return hash ^ (hash >>> HASH_SHIFT);
+    }
+}
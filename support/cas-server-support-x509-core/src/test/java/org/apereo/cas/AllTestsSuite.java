@@ -1,6 +1,9 @@
 package org.apereo.cas;
 
 import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLDistributionPointRevocationCheckerTests;
+import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLRevocationIndexTests;
+import org.apereo.cas.adaptors.x509.authentication.handler.support.HttpOCSPResponseFetcherTests;
+import org.apereo.cas.adaptors.x509.authentication.handler.support.OCSPRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ResourceCRLRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ThresholdExpiredCRLRevocationPolicyTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandlerTests;
@@ -29,6 +32,9 @@ import org.junit.runners.Suite;
         ResourceCRLRevocationCheckerTests.class,
         ThresholdExpiredCRLRevocationPolicyTests.class,
         X509CredentialsAuthenticationHandlerTests.class,
-        CRLDistributionPointRevocationCheckerTests.class})
+        CRLDistributionPointRevocationCheckerTests.class,
+        CRLRevocationIndexTests.class,
+        OCSPRevocationCheckerTests.class,
+        HttpOCSPResponseFetcherTests.class})
 public class AllTestsSuite {
 }
@@ -0,0 +1,115 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.index.CRLRevocationIndex;
+import org.apereo.cas.adaptors.x509.authentication.revocation.index.IndexedCRL;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.ThresholdExpiredCRLRevocationPolicy;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
+import org.apereo.cas.adaptors.x509.util.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.security.cert.CRLException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CRLRevocationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class CRLRevocationIndexTests {
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final ResourceCRLFetcher fetcher = new ResourceCRLFetcher() {
+        @Override
+        public X509CRL fetch(final Resource crl) throws IOException, CRLException, CertificateException {
+            fetches.incrementAndGet();
+            return super.fetch(crl);
+        }
+    };
+
+    private MockWebServer webServer;
+
+    private CRLRevocationIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        this.webServer = new MockWebServer(8085, new ClassPathResource("userCA-valid.crl"), "text/plain");
+        this.webServer.start();
+        Thread.sleep(500);
+        this.index = new CRLRevocationIndex(this.fetcher, 3600, 300);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.index.shutdown();
+        this.webServer.stop();
+        Thread.sleep(500);
+    }
+
+    @Test
+    public void verifyRevokedSerialNumbersAreIndexed() throws Exception {
+        final IndexedCRL crl = IndexedCRL.of(this.fetcher.fetch(new ClassPathResource("userCA-valid.crl")));
+        assertNotNull(crl);
+        assertFalse(crl.isExpired());
+
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked.crt"));
+        final RevokedCertificateException revocation = crl.findRevocation(revoked);
+        assertNotNull(revocation);
+        assertEquals(revoked.getSerialNumber(), revocation.getSerial());
+
+        final X509Certificate valid = CertUtils.readCertificate(new ClassPathResource("user-valid.crt"));
+        assertNull(crl.findRevocation(valid));
+    }
+
+    @Test
+    public void verifyRevocationsAreMatchedByIssuer() throws Exception {
+        final IndexedCRL crl = IndexedCRL.of(this.fetcher.fetch(new ClassPathResource("userCA-valid.crl")));
+        final X509Certificate revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked.crt"));
+        assertEquals(revoked.getIssuerX500Principal(), crl.getIssuer());
+
+        final X509Certificate other = mock(X509Certificate.class);
+        when(other.getSerialNumber()).thenReturn(revoked.getSerialNumber());
+        when(other.getIssuerX500Principal()).thenReturn(new X500Principal("CN=Other CA,O=Example"));
+        assertNull(crl.findRevocation(other));
+    }
+
+    @Test
+    public void verifyIndexedChecksDoNotFetchCRLs() throws Exception {
+        CacheManager.getInstance().removeAllCaches();
+        final Cache cache = new Cache("crlCache-index", 100, false, false, 20, 10);
+        CacheManager.getInstance().addCache(cache);
+        final CRLDistributionPointRevocationChecker checker = new CRLDistributionPointRevocationChecker(false, null,
+                new ThresholdExpiredCRLRevocationPolicy(0), cache, this.fetcher, false, this.index);
+
+        final X509Certificate valid = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+        checker.check(valid);
+        final int fetched = this.fetches.get();
+        assertTrue(fetched > 0);
+
+        checker.check(valid);
+        try {
+            checker.check(CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt")));
+            fail("Expected a revoked certificate");
+        } catch (final RevokedCertificateException e) {
+            assertNotNull(e.getSerial());
+        }
+        assertEquals(fetched, this.fetches.get());
+    }
+}
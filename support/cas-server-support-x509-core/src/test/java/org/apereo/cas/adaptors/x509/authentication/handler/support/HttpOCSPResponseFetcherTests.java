@@ -0,0 +1,92 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.authentication.HttpOCSPResponseFetcher;
+import org.apereo.cas.adaptors.x509.util.MockWebServer;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HttpOCSPResponseFetcherTests}, which runs against a local HTTP stub of an OCSP responder.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class HttpOCSPResponseFetcherTests {
+    private static final URI RESPONDER = URI.create("http://localhost:8088/ocsp");
+
+    private final HttpOCSPResponseFetcher fetcher = new HttpOCSPResponseFetcher(5_000, 5_000);
+
+    private OCSPResp response;
+    private OCSPReq request;
+    private MockWebServer webServer;
+
+    @Before
+    public void setUp() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keys = generator.generateKeyPair();
+
+        final X500Name name = new X500Name("CN=OCSP Test Responder");
+        final X509CertificateHolder issuer = new JcaX509v3CertificateBuilder(name, BigInteger.ONE,
+                new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)),
+                new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)), name, keys.getPublic())
+                .build(new JcaContentSignerBuilder("SHA256withRSA").build(keys.getPrivate()));
+        final CertificateID id = new CertificateID(new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1),
+                issuer, BigInteger.TEN);
+        this.request = new OCSPReqBuilder().addRequest(id).build();
+
+        final BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(new RespID(name));
+        builder.addResponse(id, CertificateStatus.GOOD, new Date(), null);
+        final BasicOCSPResp basic = builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keys.getPrivate()),
+                new X509CertificateHolder[0], new Date());
+        this.response = new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, basic);
+
+        this.webServer = new MockWebServer(8088, new ByteArrayResource(this.response.getEncoded()), "application/ocsp-response");
+        this.webServer.start();
+        Thread.sleep(500);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.webServer.stop();
+        Thread.sleep(500);
+    }
+
+    @Test
+    public void verifyResponseIsFetched() throws Exception {
+        final OCSPResp fetched = this.fetcher.fetch(RESPONDER, this.request);
+        assertEquals(OCSPResp.SUCCESSFUL, fetched.getStatus());
+        assertArrayEquals(this.response.getEncoded(), fetched.getEncoded());
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyUnreachableResponderFails() throws Exception {
+        this.fetcher.fetch(URI.create("http://localhost:8087/ocsp"), this.request);
+    }
+}
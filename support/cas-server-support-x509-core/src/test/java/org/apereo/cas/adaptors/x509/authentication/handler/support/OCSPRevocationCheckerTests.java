@@ -0,0 +1,333 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.authentication.OCSPResponseFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.OCSPRevocationChecker;
+import org.apereo.cas.util.EncodingUtils;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.UnknownStatus;
+import org.bouncycastle.cert.ocsp.jcajce.JcaCertificateID;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OCSPRevocationCheckerTests}, which runs against a local OCSP responder stub.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class OCSPRevocationCheckerTests {
+    private static final String RESPONDER = "http://localhost:8089/ocsp";
+    private static final BigInteger REVOKED_SERIAL = BigInteger.valueOf(2);
+    private static final String STAPLED_RESPONSE_HEADER = "ssl-client-ocsp";
+    private static final long MAXIMUM_RESPONSE_AGE_SECONDS = 3_600;
+
+    private static KeyPair caKeys;
+    private static X509Certificate caCert;
+    private static X509Certificate validCert;
+    private static X509Certificate revokedCert;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<URI> responders = new ArrayList<>();
+
+    @BeforeClass
+    public static void createCertificates() throws Exception {
+        caKeys = newKeyPair();
+        final X500Name caName = new X500Name("CN=OCSP Test CA");
+        final JcaX509v3CertificateBuilder ca = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+                new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)),
+                new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)), caName, caKeys.getPublic());
+        ca.addExtension(Extension.basicConstraints, true, new BasicConstraints(0));
+        caCert = toCertificate(ca.build(new JcaContentSignerBuilder("SHA256withRSA").build(caKeys.getPrivate())));
+        validCert = newUserCertificate(BigInteger.valueOf(1));
+        revokedCert = newUserCertificate(REVOKED_SERIAL);
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void verifyGoodResponsesAreCached() throws Exception {
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(), 0));
+        checker.check(validCert);
+        checker.check(validCert);
+        assertEquals(1, this.requests.get());
+        assertEquals(URI.create(RESPONDER), this.responders.get(0));
+    }
+
+    @Test
+    public void verifyRevokedCertificate() throws Exception {
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(), 0));
+        try {
+            checker.check(revokedCert);
+            fail("Expected a revoked certificate");
+        } catch (final RevokedCertificateException e) {
+            assertEquals(REVOKED_SERIAL, e.getSerial());
+            assertEquals(RevokedCertificateException.Reason.KeyCompromise, e.getReason());
+        }
+    }
+
+    @Test
+    public void verifyConcurrentChecksShareOneRequest() throws Exception {
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(), 500));
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<?>> checks = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                checks.add(executor.submit(() -> {
+                    checker.check(validCert);
+                    return null;
+                }));
+            }
+            for (final Future<?> check : checks) {
+                check.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, this.requests.get());
+    }
+
+    @Test(expected = GeneralSecurityException.class)
+    public void verifyUntrustedResponsesAreRejected() throws Exception {
+        final OCSPRevocationChecker checker = newChecker(responder(newKeyPair().getPrivate(), 0));
+        checker.check(validCert);
+    }
+
+    @Test
+    public void verifyStapledResponseIsAccepted() throws Exception {
+        final OCSPResp stapled = newResponse(caKeys.getPrivate(), new JcaCertificateID(
+                new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1), caCert, REVOKED_SERIAL));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(STAPLED_RESPONSE_HEADER, EncodingUtils.encodeBase64(stapled.getEncoded()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(), 0));
+        try {
+            checker.check(revokedCert);
+            fail("Expected a revoked certificate");
+        } catch (final RevokedCertificateException e) {
+            assertEquals(0, this.requests.get());
+        }
+    }
+
+    @Test
+    public void verifyResponsesWithoutNextUpdateExpireAtMaximumAge() throws Exception {
+        final Date now = new Date();
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(),
+                new Date(now.getTime() - TimeUnit.MINUTES.toMillis(1)), null));
+        checker.check(validCert);
+        checker.check(validCert);
+        assertEquals(1, this.requests.get());
+    }
+
+    @Test(expected = GeneralSecurityException.class)
+    public void verifyResponsesOlderThanMaximumAgeAreRejected() throws Exception {
+        final Date now = new Date();
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(),
+                new Date(now.getTime() - TimeUnit.HOURS.toMillis(2)), null));
+        checker.check(validCert);
+    }
+
+    @Test
+    public void verifyStapledResponsesOlderThanMaximumAgeAreRejected() throws Exception {
+        final Date now = new Date();
+        final OCSPResp stapled = newResponse(caKeys.getPrivate(), new JcaCertificateID(
+                new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1), caCert, BigInteger.ONE),
+                new Date(now.getTime() - TimeUnit.HOURS.toMillis(2)), null);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(STAPLED_RESPONSE_HEADER, EncodingUtils.encodeBase64(stapled.getEncoded()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        final OCSPRevocationChecker checker = newChecker((responder, ocspRequest) -> {
+            this.requests.incrementAndGet();
+            throw new IOException("Responder is not available");
+        });
+        try {
+            checker.check(validCert);
+            fail("Expected the stapled response to be rejected");
+        } catch (final GeneralSecurityException e) {
+            assertEquals(1, this.requests.get());
+        }
+    }
+
+    @Test
+    public void verifyStapledGoodResponseDoesNotOverrideCachedRevocation() throws Exception {
+        final Date now = new Date();
+        final CertificateStatus revoked = new RevokedStatus(new Date(now.getTime() - TimeUnit.HOURS.toMillis(1)), CRLReason.keyCompromise);
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(), revoked,
+                new Date(now.getTime() - TimeUnit.MINUTES.toMillis(10))));
+        try {
+            checker.check(validCert);
+            fail("Expected a revoked certificate");
+        } catch (final RevokedCertificateException e) {
+            assertEquals(1, this.requests.get());
+        }
+
+        staple(newResponse(caKeys.getPrivate(), newCertificateId(BigInteger.ONE), CertificateStatus.GOOD,
+                new Date(now.getTime() - TimeUnit.MINUTES.toMillis(1)), new Date(now.getTime() + TimeUnit.HOURS.toMillis(1))));
+        try {
+            checker.check(validCert);
+            fail("Expected the cached revocation to remain in effect");
+        } catch (final RevokedCertificateException e) {
+            assertEquals(1, this.requests.get());
+        }
+    }
+
+    @Test
+    public void verifyOlderStapledResponseDoesNotOverrideCachedStatus() throws Exception {
+        final Date now = new Date();
+        final OCSPRevocationChecker checker = newChecker(responder(caKeys.getPrivate(), CertificateStatus.GOOD,
+                new Date(now.getTime() - TimeUnit.MINUTES.toMillis(1))));
+        checker.check(validCert);
+
+        staple(newResponse(caKeys.getPrivate(), newCertificateId(BigInteger.ONE), new UnknownStatus(),
+                new Date(now.getTime() - TimeUnit.MINUTES.toMillis(10)), new Date(now.getTime() + TimeUnit.HOURS.toMillis(1))));
+        checker.check(validCert);
+        assertEquals(1, this.requests.get());
+    }
+
+    private OCSPRevocationChecker newChecker(final OCSPResponseFetcher fetcher) {
+        final List<X509Certificate> issuers = new ArrayList<>();
+        issuers.add(caCert);
+        return new OCSPRevocationChecker(issuers, fetcher, null, null, STAPLED_RESPONSE_HEADER, 100, MAXIMUM_RESPONSE_AGE_SECONDS);
+    }
+
+    private OCSPResponseFetcher responder(final PrivateKey signingKey, final Date thisUpdate, final Date nextUpdate) {
+        return (responder, request) -> {
+            this.requests.incrementAndGet();
+            try {
+                return newResponse(signingKey, request.getRequestList()[0].getCertID(), thisUpdate, nextUpdate);
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private OCSPResponseFetcher responder(final PrivateKey signingKey, final CertificateStatus status, final Date thisUpdate) {
+        return (responder, request) -> {
+            this.requests.incrementAndGet();
+            try {
+                return newResponse(signingKey, request.getRequestList()[0].getCertID(), status, thisUpdate,
+                        new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private OCSPResponseFetcher responder(final PrivateKey signingKey, final long delayMillis) {
+        return (responder, request) -> {
+            this.requests.incrementAndGet();
+            synchronized (this.responders) {
+                this.responders.add(responder);
+            }
+            try {
+                Thread.sleep(delayMillis);
+                return newResponse(signingKey, request.getRequestList()[0].getCertID());
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static OCSPResp newResponse(final PrivateKey signingKey, final CertificateID id) throws Exception {
+        final Date now = new Date();
+        return newResponse(signingKey, id, new Date(now.getTime() - TimeUnit.MINUTES.toMillis(1)),
+                new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)));
+    }
+
+    private static OCSPResp newResponse(final PrivateKey signingKey, final CertificateID id,
+                                        final Date thisUpdate, final Date nextUpdate) throws Exception {
+        final Date now = new Date();
+        final CertificateStatus status = REVOKED_SERIAL.equals(id.getSerialNumber())
+                ? new RevokedStatus(new Date(now.getTime() - TimeUnit.HOURS.toMillis(1)), CRLReason.keyCompromise)
+                : CertificateStatus.GOOD;
+        return newResponse(signingKey, id, status, thisUpdate, nextUpdate);
+    }
+
+    private static OCSPResp newResponse(final PrivateKey signingKey, final CertificateID id, final CertificateStatus status,
+                                        final Date thisUpdate, final Date nextUpdate) throws Exception {
+        final Date now = new Date();
+        final BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(new RespID(new X500Name("CN=OCSP Test CA")));
+        builder.addResponse(id, status, thisUpdate, nextUpdate);
+        final BasicOCSPResp response = builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(signingKey),
+                new X509CertificateHolder[0], now);
+        return new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, response);
+    }
+
+    private static CertificateID newCertificateId(final BigInteger serial) throws Exception {
+        return new JcaCertificateID(new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1), caCert, serial);
+    }
+
+    private static void staple(final OCSPResp response) throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(STAPLED_RESPONSE_HEADER, EncodingUtils.encodeBase64(response.getEncoded()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static X509Certificate newUserCertificate(final BigInteger serial) throws Exception {
+        final JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(new JcaX509CertificateHolder(caCert).getSubject(),
+                serial, new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)),
+                new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)),
+                new X500Name("CN=casuser" + serial), newKeyPair().getPublic());
+        builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(AccessDescription.id_ad_ocsp,
+                new GeneralName(GeneralName.uniformResourceIdentifier, RESPONDER)));
+        return toCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(caKeys.getPrivate())));
+    }
+
+    private static X509Certificate toCertificate(final X509CertificateHolder holder) throws Exception {
+        return new JcaX509CertificateConverter().getCertificate(holder);
+    }
+
+    private static KeyPair newKeyPair() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -2,6 +2,8 @@ package org.apereo.cas.adaptors.x509.config;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.HttpOCSPResponseFetcher;
+import org.apereo.cas.adaptors.x509.authentication.OCSPResponseFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandler;
 import org.apereo.cas.adaptors.x509.authentication.ldap.LdaptiveResourceCRLFetcher;
@@ -12,12 +14,15 @@ import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectPrincipa
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SerialNumberAndIssuerDNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.NoOpRevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.OCSPRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.ResourceCRLRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.RevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.index.CRLRevocationIndex;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.AllowRevocationPolicy;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.DenyRevocationPolicy;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.ThresholdExpiredCRLRevocationPolicy;
+import org.apereo.cas.adaptors.x509.util.CertUtils;
 import org.apereo.cas.authentication.AuthenticationHandler;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
@@ -32,13 +37,18 @@ import org.apereo.services.persondir.IPersonAttributeDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 
+import java.net.URI;
+import java.security.cert.X509Certificate;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -88,6 +98,7 @@ public class X509AuthenticationConfiguration {
         return new DenyRevocationPolicy();
     }
 
+    @Lazy
     @Bean
     public RevocationChecker crlDistributionPointRevocationChecker() {
         final X509Properties x509 = casProperties.getAuthn().getX509();
@@ -104,7 +115,41 @@ public class X509AuthenticationConfiguration {
                 getRevocationPolicy(x509.getCrlExpiredPolicy()),
                 cache,
                 crlFetcher(),
-                x509.isThrowOnFetchFailure());
+                x509.isThrowOnFetchFailure(),
+                x509.isCrlIndexEnabled() ? crlRevocationIndex() : null);
+    }
+
+    @Lazy
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.x509", name = "crlIndexEnabled", havingValue = "true", matchIfMissing = true)
+    public CRLRevocationIndex crlRevocationIndex() {
+        final X509Properties x509 = casProperties.getAuthn().getX509();
+        return new CRLRevocationIndex(crlFetcher(), x509.getRefreshIntervalSeconds(),
+                x509.getCrlIndexRefreshBeforeNextUpdateSeconds());
+    }
+
+    @Bean
+    public OCSPResponseFetcher ocspResponseFetcher() {
+        final X509Properties.Ocsp ocsp = casProperties.getAuthn().getX509().getOcsp();
+        return new HttpOCSPResponseFetcher(ocsp.getConnectTimeoutMillis(), ocsp.getReadTimeoutMillis());
+    }
+
+    @Lazy
+    @Bean
+    public RevocationChecker ocspRevocationChecker() {
+        final X509Properties.Ocsp ocsp = casProperties.getAuthn().getX509().getOcsp();
+        final List<X509Certificate> issuers = ocsp.getIssuerCertificates()
+                .stream()
+                .map(s -> CertUtils.readCertificate(this.resourceLoader.getResource(s)))
+                .collect(Collectors.toList());
+        return new OCSPRevocationChecker(
+                issuers,
+                ocspResponseFetcher(),
+                getRevocationPolicy(ocsp.getUnavailablePolicy()),
+                StringUtils.isNotBlank(ocsp.getResponderUrl()) ? URI.create(ocsp.getResponderUrl()) : null,
+                ocsp.getStapledResponseHeader(),
+                ocsp.getMaximumCacheSize(),
+                ocsp.getMaximumResponseAgeSeconds());
     }
 
     @Bean
@@ -170,6 +215,9 @@ public class X509AuthenticationConfiguration {
             case "crl":
                 revChecker = crlDistributionPointRevocationChecker();
                 break;
+            case "ocsp":
+                revChecker = ocspRevocationChecker();
+                break;
             case "none":
             default:
                 revChecker = noOpRevocationChecker();
@@ -2,9 +2,13 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.webapp.WebflowProperties;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.web.flow.CaffeineFlowExecutionStorage;
 import org.apereo.cas.web.flow.CasDefaultFlowUrlHandler;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
+import org.apereo.cas.web.flow.FlowExecutionStorage;
+import org.apereo.cas.web.flow.StoredFlowExecutionRepository;
 import org.apereo.cas.web.flow.configurer.DefaultWebflowConfigurer;
 import org.apereo.cas.web.flow.LogoutConversionService;
 import org.apereo.spring.webflow.plugin.ClientFlowExecutionRepository;
@@ -265,6 +269,9 @@ public class CasWebflowContextConfiguration {
     @RefreshScope
     @Bean
     public FlowExecutor loginFlowExecutor() {
+        if (casProperties.getWebflow().getSession().isDistributed()) {
+            return flowExecutorViaStoredFlowExecution();
+        }
         if (casProperties.getWebflow().getSession().isStorage()) {
             return flowExecutorViaServerSessionBindingExecution();
         }
@@ -303,6 +310,28 @@ public class CasWebflowContextConfiguration {
         return new FlowExecutorImpl(loginFlowRegistry, factory, repository);
     }
 
+    @ConditionalOnMissingBean(name = "webflowExecutionStorage")
+    @Bean
+    public FlowExecutionStorage webflowExecutionStorage() {
+        final WebflowProperties.Session session = casProperties.getWebflow().getSession();
+        return new CaffeineFlowExecutionStorage(session.getMaxExecutionStorageSize(), session.getExecutionTimeToLive());
+    }
+
+    @Bean
+    public FlowExecutor flowExecutorViaStoredFlowExecution() {
+        final FlowDefinitionRegistry loginFlowRegistry = loginFlowRegistry();
+
+        final FlowExecutionImplFactory executionFactory = new FlowExecutionImplFactory();
+        final SerializedFlowExecutionSnapshotFactory flowExecutionSnapshotFactory =
+                new SerializedFlowExecutionSnapshotFactory(executionFactory, loginFlowRegistry);
+        flowExecutionSnapshotFactory.setCompress(false);
+
+        final StoredFlowExecutionRepository repository = new StoredFlowExecutionRepository(webflowExecutionStorage(),
+                flowExecutionSnapshotFactory);
+        executionFactory.setExecutionKeyFactory(repository);
+        return new FlowExecutorImpl(loginFlowRegistry, executionFactory, repository);
+    }
+
     @ConditionalOnMissingBean(name = "defaultWebflowConfigurer")
     @Bean
     public CasWebflowConfigurer defaultWebflowConfigurer() {
@@ -9,6 +9,7 @@ import org.apereo.cas.services.web.config.CasThemesConfiguration;
 import org.apereo.cas.validation.config.CasCoreValidationConfiguration;
 import org.apereo.cas.web.config.CasCookieConfiguration;
 import org.apereo.cas.web.config.CasSupportActionsConfiguration;
+import org.apereo.cas.web.flow.FlowExecutionStorage;
 import org.apereo.cas.web.flow.config.CasCoreWebflowConfiguration;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -34,6 +35,7 @@ import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.execution.Action;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.executor.FlowExecutionResult;
 import org.springframework.webflow.executor.FlowExecutor;
 import org.springframework.webflow.test.MockRequestContext;
 
@@ -104,10 +106,19 @@ public class CasWebflowContextConfigurationTests {
     @Qualifier("flowExecutorViaServerSessionBindingExecution")
     private FlowExecutor flowExecutorViaServerSessionBindingExecution;
 
+    @Autowired
+    @Qualifier("flowExecutorViaStoredFlowExecution")
+    private FlowExecutor flowExecutorViaStoredFlowExecution;
+
+    @Autowired
+    @Qualifier("webflowExecutionStorage")
+    private FlowExecutionStorage webflowExecutionStorage;
+
     @Test
     public void verifyExecutorsAreBeans() {
         assertNotNull(flowExecutorViaClientFlowExecution);
         assertNotNull(flowExecutorViaServerSessionBindingExecution);
+        assertNotNull(flowExecutorViaStoredFlowExecution);
     }
 
     @Test
@@ -125,6 +136,32 @@ public class CasWebflowContextConfigurationTests {
         flowExecutorViaClientFlowExecution.launchExecution("login", map, ctx.getExternalContext());
     }
 
+    @Test
+    public void verifyFlowExecutorByStoredExecution() {
+        final RequestContext ctx = getMockRequestContext();
+        final LocalAttributeMap map = new LocalAttributeMap<>();
+        final FlowExecutionResult result = flowExecutorViaStoredFlowExecution.launchExecution("login", map, ctx.getExternalContext());
+        assertTrue(result.isPaused());
+        assertNotNull(webflowExecutionStorage.get(result.getPausedKey()));
+    }
+
+    @Test
+    public void verifyFlowExecutorByStoredExecutionIsResumedUntilEnded() {
+        final LocalAttributeMap map = new LocalAttributeMap<>();
+        final FlowExecutionResult launched = flowExecutorViaStoredFlowExecution.launchExecution("login", map,
+                getMockRequestContext().getExternalContext());
+        assertTrue(launched.isPaused());
+        final String key = launched.getPausedKey();
+        assertNotNull(webflowExecutionStorage.get(key));
+
+        final RequestContext ctx = getMockRequestContext();
+        ((MockHttpServletRequest) ctx.getExternalContext().getNativeRequest()).setParameter("_eventId", "finish");
+        final FlowExecutionResult resumed = flowExecutorViaStoredFlowExecution.resumeExecution(key, ctx.getExternalContext());
+        assertTrue(resumed.isEnded());
+        assertEquals("finished", resumed.getOutcome().getId());
+        assertNull(webflowExecutionStorage.get(key));
+    }
+
     private RequestContext getMockRequestContext() {
         final MockRequestContext ctx = new MockRequestContext();
         final MockHttpServletRequest request = new MockHttpServletRequest();
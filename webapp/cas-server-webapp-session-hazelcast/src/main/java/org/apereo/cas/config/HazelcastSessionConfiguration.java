@@ -5,6 +5,8 @@ import com.hazelcast.config.XmlConfigBuilder;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.flow.FlowExecutionStorage;
+import org.apereo.cas.web.flow.HazelcastFlowExecutionStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -50,4 +52,15 @@ public class HazelcastSessionConfiguration {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Storage of webflow executions, shared by all nodes through Hazelcast.
+     *
+     * @return the flow execution storage
+     */
+    @Bean
+    public FlowExecutionStorage webflowExecutionStorage() {
+        return new HazelcastFlowExecutionStorage(hazelcastInstance().getMap("webflowExecutions"),
+                casProperties.getWebflow().getSession().getExecutionTimeToLive());
+    }
 }
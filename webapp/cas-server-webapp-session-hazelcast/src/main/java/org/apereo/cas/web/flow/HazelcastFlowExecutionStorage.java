@@ -0,0 +1,40 @@
+package org.apereo.cas.web.flow;
+
+import com.hazelcast.core.IMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HazelcastFlowExecutionStorage} that keeps the state of flow executions
+ * in a distributed Hazelcast map shared by all nodes of the cluster.
+ * States are stored as they are handed over, compressed but not encrypted, and may contain submitted credentials.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class HazelcastFlowExecutionStorage implements FlowExecutionStorage {
+
+    private final IMap<String, byte[]> storage;
+
+    private final long timeToLive;
+
+    public HazelcastFlowExecutionStorage(final IMap<String, byte[]> storage, final long timeToLive) {
+        this.storage = storage;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public void put(final String id, final byte[] state) {
+        this.storage.set(id, state, this.timeToLive, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public byte[] get(final String id) {
+        return this.storage.get(id);
+    }
+
+    @Override
+    public void remove(final String id) {
+        this.storage.delete(id);
+    }
+}
@@ -0,0 +1,67 @@
+package org.apereo.cas.web.flow;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HazelcastFlowExecutionStorageTests}, which runs against a standalone Hazelcast member.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class HazelcastFlowExecutionStorageTests {
+    private static final byte[] STATE = "flow-execution-state".getBytes(StandardCharsets.UTF_8);
+
+    private static HazelcastInstance HAZELCAST_INSTANCE;
+
+    @BeforeClass
+    public static void startHazelcast() {
+        final Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        HAZELCAST_INSTANCE = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterClass
+    public static void stopHazelcast() {
+        HAZELCAST_INSTANCE.shutdown();
+    }
+
+    @Test
+    public void verifyStateIsStoredAndRemoved() {
+        final FlowExecutionStorage storage = newStorage(60);
+        storage.put("key", STATE);
+        assertArrayEquals(STATE, storage.get("key"));
+        storage.remove("key");
+        assertNull(storage.get("key"));
+    }
+
+    @Test
+    public void verifyStateIsSharedBetweenStorages() {
+        final FlowExecutionStorage storage = newStorage(60);
+        storage.put("shared", STATE);
+        final FlowExecutionStorage other = newStorage(60);
+        assertArrayEquals(STATE, other.get("shared"));
+        other.remove("shared");
+        assertNull(storage.get("shared"));
+    }
+
+    @Test
+    public void verifyStateExpires() throws Exception {
+        final FlowExecutionStorage storage = newStorage(1);
+        storage.put("expiring", STATE);
+        Thread.sleep(2_100);
+        assertNull(storage.get("expiring"));
+    }
+
+    private static FlowExecutionStorage newStorage(final long timeToLive) {
+        return new HazelcastFlowExecutionStorage(HAZELCAST_INSTANCE.getMap("webflowExecutions"), timeToLive);
+    }
+}
@@ -1,8 +1,13 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.flow.FlowExecutionStorage;
+import org.apereo.cas.web.flow.RedisFlowExecutionStorage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
 /**
@@ -15,4 +20,19 @@ import org.springframework.session.data.redis.config.annotation.web.http.EnableR
 @EnableRedisHttpSession
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class RedisSessionConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    /**
+     * Storage of webflow executions, shared by all nodes through Redis.
+     *
+     * @param redisConnectionFactory the redis connection factory
+     * @return the flow execution storage
+     */
+    @Autowired
+    @Bean
+    public FlowExecutionStorage webflowExecutionStorage(final RedisConnectionFactory redisConnectionFactory) {
+        return new RedisFlowExecutionStorage(redisConnectionFactory, casProperties.getWebflow().getSession().getExecutionTimeToLive());
+    }
 }
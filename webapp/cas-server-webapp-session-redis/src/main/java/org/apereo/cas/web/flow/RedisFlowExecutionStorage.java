@@ -0,0 +1,62 @@
+package org.apereo.cas.web.flow;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This is {@link RedisFlowExecutionStorage} that keeps the state of flow executions
+ * in Redis, where it expires on its own once its time to live is reached.
+ * States are stored as they are handed over, compressed but not encrypted, and may contain submitted credentials.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RedisFlowExecutionStorage implements FlowExecutionStorage {
+
+    private static final String KEY_PREFIX = "cas:webflow:execution:";
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final long timeToLive;
+
+    public RedisFlowExecutionStorage(final RedisConnectionFactory connectionFactory, final long timeToLive) {
+        this.connectionFactory = connectionFactory;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public void put(final String id, final byte[] state) {
+        final RedisConnection connection = this.connectionFactory.getConnection();
+        try {
+            connection.setEx(getKey(id), this.timeToLive, state);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public byte[] get(final String id) {
+        final RedisConnection connection = this.connectionFactory.getConnection();
+        try {
+            return connection.get(getKey(id));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public void remove(final String id) {
+        final RedisConnection connection = this.connectionFactory.getConnection();
+        try {
+            connection.del(getKey(id));
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static byte[] getKey(final String id) {
+        return (KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package org.apereo.cas.web.flow;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RedisFlowExecutionStorageTests}, which runs against an embedded Redis server.
+ *
+ * @author Misagh Moayyed
+ * @since 5.2.0
+ */
+public class RedisFlowExecutionStorageTests {
+    private static final int PORT = 6380;
+
+    private static final byte[] STATE = "flow-execution-state".getBytes(StandardCharsets.UTF_8);
+
+    private static RedisServer REDIS_SERVER;
+
+    private JedisConnectionFactory connectionFactory;
+
+    @BeforeClass
+    public static void startRedis() throws Exception {
+        REDIS_SERVER = new RedisServer(PORT);
+        REDIS_SERVER.start();
+    }
+
+    @AfterClass
+    public static void stopRedis() {
+        REDIS_SERVER.stop();
+    }
+
+    @Before
+    public void setUp() {
+        this.connectionFactory = new JedisConnectionFactory();
+        this.connectionFactory.setHostName("localhost");
+        this.connectionFactory.setPort(PORT);
+        this.connectionFactory.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() {
+        this.connectionFactory.destroy();
+    }
+
+    @Test
+    public void verifyStateIsStoredAndRemoved() {
+        final FlowExecutionStorage storage = new RedisFlowExecutionStorage(this.connectionFactory, 60);
+        storage.put("key", STATE);
+        assertArrayEquals(STATE, storage.get("key"));
+        storage.remove("key");
+        assertNull(storage.get("key"));
+    }
+
+    @Test
+    public void verifyStateIsSharedBetweenStorages() {
+        final FlowExecutionStorage storage = new RedisFlowExecutionStorage(this.connectionFactory, 60);
+        storage.put("shared", STATE);
+        final FlowExecutionStorage other = new RedisFlowExecutionStorage(this.connectionFactory, 60);
+        assertArrayEquals(STATE, other.get("shared"));
+        other.remove("shared");
+        assertNull(storage.get("shared"));
+    }
+
+    @Test
+    public void verifyStateExpires() throws Exception {
+        final FlowExecutionStorage storage = new RedisFlowExecutionStorage(this.connectionFactory, 1);
+        storage.put("expiring", STATE);
+        Thread.sleep(2_100);
+        assertNull(storage.get("expiring"));
+    }
+}